@@ -72,6 +72,12 @@ public abstract class AbstractDateCalculator<E> implements DateCalculator<E> {
 
     private int currentIncrement = 0;
 
+    private HolidayCalendarGenerationSource<E> holidayCalendarSource;
+
+    private int operationsInProgress;
+
+    private long holidayCalendarGenerationId = -1;
+
     protected AbstractDateCalculator(final String name, final HolidayCalendar<E> holidayCalendar, final HolidayHandler<E> holidayHandler) {
         this.name = name;
         if (holidayCalendar != null) {
@@ -92,9 +98,86 @@ public abstract class AbstractDateCalculator<E> implements DateCalculator<E> {
         } else {
             holidayCalendar = new ImmutableHolidayCalendar<E>(new DefaultHolidayCalendar<E>());
         }
+        holidayCalendarGenerationId = -1;
         return this;
     }
 
+    /**
+     * Used by the factories to record the generation the calendar comes from.
+     */
+    void setHolidayCalendar(final HolidayCalendar<E> calendar, final long generationId) {
+        setHolidayCalendar(calendar);
+        holidayCalendarGenerationId = generationId;
+    }
+
+    public DateCalculator<E> followHolidayCalendars(final HolidayCalendarGenerationSource<E> source) {
+        holidayCalendarSource = source;
+        refreshHolidayCalendar();
+        return this;
+    }
+
+    public long getHolidayCalendarGenerationId() {
+        refreshHolidayCalendar();
+        return holidayCalendarGenerationId;
+    }
+
+    /**
+     * If this calculator follows a source of holiday calendars, switch to the
+     * latest generation if it has changed; this costs a read of the source.
+     * The subclasses checking days without {@link #isNonWorkingDay(Object)}
+     * must call this first.
+     * <p>
+     * Nothing changes while an operation is in progress (see
+     * {@link #beginOperation()}), nor if the latest generation does not have
+     * a calendar under this name (a combined calculator or an unregistered
+     * calendar): the current calendar and its generation are kept.
+     * </p>
+     *
+     * @since 1.4.1
+     */
+    protected final void refreshHolidayCalendar() {
+        final HolidayCalendarGenerationSource<E> source = holidayCalendarSource;
+        if (source != null && operationsInProgress == 0) {
+            final HolidayCalendarGeneration<E> latest = source.getHolidayCalendarGeneration();
+            if (latest.getId() != holidayCalendarGenerationId) {
+                final HolidayCalendar<E> calendar = latest.getHolidayCalendar(name);
+                if (calendar != null) {
+                    // a subclass may read the calendar whilst swapping it, do not refresh again
+                    operationsInProgress++;
+                    try {
+                        setHolidayCalendar(calendar);
+                    } finally {
+                        operationsInProgress--;
+                    }
+                    holidayCalendarGenerationId = latest.getId();
+                }
+            }
+        }
+    }
+
+    /**
+     * Start an operation checking several days: the holiday calendar is
+     * refreshed once here and then kept until the matching
+     * {@link #endOperation()}, so that every day is checked against the same
+     * generation. Operations can be nested.
+     *
+     * @since 1.4.1
+     */
+    protected final void beginOperation() {
+        refreshHolidayCalendar();
+        operationsInProgress++;
+    }
+
+    /**
+     * End an operation started by {@link #beginOperation()}, always call it
+     * in a finally block.
+     *
+     * @since 1.4.1
+     */
+    protected final void endOperation() {
+        operationsInProgress--;
+    }
+
     public String getName() {
         return name;
     }
@@ -141,23 +224,28 @@ public abstract class AbstractDateCalculator<E> implements DateCalculator<E> {
             throw new IllegalArgumentException("Tenor cannot be null");
         }
 
-        TenorCode tenorCode = tenor.getCode();
-        if (tenorCode != TenorCode.OVERNIGHT && tenorCode != TenorCode.TOM_NEXT /*&& spotLag != 0*/) {
-            // get to the Spot date first:
-            moveToSpotDate(spotLag);
-        }
-        int unit = tenor.getUnits();
-        if (tenorCode == TenorCode.WEEK) {
-            tenorCode = TenorCode.DAY;
-            unit *= DAYS_IN_WEEK;
-        }
+        beginOperation();
+        try {
+            TenorCode tenorCode = tenor.getCode();
+            if (tenorCode != TenorCode.OVERNIGHT && tenorCode != TenorCode.TOM_NEXT /*&& spotLag != 0*/) {
+                // get to the Spot date first:
+                moveToSpotDate(spotLag);
+            }
+            int unit = tenor.getUnits();
+            if (tenorCode == TenorCode.WEEK) {
+                tenorCode = TenorCode.DAY;
+                unit *= DAYS_IN_WEEK;
+            }
 
-        if (tenorCode == TenorCode.YEAR) {
-            tenorCode = TenorCode.MONTH;
-            unit *= MONTHS_IN_YEAR;
-        }
+            if (tenorCode == TenorCode.YEAR) {
+                tenorCode = TenorCode.MONTH;
+                unit *= MONTHS_IN_YEAR;
+            }
 
-        return applyTenor(tenorCode, unit);
+            return applyTenor(tenorCode, unit);
+        } finally {
+            endOperation();
+        }
     }
 
     protected DateCalculator<E> applyTenor(final TenorCode tenorCode, final int unit) {
@@ -224,11 +312,16 @@ public abstract class AbstractDateCalculator<E> implements DateCalculator<E> {
         final List<E> list = new ArrayList<E>();
 
         if (tenors != null) {
-            final E originalDate = clone(getCurrentBusinessDate());
-            for (final Tenor tenor : tenors) {
-                moveByTenor(tenor, spotLag);
-                list.add(getCurrentBusinessDate());
-                setCurrentBusinessDate(originalDate);
+            beginOperation();
+            try {
+                final E originalDate = clone(getCurrentBusinessDate());
+                for (final Tenor tenor : tenors) {
+                    moveByTenor(tenor, spotLag);
+                    list.add(getCurrentBusinessDate());
+                    setCurrentBusinessDate(originalDate);
+                }
+            } finally {
+                endOperation();
             }
         }
 
@@ -258,10 +351,11 @@ public abstract class AbstractDateCalculator<E> implements DateCalculator<E> {
      * is the given date a non working day?
      */
     public boolean isNonWorkingDay(final E date) {
-        if (date != null && (holidayCalendar.getEarlyBoundary() != null || holidayCalendar.getLateBoundary() != null)) {
+        final HolidayCalendar<E> calendar = getHolidayCalendar();
+        if (date != null && (calendar.getEarlyBoundary() != null || calendar.getLateBoundary() != null)) {
             checkBoundary(date);
         }
-        return isWeekend(date) || holidayCalendar.isHoliday(date);
+        return isWeekend(date) || calendar.isHoliday(date);
     }
 
     /**
@@ -284,14 +378,19 @@ public abstract class AbstractDateCalculator<E> implements DateCalculator<E> {
     }
 
     public E setCurrentBusinessDate(final E date) {
-        currentBusinessDate = date;
-        if (holidayHandler != null && date != null) {
-            currentBusinessDate = holidayHandler.moveCurrentDate(this);
-        }
-        if (date != null && (holidayCalendar.getEarlyBoundary() != null || holidayCalendar.getLateBoundary() != null)) {
-            checkBoundary(date);
+        beginOperation();
+        try {
+            currentBusinessDate = date;
+            if (holidayHandler != null && date != null) {
+                currentBusinessDate = holidayHandler.moveCurrentDate(this);
+            }
+            if (date != null && (holidayCalendar.getEarlyBoundary() != null || holidayCalendar.getLateBoundary() != null)) {
+                checkBoundary(date);
+            }
+            return currentBusinessDate;
+        } finally {
+            endOperation();
         }
-        return currentBusinessDate;
     }
 
     public HolidayHandler<E> getHolidayHandler() {
@@ -308,8 +407,13 @@ public abstract class AbstractDateCalculator<E> implements DateCalculator<E> {
         final int numberOfStepsLeft = Math.abs(businessDays);
         final int step = businessDays < 0 ? -1 : 1;
 
-        for (int i = 0; i < numberOfStepsLeft; i++) {
-            moveByDays(step);
+        beginOperation();
+        try {
+            for (int i = 0; i < numberOfStepsLeft; i++) {
+                moveByDays(step);
+            }
+        } finally {
+            endOperation();
         }
 
         return this;
@@ -410,6 +514,7 @@ public abstract class AbstractDateCalculator<E> implements DateCalculator<E> {
      * @return Returns the holidayCalendar.
      */
     public HolidayCalendar<E> getHolidayCalendar() {
+        refreshHolidayCalendar();
         return holidayCalendar;
     }
 
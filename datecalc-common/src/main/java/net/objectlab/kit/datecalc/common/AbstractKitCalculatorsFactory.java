@@ -33,10 +33,18 @@
 package net.objectlab.kit.datecalc.common;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 import net.objectlab.kit.datecalc.common.ccy.CurrencyCalculatorConfig;
 import net.objectlab.kit.datecalc.common.ccy.DefaultCurrencyCalculatorConfig;
@@ -53,7 +61,23 @@ import net.objectlab.kit.datecalc.common.ccy.DefaultCurrencyCalculatorConfig;
  */
 public abstract class AbstractKitCalculatorsFactory<E> implements KitCalculatorsFactory<E> {
 
-    private final ConcurrentMap<String, HolidayCalendar<E>> holidays = new ConcurrentHashMap<String, HolidayCalendar<E>>();
+    /** The registered calendars, replaced as a whole on each registration. */
+    private volatile HolidayCalendarGeneration<E> generation = new HolidayCalendarGeneration<E>(0, Collections.<String, HolidayCalendar<E>> emptyMap());
+
+    /** The holidays of each registered calendar as a bitmap, built on first use. */
+    private final ConcurrentMap<String, HolidayBitmap> bitmaps = new ConcurrentHashMap<String, HolidayBitmap>();
+
+    /** The combined calendars keyed by the sorted set of calendar names. */
+    private final ConcurrentMap<Set<String>, HolidayCalendar<E>> combinedCalendars = new ConcurrentHashMap<Set<String>, HolidayCalendar<E>>();
+
+    /** Loads the calendars that are not registered, on first use. */
+    private volatile HolidayCalendarSource<E> holidayCalendarSource;
+
+    /** The loads in progress, shared by all the threads asking for the same calendar. */
+    private final ConcurrentMap<String, FutureTask<HolidayCalendar<E>>> loadingCalendars = new ConcurrentHashMap<String, FutureTask<HolidayCalendar<E>>>();
+
+    /** The calendar names unknown to the source. */
+    private final ConcurrentMap<String, Boolean> unknownCalendars = new ConcurrentHashMap<String, Boolean>();
 
     private CurrencyCalculatorConfig currencyCalculatorConfig = new DefaultCurrencyCalculatorConfig();
 
@@ -78,10 +102,12 @@ public abstract class AbstractKitCalculatorsFactory<E> implements KitCalculators
 
     /**
      * Use this method to register a given calendar, it will replace any
-     * existing one with the same name. An immutable copy is made so that any changes outside this class
-     * will have no affect. It won't update any existing DateCalculator as these should
+     * existing one with the same name. Its holidays and boundaries are copied (unless it cannot be modified), later changes
+     * to the given calendar are not seen; register it again instead.
+     * It won't update any existing DateCalculator as these should
      * not be amended whilst in existence (we could otherwise get inconsistent
-     * results).
+     * results), unless they follow this factory (see
+     * {@link DateCalculator#followHolidayCalendars(HolidayCalendarGenerationSource)}).
      *
      * @param name
      *            the calendar name to register these holidays under.
@@ -90,34 +116,167 @@ public abstract class AbstractKitCalculatorsFactory<E> implements KitCalculators
      */
     public KitCalculatorsFactory<E> registerHolidays(final String name, final HolidayCalendar<E> holidaysCalendar) {
         if (name != null) {
-            final Set<E> hol = new HashSet<E>();
-            if (holidaysCalendar != null && holidaysCalendar.getHolidays() != null) {
-                hol.addAll(holidaysCalendar.getHolidays());
-            }
-            final DefaultHolidayCalendar<E> defaultHolidayCalendar = new DefaultHolidayCalendar<E>(hol);
-            if (holidaysCalendar != null) {
-                defaultHolidayCalendar.setEarlyBoundary(holidaysCalendar.getEarlyBoundary());
-                defaultHolidayCalendar.setLateBoundary(holidaysCalendar.getLateBoundary());
+            registerHolidays(Collections.singletonMap(name, holidaysCalendar));
+        }
+        return this;
+    }
+
+    /**
+     * Register several calendars at once, e.g. an intraday update: they are
+     * published together as a new {@link HolidayCalendarGeneration}, a
+     * calculator sees either all of them or none.
+     *
+     * @param calendars
+     *            the calendars by name, replacing any existing one with the
+     *            same name.
+     * @since 1.4.1
+     */
+    public KitCalculatorsFactory<E> registerHolidays(final Map<String, ? extends HolidayCalendar<E>> calendars) {
+        synchronized (this) {
+            final Map<String, HolidayCalendar<E>> next = new HashMap<String, HolidayCalendar<E>>(generation.getHolidayCalendars());
+            for (final Map.Entry<String, ? extends HolidayCalendar<E>> entry : calendars.entrySet()) {
+                if (entry.getKey() != null) {
+                    next.put(entry.getKey(), ImmutableHolidayCalendar.copyOf(entry.getValue()));
+                    unknownCalendars.remove(entry.getKey());
+                }
             }
-            this.holidays.put(name, new ImmutableHolidayCalendar<E>(holidaysCalendar));
+            generation = new HolidayCalendarGeneration<E>(generation.getId() + 1, next);
+        }
+        for (final String name : calendars.keySet()) {
+            invalidateCombinedCalendars(name);
         }
         return this;
     }
 
     /**
-     * Check if a calendar of a given name is already registered.
+     * Provides the current generation of registered calendars, a single
+     * volatile read; only the current generation is kept by the factory.
+     *
+     * @since 1.4.1
+     */
+    public HolidayCalendarGeneration<E> getHolidayCalendarGeneration() {
+        return generation;
+    }
+
+    /**
+     * Set the source used to load a calendar that is not registered on first
+     * use, by {@link #getHolidayCalendar(String)}, the date calculators and
+     * the currency calculators. A loaded calendar is registered as if by
+     * {@link #registerHolidays(String, HolidayCalendar)}; a name unknown to
+     * the source is remembered until the source is set again or a calendar
+     * is registered under that name.
+     *
+     * @param source
+     *            the source, null to only use the registered calendars.
+     * @since 1.4.1
+     */
+    public void setHolidayCalendarSource(final HolidayCalendarSource<E> source) {
+        holidayCalendarSource = source;
+        unknownCalendars.clear();
+    }
+
+    /**
+     * @return the source of the calendars that are not registered, null if none.
+     * @since 1.4.1
+     */
+    public HolidayCalendarSource<E> getHolidayCalendarSource() {
+        return holidayCalendarSource;
+    }
+
+    /**
+     * Load some calendars from the source in the background, e.g. at startup
+     * for the calendars that will almost certainly be used; a calendar that
+     * fails to load is tried again on first use.
+     *
+     * @param executor
+     *            runs the loads.
+     * @param calendarNames
+     *            the calendars to load, unless already registered.
+     * @since 1.4.1
+     */
+    public void preloadHolidayCalendars(final Executor executor, final String... calendarNames) {
+        for (final String name : calendarNames) {
+            executor.execute(new Runnable() {
+                public void run() {
+                    loadHolidayCalendar(name);
+                }
+            });
+        }
+    }
+
+    /**
+     * Check if a calendar of a given name is already registered, it does not
+     * load it from the source.
      * @return true if the holiday name is registered.
      */
     public boolean isHolidayCalendarRegistered(final String name) {
-        return name != null && this.holidays.containsKey(name);
+        return generation.containsHolidayCalendar(name);
     }
 
     /**
-     * Provides an immutable Holiday Calendar with that name if registered, null if not registered
-     * @return an immutable Holiday Calendar that is registered, null if not registered.
+     * Provides an immutable Holiday Calendar with that name if registered, loading it from the source if any, null otherwise
+     * @return an immutable Holiday Calendar that is registered, null if not registered nor known to the source.
      */
     public HolidayCalendar<E> getHolidayCalendar(final String name) {
-        return holidays.get(name);
+        return loadHolidayCalendar(name).getHolidayCalendar(name);
+    }
+
+    /**
+     * Load the calendar from the source if it is not registered yet; only
+     * one thread loads it, the others wait for the result.
+     *
+     * @return the current generation, including the calendar if the source
+     *         knows it.
+     * @throws IllegalStateException
+     *             if the source fails to load the calendar.
+     */
+    private HolidayCalendarGeneration<E> loadHolidayCalendar(final String name) {
+        final HolidayCalendarSource<E> source = holidayCalendarSource;
+        if (name == null || source == null || generation.containsHolidayCalendar(name) || unknownCalendars.containsKey(name)) {
+            return generation;
+        }
+        final FutureTask<HolidayCalendar<E>> task = new FutureTask<HolidayCalendar<E>>(new Callable<HolidayCalendar<E>>() {
+            public HolidayCalendar<E> call() {
+                // another thread may have completed the load in the meantime
+                if (generation.containsHolidayCalendar(name) || unknownCalendars.containsKey(name)) {
+                    return generation.getHolidayCalendar(name);
+                }
+                final HolidayCalendar<E> calendar = source.loadHolidayCalendar(name);
+                if (calendar == null) {
+                    unknownCalendars.put(name, Boolean.TRUE);
+                } else {
+                    registerLoadedHolidays(name, calendar);
+                }
+                return calendar;
+            }
+        });
+        FutureTask<HolidayCalendar<E>> load = loadingCalendars.putIfAbsent(name, task);
+        if (load == null) {
+            load = task;
+            task.run();
+        }
+        try {
+            load.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted whilst loading holiday calendar " + name, e);
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("Cannot load holiday calendar " + name, e.getCause());
+        } finally {
+            if (load == task) {
+                loadingCalendars.remove(name, task);
+            }
+        }
+        return generation;
+    }
+
+    /**
+     * A calendar registered explicitly whilst it was loading takes precedence.
+     */
+    private synchronized void registerLoadedHolidays(final String name, final HolidayCalendar<E> calendar) {
+        if (!generation.containsHolidayCalendar(name)) {
+            registerHolidays(name, calendar);
+        }
     }
 
     /**
@@ -130,7 +289,12 @@ public abstract class AbstractKitCalculatorsFactory<E> implements KitCalculators
      */
     protected void setHolidays(final String name, final DateCalculator<E> dc) {
         if (name != null) {
-            dc.setHolidayCalendar(holidays.get(name));
+            final HolidayCalendarGeneration<E> current = loadHolidayCalendar(name);
+            if (dc instanceof AbstractDateCalculator) {
+                ((AbstractDateCalculator<E>) dc).setHolidayCalendar(current.getHolidayCalendar(name), current.getId());
+            } else {
+                dc.setHolidayCalendar(current.getHolidayCalendar(name));
+            }
         }
     }
 
@@ -138,7 +302,7 @@ public abstract class AbstractKitCalculatorsFactory<E> implements KitCalculators
      * Provides the immutable set of registered calendar names
      */
     public Set<String> getRegisteredHolidayCalendarNames() {
-        return Collections.unmodifiableSet(holidays.keySet());
+        return generation.getHolidayCalendarNames();
     }
 
     /**
@@ -147,7 +311,15 @@ public abstract class AbstractKitCalculatorsFactory<E> implements KitCalculators
      *          the calendar name to unregister.
      */
     public KitCalculatorsFactory<E> unregisterHolidayCalendar(final String calendarName) {
-        holidays.remove(calendarName);
+        synchronized (this) {
+            if (!generation.containsHolidayCalendar(calendarName)) {
+                return this;
+            }
+            final Map<String, HolidayCalendar<E>> next = new HashMap<String, HolidayCalendar<E>>(generation.getHolidayCalendars());
+            next.remove(calendarName);
+            generation = new HolidayCalendarGeneration<E>(generation.getId() + 1, next);
+        }
+        invalidateCombinedCalendars(calendarName);
         return this;
     }
 
@@ -155,10 +327,198 @@ public abstract class AbstractKitCalculatorsFactory<E> implements KitCalculators
      * unregister all holiday calendars;
      */
     public KitCalculatorsFactory<E> unregisterAllHolidayCalendars() {
-        holidays.clear();
+        synchronized (this) {
+            generation = new HolidayCalendarGeneration<E>(generation.getId() + 1, Collections.<String, HolidayCalendar<E>> emptyMap());
+        }
+        bitmaps.clear();
+        combinedCalendars.clear();
         return this;
     }
 
+    /**
+     * Provides the union of the registered calendars, e.g. for "LON", "NYC"
+     * and "TARGET"; the early boundary is the latest one and the late boundary
+     * the earliest one, as per {@link DateCalculator#combine(DateCalculator)}.
+     * The result is cached until any of these calendars is registered again
+     * or unregistered, the order of the names does not matter. Calendars that
+     * are not registered are loaded from the source, if any.
+     *
+     * @param calendarNames
+     *            the registered calendar names.
+     * @return an immutable Holiday Calendar, null if any of the calendars is
+     *         neither registered nor known to the source.
+     * @throws IllegalArgumentException
+     *             if some of the calendars have boundaries and some do not.
+     * @since 1.4.1
+     */
+    public HolidayCalendar<E> getCombinedHolidayCalendar(final String... calendarNames) {
+        final HolidayCalendarGeneration<E> current = loadHolidayCalendars(calendarNames);
+        for (final String name : calendarNames) {
+            if (!current.containsHolidayCalendar(name)) {
+                return null;
+            }
+        }
+        return getCombinedHolidayCalendar(current, calendarNames);
+    }
+
+    /**
+     * @return the current generation once all the calendars not registered
+     *         are loaded from the source.
+     */
+    private HolidayCalendarGeneration<E> loadHolidayCalendars(final String... calendarNames) {
+        HolidayCalendarGeneration<E> current = generation;
+        for (final String name : calendarNames) {
+            current = loadHolidayCalendar(name);
+        }
+        return current;
+    }
+
+    private HolidayCalendar<E> getCombinedHolidayCalendar(final HolidayCalendarGeneration<E> current, final String... calendarNames) {
+        final Set<String> key = new TreeSet<String>();
+        for (final String name : calendarNames) {
+            key.add(name);
+        }
+        HolidayCalendar<E> combined = combinedCalendars.get(key);
+        if (combined == null) {
+            final HolidayCalendar<E>[] calendars = getCalendars(current, key);
+            combined = ImmutableHolidayCalendar.copyOf(combine(key, calendars));
+            combinedCalendars.putIfAbsent(key, combined);
+            // a calendar may have been registered again in the meantime
+            if (!sameCalendars(key, calendars)) {
+                combinedCalendars.remove(key, combined);
+            }
+        }
+        return combined;
+    }
+
+    /**
+     * Create a new DateCalculator for the union of the registered calendars,
+     * see {@link #getCombinedHolidayCalendar(String...)}; its name is the
+     * calendar names separated by "/" and it reports the generation of the
+     * calendars it combines.
+     *
+     * @param holidayHandlerType
+     *            the type of algorithm for handling holidays.
+     * @param calendarNames
+     *            the registered calendar names.
+     * @return a new DateCalculator
+     * @throws IllegalArgumentException
+     *             if the type is not null or a valid value, or if one of the
+     *             calendars is neither registered nor known to the source.
+     * @since 1.4.1
+     */
+    public DateCalculator<E> getCombinedDateCalculator(final String holidayHandlerType, final String... calendarNames) {
+        final HolidayCalendarGeneration<E> current = loadHolidayCalendars(calendarNames);
+        final StringBuilder name = new StringBuilder();
+        for (final String calendarName : calendarNames) {
+            if (!current.containsHolidayCalendar(calendarName)) {
+                throw new IllegalArgumentException("Holiday calendar [" + calendarName + "] is neither registered nor known to the source");
+            }
+            if (name.length() > 0) {
+                name.append('/');
+            }
+            name.append(calendarName);
+        }
+        final HolidayCalendar<E> combined = getCombinedHolidayCalendar(current, calendarNames);
+        // no name yet, so that the combined name is not looked up
+        final DateCalculator<E> calculator = getDateCalculator(null, holidayHandlerType);
+        if (calculator instanceof AbstractDateCalculator) {
+            ((AbstractDateCalculator<E>) calculator).setName(name.toString());
+            ((AbstractDateCalculator<E>) calculator).setHolidayCalendar(combined, current.getId());
+        } else {
+            calculator.setHolidayCalendar(combined);
+        }
+        return calculator;
+    }
+
+    /**
+     * The conversion used to combine calendars as bitmaps; by default null,
+     * in which case the calendars are combined via
+     * {@link DateCalculator#combine(DateCalculator)}.
+     *
+     * @since 1.4.1
+     */
+    protected EpochDayConverter<E> getEpochDayConverter() {
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private HolidayCalendar<E>[] getCalendars(final HolidayCalendarGeneration<E> current, final Set<String> names) {
+        final HolidayCalendar<E>[] calendars = new HolidayCalendar[names.size()];
+        int i = 0;
+        for (final String name : names) {
+            calendars[i++] = current.getHolidayCalendar(name);
+        }
+        return calendars;
+    }
+
+    private boolean sameCalendars(final Set<String> names, final HolidayCalendar<E>[] calendars) {
+        final HolidayCalendarGeneration<E> current = generation;
+        int i = 0;
+        for (final String name : names) {
+            if (current.getHolidayCalendar(name) != calendars[i++]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private HolidayCalendar<E> combine(final Set<String> names, final HolidayCalendar<E>[] calendars) {
+        final EpochDayConverter<E> converter = getEpochDayConverter();
+        if (converter == null) {
+            DateCalculator<E> calculator = null;
+            for (final HolidayCalendar<E> calendar : calendars) {
+                final DateCalculator<E> next = getDateCalculator(null, null).setHolidayCalendar(calendar);
+                calculator = calculator != null ? calculator.combine(next) : next;
+            }
+            return calculator != null ? calculator.getHolidayCalendar() : new DefaultHolidayCalendar<E>(new HashSet<E>());
+        }
+
+        HolidayBitmap union = HolidayBitmap.EMPTY;
+        E early = null;
+        E late = null;
+        int i = 0;
+        for (final String name : names) {
+            final HolidayCalendar<E> calendar = calendars[i++];
+            if (i > 1 && (early == null) != (calendar.getEarlyBoundary() == null)) {
+                throw new IllegalArgumentException("Both Calendar to be combined must either have each Early boundaries or None.");
+            }
+            if (i > 1 && (late == null) != (calendar.getLateBoundary() == null)) {
+                throw new IllegalArgumentException("Both Calendar to be combined must either have each Late boundaries or None.");
+            }
+            union = union.or(getBitmap(name, calendar, converter));
+            if (early == null || calendar.getEarlyBoundary() != null
+                    && converter.toEpochDay(calendar.getEarlyBoundary()) > converter.toEpochDay(early)) {
+                early = calendar.getEarlyBoundary();
+            }
+            if (late == null || calendar.getLateBoundary() != null && converter.toEpochDay(calendar.getLateBoundary()) < converter.toEpochDay(late)) {
+                late = calendar.getLateBoundary();
+            }
+        }
+        return new CompactHolidayCalendar<E>(converter, early, late, union.toEpochDays());
+    }
+
+    private HolidayBitmap getBitmap(final String name, final HolidayCalendar<E> calendar, final EpochDayConverter<E> converter) {
+        HolidayBitmap bitmap = bitmaps.get(name);
+        if (bitmap == null) {
+            bitmap = HolidayBitmap.of(EpochDayHolidayIndex.of(calendar, converter).sortedEpochDays());
+            bitmaps.put(name, bitmap);
+            if (generation.getHolidayCalendar(name) != calendar) {
+                bitmaps.remove(name, bitmap);
+            }
+        }
+        return bitmap;
+    }
+
+    private void invalidateCombinedCalendars(final String name) {
+        bitmaps.remove(name);
+        for (final Iterator<Set<String>> it = combinedCalendars.keySet().iterator(); it.hasNext();) {
+            if (it.next().contains(name)) {
+                it.remove();
+            }
+        }
+    }
+
     /**
      * Method that may be called by the specialised factory methods and will fetch the registered holidayCalendar for all 3 currencies 
      * and the working weeks via the currencyCalculatorConfig and assigning currencyCalculatorConfig to the builder, 
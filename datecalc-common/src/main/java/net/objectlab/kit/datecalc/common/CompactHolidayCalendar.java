@@ -0,0 +1,204 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * $Id$
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.common;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * An immutable holiday calendar holding its holidays as a sorted array of
+ * epoch days, 4 bytes per holiday; lookups are a binary search on the epoch
+ * day of the given date. Like {@link ImmutableHolidayCalendar}, any attempt to
+ * modify it throws {@link UnsupportedOperationException}.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.1
+ *
+ * @param <E>
+ *            a representation of a date, typically JDK: Date, Calendar;
+ *            Joda:LocalDate, YearMonthDay
+ */
+public class CompactHolidayCalendar<E> implements HolidayCalendar<E> {
+    private static final long serialVersionUID = 4190237442126871377L;
+
+    private final EpochDayConverter<E> converter;
+
+    private final int[] holidays;
+
+    private final E earlyBoundary;
+
+    private final E lateBoundary;
+
+    /**
+     * @param converter
+     *            the conversion between E and epoch days.
+     * @param epochDays
+     *            the holidays, in any order and possibly with duplicates; the
+     *            array is copied.
+     */
+    public CompactHolidayCalendar(final EpochDayConverter<E> converter, final int[] epochDays) {
+        this(converter, epochDays, null, null);
+    }
+
+    public CompactHolidayCalendar(final EpochDayConverter<E> converter, final int[] epochDays, final E earlyBoundary, final E lateBoundary) {
+        this(converter, earlyBoundary, lateBoundary, sortedDistinct(epochDays.clone(), epochDays.length));
+    }
+
+    /**
+     * Takes ownership of an array that is already sorted and distinct.
+     */
+    CompactHolidayCalendar(final EpochDayConverter<E> converter, final E earlyBoundary, final E lateBoundary, final int[] sortedEpochDays) {
+        super();
+        if (converter == null) {
+            throw new IllegalArgumentException("converter cannot be null");
+        }
+        this.converter = converter;
+        this.holidays = sortedEpochDays;
+        this.earlyBoundary = earlyBoundary;
+        this.lateBoundary = lateBoundary;
+    }
+
+    /**
+     * Sorts the first length entries in place and squeezes out duplicates.
+     *
+     * @return an array of exactly the distinct values, possibly the given one.
+     */
+    static int[] sortedDistinct(final int[] values, final int length) {
+        Arrays.sort(values, 0, length);
+        int distinct = 0;
+        for (int i = 0; i < length; i++) {
+            if (distinct == 0 || values[i] != values[distinct - 1]) {
+                values[distinct++] = values[i];
+            }
+        }
+        if (distinct == values.length) {
+            return values;
+        }
+        final int[] result = new int[distinct];
+        System.arraycopy(values, 0, result, 0, distinct);
+        return result;
+    }
+
+    public boolean isHoliday(final E date) {
+        return date != null && isHoliday(converter.toEpochDay(date));
+    }
+
+    public boolean isHoliday(final int epochDay) {
+        return Arrays.binarySearch(holidays, epochDay) >= 0;
+    }
+
+    /**
+     * @return the number of holidays.
+     */
+    public int size() {
+        return holidays.length;
+    }
+
+    /**
+     * @return a copy of the sorted holidays as epoch days.
+     */
+    public int[] getEpochDays() {
+        return holidays.clone();
+    }
+
+    /**
+     * @return the sorted holidays, not a copy.
+     */
+    int[] sortedEpochDays() {
+        return holidays;
+    }
+
+    public EpochDayConverter<E> getConverter() {
+        return converter;
+    }
+
+    /**
+     * @return a new set of the holidays, created on each call.
+     */
+    public Set<E> getHolidays() {
+        final Set<E> result = new HashSet<E>(holidays.length * 2);
+        for (final int epochDay : holidays) {
+            result.add(converter.fromEpochDay(epochDay));
+        }
+        return result;
+    }
+
+    public E getEarlyBoundary() {
+        return earlyBoundary;
+    }
+
+    public E getLateBoundary() {
+        return lateBoundary;
+    }
+
+    /**
+     * @throws UnsupportedOperationException You cannot modify the early boundary, you need to use a new HolidayCalendar.
+     */
+    public HolidayCalendar<E> setEarlyBoundary(final E earlyBoundary) {
+        throw new UnsupportedOperationException("You cannot modify the early boundary, you need to use a new HolidayCalendar.");
+    }
+
+    /**
+     * @throws UnsupportedOperationException You cannot modify the holidays, you need to use a new HolidayCalendar.
+     */
+    public HolidayCalendar<E> setHolidays(final Set<E> holidays) {
+        throw new UnsupportedOperationException("You cannot modify the holidays, you need to use a new HolidayCalendar.");
+    }
+
+    /**
+     * @throws UnsupportedOperationException You cannot modify the late boundary, you need to use a new HolidayCalendar.
+     */
+    public HolidayCalendar<E> setLateBoundary(final E lateBoundary) {
+        throw new UnsupportedOperationException("You cannot modify the late boundary, you need to use a new HolidayCalendar.");
+    }
+}
+
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development of
+ * bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more about us</a>
+ *
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *
+ *                      www.ObjectLab.co.uk
+ */
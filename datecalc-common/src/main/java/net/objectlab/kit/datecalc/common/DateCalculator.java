@@ -109,6 +109,25 @@ public interface DateCalculator<E> extends BaseCalculator<E> {
      */
     DateCalculator<E> setHolidayCalendar(HolidayCalendar<E> calendar);
 
+    /**
+     * Follow the calendar with the name of this calculator in the latest
+     * generation of the source, typically the factory that created it: the
+     * source is read each time a day is checked and the calendar replaced as
+     * soon as a new generation is available.
+     *
+     * @param source
+     *            the source of generations, null to stop following.
+     * @since 1.4.1
+     */
+    DateCalculator<E> followHolidayCalendars(HolidayCalendarGenerationSource<E> source);
+
+    /**
+     * @return the id of the {@link HolidayCalendarGeneration} of the current
+     *         holiday calendar, -1 if the calendar was not given by a factory.
+     * @since 1.4.1
+     */
+    long getHolidayCalendarGenerationId();
+
     // -----------------------------------------------------------------------
     //
     // ObjectLab, world leaders in the design and development of bespoke
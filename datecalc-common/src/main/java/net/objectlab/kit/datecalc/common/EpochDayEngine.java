@@ -0,0 +1,291 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * $Id$
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.common;
+
+import static net.objectlab.kit.datecalc.common.HolidayHandlerType.BACKWARD;
+import static net.objectlab.kit.datecalc.common.HolidayHandlerType.FORWARD;
+import static net.objectlab.kit.datecalc.common.HolidayHandlerType.FORWARD_UNLESS_MOVING_BACK;
+import static net.objectlab.kit.datecalc.common.HolidayHandlerType.MODIFIED_FOLLOWING;
+import static net.objectlab.kit.datecalc.common.HolidayHandlerType.MODIFIED_PRECEDING;
+import static net.objectlab.kit.datecalc.common.PeriodCountCalculator.MONTHS_IN_YEAR;
+import static net.objectlab.kit.datecalc.common.PeriodCountCalculator.MONTH_30_DAYS;
+import static net.objectlab.kit.datecalc.common.PeriodCountCalculator.MONTH_31_DAYS;
+import static net.objectlab.kit.datecalc.common.PeriodCountCalculator.YEAR_360;
+import static net.objectlab.kit.datecalc.common.PeriodCountCalculator.YEAR_360_0;
+import static net.objectlab.kit.datecalc.common.PeriodCountCalculator.YEAR_365_0;
+
+/**
+ * The date logic shared by all implementations (JDK Date/Calendar, JDK8 and
+ * Joda), working on epoch days (see {@link EpochDays}): the holiday handler
+ * algorithms and the period counts. The IMM dates are in {@link IMMDates}.
+ *
+ * Each implementation converts its dates to epoch days on the way in and back
+ * on the way out, so that the same code path is used whatever the date type.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.1
+ */
+public final class EpochDayEngine {
+
+    private static final int FEBRUARY = 2;
+
+    private static final int DECEMBER = 12;
+
+    private static final int DAYS_IN_DECEMBER = 31;
+
+    private EpochDayEngine() {
+    }
+
+    /**
+     * @return true if the type is one of the {@link HolidayHandlerType}.
+     */
+    public static boolean isSupported(final String holidayHandlerType) {
+        return FORWARD.equals(holidayHandlerType) || BACKWARD.equals(holidayHandlerType) || MODIFIED_FOLLOWING.equals(holidayHandlerType)
+                || MODIFIED_PRECEDING.equals(holidayHandlerType) || FORWARD_UNLESS_MOVING_BACK.equals(holidayHandlerType);
+    }
+
+    /**
+     * @param currentIncrement
+     *            the current increment of the calculator
+     * @return the increment used by the handler of the given type to move the
+     *         current date of a calculator.
+     */
+    public static int increment(final String holidayHandlerType, final int currentIncrement) {
+        if (FORWARD_UNLESS_MOVING_BACK.equals(holidayHandlerType)) {
+            return currentIncrement;
+        }
+        return BACKWARD.equals(holidayHandlerType) || MODIFIED_PRECEDING.equals(holidayHandlerType) ? -1 : 1;
+    }
+
+    /**
+     * Moves the day, if it is a non-working day, following the algorithm of
+     * the given {@link HolidayHandlerType}: Forward and Backward move by the
+     * increment, Modified Following/Preceding change direction rather than
+     * leaving the month and Forward Unless Moving Back moves by one day in the
+     * direction of the increment.
+     *
+     * @param epochDay
+     *            the day to adjust
+     * @param increment
+     *            the step, typically 1 or -1
+     * @return the given day or the working day it has moved to.
+     */
+    public static int adjust(final String holidayHandlerType, final int epochDay, final int increment, final EpochDayNonWorkingDayChecker checker) {
+        if (!checker.isNonWorkingDay(epochDay)) {
+            return epochDay;
+        }
+        int day = epochDay;
+        if (FORWARD_UNLESS_MOVING_BACK.equals(holidayHandlerType)) {
+            final int step = increment < 0 ? -1 : 1;
+            do {
+                day += step;
+            } while (checker.isNonWorkingDay(day));
+        } else if (MODIFIED_FOLLOWING.equals(holidayHandlerType) || MODIFIED_PRECEDING.equals(holidayHandlerType)) {
+            final int firstDay = EpochDays.firstDayOfMonth(epochDay);
+            final int lastDay = EpochDays.lastDayOfMonth(epochDay);
+            int step = increment;
+            do {
+                day += step;
+                if (day < firstDay || day > lastDay) {
+                    // switch direction and go back
+                    step *= -1;
+                    day += step;
+                }
+            } while (checker.isNonWorkingDay(day));
+        } else {
+            do {
+                day += increment;
+            } while (checker.isNonWorkingDay(day));
+        }
+        return day;
+    }
+
+    /**
+     * Adjusts a date given in any representation, see
+     * {@link #adjust(String, int, int, EpochDayNonWorkingDayChecker)}.
+     *
+     * @return the same instance if the date has not moved.
+     */
+    public static <E> E adjust(final String holidayHandlerType, final E date, final int increment, final NonWorkingDayChecker<E> checker,
+            final EpochDayConverter<E> converter) {
+        final int epochDay = converter.toEpochDay(date);
+        final int adjusted = adjust(holidayHandlerType, epochDay, increment, checker(checker, converter));
+        return adjusted == epochDay ? date : converter.fromEpochDay(adjusted);
+    }
+
+    /**
+     * @return the checker itself if it can check epoch days, otherwise a
+     *         checker converting each day it is given.
+     */
+    public static <E> EpochDayNonWorkingDayChecker checker(final NonWorkingDayChecker<E> checker, final EpochDayConverter<E> converter) {
+        if (checker instanceof EpochDayNonWorkingDayChecker) {
+            return (EpochDayNonWorkingDayChecker) checker;
+        }
+        return new EpochDayNonWorkingDayChecker() {
+            public boolean isNonWorkingDay(final int epochDay) {
+                return checker.isNonWorkingDay(converter.fromEpochDay(epochDay));
+            }
+        };
+    }
+
+    // -----------------------------------------------------------------------
+    //
+    // ObjectLab, world leaders in the design and development of bespoke
+    // applications for the securities financing markets.
+    // www.ObjectLab.co.uk
+    //
+    // -----------------------------------------------------------------------
+
+    /**
+     * @return the difference in days, the actual number of days (end - start)
+     *         or as per the 30/360 conventions.
+     * @see PeriodCountCalculator#dayDiff(Object, Object, PeriodCountBasis)
+     */
+    public static int dayDiff(final int start, final int end, final PeriodCountBasis basis) {
+        switch (basis) {
+        case CONV_30_360:
+        case CONV_360E_ISDA:
+        case CONV_360E_ISMA:
+            return diff360(start, end, basis);
+        default:
+            return end - start;
+        }
+    }
+
+    private static int diff360(final int start, final int end, final PeriodCountBasis basis) {
+        if (basis == PeriodCountBasis.CONV_360E_ISDA && start == end) {
+            return 0;
+        }
+        final int packedStart = EpochDays.toPackedDate(start);
+        final int packedEnd = EpochDays.toPackedDate(end);
+        final int startYear = packedStart / 10000;
+        final int startMonth = packedStart / 100 % 100;
+        final int endYear = packedEnd / 10000;
+        final int endMonth = packedEnd / 100 % 100;
+        int dayStart = packedStart % 100;
+        int dayEnd = packedEnd % 100;
+
+        switch (basis) {
+        case CONV_30_360:
+            if (dayEnd == MONTH_31_DAYS && dayStart >= MONTH_30_DAYS) {
+                dayEnd = MONTH_30_DAYS;
+            }
+            if (dayStart == MONTH_31_DAYS) {
+                dayStart = MONTH_30_DAYS;
+            }
+            break;
+
+        case CONV_360E_ISMA:
+            if (dayEnd == MONTH_31_DAYS) {
+                dayEnd = MONTH_30_DAYS;
+            }
+            if (dayStart == MONTH_31_DAYS) {
+                dayStart = MONTH_30_DAYS;
+            }
+            break;
+
+        default:
+            // See https://en.wikipedia.org/wiki/Day_count_convention#30E.2F360_ISDA
+            if (EpochDays.lengthOfMonth(startYear, startMonth) == dayStart) {
+                dayStart = MONTH_30_DAYS;
+            }
+            if (endMonth != FEBRUARY && EpochDays.lengthOfMonth(endYear, endMonth) == dayEnd) {
+                dayEnd = MONTH_30_DAYS;
+            }
+        }
+
+        return (endYear - startYear) * YEAR_360 + (endMonth - startMonth) * MONTH_30_DAYS + dayEnd - dayStart;
+    }
+
+    /**
+     * @see PeriodCountCalculator#monthDiff(Object, Object, PeriodCountBasis)
+     */
+    public static double monthDiff(final int start, final int end, final PeriodCountBasis basis) {
+        return yearDiff(start, end, basis) * MONTHS_IN_YEAR;
+    }
+
+    /**
+     * @see PeriodCountCalculator#yearDiff(Object, Object, PeriodCountBasis)
+     */
+    public static double yearDiff(final int start, final int end, final PeriodCountBasis basis) {
+        double diff = 0.0;
+
+        switch (basis) {
+        case ACT_ACT:
+            final int startYear = EpochDays.getYear(start);
+            final int endYear = EpochDays.getYear(end);
+            if (startYear != endYear) {
+                final int diff1 = EpochDays.of(startYear, DECEMBER, DAYS_IN_DECEMBER) - start;
+                final int diff2 = end - EpochDays.of(endYear, 1, 1);
+                diff = (diff1 + 1.0) / EpochDays.lengthOfYear(startYear) + (endYear - startYear - 1.0) + (double) diff2
+                        / (double) EpochDays.lengthOfYear(endYear);
+            }
+            break;
+
+        case CONV_30_360:
+        case CONV_360E_ISDA:
+        case CONV_360E_ISMA:
+        case ACT_360:
+            diff = dayDiff(start, end, basis) / YEAR_360_0;
+            break;
+
+        case ACT_365:
+            diff = dayDiff(start, end, basis) / YEAR_365_0;
+            break;
+
+        default:
+            throw new UnsupportedOperationException("Sorry ACT_UST is not supported");
+        }
+
+        return diff;
+    }
+}
+
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development of
+ * bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more about us</a>
+ *
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *
+ *                      www.ObjectLab.co.uk
+ */
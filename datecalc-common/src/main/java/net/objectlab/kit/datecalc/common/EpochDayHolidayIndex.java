@@ -0,0 +1,157 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * $Id$
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.common;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * The holidays and boundaries of a holiday calendar converted once to epoch
+ * days, so that a calculator can check many days (e.g. while a holiday
+ * handler moves a date) with a binary search and without creating any date.
+ * The index of a registered calendar, which the factory copies, is kept by
+ * that copy and shared by all the calculators using it.
+ * Immutable.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.1
+ */
+public final class EpochDayHolidayIndex {
+
+    private static final int[] NO_HOLIDAYS = new int[0];
+
+    public static final EpochDayHolidayIndex EMPTY = new EpochDayHolidayIndex(null, NO_HOLIDAYS, Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+    private final EpochDayConverter<?> converter;
+
+    private final int[] holidays;
+
+    private final int earlyBoundary;
+
+    private final int lateBoundary;
+
+    private EpochDayHolidayIndex(final EpochDayConverter<?> converter, final int[] holidays, final int earlyBoundary, final int lateBoundary) {
+        this.converter = converter;
+        this.holidays = holidays;
+        this.earlyBoundary = earlyBoundary;
+        this.lateBoundary = lateBoundary;
+    }
+
+    /**
+     * @param calendar
+     *            the holiday calendar, can be null
+     * @param converter
+     *            the conversion of the calendar dates
+     * @return the index of the holidays and boundaries of the calendar, the
+     *         shared one if the calendar is a registered one.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> EpochDayHolidayIndex of(final ReadOnlyHolidayCalendar<E> calendar, final EpochDayConverter<E> converter) {
+        if (calendar == null) {
+            return EMPTY;
+        }
+        if (calendar instanceof ImmutableHolidayCalendar) {
+            return ((ImmutableHolidayCalendar<E>) calendar).getEpochDayIndex(converter);
+        }
+        final int[] days;
+        if (calendar instanceof CompactHolidayCalendar && converter.equals(((CompactHolidayCalendar<E>) calendar).getConverter())) {
+            // already sorted epoch days, no date to convert
+            days = ((CompactHolidayCalendar<E>) calendar).sortedEpochDays();
+        } else {
+            final Set<E> dates = calendar.getHolidays();
+            final int[] converted = dates != null ? new int[dates.size()] : NO_HOLIDAYS;
+            if (dates != null) {
+                int i = 0;
+                for (final E date : dates) {
+                    converted[i++] = converter.toEpochDay(date);
+                }
+            }
+            days = CompactHolidayCalendar.sortedDistinct(converted, converted.length);
+        }
+        final E early = calendar.getEarlyBoundary();
+        final E late = calendar.getLateBoundary();
+        return new EpochDayHolidayIndex(converter, days, early != null ? converter.toEpochDay(early) : Integer.MIN_VALUE,
+                late != null ? converter.toEpochDay(late) : Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return true if the index was built with this conversion.
+     */
+    boolean isConvertedWith(final EpochDayConverter<?> other) {
+        return converter == other || converter != null && converter.equals(other);
+    }
+
+    /**
+     * @return the sorted holidays, not a copy.
+     */
+    int[] sortedEpochDays() {
+        return holidays;
+    }
+
+    public boolean isHoliday(final int epochDay) {
+        return Arrays.binarySearch(holidays, epochDay) >= 0;
+    }
+
+    /**
+     * @return false if the day is before the early or after the late boundary.
+     */
+    public boolean isWithinBoundaries(final int epochDay) {
+        return epochDay >= earlyBoundary && epochDay <= lateBoundary;
+    }
+
+    /**
+     * @return the number of holidays.
+     */
+    public int size() {
+        return holidays.length;
+    }
+}
+
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development of
+ * bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more about us</a>
+ *
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *
+ *                      www.ObjectLab.co.uk
+ */
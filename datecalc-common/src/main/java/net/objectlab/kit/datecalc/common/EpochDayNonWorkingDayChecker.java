@@ -0,0 +1,21 @@
+package net.objectlab.kit.datecalc.common;
+
+/**
+ * The primitive counterpart of {@link NonWorkingDayChecker} for dates held as
+ * epoch days, see {@link EpochDays}.
+ *
+ * @since 1.4.1
+ */
+public interface EpochDayNonWorkingDayChecker {
+
+    /**
+     * Is the given day a non working day, i.e. either a "weekend" or a
+     * holiday?
+     *
+     * @param epochDay
+     *            the number of days since 1970-01-01
+     * @return true if the given day is non-working.
+     */
+    boolean isNonWorkingDay(int epochDay);
+
+}
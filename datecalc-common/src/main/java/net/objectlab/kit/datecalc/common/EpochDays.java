@@ -0,0 +1,262 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * $Id$
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.common;
+
+/**
+ * Arithmetic on dates held as an <code>int</code> count of days since 1970-01-01
+ * (proleptic Gregorian calendar), the same definition as
+ * <code>java.time.LocalDate.toEpochDay()</code>. None of the methods allocate.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.1
+ */
+public final class EpochDays {
+    /**
+     * Marker for a missing or invalid date where a primitive epoch day is
+     * expected.
+     */
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    private static final int DAYS_0000_TO_1970 = 719468;
+
+    private static final int DAYS_PER_ERA = 146097;
+
+    private static final int YEARS_PER_ERA = 400;
+
+    private static final int DAYS_PER_YEAR = 365;
+
+    private static final int MONTHS_PER_YEAR = 12;
+
+    private static final int DAYS_PER_WEEK = 7;
+
+    private static final int THURSDAY = 4;
+
+    private static final int PACK_YEAR = 10000;
+
+    private static final int PACK_MONTH = 100;
+
+    private static final int ISO_LENGTH = 10;
+
+    private static final int BASIC_LENGTH = 8;
+
+    private EpochDays() {
+    }
+
+    /**
+     * @param year
+     *            the year, e.g. 2013
+     * @param month
+     *            the month, 1 (January) to 12 (December)
+     * @param day
+     *            the day of month, 1 to 31
+     * @return the number of days since 1970-01-01
+     */
+    public static int of(final int year, final int month, final int day) {
+        final int y = month <= 2 ? year - 1 : year;
+        final int era = (y >= 0 ? y : y - YEARS_PER_ERA + 1) / YEARS_PER_ERA;
+        final int yearOfEra = y - era * YEARS_PER_ERA;
+        final int shiftedMonth = (month + 9) % MONTHS_PER_YEAR; // March is 0
+        final int dayOfYear = (153 * shiftedMonth + 2) / 5 + day - 1;
+        final int dayOfEra = yearOfEra * DAYS_PER_YEAR + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_ERA + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * @return the date packed as yyyyMMdd, e.g. 20130615, so that year, month
+     *         and day can be extracted without calling back.
+     */
+    public static int toPackedDate(final int epochDay) {
+        final int z = epochDay + DAYS_0000_TO_1970;
+        final int era = (z >= 0 ? z : z - DAYS_PER_ERA + 1) / DAYS_PER_ERA;
+        final int dayOfEra = z - era * DAYS_PER_ERA;
+        final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / (DAYS_PER_ERA - 1)) / DAYS_PER_YEAR;
+        final int dayOfYear = dayOfEra - (DAYS_PER_YEAR * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        final int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        final int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        final int year = yearOfEra + era * YEARS_PER_ERA + (month <= 2 ? 1 : 0);
+        return year * PACK_YEAR + month * PACK_MONTH + day;
+    }
+
+    public static int getYear(final int epochDay) {
+        return toPackedDate(epochDay) / PACK_YEAR;
+    }
+
+    /**
+     * @return the month, 1 (January) to 12 (December)
+     */
+    public static int getMonth(final int epochDay) {
+        return toPackedDate(epochDay) / PACK_MONTH % PACK_MONTH;
+    }
+
+    public static int getDayOfMonth(final int epochDay) {
+        return toPackedDate(epochDay) % PACK_MONTH;
+    }
+
+    /**
+     * @return the ISO day of week, 1 (Monday) to 7 (Sunday)
+     */
+    public static int getDayOfWeek(final int epochDay) {
+        int dow = (epochDay + THURSDAY - 1) % DAYS_PER_WEEK;
+        if (dow < 0) {
+            dow += DAYS_PER_WEEK;
+        }
+        return dow + 1;
+    }
+
+    /**
+     * Parses a date in the form yyyy-MM-dd or yyyyMMdd without creating any
+     * intermediate String.
+     *
+     * @param text
+     *            the characters holding the date
+     * @param start
+     *            index of the first character of the date
+     * @param end
+     *            index after the last character of the date
+     * @return the number of days since 1970-01-01
+     * @exception IllegalArgumentException
+     *                if the characters are not a date in one of these forms.
+     */
+    public static int parse(final CharSequence text, final int start, final int end) {
+        final int length = end - start;
+        if (length == ISO_LENGTH && text.charAt(start + 4) == '-' && text.charAt(start + 7) == '-') {
+            return checked(text, start, end, digits(text, start, 4), digits(text, start + 5, 2), digits(text, start + 8, 2));
+        } else if (length == BASIC_LENGTH) {
+            return checked(text, start, end, digits(text, start, 4), digits(text, start + 4, 2), digits(text, start + 6, 2));
+        }
+        throw invalid(text, start, end);
+    }
+
+    private static int checked(final CharSequence text, final int start, final int end, final int year, final int month, final int day) {
+        if (year < 0 || month < 1 || month > MONTHS_PER_YEAR || day < 1 || day > lengthOfMonth(year, month)) {
+            throw invalid(text, start, end);
+        }
+        return of(year, month, day);
+    }
+
+    private static int digits(final CharSequence text, final int start, final int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            final char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + c - '0';
+        }
+        return value;
+    }
+
+    private static IllegalArgumentException invalid(final CharSequence text, final int start, final int end) {
+        return new IllegalArgumentException("Not a date (yyyy-MM-dd or yyyyMMdd): '" + text.subSequence(start, end) + "'");
+    }
+
+    /**
+     * Adds a number of months the way <code>Calendar.add(Calendar.MONTH, months)</code>
+     * does: the day of month is kept unless the target month is shorter, in
+     * which case the result is the last day of that month.
+     *
+     * @param months
+     *            the number of months to add, may be negative
+     * @return the number of days since 1970-01-01
+     */
+    public static int plusMonths(final int epochDay, final int months) {
+        final int packed = toPackedDate(epochDay);
+        final int monthIndex = packed / PACK_YEAR * MONTHS_PER_YEAR + packed / PACK_MONTH % PACK_MONTH - 1 + months;
+        final int year = (monthIndex >= 0 ? monthIndex : monthIndex - MONTHS_PER_YEAR + 1) / MONTHS_PER_YEAR;
+        final int month = monthIndex - year * MONTHS_PER_YEAR + 1;
+        return of(year, month, Math.min(packed % PACK_MONTH, lengthOfMonth(year, month)));
+    }
+
+    /**
+     * @return the first day of the month of the given day, as an epoch day
+     */
+    public static int firstDayOfMonth(final int epochDay) {
+        return epochDay - getDayOfMonth(epochDay) + 1;
+    }
+
+    /**
+     * @return the last day of the month of the given day, as an epoch day
+     */
+    public static int lastDayOfMonth(final int epochDay) {
+        final int packed = toPackedDate(epochDay);
+        return epochDay - packed % PACK_MONTH + lengthOfMonth(packed / PACK_YEAR, packed / PACK_MONTH % PACK_MONTH);
+    }
+
+    public static boolean isLeapYear(final int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % YEARS_PER_ERA == 0);
+    }
+
+    /**
+     * @return the number of days in the year, 365 or 366
+     */
+    public static int lengthOfYear(final int year) {
+        return isLeapYear(year) ? DAYS_PER_YEAR + 1 : DAYS_PER_YEAR;
+    }
+
+    /**
+     * @return the number of days in the month, 28 to 31
+     */
+    public static int lengthOfMonth(final int year, final int month) {
+        switch (month) {
+        case 2:
+            return isLeapYear(year) ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+}
+
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development of
+ * bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more about us</a>
+ *
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *
+ *                      www.ObjectLab.co.uk
+ */
@@ -53,6 +53,12 @@ public final class ExcelDateUtil {
 
     private static final long DAY_MILLISECONDS = 24 * 60 * 60 * 1000;
 
+    /** epoch day of serial 0 in 1900 windowing (1899-12-30 once past the phantom 1900-02-29) */
+    private static final int EPOCH_DAY_OF_SERIAL_0_1900 = -25569;
+
+    /** epoch day of serial 0 in 1904 windowing (1904-01-01) */
+    private static final int EPOCH_DAY_OF_SERIAL_0_1904 = -24107;
+
     private ExcelDateUtil() {
     }
 
@@ -152,6 +158,83 @@ public final class ExcelDateUtil {
         return cal == null ? null : cal.getTime();
     }
 
+    /**
+     * Given an Excel date with either 1900 or 1904 date windowing, converts it
+     * to a number of days since 1970-01-01, ignoring any time. Pure
+     * arithmetic, nothing is allocated; as with {@link #getJavaCalendar}, the
+     * phantom 1900-02-29 (serial 60) becomes 1900-03-01.
+     *
+     * @param excelDate
+     *            The Excel date.
+     * @param use1904windowing
+     *            true if date uses 1904 windowing, or false if using 1900 date
+     *            windowing.
+     * @return the epoch day, or {@link EpochDays#NO_DATE} if date is not a
+     *         valid Excel date
+     * @since 1.4.1
+     */
+    public static int toEpochDay(final double excelDate, final boolean use1904windowing) {
+        if (!isValidExcelDate(excelDate)) {
+            return EpochDays.NO_DATE;
+        }
+        final int wholeDays = (int) Math.floor(excelDate);
+        if (use1904windowing) {
+            return wholeDays + EPOCH_DAY_OF_SERIAL_0_1904;
+        } else if (wholeDays < EXCEL_FUDGE_19000229) {
+            return wholeDays + EPOCH_DAY_OF_SERIAL_0_1900 + 1;
+        }
+        return wholeDays + EPOCH_DAY_OF_SERIAL_0_1900;
+    }
+
+    /**
+     * Converts many Excel dates at once.
+     *
+     * @param excelDates
+     *            The Excel dates.
+     * @param epochDays
+     *            receives the epoch day (or {@link EpochDays#NO_DATE}) of each
+     *            Excel date, must be at least as long as excelDates.
+     * @param use1904windowing
+     *            true if dates use 1904 windowing, or false if using 1900 date
+     *            windowing.
+     * @return epochDays
+     * @since 1.4.1
+     */
+    public static int[] toEpochDays(final double[] excelDates, final int[] epochDays, final boolean use1904windowing) {
+        for (int i = 0; i < excelDates.length; i++) {
+            epochDays[i] = toEpochDay(excelDates[i], use1904windowing);
+        }
+        return epochDays;
+    }
+
+    /**
+     * @see #toEpochDays(double[], int[], boolean)
+     * @since 1.4.1
+     */
+    public static int[] toEpochDays(final double[] excelDates, final boolean use1904windowing) {
+        return toEpochDays(excelDates, new int[excelDates.length], use1904windowing);
+    }
+
+    /**
+     * Converts a number of days since 1970-01-01 to an Excel date (whole
+     * number) with either 1900 or 1904 date windowing.
+     *
+     * @param epochDay
+     *            the date as days since 1970-01-01.
+     * @param use1904windowing
+     *            true if date uses 1904 windowing, or false if using 1900 date
+     *            windowing.
+     * @return the Excel date.
+     * @since 1.4.1
+     */
+    public static double fromEpochDay(final int epochDay, final boolean use1904windowing) {
+        if (use1904windowing) {
+            return epochDay - EPOCH_DAY_OF_SERIAL_0_1904;
+        }
+        final int serial = epochDay - EPOCH_DAY_OF_SERIAL_0_1900;
+        return serial < EXCEL_FUDGE_19000229 ? serial - 1 : serial;
+    }
+
     /**
      * Given a double, checks if it is a valid Excel date.
      *
@@ -0,0 +1,181 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * $Id$
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.common;
+
+import java.io.Serializable;
+
+/**
+ * An immutable set of holidays held as one bit per day from the first to the
+ * last holiday (about 46 bytes per year covered), so that the union of
+ * several calendars is a bitwise OR of their words rather than a merge of
+ * sets of dates.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.1
+ */
+public final class HolidayBitmap implements Serializable {
+    private static final long serialVersionUID = -7010438126794331857L;
+
+    private static final int ADDRESS_BITS = 6;
+
+    private static final int BITS_PER_WORD = 1 << ADDRESS_BITS;
+
+    public static final HolidayBitmap EMPTY = new HolidayBitmap(0, new long[0]);
+
+    /** The epoch day of the first bit, a multiple of 64. */
+    private final int base;
+
+    private final long[] words;
+
+    private HolidayBitmap(final int base, final long[] words) {
+        this.base = base;
+        this.words = words;
+    }
+
+    /**
+     * @param epochDays
+     *            the holidays, in any order and possibly with duplicates.
+     */
+    public static HolidayBitmap of(final int[] epochDays) {
+        if (epochDays == null || epochDays.length == 0) {
+            return EMPTY;
+        }
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (final int day : epochDays) {
+            min = Math.min(min, day);
+            max = Math.max(max, day);
+        }
+        final int base = min >> ADDRESS_BITS << ADDRESS_BITS;
+        final long[] words = new long[(max - base >> ADDRESS_BITS) + 1];
+        for (final int day : epochDays) {
+            final int bit = day - base;
+            words[bit >> ADDRESS_BITS] |= 1L << bit;
+        }
+        return new HolidayBitmap(base, words);
+    }
+
+    /**
+     * @return the union of both sets of holidays.
+     */
+    public HolidayBitmap or(final HolidayBitmap other) {
+        if (other == null || other.words.length == 0) {
+            return this;
+        }
+        if (words.length == 0) {
+            return other;
+        }
+        final int newBase = Math.min(base, other.base);
+        final int end = Math.max(base + words.length * BITS_PER_WORD, other.base + other.words.length * BITS_PER_WORD);
+        final long[] result = new long[end - newBase >> ADDRESS_BITS];
+        System.arraycopy(words, 0, result, base - newBase >> ADDRESS_BITS, words.length);
+        final int offset = other.base - newBase >> ADDRESS_BITS;
+        for (int i = 0; i < other.words.length; i++) {
+            result[offset + i] |= other.words[i];
+        }
+        return new HolidayBitmap(newBase, result);
+    }
+
+    /**
+     * @return the epoch day of the first bit, a multiple of 64.
+     */
+    int getBase() {
+        return base;
+    }
+
+    /**
+     * @return the words, not copied.
+     */
+    long[] getWords() {
+        return words;
+    }
+
+    public boolean isHoliday(final int epochDay) {
+        final int bit = epochDay - base;
+        return bit >= 0 && bit >> ADDRESS_BITS < words.length && (words[bit >> ADDRESS_BITS] & 1L << bit) != 0;
+    }
+
+    // -----------------------------------------------------------------------
+    //
+    // ObjectLab, world leaders in the design and development of bespoke
+    // applications for the securities financing markets.
+    // www.ObjectLab.co.uk
+    //
+    // -----------------------------------------------------------------------
+
+    /**
+     * @return the number of holidays.
+     */
+    public int size() {
+        int count = 0;
+        for (final long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * @return the holidays as sorted epoch days.
+     */
+    public int[] toEpochDays() {
+        final int[] result = new int[size()];
+        int i = 0;
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            while (word != 0) {
+                result[i++] = base + w * BITS_PER_WORD + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return result;
+    }
+}
+
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development of
+ * bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more about us</a>
+ *
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *
+ *                      www.ObjectLab.co.uk
+ */
@@ -0,0 +1,123 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * $Id$
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.common;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable snapshot of a set of named holiday calendars, identified by a
+ * generation id that increases each time the calendars are replaced. A
+ * factory holds only its current generation, a calculator following the
+ * factory (see {@link DateCalculator#followHolidayCalendars(HolidayCalendarGenerationSource)})
+ * switches to the latest one when it next checks a day and reports which
+ * generation its results were computed with.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.1
+ *
+ * @param <E>
+ *            a representation of a date, typically JDK: Date, Calendar;
+ *            Joda:LocalDate, YearMonthDay
+ */
+public final class HolidayCalendarGeneration<E> {
+
+    private final long id;
+
+    private final Map<String, HolidayCalendar<E>> calendars;
+
+    /**
+     * @param calendars
+     *            the calendars by name, the map is copied.
+     */
+    public HolidayCalendarGeneration(final long id, final Map<String, HolidayCalendar<E>> calendars) {
+        this.id = id;
+        this.calendars = Collections.unmodifiableMap(new HashMap<String, HolidayCalendar<E>>(calendars));
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * @return the calendar with that name, null if it is not part of this
+     *         generation.
+     */
+    public HolidayCalendar<E> getHolidayCalendar(final String name) {
+        return name != null ? calendars.get(name) : null;
+    }
+
+    public boolean containsHolidayCalendar(final String name) {
+        return name != null && calendars.containsKey(name);
+    }
+
+    /**
+     * @return the immutable set of calendar names in this generation.
+     */
+    public Set<String> getHolidayCalendarNames() {
+        return calendars.keySet();
+    }
+
+    /**
+     * @return an immutable view of the calendars by name.
+     */
+    public Map<String, HolidayCalendar<E>> getHolidayCalendars() {
+        return calendars;
+    }
+
+    @Override
+    public String toString() {
+        return "Generation " + id + " " + calendars.keySet();
+    }
+}
+
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development of
+ * bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more about us</a>
+ *
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *
+ *                      www.ObjectLab.co.uk
+ */
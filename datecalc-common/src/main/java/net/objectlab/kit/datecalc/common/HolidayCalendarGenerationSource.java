@@ -0,0 +1,16 @@
+package net.objectlab.kit.datecalc.common;
+
+/**
+ * Provides the latest {@link HolidayCalendarGeneration}, typically a
+ * {@link KitCalculatorsFactory}; it is read on each check of a day by the
+ * calculators following it so it must be cheap, e.g. a volatile read.
+ * @since 1.4.1
+ */
+public interface HolidayCalendarGenerationSource<E> {
+
+    /**
+     * @return the current generation, never null.
+     */
+    HolidayCalendarGeneration<E> getHolidayCalendarGeneration();
+
+}
@@ -0,0 +1,305 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * $Id$
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.common;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Bulk loader of holiday calendars for many centres at once, straight into
+ * {@link CompactHolidayCalendar}s without going through intermediate sets of
+ * dates. Holidays are accumulated per centre as epoch days, from any mix of:
+ * <ul>
+ * <li>columns of epoch days, e.g. one column per centre as read from a
+ * spreadsheet (blank cells given as {@link #NO_DATE} are skipped);</li>
+ * <li>CSV text with one <code>centre,date</code> row per holiday, dates as
+ * yyyy-MM-dd or yyyyMMdd.</li>
+ * </ul>
+ * Calendars are then sorted, de-duplicated and built per centre, in parallel
+ * if an executor is given, and registered in a factory in one call.
+ *
+ * A loader is meant to be filled by one thread; it can be re-used after
+ * {@link #clear()}.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.1
+ *
+ * @param <E>
+ *            a representation of a date, typically JDK: Date, Calendar;
+ *            Joda:LocalDate, YearMonthDay
+ */
+public class HolidayCalendarLoader<E> {
+    /**
+     * Marker for a missing date, e.g. a blank cell in a column shorter than
+     * the others.
+     */
+    public static final int NO_DATE = EpochDays.NO_DATE;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final EpochDayConverter<E> converter;
+
+    private final Map<String, Holidays> centres = new LinkedHashMap<String, Holidays>();
+
+    public HolidayCalendarLoader(final EpochDayConverter<E> converter) {
+        if (converter == null) {
+            throw new IllegalArgumentException("converter cannot be null");
+        }
+        this.converter = converter;
+    }
+
+    /**
+     * Adds holidays for a centre, in addition to any already added.
+     *
+     * @param centre
+     *            the calendar name.
+     * @param epochDays
+     *            holidays as days since 1970-01-01; {@link #NO_DATE} entries are
+     *            ignored.
+     */
+    public HolidayCalendarLoader<E> addHolidays(final String centre, final int[] epochDays) {
+        final Holidays holidays = holidays(centre);
+        for (final int epochDay : epochDays) {
+            if (epochDay != NO_DATE) {
+                holidays.add(epochDay);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Adds one column of holidays per centre, typically a sheet with the
+     * centre codes across the top.
+     *
+     * @param centres
+     *            the calendar name of each column.
+     * @param columns
+     *            the holidays of each column as days since 1970-01-01.
+     */
+    public HolidayCalendarLoader<E> addColumns(final String[] centres, final int[][] columns) {
+        if (centres.length != columns.length) {
+            throw new IllegalArgumentException("Got " + centres.length + " centres for " + columns.length + " columns");
+        }
+        for (int i = 0; i < centres.length; i++) {
+            addHolidays(centres[i], columns[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Reads <code>centre,date</code> rows. Blank lines and lines starting
+     * with # are skipped, as is a first line that does not hold a date
+     * (header).
+     *
+     * @exception IllegalArgumentException
+     *                if a line cannot be parsed.
+     */
+    public HolidayCalendarLoader<E> addCsv(final Reader reader) throws IOException {
+        final BufferedReader in = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = in.readLine()) != null) {
+            lineNumber++;
+            final int start = skipBlanks(line, 0);
+            if (start == line.length() || line.charAt(start) == '#') {
+                continue;
+            }
+            final int comma = line.indexOf(',', start);
+            if (comma < 0) {
+                throw new IllegalArgumentException("Line " + lineNumber + " is not centre,date: '" + line + "'");
+            }
+            final int dateStart = skipBlanks(line, comma + 1);
+            final int dateEnd = trimEnd(line, dateStart, line.length());
+            final int epochDay;
+            try {
+                epochDay = EpochDays.parse(line, dateStart, dateEnd);
+            } catch (final IllegalArgumentException e) {
+                if (lineNumber == 1) {
+                    continue;
+                }
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage());
+            }
+            holidays(line.substring(start, trimEnd(line, start, comma))).add(epochDay);
+        }
+        return this;
+    }
+
+    private static int skipBlanks(final String line, final int from) {
+        int i = from;
+        while (i < line.length() && Character.isWhitespace(line.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int trimEnd(final String line, final int start, final int end) {
+        int i = end;
+        while (i > start && Character.isWhitespace(line.charAt(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+
+    private Holidays holidays(final String centre) {
+        if (centre == null) {
+            throw new IllegalArgumentException("centre cannot be null");
+        }
+        Holidays holidays = centres.get(centre);
+        if (holidays == null) {
+            holidays = new Holidays();
+            centres.put(centre, holidays);
+        }
+        return holidays;
+    }
+
+    /**
+     * @return the names of the centres added so far.
+     */
+    public List<String> getCentres() {
+        return new ArrayList<String>(centres.keySet());
+    }
+
+    public HolidayCalendarLoader<E> clear() {
+        centres.clear();
+        return this;
+    }
+
+    /**
+     * Builds the calendars, one task per centre.
+     *
+     * @param executor
+     *            runs the per centre tasks, or null to build them on the
+     *            calling thread.
+     * @return the calendars by centre, in the order the centres were first
+     *         added.
+     */
+    public Map<String, CompactHolidayCalendar<E>> build(final ExecutorService executor) {
+        final Map<String, CompactHolidayCalendar<E>> result = new LinkedHashMap<String, CompactHolidayCalendar<E>>();
+        if (executor == null) {
+            for (final Map.Entry<String, Holidays> entry : centres.entrySet()) {
+                result.put(entry.getKey(), entry.getValue().toCalendar(converter));
+            }
+            return result;
+        }
+
+        final Map<String, Future<CompactHolidayCalendar<E>>> futures = new LinkedHashMap<String, Future<CompactHolidayCalendar<E>>>();
+        for (final Map.Entry<String, Holidays> entry : centres.entrySet()) {
+            final Holidays holidays = entry.getValue();
+            futures.put(entry.getKey(), executor.submit(new Callable<CompactHolidayCalendar<E>>() {
+                public CompactHolidayCalendar<E> call() {
+                    return holidays.toCalendar(converter);
+                }
+            }));
+        }
+        try {
+            for (final Map.Entry<String, Future<CompactHolidayCalendar<E>>> entry : futures.entrySet()) {
+                result.put(entry.getKey(), entry.getValue().get());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted whilst building holiday calendars", e);
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("Could not build holiday calendars", e.getCause());
+        }
+        return result;
+    }
+
+    /**
+     * Builds all the calendars and registers them in the factory in one call,
+     * so that they are published together, replacing any existing calendar
+     * with the same name.
+     *
+     * @param executor
+     *            runs the per centre tasks, or null to build them on the
+     *            calling thread.
+     * @return the names of the calendars registered.
+     */
+    public List<String> registerAll(final KitCalculatorsFactory<E> factory, final ExecutorService executor) {
+        final Map<String, CompactHolidayCalendar<E>> calendars = build(executor);
+        factory.registerHolidays(calendars);
+        return Collections.unmodifiableList(new ArrayList<String>(calendars.keySet()));
+    }
+
+    /**
+     * Growable buffer of epoch days for one centre.
+     */
+    private static final class Holidays {
+        private int[] days = new int[INITIAL_CAPACITY];
+
+        private int size;
+
+        void add(final int epochDay) {
+            if (size == days.length) {
+                final int[] bigger = new int[size * 2];
+                System.arraycopy(days, 0, bigger, 0, size);
+                days = bigger;
+            }
+            days[size++] = epochDay;
+        }
+
+        <E> CompactHolidayCalendar<E> toCalendar(final EpochDayConverter<E> converter) {
+            final int[] copy = new int[size];
+            System.arraycopy(days, 0, copy, 0, size);
+            return new CompactHolidayCalendar<E>(converter, null, null, CompactHolidayCalendar.sortedDistinct(copy, size));
+        }
+    }
+}
+
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development of
+ * bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more about us</a>
+ *
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *
+ *                      www.ObjectLab.co.uk
+ */
@@ -0,0 +1,505 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * $Id$
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.common;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A compact binary snapshot of many holiday calendars, typically written
+ * once by the process maintaining the calendars and shipped as a single file
+ * to the nodes using them. Each calendar is held as its name, boundaries,
+ * working week and a bitmap of its holidays (see {@link HolidayBitmap}),
+ * about 46 bytes per year covered instead of a serialised set of dates.
+ * <p>
+ * The calendars are read straight from the buffer, typically a memory-mapped
+ * file: opening a snapshot reads the directory of names and checks each
+ * bitmap against its number of holidays, checking a day is a bit test in the
+ * buffer; no date is created until the holidays are asked for. A snapshot is also a {@link HolidayCalendarSource}, so that a
+ * factory only picks the calendars it needs.
+ * </p>
+ * The layout, big-endian:
+ *
+ * <pre>
+ * int magic (OLHC), int version, int number of calendars
+ * per calendar: short length of the name, name in UTF-8, byte working days,
+ *               int early boundary, int late boundary (epoch days, NO_DATE if none),
+ *               int number of holidays, int epoch day of the first bit,
+ *               int number of words, int offset of the words
+ * the words of each bitmap as longs, starting on a multiple of 8
+ * </pre>
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.1
+ *
+ * @param <E>
+ *            a representation of a date, typically JDK: Date, Calendar;
+ *            Joda:LocalDate, YearMonthDay
+ */
+public class HolidayCalendarSnapshot<E> implements HolidayCalendarSource<E> {
+    private static final int MAGIC = 0x4F4C4843;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 12;
+
+    private static final int ENTRY_SIZE = 2 + 1 + 6 * 4;
+
+    private static final int WORD_SIZE = 8;
+
+    private static final int MAX_NAME_LENGTH = 0xFFFF;
+
+    private static final String CHARSET = "UTF-8";
+
+    private final ByteBuffer buffer;
+
+    private final EpochDayConverter<E> converter;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>();
+
+    /**
+     * @param buffer
+     *            the snapshot, from its current position; it is not copied.
+     * @param converter
+     *            the conversion between E and epoch days.
+     * @throws IllegalArgumentException
+     *             if the buffer does not hold a snapshot.
+     */
+    public HolidayCalendarSnapshot(final ByteBuffer buffer, final EpochDayConverter<E> converter) {
+        if (converter == null) {
+            throw new IllegalArgumentException("converter cannot be null");
+        }
+        this.buffer = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+        this.converter = converter;
+        readDirectory();
+    }
+
+    /**
+     * Maps the file in memory, read only; the file is closed on return and
+     * the mapping stays valid until the snapshot is garbage collected.
+     */
+    public static <E> HolidayCalendarSnapshot<E> map(final File file, final EpochDayConverter<E> converter) throws IOException {
+        final RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            final FileChannel channel = raf.getChannel();
+            return new HolidayCalendarSnapshot<E>(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), converter);
+        } finally {
+            raf.close();
+        }
+    }
+
+    private void readDirectory() {
+        final ByteBuffer in = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        if (in.remaining() < HEADER_SIZE || in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a holiday calendar snapshot");
+        }
+        final int version = in.getInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported holiday calendar snapshot version " + version);
+        }
+        final int count = in.getInt();
+        if (count < 0) {
+            throw new IllegalArgumentException("Corrupt holiday calendar snapshot, " + count + " calendars");
+        }
+        for (int i = 0; i < count; i++) {
+            if (in.remaining() < 2) {
+                throw new IllegalArgumentException("Truncated holiday calendar snapshot, the directory ends before calendar " + (i + 1) + " of " + count);
+            }
+            final byte[] bytes = new byte[in.getShort() & MAX_NAME_LENGTH];
+            if (in.remaining() < bytes.length + ENTRY_SIZE - 2) {
+                throw new IllegalArgumentException("Truncated holiday calendar snapshot, the directory ends in calendar " + (i + 1) + " of " + count);
+            }
+            in.get(bytes);
+            final String name = toString(bytes);
+            final Entry entry = new Entry(in.get(), in.getInt(), in.getInt(), in.getInt(), in.getInt(), in.getInt(), in.getInt());
+            if (entry.words < 0 || entry.offset < 0 || entry.offset + (long) entry.words * WORD_SIZE > buffer.limit()) {
+                throw new IllegalArgumentException("Truncated holiday calendar snapshot, the holidays of calendar [" + name + "] are past the end");
+            }
+            final int holidays = countHolidays(entry);
+            if (holidays != entry.size) {
+                throw new IllegalArgumentException("Corrupt holiday calendar snapshot, calendar [" + name + "] should have " + entry.size
+                        + " holidays but its bitmap has " + holidays);
+            }
+            entries.put(name, entry);
+        }
+    }
+
+    private int countHolidays(final Entry entry) {
+        int result = 0;
+        for (int w = 0; w < entry.words; w++) {
+            result += Long.bitCount(buffer.getLong(entry.offset + w * WORD_SIZE));
+        }
+        return result;
+    }
+
+    // -----------------------------------------------------------------------
+    //
+    // ObjectLab, world leaders in the design and development of bespoke
+    // applications for the securities financing markets.
+    // www.ObjectLab.co.uk
+    //
+    // -----------------------------------------------------------------------
+
+    /**
+     * Writes the calendars to a file, replacing it.
+     *
+     * @see #write(Map, Map, EpochDayConverter, OutputStream)
+     */
+    public static <E> void write(final Map<String, ? extends ReadOnlyHolidayCalendar<E>> calendars, final Map<String, WorkingWeek> workingWeeks,
+            final EpochDayConverter<E> converter, final File file) throws IOException {
+        final OutputStream out = new FileOutputStream(file);
+        try {
+            write(calendars, workingWeeks, converter, out);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Writes the calendars, e.g. all the calendars of a factory:
+     * <code>factory.getHolidayCalendarGeneration().getHolidayCalendars()</code>.
+     * The stream is flushed but not closed.
+     *
+     * @param calendars
+     *            the calendars by name.
+     * @param workingWeeks
+     *            the working week by calendar name, can be null; Mon-Fri if
+     *            not given.
+     * @param converter
+     *            the conversion between E and epoch days.
+     */
+    public static <E> void write(final Map<String, ? extends ReadOnlyHolidayCalendar<E>> calendars, final Map<String, WorkingWeek> workingWeeks,
+            final EpochDayConverter<E> converter, final OutputStream out) throws IOException {
+        final List<byte[]> names = new ArrayList<byte[]>(calendars.size());
+        final List<HolidayBitmap> bitmaps = new ArrayList<HolidayBitmap>(calendars.size());
+        int offset = HEADER_SIZE;
+        for (final Map.Entry<String, ? extends ReadOnlyHolidayCalendar<E>> entry : calendars.entrySet()) {
+            final byte[] name = entry.getKey().getBytes(CHARSET);
+            if (name.length > MAX_NAME_LENGTH) {
+                throw new IllegalArgumentException("Calendar name too long: " + entry.getKey());
+            }
+            names.add(name);
+            bitmaps.add(HolidayBitmap.of(toEpochDays(entry.getValue().getHolidays(), converter)));
+            offset += ENTRY_SIZE + name.length;
+        }
+        final int wordsStart = (offset + WORD_SIZE - 1) / WORD_SIZE * WORD_SIZE;
+
+        final DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(calendars.size());
+        offset = wordsStart;
+        int i = 0;
+        for (final Map.Entry<String, ? extends ReadOnlyHolidayCalendar<E>> entry : calendars.entrySet()) {
+            final ReadOnlyHolidayCalendar<E> calendar = entry.getValue();
+            final WorkingWeek week = workingWeeks != null ? workingWeeks.get(entry.getKey()) : null;
+            final byte[] name = names.get(i);
+            final HolidayBitmap bitmap = bitmaps.get(i++);
+            data.writeShort(name.length);
+            data.write(name);
+            data.writeByte((week != null ? week : WorkingWeek.DEFAULT).getWorkingDays());
+            data.writeInt(toEpochDay(calendar.getEarlyBoundary(), converter));
+            data.writeInt(toEpochDay(calendar.getLateBoundary(), converter));
+            data.writeInt(bitmap.size());
+            data.writeInt(bitmap.getBase());
+            data.writeInt(bitmap.getWords().length);
+            data.writeInt(offset);
+            offset += bitmap.getWords().length * WORD_SIZE;
+        }
+        while (data.size() < wordsStart) {
+            data.writeByte(0);
+        }
+        for (final HolidayBitmap bitmap : bitmaps) {
+            for (final long word : bitmap.getWords()) {
+                data.writeLong(word);
+            }
+        }
+        data.flush();
+    }
+
+    private static <E> int[] toEpochDays(final Set<E> dates, final EpochDayConverter<E> converter) {
+        final int[] days = new int[dates != null ? dates.size() : 0];
+        if (dates != null) {
+            int i = 0;
+            for (final E date : dates) {
+                days[i++] = converter.toEpochDay(date);
+            }
+        }
+        return days;
+    }
+
+    private static <E> int toEpochDay(final E date, final EpochDayConverter<E> converter) {
+        return date != null ? converter.toEpochDay(date) : EpochDays.NO_DATE;
+    }
+
+    private static String toString(final byte[] name) {
+        try {
+            return new String(name, CHARSET);
+        } catch (final UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return the calendar names, in the order they were written.
+     */
+    public Set<String> getHolidayCalendarNames() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    public boolean containsHolidayCalendar(final String name) {
+        return entries.containsKey(name);
+    }
+
+    /**
+     * @return an immutable calendar reading the buffer, null if there is no
+     *         calendar with that name.
+     */
+    public HolidayCalendar<E> getHolidayCalendar(final String name) {
+        final Entry entry = entries.get(name);
+        return entry != null ? new SnapshotHolidayCalendar<E>(buffer, converter, entry) : null;
+    }
+
+    /**
+     * Same as {@link #getHolidayCalendar(String)}.
+     */
+    public HolidayCalendar<E> loadHolidayCalendar(final String name) {
+        return getHolidayCalendar(name);
+    }
+
+    /**
+     * @return all the calendars by name, in the order they were written.
+     */
+    public Map<String, HolidayCalendar<E>> getHolidayCalendars() {
+        final Map<String, HolidayCalendar<E>> result = new LinkedHashMap<String, HolidayCalendar<E>>();
+        for (final Map.Entry<String, Entry> entry : entries.entrySet()) {
+            result.put(entry.getKey(), new SnapshotHolidayCalendar<E>(buffer, converter, entry.getValue()));
+        }
+        return result;
+    }
+
+    /**
+     * @return the working week of the calendar, null if there is no calendar
+     *         with that name.
+     */
+    public WorkingWeek getWorkingWeek(final String name) {
+        final Entry entry = entries.get(name);
+        return entry != null ? WorkingWeek.valueOf(entry.workingDays) : null;
+    }
+
+    /**
+     * @return the working week by calendar name, e.g. for
+     *         {@link net.objectlab.kit.datecalc.common.ccy.DefaultCurrencyCalculatorConfig#setWorkingWeeks(Map)}.
+     */
+    public Map<String, WorkingWeek> getWorkingWeeks() {
+        final Map<String, WorkingWeek> result = new LinkedHashMap<String, WorkingWeek>();
+        for (final Map.Entry<String, Entry> entry : entries.entrySet()) {
+            result.put(entry.getKey(), WorkingWeek.valueOf(entry.getValue().workingDays));
+        }
+        return result;
+    }
+
+    /**
+     * @return true if the calendar reads a snapshot, it cannot be modified.
+     */
+    static boolean isSnapshotCalendar(final ReadOnlyHolidayCalendar<?> calendar) {
+        return calendar instanceof SnapshotHolidayCalendar;
+    }
+
+    /**
+     * Registers all the calendars in the factory in one go, replacing any
+     * existing calendar with the same name.
+     * <p>
+     * The working weeks are not applied: a factory does not hold a working
+     * week per calendar, it is set on each calculator or held by the
+     * {@link net.objectlab.kit.datecalc.common.ccy.CurrencyCalculatorConfig}
+     * by currency, which this would overwrite. Use
+     * {@link #getWorkingWeek(String)} with {@link DateCalculator#setWorkingWeek(WorkingWeek)},
+     * or {@link #getWorkingWeeks()} for the currency configuration.
+     * </p>
+     */
+    public KitCalculatorsFactory<E> registerAll(final KitCalculatorsFactory<E> factory) {
+        return factory.registerHolidays(getHolidayCalendars());
+    }
+
+    /**
+     * The directory entry of one calendar.
+     */
+    private static final class Entry {
+        private final byte workingDays;
+
+        private final int earlyBoundary;
+
+        private final int lateBoundary;
+
+        private final int size;
+
+        private final int base;
+
+        private final int words;
+
+        private final int offset;
+
+        Entry(final byte workingDays, final int earlyBoundary, final int lateBoundary, final int size, final int base, final int words,
+                final int offset) {
+            this.workingDays = workingDays;
+            this.earlyBoundary = earlyBoundary;
+            this.lateBoundary = lateBoundary;
+            this.size = size;
+            this.base = base;
+            this.words = words;
+            this.offset = offset;
+        }
+    }
+
+    /**
+     * An immutable calendar checking its bitmap in the snapshot buffer; it is
+     * serialised as a {@link CompactHolidayCalendar}.
+     */
+    private static final class SnapshotHolidayCalendar<E> implements HolidayCalendar<E> {
+        private static final long serialVersionUID = -2946271560384147715L;
+
+        private final transient ByteBuffer buffer;
+
+        private final transient EpochDayConverter<E> converter;
+
+        private final transient Entry entry;
+
+        private final transient E earlyBoundary;
+
+        private final transient E lateBoundary;
+
+        SnapshotHolidayCalendar(final ByteBuffer buffer, final EpochDayConverter<E> converter, final Entry entry) {
+            this.buffer = buffer;
+            this.converter = converter;
+            this.entry = entry;
+            this.earlyBoundary = entry.earlyBoundary != EpochDays.NO_DATE ? converter.fromEpochDay(entry.earlyBoundary) : null;
+            this.lateBoundary = entry.lateBoundary != EpochDays.NO_DATE ? converter.fromEpochDay(entry.lateBoundary) : null;
+        }
+
+        public boolean isHoliday(final E date) {
+            return date != null && isHoliday(converter.toEpochDay(date));
+        }
+
+        boolean isHoliday(final int epochDay) {
+            final int bit = epochDay - entry.base;
+            return bit >= 0 && bit / Long.SIZE < entry.words && (buffer.getLong(entry.offset + bit / Long.SIZE * WORD_SIZE) & 1L << bit) != 0;
+        }
+
+        /**
+         * @return the holidays as sorted epoch days.
+         */
+        int[] toEpochDays() {
+            final int[] result = new int[entry.size];
+            int i = 0;
+            for (int w = 0; w < entry.words; w++) {
+                long word = buffer.getLong(entry.offset + w * WORD_SIZE);
+                while (word != 0) {
+                    result[i++] = entry.base + w * Long.SIZE + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+            return result;
+        }
+
+        /**
+         * @return a new set of the holidays, created on each call.
+         */
+        public Set<E> getHolidays() {
+            final Set<E> result = new HashSet<E>(entry.size * 2);
+            for (final int epochDay : toEpochDays()) {
+                result.add(converter.fromEpochDay(epochDay));
+            }
+            return result;
+        }
+
+        public E getEarlyBoundary() {
+            return earlyBoundary;
+        }
+
+        public E getLateBoundary() {
+            return lateBoundary;
+        }
+
+        public HolidayCalendar<E> setEarlyBoundary(final E earlyBoundary) {
+            throw new UnsupportedOperationException("You cannot modify the early boundary, you need to use a new HolidayCalendar.");
+        }
+
+        public HolidayCalendar<E> setHolidays(final Set<E> holidays) {
+            throw new UnsupportedOperationException("You cannot modify the holidays, you need to use a new HolidayCalendar.");
+        }
+
+        public HolidayCalendar<E> setLateBoundary(final E lateBoundary) {
+            throw new UnsupportedOperationException("You cannot modify the late boundary, you need to use a new HolidayCalendar.");
+        }
+
+        private Object writeReplace() {
+            return new CompactHolidayCalendar<E>(converter, earlyBoundary, lateBoundary, toEpochDays());
+        }
+    }
+}
+
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development of
+ * bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more about us</a>
+ *
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *
+ *                      www.ObjectLab.co.uk
+ */
@@ -0,0 +1,19 @@
+package net.objectlab.kit.datecalc.common;
+
+/**
+ * Loads a holiday calendar by name on first use, e.g. from a file or a
+ * database, so that a process only pays for the calendars it needs; see
+ * {@link AbstractKitCalculatorsFactory#setHolidayCalendarSource(HolidayCalendarSource)}.
+ * A calendar is loaded at most once at a time, even if several threads
+ * ask for it.
+ * @since 1.4.1
+ */
+public interface HolidayCalendarSource<E> {
+
+    /**
+     * @param name the calendar name, never null.
+     * @return the calendar or null if this source does not know that name.
+     */
+    HolidayCalendar<E> loadHolidayCalendar(String name);
+
+}
@@ -0,0 +1,223 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * $Id$
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.common;
+
+import java.util.Arrays;
+
+/**
+ * IMM dates (3rd Wednesday of March, June, September and December) held as
+ * epoch days in a table precomputed for the years 1900 to 2200; every
+ * lookup within that range is a binary search or index arithmetic, dates
+ * outside of it are calculated. Used by all the
+ * {@link IMMDateCalculator} implementations, none of the methods allocate.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.1
+ */
+public final class IMMDates {
+    public static final int FIRST_YEAR = 1900;
+
+    public static final int LAST_YEAR = 2200;
+
+    private static final int QUARTERS_IN_YEAR = 4;
+
+    private static final int MONTHS_IN_QUARTER = 3;
+
+    private static final int MONTHS_IN_YEAR = 12;
+
+    private static final int DAYS_IN_WEEK = 7;
+
+    private static final int WEDNESDAY = 3;
+
+    /** index 0 is March 1900, an even index is always March or September. */
+    private static final int[] TABLE = new int[(LAST_YEAR - FIRST_YEAR + 1) * QUARTERS_IN_YEAR];
+
+    static {
+        int i = 0;
+        for (int year = FIRST_YEAR; year <= LAST_YEAR; year++) {
+            for (int month = MONTHS_IN_QUARTER; month <= MONTHS_IN_YEAR; month += MONTHS_IN_QUARTER) {
+                TABLE[i++] = thirdWednesday(year, month);
+            }
+        }
+    }
+
+    private IMMDates() {
+    }
+
+    /**
+     * @return the epoch day of the 3rd Wednesday of the month.
+     */
+    public static int thirdWednesday(final int year, final int month) {
+        final int first = EpochDays.of(year, month, 1);
+        return first + (WEDNESDAY - EpochDays.getDayOfWeek(first) + DAYS_IN_WEEK) % DAYS_IN_WEEK + 2 * DAYS_IN_WEEK;
+    }
+
+    /**
+     * @return true if the epoch day is the 3rd Wednesday of March, June,
+     *         September or December.
+     */
+    public static boolean isIMMDate(final int epochDay) {
+        if (epochDay >= TABLE[0] && epochDay <= TABLE[TABLE.length - 1]) {
+            return Arrays.binarySearch(TABLE, epochDay) >= 0;
+        }
+        final int month = EpochDays.getMonth(epochDay);
+        return month % MONTHS_IN_QUARTER == 0 && epochDay == thirdWednesday(EpochDays.getYear(epochDay), month);
+    }
+
+    /**
+     * @return the first IMM date strictly after the epoch day for the given
+     *         period.
+     */
+    public static int getNextIMMDate(final int epochDay, final IMMPeriod period) {
+        if (epochDay >= TABLE[0] && epochDay < TABLE[TABLE.length - 1]) {
+            final int found = Arrays.binarySearch(TABLE, epochDay);
+            final int idx = adjust(found >= 0 ? found + 1 : -found - 1, period, 1);
+            if (idx < TABLE.length) {
+                return TABLE[idx];
+            }
+        }
+        return calculate(true, epochDay, period);
+    }
+
+    /**
+     * @return the last IMM date strictly before the epoch day for the given
+     *         period.
+     */
+    public static int getPreviousIMMDate(final int epochDay, final IMMPeriod period) {
+        if (epochDay > TABLE[0] && epochDay <= TABLE[TABLE.length - 1]) {
+            final int found = Arrays.binarySearch(TABLE, epochDay);
+            final int idx = adjust(found >= 0 ? found - 1 : -found - 2, period, -1);
+            if (idx >= 0) {
+                return TABLE[idx];
+            }
+        }
+        return calculate(false, epochDay, period);
+    }
+
+    /**
+     * Moves from the quarterly IMM at idx to the IMM for the period, the same
+     * jumps as the original calculators.
+     */
+    private static int adjust(final int idx, final IMMPeriod period, final int direction) {
+        switch (period) {
+        case BI_ANNUALY_JUN_DEC:
+            return idx % 2 == 0 ? idx + direction : idx;
+        case BI_ANNUALY_MAR_SEP:
+            return idx % 2 != 0 ? idx + direction : idx;
+        case ANNUALLY:
+            return idx + QUARTERS_IN_YEAR * direction;
+        case QUARTERLY:
+        default:
+            return idx;
+        }
+    }
+
+    // -----------------------------------------------------------------------
+    //
+    // ObjectLab, world leaders in the design and development of bespoke
+    // applications for the securities financing markets.
+    // www.ObjectLab.co.uk
+    //
+    // -----------------------------------------------------------------------
+
+    private static int calculate(final boolean requestNextIMM, final int epochDay, final IMMPeriod period) {
+        int imm = calculateQuarterly(requestNextIMM, epochDay);
+        final int month = EpochDays.getMonth(imm);
+        final boolean isMarchSept = month == MONTHS_IN_QUARTER || month == MONTHS_IN_YEAR - MONTHS_IN_QUARTER;
+        switch (period) {
+        case BI_ANNUALY_JUN_DEC:
+            if (isMarchSept) {
+                imm = calculateQuarterly(requestNextIMM, imm);
+            }
+            break;
+        case BI_ANNUALY_MAR_SEP:
+            if (!isMarchSept) {
+                imm = calculateQuarterly(requestNextIMM, imm);
+            }
+            break;
+        case ANNUALLY:
+            imm = thirdWednesday(EpochDays.getYear(imm) + (requestNextIMM ? 1 : -1), month);
+            break;
+        case QUARTERLY:
+        default:
+            break;
+        }
+        return imm;
+    }
+
+    private static int calculateQuarterly(final boolean requestNextIMM, final int epochDay) {
+        int year = EpochDays.getYear(epochDay);
+        final int month = EpochDays.getMonth(epochDay);
+        if (requestNextIMM) {
+            int immMonth = (month + MONTHS_IN_QUARTER - 1) / MONTHS_IN_QUARTER * MONTHS_IN_QUARTER;
+            final int imm = thirdWednesday(year, immMonth);
+            if (imm > epochDay) {
+                return imm;
+            }
+            immMonth += MONTHS_IN_QUARTER;
+            if (immMonth > MONTHS_IN_YEAR) {
+                immMonth = MONTHS_IN_QUARTER;
+                year++;
+            }
+            return thirdWednesday(year, immMonth);
+        }
+        int immMonth = month - month % MONTHS_IN_QUARTER;
+        if (immMonth == month && thirdWednesday(year, immMonth) >= epochDay) {
+            immMonth -= MONTHS_IN_QUARTER;
+        }
+        if (immMonth == 0) {
+            immMonth = MONTHS_IN_YEAR;
+            year--;
+        }
+        return thirdWednesday(year, immMonth);
+    }
+}
+
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development of
+ * bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more about us</a>
+ *
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *
+ *                      www.ObjectLab.co.uk
+ */
@@ -31,9 +31,58 @@ public class ImmutableHolidayCalendar<E> implements HolidayCalendar<E> {
 
     private final HolidayCalendar<E> delegate;
 
+    /** True if nobody can modify the delegate, so that its index can be kept. */
+    private final boolean frozen;
+
+    /** The holidays as epoch days for the last conversion asked, shared by the calculators using this calendar. */
+    private transient volatile EpochDayHolidayIndex epochDayIndex;
+
     public ImmutableHolidayCalendar(final HolidayCalendar<E> delegate) {
+        this(delegate, isFrozen(delegate));
+    }
+
+    private ImmutableHolidayCalendar(final HolidayCalendar<E> delegate, final boolean frozen) {
         super();
         this.delegate = delegate;
+        this.frozen = frozen;
+    }
+
+    /**
+     * @return a calendar with the holidays and boundaries of the given one as
+     *         they are now; a calendar that cannot be modified is not copied.
+     * @since 1.4.1
+     */
+    static <E> ImmutableHolidayCalendar<E> copyOf(final HolidayCalendar<E> calendar) {
+        if (calendar instanceof ImmutableHolidayCalendar && ((ImmutableHolidayCalendar<E>) calendar).frozen) {
+            return (ImmutableHolidayCalendar<E>) calendar;
+        }
+        if (calendar == null || isFrozen(calendar)) {
+            return new ImmutableHolidayCalendar<E>(calendar);
+        }
+        return new ImmutableHolidayCalendar<E>(new DefaultHolidayCalendar<E>(calendar.getHolidays(), calendar.getEarlyBoundary(),
+                calendar.getLateBoundary()), true);
+    }
+
+    private static boolean isFrozen(final HolidayCalendar<?> calendar) {
+        return calendar instanceof CompactHolidayCalendar || calendar instanceof ImmutableHolidayCalendar
+                && ((ImmutableHolidayCalendar<?>) calendar).frozen || HolidayCalendarSnapshot.isSnapshotCalendar(calendar);
+    }
+
+    /**
+     * Built on first use and kept if the delegate cannot be modified (see
+     * {@link #copyOf(HolidayCalendar)}), otherwise built on each call so
+     * that it follows the delegate.
+     */
+    EpochDayHolidayIndex getEpochDayIndex(final EpochDayConverter<E> converter) {
+        if (!frozen) {
+            return EpochDayHolidayIndex.of(delegate, converter);
+        }
+        EpochDayHolidayIndex index = epochDayIndex;
+        if (index == null || !index.isConvertedWith(converter)) {
+            index = EpochDayHolidayIndex.of(delegate, converter);
+            epochDayIndex = index;
+        }
+        return index;
     }
 
     /**
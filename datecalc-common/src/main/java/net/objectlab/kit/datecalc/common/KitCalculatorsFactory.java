@@ -32,6 +32,7 @@
  */
 package net.objectlab.kit.datecalc.common;
 
+import java.util.Map;
 import java.util.Set;
 
 import net.objectlab.kit.datecalc.common.ccy.CurrencyCalculatorConfig;
@@ -51,7 +52,7 @@ import net.objectlab.kit.datecalc.common.ccy.CurrencyCalculatorConfig;
  *            Joda:LocalDate, YearMonthDay
  *
  */
-public interface KitCalculatorsFactory<E> {
+public interface KitCalculatorsFactory<E> extends HolidayCalendarGenerationSource<E> {
 
     /**
      * Create a new CurrencyDateCalculatorBuilder specialised for 2 currencies, including WorkingWeek, calendars registered and CurrencyCalculatorConfig.
@@ -125,6 +126,15 @@ public interface KitCalculatorsFactory<E> {
      */
     KitCalculatorsFactory<E> registerHolidays(String calendarName, HolidayCalendar<E> holidaysCalendar);
 
+    /**
+     * Register several holiday calendars as one new generation.
+     *
+     * @param calendars
+     *            the holiday calendars by name.
+     * @since 1.4.1
+     */
+    KitCalculatorsFactory<E> registerHolidays(Map<String, ? extends HolidayCalendar<E>> calendars);
+
     /**
      * @return true if the holiday calendar name is registered.
      */
@@ -152,6 +162,23 @@ public interface KitCalculatorsFactory<E> {
      */
     KitCalculatorsFactory<E> unregisterAllHolidayCalendars();
 
+    /**
+     * @return the union of the registered calendars (cached until one of them
+     *         is registered again), null if any is not registered.
+     * @since 1.4.1
+     */
+    HolidayCalendar<E> getCombinedHolidayCalendar(String... calendarNames);
+
+    /**
+     * Create a new DateCalculator for the union of the registered calendars.
+     *
+     * @param holidayHandlerType
+     *            typically one of the value of HolidayHandlerType or null.
+     * @return a new DateCalculator named after the calendars, e.g. "LON/NYC"
+     * @since 1.4.1
+     */
+    DateCalculator<E> getCombinedDateCalculator(String holidayHandlerType, String... calendarNames);
+
     // -----------------------------------------------------------------------
     //
     // ObjectLab, world leaders in the design and development of bespoke
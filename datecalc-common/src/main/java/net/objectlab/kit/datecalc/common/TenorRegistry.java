@@ -0,0 +1,307 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * $Id$
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Canonical <code>Tenor</code> instances: the {@link StandardTenor}s and any
+ * tenor parsed before are returned from a concurrent intern cache so that
+ * parsing the same tenor again (e.g. from every quote or trade message) does
+ * not create anything. Only tenors with fewer than 1024 units are interned, so
+ * the cache is bounded whatever the input; larger ones are created each time.
+ * The parsing works directly on a
+ * <code>CharSequence</code> or an ASCII byte range without any intermediate
+ * String or StringBuilder.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.1
+ */
+public final class TenorRegistry {
+    /** tenors with units below this are held in arrays, one per code; the others are not interned. */
+    private static final int SMALL_UNITS = 1024;
+
+    private static final int MAX_CODE_LENGTH = 2;
+
+    private static final int RADIX = 10;
+
+    private static final TenorCode[] CODES = TenorCode.values();
+
+    private static final AtomicReferenceArray<Tenor>[] SMALL;
+
+    static {
+        @SuppressWarnings("unchecked")
+        final AtomicReferenceArray<Tenor>[] small = new AtomicReferenceArray[CODES.length];
+        for (final TenorCode code : CODES) {
+            small[code.ordinal()] = new AtomicReferenceArray<Tenor>(code.acceptUnits() ? SMALL_UNITS : 1);
+        }
+        SMALL = small;
+        for (final Tenor tenor : StandardTenor.getAll()) {
+            intern(tenor);
+        }
+    }
+
+    private TenorRegistry() {
+    }
+
+    /**
+     * @return the canonical instance equal to the tenor, the tenor itself if
+     *         it is the first one seen or if its units are not below 1024.
+     */
+    public static Tenor intern(final Tenor tenor) {
+        if (tenor == null || tenor.getCode() == null || tenor.getUnits() < 0) {
+            return tenor;
+        }
+        final int units = tenor.getUnits();
+        final AtomicReferenceArray<Tenor> slots = SMALL[tenor.getCode().ordinal()];
+        if (units < slots.length()) {
+            final Tenor existing = slots.get(units);
+            if (existing != null) {
+                return existing;
+            }
+            return slots.compareAndSet(units, null, tenor) ? tenor : slots.get(units);
+        }
+        return tenor;
+    }
+
+    /**
+     * @return the canonical tenor for the units and code.
+     */
+    public static Tenor valueOf(final int units, final TenorCode code) {
+        if (units >= 0) {
+            final AtomicReferenceArray<Tenor> slots = SMALL[code.ordinal()];
+            if (units < slots.length()) {
+                final Tenor existing = slots.get(units);
+                if (existing != null) {
+                    return existing;
+                }
+            }
+        }
+        return intern(new Tenor(units, code));
+    }
+
+    /**
+     * @param tenor
+     *            the tenor, e.g. 1D, 3W, SP etc
+     * @exception IllegalArgumentException
+     *                if the tenor is not a valid one
+     */
+    public static Tenor valueOf(final CharSequence tenor) {
+        return valueOf(tenor, 0, tenor.length());
+    }
+
+    /**
+     * Parses the tenor held between start (included) and end (excluded).
+     *
+     * @exception IllegalArgumentException
+     *                if the tenor is not a valid one
+     */
+    public static Tenor valueOf(final CharSequence text, final int start, final int end) {
+        int units = 0;
+        int i = start;
+        for (; i < end; i++) {
+            final int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            units = addDigit(units, digit);
+            if (units < 0) {
+                throw new NumberFormatException("[" + text.subSequence(start, end) + "] units are too large");
+            }
+        }
+        final int codeLength = end - i;
+        for (int j = i; j < end; j++) {
+            final char c = text.charAt(j);
+            if (c >= '0' && c <= '9') {
+                throw new IllegalArgumentException("[" + text.subSequence(start, end) + "] is not a valid tenor");
+            }
+        }
+        final TenorCode code = codeLength > 0 && codeLength <= MAX_CODE_LENGTH ? findCode(text.charAt(i), codeLength > 1 ? text.charAt(i + 1) : 0,
+                codeLength) : null;
+        if (code == null) {
+            throw invalidCode(text.subSequence(i, end));
+        }
+        return resolve(units, i > start, code);
+    }
+
+    /**
+     * Parses the ASCII tenor held in the bytes from offset for length bytes,
+     * e.g. straight from a message buffer.
+     *
+     * @exception IllegalArgumentException
+     *                if the tenor is not a valid one
+     */
+    public static Tenor valueOf(final byte[] bytes, final int offset, final int length) {
+        final int end = offset + length;
+        int units = 0;
+        int i = offset;
+        for (; i < end; i++) {
+            final int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            units = addDigit(units, digit);
+            if (units < 0) {
+                throw new NumberFormatException("[" + ascii(bytes, offset, end) + "] units are too large");
+            }
+        }
+        final int codeLength = end - i;
+        for (int j = i; j < end; j++) {
+            if (bytes[j] >= '0' && bytes[j] <= '9') {
+                throw new IllegalArgumentException("[" + ascii(bytes, offset, end) + "] is not a valid tenor");
+            }
+        }
+        final TenorCode code = codeLength > 0 && codeLength <= MAX_CODE_LENGTH ? findCode((char) bytes[i], codeLength > 1 ? (char) bytes[i + 1] : 0,
+                codeLength) : null;
+        if (code == null) {
+            throw invalidCode(ascii(bytes, i, end));
+        }
+        return resolve(units, i > offset, code);
+    }
+
+    /**
+     * Parses a list of tenors separated by the separator, e.g. "1W, 1M,3M"
+     * with ','; spaces around each tenor are ignored, empty entries skipped.
+     *
+     * @exception IllegalArgumentException
+     *                if one of the tenors is not a valid one
+     */
+    public static List<Tenor> valueOfList(final CharSequence tenors, final char separator) {
+        final List<Tenor> result = new ArrayList<Tenor>();
+        final int length = tenors.length();
+        int start = 0;
+        while (start <= length) {
+            int end = start;
+            while (end < length && tenors.charAt(end) != separator) {
+                end++;
+            }
+            final int next = end + 1;
+            int s = start;
+            while (s < end && Character.isWhitespace(tenors.charAt(s))) {
+                s++;
+            }
+            while (end > s && Character.isWhitespace(tenors.charAt(end - 1))) {
+                end--;
+            }
+            if (end > s) {
+                result.add(valueOf(tenors, s, end));
+            }
+            start = next;
+        }
+        return result;
+    }
+
+    /**
+     * @return the canonical tenors for each of the given tenor strings.
+     * @exception IllegalArgumentException
+     *                if one of the tenors is not a valid one
+     */
+    public static List<Tenor> valueOf(final Iterable<? extends CharSequence> tenors) {
+        final List<Tenor> result = new ArrayList<Tenor>();
+        for (final CharSequence tenor : tenors) {
+            result.add(valueOf(tenor));
+        }
+        return result;
+    }
+
+    // -----------------------------------------------------------------------
+    //
+    // ObjectLab, world leaders in the design and development of bespoke
+    // applications for the securities financing markets.
+    // www.ObjectLab.co.uk
+    //
+    // -----------------------------------------------------------------------
+
+    /**
+     * @return units * 10 + digit or -1 if it overflows.
+     */
+    private static int addDigit(final int units, final int digit) {
+        if (units > (Integer.MAX_VALUE - digit) / RADIX) {
+            return -1;
+        }
+        return units * RADIX + digit;
+    }
+
+    private static IllegalArgumentException invalidCode(final CharSequence codeText) {
+        return new IllegalArgumentException("[" + codeText + "] is not a valid TenorCode");
+    }
+
+    private static TenorCode findCode(final char c0, final char c1, final int length) {
+        for (final TenorCode code : CODES) {
+            final String s = code.getCode();
+            if (s.length() == length && s.charAt(0) == c0 && (length == 1 || s.charAt(1) == c1)) {
+                return code;
+            }
+        }
+        return null;
+    }
+
+    private static Tenor resolve(final int units, final boolean hasUnits, final TenorCode code) {
+        if (!code.acceptUnits() && hasUnits) {
+            throw new IllegalArgumentException("[" + code.getCode() + "] does not accept units");
+        }
+        if (code.acceptUnits() && !hasUnits) {
+            throw new IllegalArgumentException("[" + code.getCode() + "] requires units");
+        }
+        return valueOf(units, code);
+    }
+
+    private static String ascii(final byte[] bytes, final int from, final int to) {
+        final char[] chars = new char[to - from];
+        for (int i = from; i < to; i++) {
+            chars[i - from] = (char) (bytes[i] & 0xFF);
+        }
+        return new String(chars);
+    }
+}
+
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development of
+ * bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more about us</a>
+ *
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *
+ *                      www.ObjectLab.co.uk
+ */
@@ -91,6 +91,16 @@ public class WorkingWeek {
         this.workingDays = workingDays;
     }
 
+    /**
+     * @param workingDays
+     *            as per {@link #getWorkingDays()}
+     * @return a working week with these working days.
+     * @since 1.4.1
+     */
+    public static WorkingWeek valueOf(final byte workingDays) {
+        return workingDays == DEFAULT_WORKING_DAYS ? DEFAULT : new WorkingWeek(workingDays);
+    }
+
     /**
      * Create a new calendar with the intersection of WORKING days.
      * e.g. if normal and arabic calendars are intersected, the week is 3 days: Fri-Sun.
@@ -116,6 +126,16 @@ public class WorkingWeek {
         return isWorkingDayFromCalendar(cal.get(Calendar.DAY_OF_WEEK));
     }
 
+    /**
+     * @param epochDay
+     *            the number of days since 1970-01-01, see {@link EpochDays}
+     * @return true if the day of week of the given day is a working day
+     * @since 1.4.1
+     */
+    public boolean isWorkingEpochDay(final int epochDay) {
+        return (workingDays & 1 << EpochDays.getDayOfWeek(epochDay) - 1) != 0;
+    }
+
     protected int adjustDay(final int dayOfWeek) {
         return dayOfWeek - 1;
     }
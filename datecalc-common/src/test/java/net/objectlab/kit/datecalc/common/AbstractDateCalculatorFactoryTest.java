@@ -32,7 +32,15 @@
  */
 package net.objectlab.kit.datecalc.common;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import junit.framework.Assert;
 
@@ -135,6 +143,209 @@ public abstract class AbstractDateCalculatorFactoryTest<E> extends AbstractDateT
     //
     // -----------------------------------------------------------------------
 
+    public void testCombinedHolidayCalendar() {
+        getDateCalculatorFactory().registerHolidays("UK", createUKHolidayCalendar());
+        getDateCalculatorFactory().registerHolidays("US", createUSHolidayCalendar());
+
+        final HolidayCalendar<E> combined = getDateCalculatorFactory().getCombinedHolidayCalendar("UK", "US");
+        Assert.assertNotNull("combined", combined);
+        Assert.assertEquals("UK/US holidays", 6, combined.getHolidays().size());
+        Assert.assertEquals("latest early boundary", newDate("2006-01-01"), combined.getEarlyBoundary());
+        Assert.assertEquals("earliest late boundary", newDate("2020-12-31"), combined.getLateBoundary());
+        Assert.assertSame("cached", combined, getDateCalculatorFactory().getCombinedHolidayCalendar("US", "UK"));
+        Assert.assertNull("not registered", getDateCalculatorFactory().getCombinedHolidayCalendar("UK", "ZZZ"));
+
+        final DateCalculator<E> ukCal = getDateCalculatorFactory().getDateCalculator("UK", null);
+        ukCal.setStartDate(newDate("2006-07-03"));
+        final DateCalculator<E> combine = ukCal.combine(getDateCalculatorFactory().getDateCalculator("US", null));
+        Assert.assertEquals("same as combine", combine.getHolidayCalendar().getHolidays().size(), combined.getHolidays().size());
+
+        final DateCalculator<E> cal = getDateCalculatorFactory().getCombinedDateCalculator(HolidayHandlerType.FORWARD, "UK", "US");
+        Assert.assertEquals("name", "UK/US", cal.getName());
+        Assert.assertEquals("Type", HolidayHandlerType.FORWARD, cal.getHolidayHandlerType());
+        Assert.assertEquals("generation", getDateCalculatorFactory().getHolidayCalendarGeneration().getId(), cal.getHolidayCalendarGenerationId());
+        try {
+            getDateCalculatorFactory().getCombinedDateCalculator(HolidayHandlerType.FORWARD, "UK", "ZZZ");
+            Assert.fail("ZZZ is not registered");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("ZZZ"));
+        }
+        Assert.assertTrue("UK holiday", cal.isNonWorkingDay(newDate("2006-08-28")));
+        Assert.assertTrue("US holiday", cal.isNonWorkingDay(newDate("2006-11-28")));
+        Assert.assertFalse("working day", cal.isNonWorkingDay(newDate("2006-11-29")));
+        cal.setStartDate(newDate("2006-07-04"));
+        checkDate("moved", cal, "2006-07-05");
+
+        // registering one of the calendars again invalidates the combination
+        final Set<E> uk = new HashSet<E>(createUKHolidays());
+        uk.add(newDate("2006-11-29"));
+        getDateCalculatorFactory().registerHolidays("UK", new DefaultHolidayCalendar<E>(uk, newDate("2006-01-01"), newDate("2020-12-31")));
+        final HolidayCalendar<E> updated = getDateCalculatorFactory().getCombinedHolidayCalendar("UK", "US");
+        Assert.assertNotSame("invalidated", combined, updated);
+        Assert.assertEquals("UK/US holidays", 7, updated.getHolidays().size());
+        Assert.assertTrue("new UK holiday", getDateCalculatorFactory().getCombinedDateCalculator(null, "US", "UK").isNonWorkingDay(newDate("2006-11-29")));
+
+        getDateCalculatorFactory().unregisterHolidayCalendar("US");
+        Assert.assertNull("unregistered", getDateCalculatorFactory().getCombinedHolidayCalendar("UK", "US"));
+
+        getDateCalculatorFactory().registerHolidays("NO_BOUNDARY", newHolidaysCalendar());
+        try {
+            getDateCalculatorFactory().getCombinedHolidayCalendar("UK", "NO_BOUNDARY");
+            Assert.fail("Should have rejected calendars with and without boundaries");
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+        getDateCalculatorFactory().unregisterAllHolidayCalendars();
+    }
+
+    public void testHolidayCalendarGenerations() {
+        final KitCalculatorsFactory<E> factory = getDateCalculatorFactory();
+        factory.registerHolidays("UK", createUKHolidayCalendar());
+        final long first = factory.getHolidayCalendarGeneration().getId();
+
+        final DateCalculator<E> snapshot = factory.getDateCalculator("UK", HolidayHandlerType.FORWARD);
+        final DateCalculator<E> follower = factory.getDateCalculator("UK", HolidayHandlerType.FORWARD).followHolidayCalendars(factory);
+        Assert.assertEquals("snapshot generation", first, snapshot.getHolidayCalendarGenerationId());
+        Assert.assertEquals("follower generation", first, follower.getHolidayCalendarGenerationId());
+        Assert.assertFalse("not yet a holiday", follower.isNonWorkingDay(newDate("2006-11-29")));
+
+        // an intraday update of 2 calendars, published as one generation
+        final Set<E> uk = new HashSet<E>(createUKHolidays());
+        uk.add(newDate("2006-11-29"));
+        final Map<String, HolidayCalendar<E>> update = new HashMap<String, HolidayCalendar<E>>();
+        update.put("UK", new DefaultHolidayCalendar<E>(uk, newDate("2006-01-01"), newDate("2020-12-31")));
+        update.put("US", createUSHolidayCalendar());
+        factory.registerHolidays(update);
+
+        final HolidayCalendarGeneration<E> second = factory.getHolidayCalendarGeneration();
+        Assert.assertEquals("new generation", first + 1, second.getId());
+        Assert.assertTrue("UK", second.containsHolidayCalendar("UK"));
+        Assert.assertTrue("US", second.containsHolidayCalendar("US"));
+
+        Assert.assertTrue("new holiday", follower.isNonWorkingDay(newDate("2006-11-29")));
+        Assert.assertEquals("follower generation", second.getId(), follower.getHolidayCalendarGenerationId());
+        follower.setStartDate(newDate("2006-11-29"));
+        checkDate("moved", follower, "2006-11-30");
+
+        Assert.assertFalse("snapshot unchanged", snapshot.isNonWorkingDay(newDate("2006-11-29")));
+        Assert.assertEquals("snapshot generation", first, snapshot.getHolidayCalendarGenerationId());
+
+        // the generation is read once per operation, not once per day checked
+        final AtomicInteger reads = new AtomicInteger();
+        final DateCalculator<E> counted = factory.getDateCalculator("UK", HolidayHandlerType.FORWARD).followHolidayCalendars(
+                new HolidayCalendarGenerationSource<E>() {
+                    public HolidayCalendarGeneration<E> getHolidayCalendarGeneration() {
+                        reads.incrementAndGet();
+                        return factory.getHolidayCalendarGeneration();
+                    }
+                });
+        counted.setStartDate(newDate("2006-11-28"));
+        reads.set(0);
+        counted.moveByBusinessDays(3);
+        checkDate("moved", counted, "2006-12-04");
+        Assert.assertEquals("one read", 1, reads.get());
+
+        final DateCalculator<E> combined = factory.getCombinedDateCalculator(HolidayHandlerType.FORWARD, "UK", "US").followHolidayCalendars(factory);
+        Assert.assertTrue("US holiday", combined.isNonWorkingDay(newDate("2006-11-28")));
+
+        factory.unregisterHolidayCalendar("ZZZ");
+        Assert.assertSame("no change", second, factory.getHolidayCalendarGeneration());
+        snapshot.setHolidayCalendar(createUSHolidayCalendar());
+        Assert.assertEquals("not from a factory", -1, snapshot.getHolidayCalendarGenerationId());
+
+        // the latest generation has none of these names, the calculators keep their calendars
+        factory.unregisterAllHolidayCalendars();
+        Assert.assertTrue("kept UK", follower.isNonWorkingDay(newDate("2006-11-29")));
+        Assert.assertEquals("kept generation", second.getId(), follower.getHolidayCalendarGenerationId());
+        Assert.assertTrue("kept combined", combined.isNonWorkingDay(newDate("2006-11-28")));
+        Assert.assertTrue("kept combined", combined.isNonWorkingDay(newDate("2006-11-29")));
+    }
+
+    public void testRegisteredCalendarIsCopied() {
+        final KitCalculatorsFactory<E> factory = getDateCalculatorFactory();
+        final HolidayCalendar<E> uk = createUKHolidayCalendar();
+        factory.registerHolidays("UK", uk);
+        uk.setHolidays(new HashSet<E>());
+        final DateCalculator<E> cal = factory.getDateCalculator("UK", HolidayHandlerType.FORWARD);
+        Assert.assertTrue("registered holiday kept", cal.isNonWorkingDay(newDate("2006-12-25")));
+        Assert.assertEquals("registered holidays kept", createUKHolidays(), factory.getHolidayCalendar("UK").getHolidays());
+        factory.unregisterAllHolidayCalendars();
+    }
+
+    public void testHolidayCalendarSource() throws Exception {
+        final AbstractKitCalculatorsFactory<E> factory = (AbstractKitCalculatorsFactory<E>) getDateCalculatorFactory();
+        factory.unregisterAllHolidayCalendars();
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        factory.setHolidayCalendarSource(new HolidayCalendarSource<E>() {
+            public HolidayCalendar<E> loadHolidayCalendar(final String name) {
+                loads.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if ("UK".equals(name)) {
+                    return createUKHolidayCalendar();
+                } else if ("US".equals(name)) {
+                    return createUSHolidayCalendar();
+                }
+                return null;
+            }
+        });
+        try {
+            Assert.assertFalse("not loaded yet", factory.isHolidayCalendarRegistered("UK"));
+
+            // several threads asking for the same calendar, only one load
+            final ExecutorService executor = Executors.newFixedThreadPool(4);
+            final AtomicInteger found = new AtomicInteger();
+            for (int i = 0; i < 4; i++) {
+                executor.execute(new Runnable() {
+                    public void run() {
+                        if (factory.getHolidayCalendar("UK") != null) {
+                            found.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            Thread.sleep(100);
+            release.countDown();
+            executor.shutdown();
+            Assert.assertTrue("done", executor.awaitTermination(5, TimeUnit.SECONDS));
+            Assert.assertEquals("all found it", 4, found.get());
+            Assert.assertEquals("loaded once", 1, loads.get());
+            Assert.assertTrue("registered", factory.isHolidayCalendarRegistered("UK"));
+
+            final DateCalculator<E> cal = factory.getDateCalculator("UK", HolidayHandlerType.FORWARD);
+            Assert.assertEquals("UK holidays", 4, cal.getHolidayCalendar().getHolidays().size());
+            Assert.assertEquals("no reload", 1, loads.get());
+
+            // unknown names are only asked once
+            Assert.assertNull("unknown", factory.getHolidayCalendar("XXX"));
+            Assert.assertTrue("no holiday", factory.getDateCalculator("XXX", HolidayHandlerType.FORWARD).getHolidayCalendar().getHolidays().isEmpty());
+            Assert.assertNull("combined", factory.getCombinedHolidayCalendar("UK", "XXX"));
+            Assert.assertEquals("negative cache", 2, loads.get());
+
+            // a registered calendar takes precedence and clears the unknown name
+            factory.registerHolidays("XXX", createUSHolidayCalendar());
+            Assert.assertNotNull("registered", factory.getHolidayCalendar("XXX"));
+            Assert.assertEquals("no load", 2, loads.get());
+
+            final ExecutorService preload = Executors.newSingleThreadExecutor();
+            factory.preloadHolidayCalendars(preload, "US", "UK");
+            preload.shutdown();
+            Assert.assertTrue("preloaded", preload.awaitTermination(5, TimeUnit.SECONDS));
+            Assert.assertTrue("US registered", factory.isHolidayCalendarRegistered("US"));
+            Assert.assertEquals("only US loaded", 3, loads.get());
+
+            Assert.assertEquals("UK/US", factory.getCombinedDateCalculator(HolidayHandlerType.FORWARD, "UK", "US").getName());
+            Assert.assertEquals("the combined name is not loaded", 3, loads.get());
+        } finally {
+            factory.setHolidayCalendarSource(null);
+            factory.unregisterAllHolidayCalendars();
+        }
+    }
+
     public void testGetCorrectAlgo() {
         DateCalculator<E> cal1 = getDateCalculatorFactory().getDateCalculator("bla", null);
 
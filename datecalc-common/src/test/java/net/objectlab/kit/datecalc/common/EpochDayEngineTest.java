@@ -0,0 +1,138 @@
+package net.objectlab.kit.datecalc.common;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import junit.framework.TestCase;
+
+public class EpochDayEngineTest extends TestCase {
+
+    private static final String[] TYPES = new String[] { HolidayHandlerType.FORWARD, HolidayHandlerType.BACKWARD, HolidayHandlerType.MODIFIED_FOLLOWING,
+            HolidayHandlerType.MODIFIED_PRECEDING, HolidayHandlerType.FORWARD_UNLESS_MOVING_BACK };
+
+    private static final int[] HOLIDAYS = new int[] { EpochDays.of(2012, 12, 25), EpochDays.of(2012, 12, 26), EpochDays.of(2013, 1, 1),
+            EpochDays.of(2013, 3, 29), EpochDays.of(2013, 4, 1), EpochDays.of(2013, 5, 31), EpochDays.of(2013, 8, 30) };
+
+    private static final EpochDayNonWorkingDayChecker CHECKER = new EpochDayNonWorkingDayChecker() {
+        public boolean isNonWorkingDay(final int epochDay) {
+            return !WorkingWeek.DEFAULT.isWorkingEpochDay(epochDay) || Arrays.binarySearch(HOLIDAYS, epochDay) >= 0;
+        }
+    };
+
+    public void testIncrement() {
+        assertEquals(1, EpochDayEngine.increment(HolidayHandlerType.FORWARD, -3));
+        assertEquals(-1, EpochDayEngine.increment(HolidayHandlerType.BACKWARD, 3));
+        assertEquals(1, EpochDayEngine.increment(HolidayHandlerType.MODIFIED_FOLLOWING, -3));
+        assertEquals(-1, EpochDayEngine.increment(HolidayHandlerType.MODIFIED_PRECEDING, 3));
+        assertEquals(-3, EpochDayEngine.increment(HolidayHandlerType.FORWARD_UNLESS_MOVING_BACK, -3));
+        assertTrue(EpochDayEngine.isSupported(HolidayHandlerType.FORWARD));
+        assertFalse(EpochDayEngine.isSupported("Sideways"));
+    }
+
+    public void testAdjust() {
+        final int start = EpochDays.of(2012, 12, 1);
+        for (int day = start; day < start + 300; day++) {
+            final int month = EpochDays.getMonth(day);
+            for (final String type : TYPES) {
+                for (int increment = -1; increment <= 1; increment += 2) {
+                    final int adjusted = EpochDayEngine.adjust(type, day, increment, CHECKER);
+                    assertFalse(CHECKER.isNonWorkingDay(adjusted));
+                    if (!CHECKER.isNonWorkingDay(day)) {
+                        assertEquals(day, adjusted);
+                    } else if (HolidayHandlerType.MODIFIED_FOLLOWING.equals(type) || HolidayHandlerType.MODIFIED_PRECEDING.equals(type)) {
+                        assertEquals(type + " " + EpochDays.toPackedDate(day), month, EpochDays.getMonth(adjusted));
+                    } else {
+                        assertEquals(adjusted > day, increment > 0);
+                        for (int d = Math.min(day, adjusted) + 1; d < Math.max(day, adjusted); d++) {
+                            assertTrue(CHECKER.isNonWorkingDay(d));
+                        }
+                    }
+                }
+            }
+        }
+        // Friday 31 May 2013 is a holiday, the following Monday is in June
+        assertEquals(EpochDays.of(2013, 5, 30), EpochDayEngine.adjust(HolidayHandlerType.MODIFIED_FOLLOWING, EpochDays.of(2013, 5, 31), 1, CHECKER));
+        assertEquals(EpochDays.of(2013, 6, 3), EpochDayEngine.adjust(HolidayHandlerType.FORWARD, EpochDays.of(2013, 5, 31), 1, CHECKER));
+        // Easter Monday 1 April 2013, Good Friday 29 March
+        assertEquals(EpochDays.of(2013, 4, 2), EpochDayEngine.adjust(HolidayHandlerType.MODIFIED_PRECEDING, EpochDays.of(2013, 4, 1), -1, CHECKER));
+        assertEquals(EpochDays.of(2013, 3, 28), EpochDayEngine.adjust(HolidayHandlerType.BACKWARD, EpochDays.of(2013, 4, 1), -1, CHECKER));
+    }
+
+    public void testAdjustWithConverter() {
+        final Integer saturday = Integer.valueOf(EpochDays.of(2013, 6, 15));
+        final Integer monday = Integer.valueOf(EpochDays.of(2013, 6, 17));
+        final NonWorkingDayChecker<Integer> checker = new NonWorkingDayChecker<Integer>() {
+            public boolean isNonWorkingDay(final Integer date) {
+                return CHECKER.isNonWorkingDay(date.intValue());
+            }
+        };
+        final EpochDayConverter<Integer> converter = new EpochDayConverter<Integer>() {
+            private static final long serialVersionUID = 1L;
+
+            public int toEpochDay(final Integer date) {
+                return date.intValue();
+            }
+
+            public Integer fromEpochDay(final int epochDay) {
+                return Integer.valueOf(epochDay);
+            }
+        };
+        assertEquals(monday, EpochDayEngine.adjust(HolidayHandlerType.FORWARD, saturday, 1, checker, converter));
+        assertSame(monday, EpochDayEngine.adjust(HolidayHandlerType.FORWARD, monday, 1, checker, converter));
+    }
+
+    public void testDayDiff() {
+        final int start = EpochDays.of(2006, 1, 31);
+        final int end = EpochDays.of(2006, 3, 31);
+        assertEquals(59, EpochDayEngine.dayDiff(start, end, PeriodCountBasis.ACT_ACT));
+        assertEquals(-59, EpochDayEngine.dayDiff(end, start, PeriodCountBasis.ACT_365));
+        assertEquals(60, EpochDayEngine.dayDiff(start, end, PeriodCountBasis.CONV_30_360));
+        assertEquals(60, EpochDayEngine.dayDiff(start, end, PeriodCountBasis.CONV_360E_ISMA));
+        assertEquals(60, EpochDayEngine.dayDiff(start, end, PeriodCountBasis.CONV_360E_ISDA));
+        assertEquals(0, EpochDayEngine.dayDiff(end, end, PeriodCountBasis.CONV_360E_ISDA));
+        // 30/360 only moves the end day if the start day is 30 or 31
+        assertEquals(30, EpochDayEngine.dayDiff(EpochDays.of(2006, 3, 1), EpochDays.of(2006, 3, 31), PeriodCountBasis.CONV_30_360));
+        assertEquals(29, EpochDayEngine.dayDiff(EpochDays.of(2006, 3, 1), EpochDays.of(2006, 3, 31), PeriodCountBasis.CONV_360E_ISMA));
+        // 30E/360 ISDA takes the last day of February as the 30th, unless it is the end date
+        assertEquals(30, EpochDayEngine.dayDiff(EpochDays.of(2008, 2, 29), EpochDays.of(2008, 3, 31), PeriodCountBasis.CONV_360E_ISDA));
+        assertEquals(29, EpochDayEngine.dayDiff(EpochDays.of(2008, 1, 31), EpochDays.of(2008, 2, 29), PeriodCountBasis.CONV_360E_ISDA));
+    }
+
+    public void testYearDiff() {
+        final int start = EpochDays.of(2003, 11, 1);
+        final int end = EpochDays.of(2004, 5, 1);
+        assertEquals(182 / 365.0, EpochDayEngine.yearDiff(start, end, PeriodCountBasis.ACT_365), 1e-12);
+        assertEquals(182 / 360.0, EpochDayEngine.yearDiff(start, end, PeriodCountBasis.ACT_360), 1e-12);
+        assertEquals(0.5, EpochDayEngine.yearDiff(start, end, PeriodCountBasis.CONV_30_360), 1e-12);
+        assertEquals(6.0, EpochDayEngine.monthDiff(start, end, PeriodCountBasis.CONV_30_360), 1e-12);
+        assertEquals(61 / 365.0 + 121 / 366.0, EpochDayEngine.yearDiff(start, end, PeriodCountBasis.ACT_ACT), 1e-12);
+        assertEquals(0.0, EpochDayEngine.yearDiff(EpochDays.of(2004, 1, 1), end, PeriodCountBasis.ACT_ACT), 1e-12);
+    }
+
+    public void testHolidayIndex() {
+        final Integer[] dates = new Integer[] { Integer.valueOf(10), Integer.valueOf(3), Integer.valueOf(7) };
+        final DefaultHolidayCalendar<Integer> calendar = new DefaultHolidayCalendar<Integer>(new HashSet<Integer>(Arrays.asList(dates)), Integer.valueOf(
+                1), Integer.valueOf(20));
+        final EpochDayHolidayIndex index = EpochDayHolidayIndex.of(calendar, new EpochDayConverter<Integer>() {
+            private static final long serialVersionUID = 1L;
+
+            public int toEpochDay(final Integer date) {
+                return date.intValue();
+            }
+
+            public Integer fromEpochDay(final int epochDay) {
+                return Integer.valueOf(epochDay);
+            }
+        });
+        assertEquals(3, index.size());
+        assertTrue(index.isHoliday(3));
+        assertTrue(index.isHoliday(10));
+        assertFalse(index.isHoliday(4));
+        assertTrue(index.isWithinBoundaries(1));
+        assertTrue(index.isWithinBoundaries(20));
+        assertFalse(index.isWithinBoundaries(0));
+        assertFalse(index.isWithinBoundaries(21));
+        assertSame(EpochDayHolidayIndex.EMPTY, EpochDayHolidayIndex.of(null, null));
+        assertTrue(EpochDayHolidayIndex.EMPTY.isWithinBoundaries(Integer.MIN_VALUE));
+    }
+}
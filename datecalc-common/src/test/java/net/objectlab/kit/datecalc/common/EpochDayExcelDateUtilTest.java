@@ -0,0 +1,42 @@
+package net.objectlab.kit.datecalc.common;
+
+import java.text.SimpleDateFormat;
+
+public class EpochDayExcelDateUtilTest extends AbstractExcelDateUtilTest<Integer> {
+
+    @Override
+    protected Integer createDate(final String str) {
+        return EpochDays.parse(str, 0, str.length());
+    }
+
+    @Override
+    protected Integer createDateFromExcel(final double excelDate, final boolean use1904Windowing) {
+        final int epochDay = ExcelDateUtil.toEpochDay(excelDate, use1904Windowing);
+        if (epochDay != EpochDays.NO_DATE) {
+            assertEquals("round trip", Math.floor(excelDate), ExcelDateUtil.fromEpochDay(epochDay, use1904Windowing));
+        }
+        return epochDay == EpochDays.NO_DATE ? null : epochDay;
+    }
+
+    public void testMatchesCalendarConversion() {
+        final double[] serials = new double[70000];
+        for (int i = 0; i < serials.length; i++) {
+            serials[i] = i + 0.25;
+        }
+        final SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
+        for (final boolean use1904 : new boolean[] { false, true }) {
+            final int[] epochDays = ExcelDateUtil.toEpochDays(serials, use1904);
+            for (int i = 0; i < serials.length; i++) {
+                final String expected = sdf.format(ExcelDateUtil.getJavaDateOnly(serials[i], use1904));
+                assertEquals("serial " + serials[i], EpochDays.parse(expected, 0, expected.length()), epochDays[i]);
+            }
+        }
+    }
+
+    public void testPhantomLeapDay() {
+        assertEquals(EpochDays.of(1900, 2, 28), ExcelDateUtil.toEpochDay(59, false));
+        assertEquals(EpochDays.of(1900, 3, 1), ExcelDateUtil.toEpochDay(60, false));
+        assertEquals(EpochDays.of(1900, 3, 1), ExcelDateUtil.toEpochDay(61, false));
+        assertEquals(EpochDays.NO_DATE, ExcelDateUtil.toEpochDay(Double.NaN, false));
+    }
+}
@@ -0,0 +1,63 @@
+package net.objectlab.kit.datecalc.common;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import junit.framework.TestCase;
+
+public class EpochDayHolidayIndexTest extends TestCase {
+
+    private static final EpochDayConverter<Integer> CONVERTER = new IntegerConverter();
+
+    private static final int XMAS = EpochDays.of(2006, 12, 25);
+
+    private static final int NEW_YEAR = EpochDays.of(2007, 1, 1);
+
+    private static class IntegerConverter implements EpochDayConverter<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        public int toEpochDay(final Integer date) {
+            return date.intValue();
+        }
+
+        public Integer fromEpochDay(final int epochDay) {
+            return Integer.valueOf(epochDay);
+        }
+    }
+
+    public void testCopiedCalendarSharesItsIndex() {
+        final HolidayCalendar<Integer> original = new DefaultHolidayCalendar<Integer>(new HashSet<Integer>(Arrays.asList(Integer.valueOf(NEW_YEAR),
+                Integer.valueOf(XMAS))), Integer.valueOf(XMAS - 100), Integer.valueOf(NEW_YEAR + 100));
+        final HolidayCalendar<Integer> calendar = ImmutableHolidayCalendar.copyOf(original);
+        original.setHolidays(new HashSet<Integer>());
+        final EpochDayHolidayIndex index = EpochDayHolidayIndex.of(calendar, CONVERTER);
+        assertSame("Built once", index, EpochDayHolidayIndex.of(calendar, CONVERTER));
+        assertEquals(2, index.size());
+        assertTrue(index.isHoliday(XMAS));
+        assertFalse(index.isHoliday(XMAS + 1));
+        assertTrue(index.isWithinBoundaries(XMAS - 100));
+        assertFalse(index.isWithinBoundaries(NEW_YEAR + 101));
+
+        final EpochDayHolidayIndex other = EpochDayHolidayIndex.of(calendar, new IntegerConverter());
+        assertNotSame("Another conversion", index, other);
+        assertTrue(other.isHoliday(NEW_YEAR));
+    }
+
+    public void testViewFollowsItsCalendar() {
+        final HolidayCalendar<Integer> original = new DefaultHolidayCalendar<Integer>(new HashSet<Integer>(Arrays.asList(Integer.valueOf(XMAS))));
+        final HolidayCalendar<Integer> view = new ImmutableHolidayCalendar<Integer>(original);
+        assertTrue(EpochDayHolidayIndex.of(view, CONVERTER).isHoliday(XMAS));
+        original.setHolidays(new HashSet<Integer>(Arrays.asList(Integer.valueOf(NEW_YEAR))));
+        assertFalse("Not kept", EpochDayHolidayIndex.of(view, CONVERTER).isHoliday(XMAS));
+        assertTrue(EpochDayHolidayIndex.of(view, CONVERTER).isHoliday(NEW_YEAR));
+    }
+
+    public void testCompactCalendarIsNotConverted() {
+        final CompactHolidayCalendar<Integer> calendar = new CompactHolidayCalendar<Integer>(CONVERTER, new int[] { NEW_YEAR, XMAS, XMAS });
+        final EpochDayHolidayIndex index = EpochDayHolidayIndex.of(calendar, CONVERTER);
+        assertSame(calendar.sortedEpochDays(), index.sortedEpochDays());
+        assertEquals(2, index.size());
+        assertTrue(index.isWithinBoundaries(Integer.MIN_VALUE));
+        assertSame(EpochDayHolidayIndex.of(new ImmutableHolidayCalendar<Integer>(calendar), CONVERTER).sortedEpochDays(), calendar.sortedEpochDays());
+    }
+}
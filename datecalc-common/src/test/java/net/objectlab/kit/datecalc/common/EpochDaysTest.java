@@ -0,0 +1,65 @@
+package net.objectlab.kit.datecalc.common;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import junit.framework.TestCase;
+
+public class EpochDaysTest extends TestCase {
+
+    public void testOf() {
+        assertEquals(0, EpochDays.of(1970, 1, 1));
+        assertEquals(-1, EpochDays.of(1969, 12, 31));
+        assertEquals(11016, EpochDays.of(2000, 2, 29));
+        assertEquals(-25567, EpochDays.of(1900, 1, 1));
+        assertEquals(-719528, EpochDays.of(0, 1, 1));
+    }
+
+    public void testRoundTripAgainstGregorianCalendar() {
+        final GregorianCalendar cal = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        cal.clear();
+        cal.set(1600, Calendar.MARCH, 1);
+        final int start = EpochDays.of(1600, 3, 1);
+        for (int epochDay = start; epochDay < start + 300000; epochDay++) {
+            final int packed = EpochDays.toPackedDate(epochDay);
+            assertEquals(cal.get(Calendar.YEAR) * 10000 + (cal.get(Calendar.MONTH) + 1) * 100 + cal.get(Calendar.DAY_OF_MONTH), packed);
+            assertEquals(epochDay, EpochDays.of(packed / 10000, packed / 100 % 100, packed % 100));
+            assertEquals((cal.get(Calendar.DAY_OF_WEEK) + 5) % 7 + 1, EpochDays.getDayOfWeek(epochDay));
+            cal.add(Calendar.DAY_OF_MONTH, 1);
+        }
+    }
+
+    public void testPlusMonthsAgainstGregorianCalendar() {
+        final GregorianCalendar cal = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        final int start = EpochDays.of(1999, 11, 1);
+        for (int epochDay = start; epochDay < start + 800; epochDay++) {
+            for (int months = -25; months <= 25; months += 3) {
+                final int packed = EpochDays.toPackedDate(epochDay);
+                cal.clear();
+                cal.set(packed / 10000, packed / 100 % 100 - 1, packed % 100);
+                cal.add(Calendar.MONTH, months);
+                final int expected = EpochDays.of(cal.get(Calendar.YEAR), cal.get(Calendar.MONTH) + 1, cal.get(Calendar.DAY_OF_MONTH));
+                assertEquals(packed + " " + months, expected, EpochDays.plusMonths(epochDay, months));
+            }
+            assertEquals(EpochDays.getMonth(epochDay), EpochDays.getMonth(EpochDays.firstDayOfMonth(epochDay)));
+            assertEquals(1, EpochDays.getDayOfMonth(EpochDays.firstDayOfMonth(epochDay)));
+            assertEquals(EpochDays.getMonth(epochDay), EpochDays.getMonth(EpochDays.lastDayOfMonth(epochDay)));
+            assertEquals(1, EpochDays.getDayOfMonth(EpochDays.lastDayOfMonth(epochDay) + 1));
+        }
+    }
+
+    public void testParse() {
+        assertEquals(EpochDays.of(2013, 6, 15), EpochDays.parse("2013-06-15", 0, 10));
+        assertEquals(EpochDays.of(2013, 6, 15), EpochDays.parse("x20130615y", 1, 9));
+        assertEquals(EpochDays.of(2012, 2, 29), EpochDays.parse("2012-02-29", 0, 10));
+        for (final String bad : new String[] { "2013-02-29", "2013-13-01", "2013/06/15", "13-06-15", "2013-06-1x" }) {
+            try {
+                EpochDays.parse(bad, 0, bad.length());
+                fail("Should have rejected " + bad);
+            } catch (final IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package net.objectlab.kit.datecalc.common;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+
+import junit.framework.TestCase;
+
+public class HolidayBitmapTest extends TestCase {
+
+    public void testOf() {
+        final HolidayBitmap bitmap = HolidayBitmap.of(new int[] { 200, -70, 3, 200, 64 });
+        assertEquals(4, bitmap.size());
+        assertTrue(Arrays.equals(new int[] { -70, 3, 64, 200 }, bitmap.toEpochDays()));
+        assertTrue(bitmap.isHoliday(-70));
+        assertTrue(bitmap.isHoliday(64));
+        assertFalse(bitmap.isHoliday(65));
+        assertFalse(bitmap.isHoliday(-1000));
+        assertFalse(bitmap.isHoliday(1000));
+        assertEquals(0, HolidayBitmap.of(null).size());
+        assertSame(HolidayBitmap.EMPTY, HolidayBitmap.of(new int[0]));
+    }
+
+    public void testOrAgainstSets() {
+        final Random random = new Random(42);
+        for (int run = 0; run < 50; run++) {
+            final TreeSet<Integer> expected = new TreeSet<Integer>();
+            HolidayBitmap union = HolidayBitmap.EMPTY;
+            for (int calendar = 0; calendar < 3; calendar++) {
+                final int base = EpochDays.of(2000, 1, 1) + random.nextInt(2000) - 1000;
+                final int[] days = new int[random.nextInt(30)];
+                for (int i = 0; i < days.length; i++) {
+                    days[i] = base + random.nextInt(400);
+                    expected.add(Integer.valueOf(days[i]));
+                }
+                union = union.or(HolidayBitmap.of(days));
+            }
+            final int[] result = union.toEpochDays();
+            assertEquals(expected.size(), result.length);
+            int i = 0;
+            for (final Integer day : expected) {
+                assertEquals(day.intValue(), result[i++]);
+                assertTrue(union.isHoliday(day.intValue()));
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package net.objectlab.kit.datecalc.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+public class HolidayCalendarSnapshotTest extends TestCase {
+
+    private static final EpochDayConverter<Integer> CONVERTER = new IntegerConverter();
+
+    private static final int XMAS = EpochDays.of(2006, 12, 25);
+
+    private static final int BOXING_DAY = EpochDays.of(2006, 12, 26);
+
+    private static final int NEW_YEAR = EpochDays.of(2007, 1, 1);
+
+    private static class IntegerConverter implements EpochDayConverter<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        public int toEpochDay(final Integer date) {
+            return date.intValue();
+        }
+
+        public Integer fromEpochDay(final int epochDay) {
+            return Integer.valueOf(epochDay);
+        }
+    }
+
+    private static Set<Integer> days(final int... epochDays) {
+        final Set<Integer> result = new HashSet<Integer>();
+        for (final int day : epochDays) {
+            result.add(Integer.valueOf(day));
+        }
+        return result;
+    }
+
+    private static Map<String, HolidayCalendar<Integer>> calendars() {
+        final Map<String, HolidayCalendar<Integer>> calendars = new LinkedHashMap<String, HolidayCalendar<Integer>>();
+        calendars.put("LON", new DefaultHolidayCalendar<Integer>(days(XMAS, BOXING_DAY, NEW_YEAR), Integer.valueOf(EpochDays.of(2006, 1, 1)),
+                Integer.valueOf(EpochDays.of(2007, 12, 31))));
+        calendars.put("DXB", new DefaultHolidayCalendar<Integer>(days(XMAS)));
+        calendars.put("NONE", new DefaultHolidayCalendar<Integer>(new HashSet<Integer>()));
+        return calendars;
+    }
+
+    private static HolidayCalendarSnapshot<Integer> writeAndRead() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HolidayCalendarSnapshot.write(calendars(), Collections.singletonMap("DXB", WorkingWeek.ARABIC_WEEK), CONVERTER, out);
+        return new HolidayCalendarSnapshot<Integer>(ByteBuffer.wrap(out.toByteArray()), CONVERTER);
+    }
+
+    public void testRoundTrip() throws IOException {
+        final HolidayCalendarSnapshot<Integer> snapshot = writeAndRead();
+        assertEquals(Arrays.asList("LON", "DXB", "NONE"), Arrays.asList(snapshot.getHolidayCalendarNames().toArray()));
+        assertNull(snapshot.getHolidayCalendar("NYC"));
+        assertNull(snapshot.getWorkingWeek("NYC"));
+
+        final HolidayCalendar<Integer> lon = snapshot.getHolidayCalendar("LON");
+        assertEquals(days(XMAS, BOXING_DAY, NEW_YEAR), lon.getHolidays());
+        assertTrue(lon.isHoliday(Integer.valueOf(BOXING_DAY)));
+        assertFalse(lon.isHoliday(Integer.valueOf(BOXING_DAY + 1)));
+        assertFalse(lon.isHoliday(Integer.valueOf(XMAS - 1000)));
+        assertFalse(lon.isHoliday(null));
+        assertEquals(Integer.valueOf(EpochDays.of(2006, 1, 1)), lon.getEarlyBoundary());
+        assertEquals(Integer.valueOf(EpochDays.of(2007, 12, 31)), lon.getLateBoundary());
+        assertSame(WorkingWeek.DEFAULT, snapshot.getWorkingWeek("LON"));
+
+        final HolidayCalendar<Integer> dxb = snapshot.getHolidayCalendar("DXB");
+        assertEquals(days(XMAS), dxb.getHolidays());
+        assertNull(dxb.getEarlyBoundary());
+        assertNull(dxb.getLateBoundary());
+        assertTrue(snapshot.getWorkingWeek("DXB").isWorkingDayFromCalendar(Calendar.SUNDAY));
+        assertFalse(snapshot.getWorkingWeeks().get("DXB").isWorkingDayFromCalendar(Calendar.FRIDAY));
+
+        assertTrue(snapshot.getHolidayCalendar("NONE").getHolidays().isEmpty());
+        assertFalse(snapshot.getHolidayCalendar("NONE").isHoliday(Integer.valueOf(XMAS)));
+        assertEquals(3, snapshot.getHolidayCalendars().size());
+        assertEquals(days(XMAS), snapshot.loadHolidayCalendar("DXB").getHolidays());
+    }
+
+    public void testMappedFile() throws IOException {
+        final File file = File.createTempFile("holidays", ".bin");
+        try {
+            HolidayCalendarSnapshot.write(calendars(), null, CONVERTER, file);
+            final HolidayCalendarSnapshot<Integer> snapshot = HolidayCalendarSnapshot.map(file, CONVERTER);
+            assertTrue(snapshot.containsHolidayCalendar("LON"));
+            assertTrue(snapshot.getHolidayCalendar("LON").isHoliday(Integer.valueOf(NEW_YEAR)));
+            assertSame(WorkingWeek.DEFAULT, snapshot.getWorkingWeek("DXB"));
+        } finally {
+            file.delete();
+        }
+    }
+
+    public void testNotASnapshot() {
+        try {
+            new HolidayCalendarSnapshot<Integer>(ByteBuffer.wrap(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 }), CONVERTER);
+            fail("not a snapshot");
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    public void testCorruptBitmap() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HolidayCalendarSnapshot.write(calendars(), null, CONVERTER, out);
+        final ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+        // the number of holidays of LON: header, name length, name, working days, boundaries
+        buffer.putInt(12 + 2 + 3 + 1 + 4 + 4, 2);
+        try {
+            new HolidayCalendarSnapshot<Integer>(buffer, CONVERTER);
+            fail("corrupt");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().indexOf("[LON]") >= 0);
+        }
+    }
+
+    public void testTruncated() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HolidayCalendarSnapshot.write(calendars(), null, CONVERTER, out);
+        final byte[] bytes = out.toByteArray();
+        for (int length = 12; length < bytes.length; length++) {
+            try {
+                new HolidayCalendarSnapshot<Integer>(ByteBuffer.wrap(bytes, 0, length), CONVERTER);
+                fail("truncated at " + length);
+            } catch (final IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    public void testImmutable() throws IOException {
+        final HolidayCalendar<Integer> lon = writeAndRead().getHolidayCalendar("LON");
+        try {
+            lon.setHolidays(days(XMAS));
+            fail("immutable");
+        } catch (final UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    public void testSerialisedAsCompactCalendar() throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(writeAndRead().getHolidayCalendar("LON"));
+        out.close();
+        final Object read = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+        assertTrue(read instanceof CompactHolidayCalendar);
+        assertEquals(days(XMAS, BOXING_DAY, NEW_YEAR), ((CompactHolidayCalendar<?>) read).getHolidays());
+        assertEquals(Integer.valueOf(EpochDays.of(2006, 1, 1)), ((CompactHolidayCalendar<?>) read).getEarlyBoundary());
+    }
+}
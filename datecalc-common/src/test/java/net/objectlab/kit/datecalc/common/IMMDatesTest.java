@@ -0,0 +1,67 @@
+package net.objectlab.kit.datecalc.common;
+
+import junit.framework.TestCase;
+
+public class IMMDatesTest extends TestCase {
+
+    private static boolean isIMM(final int epochDay) {
+        final int month = EpochDays.getMonth(epochDay);
+        final int day = EpochDays.getDayOfMonth(epochDay);
+        return month % 3 == 0 && EpochDays.getDayOfWeek(epochDay) == 3 && day >= 15 && day <= 21;
+    }
+
+    private static int scan(final int epochDay, final int direction, final int month1, final int month2) {
+        int d = epochDay + direction;
+        while (!isIMM(d) || month1 != 0 && EpochDays.getMonth(d) != month1 && EpochDays.getMonth(d) != month2) {
+            d += direction;
+        }
+        return d;
+    }
+
+    private static int expected(final int epochDay, final IMMPeriod period, final int direction) {
+        switch (period) {
+        case BI_ANNUALY_JUN_DEC:
+            return scan(epochDay, direction, 6, 12);
+        case BI_ANNUALY_MAR_SEP:
+            return scan(epochDay, direction, 3, 9);
+        case ANNUALLY:
+            int d = scan(epochDay, direction, 0, 0);
+            for (int i = 0; i < 4; i++) {
+                d = scan(d, direction, 0, 0);
+            }
+            return d;
+        default:
+            return scan(epochDay, direction, 0, 0);
+        }
+    }
+
+    public void testKnownDates() {
+        assertTrue(IMMDates.isIMMDate(EpochDays.of(2006, 3, 15)));
+        assertFalse(IMMDates.isIMMDate(EpochDays.of(2006, 1, 18)));
+        assertFalse(IMMDates.isIMMDate(EpochDays.of(2006, 3, 14)));
+        assertTrue(IMMDates.isIMMDate(EpochDays.of(1850, 12, 18)));
+        assertEquals(EpochDays.of(2006, 6, 21), IMMDates.thirdWednesday(2006, 6));
+        assertEquals(EpochDays.of(2007, 3, 21), IMMDates.getNextIMMDate(EpochDays.of(2006, 1, 9), IMMPeriod.ANNUALLY));
+        assertEquals(EpochDays.of(2005, 12, 21), IMMDates.getPreviousIMMDate(EpochDays.of(2006, 3, 15), IMMPeriod.QUARTERLY));
+    }
+
+    /**
+     * Every day around and within the precomputed years against a day by day
+     * scan, so both the table and the calculation are covered.
+     */
+    public void testAgainstScan() {
+        final int from = EpochDays.of(IMMDates.FIRST_YEAR - 2, 1, 1);
+        final int to = EpochDays.of(IMMDates.LAST_YEAR + 2, 12, 31);
+        final int edge = 800;
+        for (int d = from; d <= to; d++) {
+            if (d > from + edge && d < to - edge && d % 5 != 0) {
+                continue;
+            }
+            assertEquals("isIMM " + d, isIMM(d), IMMDates.isIMMDate(d));
+            for (final IMMPeriod period : IMMPeriod.values()) {
+                assertEquals("next " + period + " " + d, expected(d, period, 1), IMMDates.getNextIMMDate(d, period));
+                assertEquals("previous " + period + " " + d, expected(d, period, -1), IMMDates.getPreviousIMMDate(d, period));
+            }
+        }
+    }
+}
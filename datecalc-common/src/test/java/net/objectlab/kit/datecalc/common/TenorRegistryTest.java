@@ -0,0 +1,53 @@
+package net.objectlab.kit.datecalc.common;
+
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+public class TenorRegistryTest extends TestCase {
+
+    public void testStandardTenorsAreCanonical() {
+        for (final Tenor tenor : StandardTenor.getAll()) {
+            assertSame(tenor.toString(), tenor, Tenor.valueOf(tenor.toString()));
+        }
+        assertSame(StandardTenor.T_3M, TenorRegistry.valueOf(3, TenorCode.MONTH));
+        assertSame(StandardTenor.T_10Y, TenorRegistry.intern(new Tenor(10, TenorCode.YEAR)));
+    }
+
+    public void testSameInstanceOnceSeen() {
+        final Tenor first = Tenor.valueOf("17W");
+        assertSame(first, TenorRegistry.valueOf(new StringBuilder("x17Wy"), 1, 4));
+        assertSame(first, TenorRegistry.valueOf("17W".getBytes(), 0, 3));
+        final Tenor large = Tenor.valueOf("5000D");
+        assertEquals(5000, large.getUnits());
+        assertEquals("Large units are not interned", large, TenorRegistry.valueOf("5000D"));
+        assertNotSame(large, TenorRegistry.valueOf("5000D"));
+        assertSame(Tenor.valueOf("TN"), TenorRegistry.valueOf(" TN".getBytes(), 1, 2));
+    }
+
+    public void testBulk() {
+        final List<Tenor> tenors = TenorRegistry.valueOfList(" SP, 1W,1M ,,3M", ',');
+        assertEquals(Arrays.asList(StandardTenor.SPOT, StandardTenor.T_1W, StandardTenor.T_1M, StandardTenor.T_3M), tenors);
+        assertSame(StandardTenor.T_1M, tenors.get(2));
+        assertTrue(TenorRegistry.valueOfList("", ',').isEmpty());
+        assertEquals(Arrays.asList(StandardTenor.T_1Y, StandardTenor.OVERNIGHT), TenorRegistry.valueOf(Arrays.asList("1Y", "ON")));
+    }
+
+    public void testInvalid() {
+        for (final String bad : new String[] { "", "GB", "1SP", "1IMM", "2SW55", "D", "-1D", "99999999999D" }) {
+            try {
+                TenorRegistry.valueOf(bad);
+                fail(bad + " is invalid");
+            } catch (final IllegalArgumentException e) {
+                // expected
+            }
+            try {
+                TenorRegistry.valueOf(bad.getBytes(), 0, bad.length());
+                fail(bad + " is invalid");
+            } catch (final IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+}
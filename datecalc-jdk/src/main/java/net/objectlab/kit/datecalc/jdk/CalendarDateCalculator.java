@@ -38,6 +38,8 @@ import java.util.Collections;
 import net.objectlab.kit.datecalc.common.AbstractDateCalculator;
 import net.objectlab.kit.datecalc.common.DateCalculator;
 import net.objectlab.kit.datecalc.common.DefaultHolidayCalendar;
+import net.objectlab.kit.datecalc.common.EpochDayHolidayIndex;
+import net.objectlab.kit.datecalc.common.EpochDayNonWorkingDayChecker;
 import net.objectlab.kit.datecalc.common.HolidayCalendar;
 import net.objectlab.kit.datecalc.common.HolidayHandler;
 import net.objectlab.kit.datecalc.common.Utils;
@@ -50,10 +52,15 @@ import net.objectlab.kit.datecalc.common.WorkingWeek;
  *
  * @author Marcin Jekot
  */
-public class CalendarDateCalculator extends AbstractDateCalculator<Calendar> {
+public class CalendarDateCalculator extends AbstractDateCalculator<Calendar> implements EpochDayNonWorkingDayChecker {
+
+    private static final CalendarEpochDayConverter CONVERTER = new CalendarEpochDayConverter();
 
     private WorkingWeek workingWeek = WorkingWeek.DEFAULT;
 
+    /** The holidays as epoch days, built on first use. */
+    private EpochDayHolidayIndex holidays;
+
     public CalendarDateCalculator() {
         this(null, null, new DefaultHolidayCalendar<Calendar>(Collections.<Calendar> emptySet()), null);
     }
@@ -82,6 +89,33 @@ public class CalendarDateCalculator extends AbstractDateCalculator<Calendar> {
         return !workingWeek.isWorkingDay(date);
     }
 
+    @Override
+    public DateCalculator<Calendar> setHolidayCalendar(final HolidayCalendar<Calendar> calendar) {
+        super.setHolidayCalendar(calendar);
+        holidays = null;
+        return this;
+    }
+
+    /**
+     * Is the day a non working day, i.e. either a "weekend" or a holiday? The
+     * handlers use this to move a date without creating a Calendar for each
+     * day they check; a holiday is matched on its year, month and day fields.
+     * This may throw an {@link IndexOutOfBoundsException} if the day is not
+     * within the boundaries of the holiday calendar.
+     *
+     * @since 1.4.1
+     */
+    public boolean isNonWorkingDay(final int epochDay) {
+        refreshHolidayCalendar();
+        if (holidays == null) {
+            holidays = EpochDayHolidayIndex.of(getHolidayCalendar(), CONVERTER);
+        }
+        if (!holidays.isWithinBoundaries(epochDay)) {
+            checkBoundary(CONVERTER.fromEpochDay(epochDay));
+        }
+        return !workingWeek.isWorkingEpochDay(epochDay) || holidays.isHoliday(epochDay);
+    }
+
     // -----------------------------------------------------------------------
     //
     // ObjectLab, world leaders in the design and development of bespoke
@@ -91,29 +125,39 @@ public class CalendarDateCalculator extends AbstractDateCalculator<Calendar> {
     // -----------------------------------------------------------------------
 
     public CalendarDateCalculator moveByDays(final int days) {
-        setCurrentIncrement(days);
-        getCurrentBusinessDate().add(Calendar.DAY_OF_MONTH, days);
-
-        if (getHolidayHandler() != null) {
-            setCurrentBusinessDate(getHolidayHandler().moveCurrentDate(this));
+        beginOperation();
+        try {
+            setCurrentIncrement(days);
+            getCurrentBusinessDate().add(Calendar.DAY_OF_MONTH, days);
+
+            if (getHolidayHandler() != null) {
+                setCurrentBusinessDate(getHolidayHandler().moveCurrentDate(this));
+            }
+
+            return this;
+        } finally {
+            endOperation();
         }
-
-        return this;
     }
 
     @Override
     public DateCalculator<Calendar> moveByMonths(final int months) {
-        setCurrentIncrement(months);
-        final Calendar date = getCurrentBusinessDate();
-        date.add(Calendar.MONTH, months);
+        beginOperation();
+        try {
+            setCurrentIncrement(months);
+            final Calendar date = getCurrentBusinessDate();
+            date.add(Calendar.MONTH, months);
 
-        setCurrentBusinessDate(date);
+            setCurrentBusinessDate(date);
 
-        if (getHolidayHandler() != null) {
-            setCurrentBusinessDate(getHolidayHandler().moveCurrentDate(this));
-        }
+            if (getHolidayHandler() != null) {
+                setCurrentBusinessDate(getHolidayHandler().moveCurrentDate(this));
+            }
 
-        return this;
+            return this;
+        } finally {
+            endOperation();
+        }
     }
 
     @Override
@@ -0,0 +1,102 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * $Id$
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.jdk;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+import net.objectlab.kit.datecalc.common.EpochDayConverter;
+import net.objectlab.kit.datecalc.common.EpochDays;
+
+/**
+ * Converts a <code>Calendar</code> to the epoch day of its year, month and
+ * day fields, ignoring the time; calendars created back are at midnight in
+ * the default time zone.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.1
+ */
+public class CalendarEpochDayConverter implements EpochDayConverter<Calendar> {
+    private static final long serialVersionUID = -2367015383468371553L;
+
+    public int toEpochDay(final Calendar date) {
+        return EpochDays.of(date.get(Calendar.YEAR), date.get(Calendar.MONTH) + 1, date.get(Calendar.DAY_OF_MONTH));
+    }
+
+    public Calendar fromEpochDay(final int epochDay) {
+        final int packed = EpochDays.toPackedDate(epochDay);
+        return new GregorianCalendar(packed / 10000, packed / 100 % 100 - 1, packed % 100);
+    }
+
+    /**
+     * @return a copy of the template (keeping its time and time zone) moved
+     *         to the epoch day.
+     */
+    public Calendar fromEpochDay(final Calendar template, final int epochDay) {
+        final Calendar cal = (Calendar) template.clone();
+        cal.set(EpochDays.getYear(epochDay), EpochDays.getMonth(epochDay) - 1, EpochDays.getDayOfMonth(epochDay));
+        return cal;
+    }
+
+    /**
+     * The conversion does not depend on the instance, all are equal.
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        return obj != null && obj.getClass() == getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
+
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development of
+ * bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more about us</a>
+ *
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *
+ *                      www.ObjectLab.co.uk
+ */
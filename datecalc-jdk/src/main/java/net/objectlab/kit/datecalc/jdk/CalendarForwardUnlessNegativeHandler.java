@@ -35,6 +35,8 @@ package net.objectlab.kit.datecalc.jdk;
 import java.util.Calendar;
 
 import net.objectlab.kit.datecalc.common.BaseCalculator;
+import net.objectlab.kit.datecalc.common.EpochDayEngine;
+import net.objectlab.kit.datecalc.common.EpochDayNonWorkingDayChecker;
 import net.objectlab.kit.datecalc.common.HolidayHandler;
 import net.objectlab.kit.datecalc.common.HolidayHandlerType;
 import net.objectlab.kit.datecalc.common.NonWorkingDayChecker;
@@ -49,6 +51,8 @@ import net.objectlab.kit.datecalc.common.NonWorkingDayChecker;
  */
 public class CalendarForwardUnlessNegativeHandler implements HolidayHandler<Calendar> {
 
+    private static final CalendarEpochDayConverter CONVERTER = new CalendarEpochDayConverter();
+
     /**
      * If the current date of the give calculator is a non-working day, it will
      * be moved according to the algorithm implemented.
@@ -70,6 +74,10 @@ public class CalendarForwardUnlessNegativeHandler implements HolidayHandler<Cale
     // -----------------------------------------------------------------------
 
     public Calendar adjustDate(final Calendar startDate, final int increment, final NonWorkingDayChecker<Calendar> checker) {
+        if (checker instanceof EpochDayNonWorkingDayChecker) {
+            final int epochDay = CONVERTER.toEpochDay(startDate);
+            return CONVERTER.fromEpochDay(startDate, EpochDayEngine.adjust(getType(), epochDay, increment, (EpochDayNonWorkingDayChecker) checker));
+        }
         final Calendar cal = (Calendar) startDate.clone();
 
         while (checker.isNonWorkingDay(cal)) {
@@ -41,6 +41,7 @@ import java.util.Calendar;
 
 import net.objectlab.kit.datecalc.common.AbstractKitCalculatorsFactory;
 import net.objectlab.kit.datecalc.common.CurrencyDateCalculatorBuilder;
+import net.objectlab.kit.datecalc.common.EpochDayConverter;
 import net.objectlab.kit.datecalc.common.HolidayHandler;
 import net.objectlab.kit.datecalc.common.HolidayHandlerType;
 import net.objectlab.kit.datecalc.common.IMMDateCalculator;
@@ -181,6 +182,14 @@ public class CalendarKitCalculatorsFactory extends AbstractKitCalculatorsFactory
     public IMMDateCalculator<Calendar> getIMMDateCalculator() {
         return IMMDC;
     }
+
+    /**
+     * @return the conversion used to combine the registered calendars.
+     */
+    @Override
+    protected EpochDayConverter<Calendar> getEpochDayConverter() {
+        return new CalendarEpochDayConverter();
+    }
 }
 
 /*
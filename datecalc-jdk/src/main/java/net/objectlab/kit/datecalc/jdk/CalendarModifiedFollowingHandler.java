@@ -34,6 +34,8 @@
  import java.util.Calendar;
 
  import net.objectlab.kit.datecalc.common.BaseCalculator;
+ import net.objectlab.kit.datecalc.common.EpochDayEngine;
+ import net.objectlab.kit.datecalc.common.EpochDayNonWorkingDayChecker;
  import net.objectlab.kit.datecalc.common.HolidayHandler;
  import net.objectlab.kit.datecalc.common.HolidayHandlerType;
  import net.objectlab.kit.datecalc.common.NonWorkingDayChecker;
@@ -48,6 +50,8 @@
   */
  public class CalendarModifiedFollowingHandler implements HolidayHandler<Calendar> {
 
+     private static final CalendarEpochDayConverter CONVERTER = new CalendarEpochDayConverter();
+
      /**
       * If the current date of the give calculator is a non-working day, it will
       * be moved according to the algorithm implemented.
@@ -68,6 +72,10 @@
      //
      // -----------------------------------------------------------------------
      public Calendar adjustDate(final Calendar startDate, final int increment, final NonWorkingDayChecker<Calendar> checker) {
+         if (checker instanceof EpochDayNonWorkingDayChecker) {
+             final int epochDay = CONVERTER.toEpochDay(startDate);
+             return CONVERTER.fromEpochDay(startDate, EpochDayEngine.adjust(getType(), epochDay, increment, (EpochDayNonWorkingDayChecker) checker));
+         }
          final Calendar cal = (Calendar) startDate.clone();
          int step = increment;
          final int month = cal.get(Calendar.MONTH);
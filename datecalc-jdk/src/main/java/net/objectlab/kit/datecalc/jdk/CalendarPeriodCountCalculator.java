@@ -34,12 +34,16 @@ package net.objectlab.kit.datecalc.jdk;
 
 import java.util.Calendar;
 
+import net.objectlab.kit.datecalc.common.EpochDayEngine;
 import net.objectlab.kit.datecalc.common.PeriodCountBasis;
 import net.objectlab.kit.datecalc.common.PeriodCountCalculator;
 
 /**
  * Jdk <code>Calendar</code> based implementation of the
- * {@link net.objectlab.kit.datecalc.common.PeriodCountCalculator}.
+ * {@link net.objectlab.kit.datecalc.common.PeriodCountCalculator}, the
+ * calendars are converted to epoch days and the counts done by the
+ * {@link EpochDayEngine}. The actual number of days is still the absolute
+ * difference in time, rounded to the nearest day.
  *
  * @author Marcin Jekot
  *
@@ -48,21 +52,17 @@ public class CalendarPeriodCountCalculator implements PeriodCountCalculator<Cale
 
     private static final long MILLIS_IN_DAY = 1000L * 60L * 60L * 24L;
 
+    private static final CalendarEpochDayConverter CONVERTER = new CalendarEpochDayConverter();
+
     public int dayDiff(final Calendar start, final Calendar end, final PeriodCountBasis basis) {
 
         int diff = 0;
 
         switch (basis) {
         case CONV_30_360:
-            diff = calculateConv30360(start, end);
-            break;
-
         case CONV_360E_ISDA:
-            diff = calculateConv360EIsda(start, end);
-            break;
-
         case CONV_360E_ISMA:
-            diff = calculateConv360EIsma(start, end);
+            diff = EpochDayEngine.dayDiff(CONVERTER.toEpochDay(start), CONVERTER.toEpochDay(end), basis);
             break;
 
         default:
@@ -72,55 +72,6 @@ public class CalendarPeriodCountCalculator implements PeriodCountCalculator<Cale
         return diff;
     }
 
-    private int calculateConv360EIsma(final Calendar start, final Calendar end) {
-        int diff;
-        int dayStart = start.get(Calendar.DAY_OF_MONTH);
-        int dayEnd = end.get(Calendar.DAY_OF_MONTH);
-        if (dayEnd == MONTH_31_DAYS) {
-            dayEnd = MONTH_30_DAYS;
-        }
-        if (dayStart == MONTH_31_DAYS) {
-            dayStart = MONTH_30_DAYS;
-        }
-        diff = (end.get(Calendar.YEAR) - start.get(Calendar.YEAR)) * YEAR_360 + (end.get(Calendar.MONTH) - start.get(Calendar.MONTH)) * MONTH_30_DAYS
-                + dayEnd - dayStart;
-        return diff;
-    }
-
-    private int calculateConv360EIsda(final Calendar start, final Calendar end) {
-        if (start.equals(end)) {
-            return 0;
-        }
-        int diff;
-        int dayStart = start.get(Calendar.DAY_OF_MONTH);
-        int dayEnd = end.get(Calendar.DAY_OF_MONTH);
-        if (start.getActualMaximum(Calendar.DAY_OF_MONTH) == dayStart) {
-            dayStart = MONTH_30_DAYS;
-        }
-        if (end.get(Calendar.MONTH) != Calendar.FEBRUARY && end.getActualMaximum(Calendar.DAY_OF_MONTH) == dayEnd) {
-            dayEnd = MONTH_30_DAYS;
-        }
-
-        diff = (end.get(Calendar.YEAR) - start.get(Calendar.YEAR)) * YEAR_360 + (end.get(Calendar.MONTH) - start.get(Calendar.MONTH)) * MONTH_30_DAYS
-                + dayEnd - dayStart;
-        return diff;
-    }
-
-    private int calculateConv30360(final Calendar start, final Calendar end) {
-        int diff;
-        int dayStart = start.get(Calendar.DAY_OF_MONTH);
-        int dayEnd = end.get(Calendar.DAY_OF_MONTH);
-        if (dayEnd == MONTH_31_DAYS && dayStart >= MONTH_30_DAYS) {
-            dayEnd = MONTH_30_DAYS;
-        }
-        if (dayStart == MONTH_31_DAYS) {
-            dayStart = MONTH_30_DAYS;
-        }
-        diff = (end.get(Calendar.YEAR) - start.get(Calendar.YEAR)) * YEAR_360 + (end.get(Calendar.MONTH) - start.get(Calendar.MONTH)) * MONTH_30_DAYS
-                + dayEnd - dayStart;
-        return diff;
-    }
-
     // -----------------------------------------------------------------------
     //
     // ObjectLab, world leaders in the design and development of bespoke
@@ -143,26 +94,6 @@ public class CalendarPeriodCountCalculator implements PeriodCountCalculator<Cale
         double diff = 0.0;
 
         switch (basis) {
-        case ACT_ACT:
-            final int startYear = start.get(Calendar.YEAR);
-            final int endYear = end.get(Calendar.YEAR);
-            if (startYear != endYear) {
-                final Calendar endOfStartYear = (Calendar) start.clone();
-                endOfStartYear.set(Calendar.DAY_OF_YEAR, endOfStartYear.getActualMaximum(Calendar.DAY_OF_YEAR));
-                final Calendar startOfEndYear = (Calendar) end.clone();
-                startOfEndYear.set(Calendar.DAY_OF_YEAR, startOfEndYear.getActualMinimum(Calendar.DAY_OF_YEAR));
-
-                final int diff1 = dayDiff(start, endOfStartYear);
-                final int diff2 = dayDiff(startOfEndYear, end);
-
-                diff = (diff1 + 1.0) / start.getActualMaximum(Calendar.DAY_OF_YEAR) + (endYear - startYear - 1.0) + diff2
-                        / (double) end.getActualMaximum(Calendar.DAY_OF_YEAR);
-            }
-            break;
-
-        case CONV_30_360:
-        case CONV_360E_ISDA:
-        case CONV_360E_ISMA:
         case ACT_360:
             diff = dayDiff(start, end, basis) / YEAR_360_0;
             break;
@@ -172,7 +103,7 @@ public class CalendarPeriodCountCalculator implements PeriodCountCalculator<Cale
             break;
 
         default:
-            throw new UnsupportedOperationException("Sorry no ACT_UST yet");
+            diff = EpochDayEngine.yearDiff(CONVERTER.toEpochDay(start), CONVERTER.toEpochDay(end), basis);
         }
 
         return diff;
@@ -102,11 +102,16 @@ public class DateDateCalculator extends AbstractDateCalculator<Date> {
     }
 
     public DateCalculator<Date> moveByDays(final int days) {
-        setCurrentIncrement(days);
-        delegate.setCurrentIncrement(days);
-        delegate.setCurrentBusinessDate(Utils.getCal(getCurrentBusinessDate()));
-        setCurrentBusinessDate(delegate.moveByDays(days).getCurrentBusinessDate().getTime());
-        return this;
+        beginOperation();
+        try {
+            setCurrentIncrement(days);
+            delegate.setCurrentIncrement(days);
+            delegate.setCurrentBusinessDate(Utils.getCal(getCurrentBusinessDate()));
+            setCurrentBusinessDate(delegate.moveByDays(days).getCurrentBusinessDate().getTime());
+            return this;
+        } finally {
+            endOperation();
+        }
     }
 
     @Override
@@ -131,11 +136,16 @@ public class DateDateCalculator extends AbstractDateCalculator<Date> {
 
     @Override
     protected DateCalculator<Date> moveByMonths(final int months) {
-        setCurrentIncrement(months);
-        delegate.setCurrentIncrement(months);
-        delegate.setCurrentBusinessDate(Utils.getCal(getCurrentBusinessDate()));
-        setCurrentBusinessDate(delegate.moveByMonths(months).getCurrentBusinessDate().getTime());
-        return this;
+        beginOperation();
+        try {
+            setCurrentIncrement(months);
+            delegate.setCurrentIncrement(months);
+            delegate.setCurrentBusinessDate(Utils.getCal(getCurrentBusinessDate()));
+            setCurrentBusinessDate(delegate.moveByMonths(months).getCurrentBusinessDate().getTime());
+            return this;
+        } finally {
+            endOperation();
+        }
     }
 
     @Override
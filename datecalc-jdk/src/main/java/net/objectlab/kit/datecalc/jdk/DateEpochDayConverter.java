@@ -0,0 +1,118 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * $Id$
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.jdk;
+
+import java.util.Date;
+import java.util.TimeZone;
+
+import net.objectlab.kit.datecalc.common.EpochDayConverter;
+
+/**
+ * Converts a <code>Date</code> to the epoch day of its day in a time zone
+ * (by default the default time zone at the time of the conversion), ignoring
+ * the time; dates created back are at midnight. No <code>Calendar</code> is
+ * involved, only the offset of the zone.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.1
+ */
+public class DateEpochDayConverter implements EpochDayConverter<Date> {
+    private static final long serialVersionUID = 3520874434960127764L;
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private final TimeZone timeZone;
+
+    public DateEpochDayConverter() {
+        this(null);
+    }
+
+    /**
+     * @param timeZone
+     *            the zone in which a <code>Date</code> is taken as a day, the
+     *            default time zone if null.
+     */
+    public DateEpochDayConverter(final TimeZone timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    private TimeZone getTimeZone() {
+        return timeZone != null ? timeZone : TimeZone.getDefault();
+    }
+
+    public int toEpochDay(final Date date) {
+        final long millis = date.getTime();
+        final long local = millis + getTimeZone().getOffset(millis);
+        return (int) (local >= 0 ? local / MILLIS_PER_DAY : (local + 1) / MILLIS_PER_DAY - 1);
+    }
+
+    public Date fromEpochDay(final int epochDay) {
+        final TimeZone zone = getTimeZone();
+        final long local = epochDay * MILLIS_PER_DAY;
+        // the offset at midnight local time, checked twice for the day light saving changes
+        final long guess = local - zone.getOffset(local);
+        return new Date(local - zone.getOffset(guess));
+    }
+
+    /**
+     * Equal if the days are taken in the same time zone.
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        return obj != null && obj.getClass() == getClass() && getTimeZone().equals(((DateEpochDayConverter) obj).getTimeZone());
+    }
+
+    @Override
+    public int hashCode() {
+        return getTimeZone().hashCode();
+    }
+}
+
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development of
+ * bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more about us</a>
+ *
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *
+ *                      www.ObjectLab.co.uk
+ */
@@ -41,6 +41,7 @@ import java.util.Date;
 
 import net.objectlab.kit.datecalc.common.AbstractKitCalculatorsFactory;
 import net.objectlab.kit.datecalc.common.CurrencyDateCalculatorBuilder;
+import net.objectlab.kit.datecalc.common.EpochDayConverter;
 import net.objectlab.kit.datecalc.common.HolidayHandler;
 import net.objectlab.kit.datecalc.common.HolidayHandlerType;
 import net.objectlab.kit.datecalc.common.IMMDateCalculator;
@@ -167,6 +168,14 @@ public class DateKitCalculatorsFactory extends AbstractKitCalculatorsFactory<Dat
     public IMMDateCalculator<Date> getIMMDateCalculator() {
         return IMMDC;
     }
+
+    /**
+     * @return the conversion used to combine the registered calendars.
+     */
+    @Override
+    protected EpochDayConverter<Date> getEpochDayConverter() {
+        return new DateEpochDayConverter();
+    }
 }
 
 /*
@@ -0,0 +1,242 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * $Id$
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.jdk;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.TimeZone;
+
+import net.objectlab.kit.datecalc.common.AbstractDateCalculator;
+import net.objectlab.kit.datecalc.common.DateCalculator;
+import net.objectlab.kit.datecalc.common.DefaultHolidayCalendar;
+import net.objectlab.kit.datecalc.common.EpochDayHolidayIndex;
+import net.objectlab.kit.datecalc.common.EpochDayNonWorkingDayChecker;
+import net.objectlab.kit.datecalc.common.EpochDays;
+import net.objectlab.kit.datecalc.common.HolidayCalendar;
+import net.objectlab.kit.datecalc.common.HolidayHandler;
+import net.objectlab.kit.datecalc.common.WorkingWeek;
+
+/**
+ * A Jdk <code>Date</code> calculator that works on epoch days (see
+ * {@link EpochDays}) in a given time zone instead of delegating to a
+ * <code>Calendar</code>: a date is converted to its day number on the way in
+ * and back to a <code>Date</code> at midnight on the way out, moves and
+ * weekend/holiday checks are done on that number. The holidays are converted
+ * to an {@link EpochDayHolidayIndex}, once per calendar and time zone: the
+ * calculators using the same registered calendar share it.
+ *
+ * In the default time zone it gives the same dates as the
+ * {@link DateDateCalculator}; use it with an {@link EpochDayDateHandler}, e.g.
+ * via the {@link EpochDayDateKitCalculatorsFactory}.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.1
+ */
+public class EpochDayDateCalculator extends AbstractDateCalculator<Date> implements EpochDayNonWorkingDayChecker {
+
+    private final TimeZone timeZone;
+
+    private final DateEpochDayConverter converter;
+
+    private byte workingDays = WorkingWeek.DEFAULT.getWorkingDays();
+
+    private EpochDayHolidayIndex holidays;
+
+    public EpochDayDateCalculator() {
+        this(TimeZone.getDefault());
+    }
+
+    public EpochDayDateCalculator(final TimeZone timeZone) {
+        this(null, null, new DefaultHolidayCalendar<Date>(Collections.<Date> emptySet()), null, timeZone);
+    }
+
+    public EpochDayDateCalculator(final String name, final Date startDate, final HolidayCalendar<Date> holidayCalendar,
+            final HolidayHandler<Date> holidayHandler) {
+        this(name, startDate, holidayCalendar, holidayHandler, TimeZone.getDefault());
+    }
+
+    /**
+     * @param timeZone
+     *            the zone in which a <code>Date</code> is taken as a day,
+     *            e.g. UTC; the default time zone if null.
+     */
+    public EpochDayDateCalculator(final String name, final Date startDate, final HolidayCalendar<Date> holidayCalendar,
+            final HolidayHandler<Date> holidayHandler, final TimeZone timeZone) {
+        super(name, holidayCalendar, holidayHandler);
+        this.timeZone = timeZone != null ? timeZone : TimeZone.getDefault();
+        converter = new DateEpochDayConverter(this.timeZone);
+        holidays = EpochDayHolidayIndex.of(getHolidayCalendar(), converter);
+        if (startDate != null) {
+            setStartDate(startDate);
+        }
+    }
+
+    public TimeZone getTimeZone() {
+        return timeZone;
+    }
+
+    /**
+     * @return the day of the given date in the time zone of this calculator.
+     */
+    public int toEpochDay(final Date date) {
+        return converter.toEpochDay(date);
+    }
+
+    /**
+     * @return midnight of the given day in the time zone of this calculator.
+     */
+    public Date toDate(final int epochDay) {
+        return converter.fromEpochDay(epochDay);
+    }
+
+    public DateCalculator<Date> setWorkingWeek(final WorkingWeek week) {
+        workingDays = week.getWorkingDays();
+        return this;
+    }
+
+    @Override
+    public DateCalculator<Date> setHolidayCalendar(final HolidayCalendar<Date> calendar) {
+        super.setHolidayCalendar(calendar);
+        holidays = EpochDayHolidayIndex.of(getHolidayCalendar(), converter);
+        return this;
+    }
+
+    // -----------------------------------------------------------------------
+    //
+    // ObjectLab, world leaders in the design and development of bespoke
+    // applications for the securities financing markets.
+    // www.ObjectLab.co.uk
+    //
+    // -----------------------------------------------------------------------
+
+    /**
+     * is the date a non-working day according to the WorkingWeek?
+     */
+    public boolean isWeekend(final Date date) {
+        return date != null && isWeekend(toEpochDay(date));
+    }
+
+    public boolean isWeekend(final int epochDay) {
+        return (workingDays & 1 << EpochDays.getDayOfWeek(epochDay) - 1) == 0;
+    }
+
+    @Override
+    public boolean isNonWorkingDay(final Date date) {
+        return date != null && isNonWorkingDay(toEpochDay(date));
+    }
+
+    /**
+     * This may throw an {@link IndexOutOfBoundsException} if the day is not
+     * within the boundaries of the holiday calendar.
+     */
+    public boolean isNonWorkingDay(final int epochDay) {
+        refreshHolidayCalendar();
+        if (!holidays.isWithinBoundaries(epochDay)) {
+            checkBoundary(toDate(epochDay));
+        }
+        return isWeekend(epochDay) || holidays.isHoliday(epochDay);
+    }
+
+    public DateCalculator<Date> moveByDays(final int days) {
+        setCurrentIncrement(days);
+        setCurrentBusinessDate(toDate(toEpochDay(getCurrentBusinessDate()) + days));
+        return this;
+    }
+
+    @Override
+    protected DateCalculator<Date> moveByMonths(final int months) {
+        setCurrentIncrement(months);
+        setCurrentBusinessDate(toDate(EpochDays.plusMonths(toEpochDay(getCurrentBusinessDate()), months)));
+        return this;
+    }
+
+    @Override
+    protected DateCalculator<Date> createNewCalculator(final String name, final Date startDate, final HolidayCalendar<Date> holidays,
+            final HolidayHandler<Date> handler) {
+        return new EpochDayDateCalculator(name, startDate, holidays, handler, timeZone);
+    }
+
+    @Override
+    protected Date getToday() {
+        return toDate(toEpochDay(new Date()));
+    }
+
+    @Override
+    protected Date compareDate(final Date date1, final Date date2, final boolean returnEarliest) {
+        if (date1 == null || date2 == null) {
+            return null;
+        }
+        if (returnEarliest) {
+            return date1.after(date2) ? date2 : date1;
+        } else {
+            return date2.after(date1) ? date2 : date1;
+        }
+    }
+
+    @Override
+    protected void checkBoundary(final Date date) {
+        final Date early = getHolidayCalendar().getEarlyBoundary();
+        if (early != null && early.after(date)) {
+            throw new IndexOutOfBoundsException(date + " is before the early boundary " + early);
+        }
+
+        final Date late = getHolidayCalendar().getLateBoundary();
+        if (late != null && late.before(date)) {
+            throw new IndexOutOfBoundsException(date + " is after the late boundary " + late);
+        }
+    }
+
+    @Override
+    protected Date clone(final Date date) {
+        return new Date(date.getTime());
+    }
+}
+
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development of
+ * bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more about us</a>
+ *
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *
+ *                      www.ObjectLab.co.uk
+ */
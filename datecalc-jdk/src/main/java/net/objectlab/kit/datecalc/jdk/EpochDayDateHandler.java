@@ -0,0 +1,128 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * $Id$
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.jdk;
+
+import java.util.Date;
+
+import net.objectlab.kit.datecalc.common.BaseCalculator;
+import net.objectlab.kit.datecalc.common.EpochDayEngine;
+import net.objectlab.kit.datecalc.common.HolidayHandler;
+import net.objectlab.kit.datecalc.common.NonWorkingDayChecker;
+
+/**
+ * A Jdk <code>Date</code> implementation of the
+ * {@link net.objectlab.kit.datecalc.common.HolidayHandler} for any of the
+ * {@link net.objectlab.kit.datecalc.common.HolidayHandlerType}, the date is
+ * moved as an epoch day. With an {@link EpochDayDateCalculator} no
+ * <code>Calendar</code> is involved; with any other checker the dates are
+ * converted in the default time zone.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.1
+ */
+public class EpochDayDateHandler implements HolidayHandler<Date> {
+
+    private static final DateEpochDayConverter CONVERTER = new DateEpochDayConverter();
+
+    private final String type;
+
+    /**
+     * @param type
+     *            one of the {@link net.objectlab.kit.datecalc.common.HolidayHandlerType}
+     * @throws IllegalArgumentException
+     *             if the type is not supported.
+     */
+    public EpochDayDateHandler(final String type) {
+        if (!EpochDayEngine.isSupported(type)) {
+            throw new IllegalArgumentException("Unsupported HolidayHandler: " + type);
+        }
+        this.type = type;
+    }
+
+    /**
+     * If the current date of the give calculator is a non-working day, it will
+     * be moved according to the algorithm implemented.
+     *
+     * @param calculator
+     *            the calculator
+     * @return the date which may have moved.
+     */
+    public Date moveCurrentDate(final BaseCalculator<Date> calculator) {
+        final int increment = EpochDayEngine.increment(type, calculator.getCurrentIncrement());
+        return adjustDate(calculator.getCurrentBusinessDate(), increment, calculator);
+    }
+
+    public Date adjustDate(final Date startDate, final int increment, final NonWorkingDayChecker<Date> checker) {
+        if (checker instanceof EpochDayDateCalculator) {
+            final EpochDayDateCalculator calculator = (EpochDayDateCalculator) checker;
+            return calculator.toDate(EpochDayEngine.adjust(type, calculator.toEpochDay(startDate), increment, calculator));
+        }
+        return CONVERTER.fromEpochDay(EpochDayEngine.adjust(type, CONVERTER.toEpochDay(startDate), increment, EpochDayEngine.checker(checker, CONVERTER)));
+    }
+
+    // -----------------------------------------------------------------------
+    //
+    // ObjectLab, world leaders in the design and development of bespoke
+    // applications for the securities financing markets.
+    // www.ObjectLab.co.uk
+    //
+    // -----------------------------------------------------------------------
+
+    /**
+     * Give the type name for this algorithm.
+     *
+     * @return algorithm name.
+     */
+    public String getType() {
+        return type;
+    }
+}
+
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development of
+ * bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more about us</a>
+ *
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *
+ *                      www.ObjectLab.co.uk
+ */
@@ -0,0 +1,155 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * $Id$
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.jdk;
+
+import java.util.Date;
+import java.util.TimeZone;
+
+import net.objectlab.kit.datecalc.common.AbstractKitCalculatorsFactory;
+import net.objectlab.kit.datecalc.common.CurrencyDateCalculatorBuilder;
+import net.objectlab.kit.datecalc.common.EpochDayConverter;
+import net.objectlab.kit.datecalc.common.HolidayHandler;
+import net.objectlab.kit.datecalc.common.IMMDateCalculator;
+import net.objectlab.kit.datecalc.common.PeriodCountCalculator;
+import net.objectlab.kit.datecalc.common.SpotLag;
+
+/**
+ * A factory for Jdk <code>Date</code> calculators working on epoch days, see
+ * {@link EpochDayDateCalculator}; the time zone in which a <code>Date</code>
+ * is taken as a day is given at construction, the default instance uses the
+ * default time zone.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.1
+ */
+public class EpochDayDateKitCalculatorsFactory extends AbstractKitCalculatorsFactory<Date> {
+
+    private static final EpochDayDateKitCalculatorsFactory DEFAULT = new EpochDayDateKitCalculatorsFactory();
+
+    private static final PeriodCountCalculator<Date> PCC = new DatePeriodCountCalculator();
+
+    private static final DateIMMDateCalculator IMMDC = new DateIMMDateCalculator();
+
+    private final TimeZone timeZone;
+
+    public EpochDayDateKitCalculatorsFactory() {
+        this(TimeZone.getDefault());
+    }
+
+    /**
+     * @param timeZone
+     *            the zone used by the calculators, e.g. UTC.
+     */
+    public EpochDayDateKitCalculatorsFactory(final TimeZone timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    public static EpochDayDateKitCalculatorsFactory getDefaultInstance() {
+        return DEFAULT;
+    }
+
+    public TimeZone getTimeZone() {
+        return timeZone;
+    }
+
+    public CurrencyDateCalculatorBuilder<Date> getDefaultCurrencyDateCalculatorBuilder(final String ccy1, final String ccy2, final SpotLag spotLag) {
+        final CurrencyDateCalculatorBuilder<Date> builder = new CurrencyDateCalculatorBuilder<Date>().currencyPair(ccy1, ccy2, spotLag);
+
+        return configureCurrencyCalculatorBuilder(builder).tenorHolidayHandler(new DateModifiedFollowingHandler());
+    }
+
+    public DateCurrencyDateCalculator buildCurrencyDateCalculator(final CurrencyDateCalculatorBuilder<Date> builder) {
+        return new DateCurrencyDateCalculator(builder);
+    }
+
+    public DateCurrencyDateCalculator getDefaultCurrencyDateCalculator(final String ccy1, final String ccy2, final SpotLag spotLag) {
+        return new DateCurrencyDateCalculator(getDefaultCurrencyDateCalculatorBuilder(ccy1, ccy2, spotLag));
+    }
+
+    // -----------------------------------------------------------------------
+    //
+    // ObjectLab, world leaders in the design and development of bespoke
+    // applications for the securities financing markets.
+    // www.ObjectLab.co.uk
+    //
+    // -----------------------------------------------------------------------
+
+    public EpochDayDateCalculator getDateCalculator(final String name, final String holidayHandlerType) {
+        final EpochDayDateCalculator cal = new EpochDayDateCalculator(timeZone);
+        cal.setName(name);
+        setHolidays(name, cal);
+
+        cal.setHolidayHandler(getHolidayHandler(holidayHandlerType));
+
+        return cal;
+    }
+
+    public HolidayHandler<Date> getHolidayHandler(final String holidayHandlerType) {
+        return holidayHandlerType != null ? new EpochDayDateHandler(holidayHandlerType) : null;
+    }
+
+    public PeriodCountCalculator<Date> getPeriodCountCalculator() {
+        return PCC;
+    }
+
+    public IMMDateCalculator<Date> getIMMDateCalculator() {
+        return IMMDC;
+    }
+
+    /**
+     * @return the conversion used to combine the registered calendars.
+     */
+    @Override
+    protected EpochDayConverter<Date> getEpochDayConverter() {
+        return new DateEpochDayConverter(timeZone);
+    }
+}
+
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development of
+ * bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more about us</a>
+ *
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *
+ *                      www.ObjectLab.co.uk
+ */
@@ -0,0 +1,125 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * $Id$
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.jdk;
+
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.Set;
+
+import junit.framework.TestCase;
+import net.objectlab.kit.datecalc.common.DefaultHolidayCalendar;
+import net.objectlab.kit.datecalc.common.HolidayHandler;
+import net.objectlab.kit.datecalc.common.NonWorkingDayChecker;
+import net.objectlab.kit.datecalc.common.Utils;
+import net.objectlab.kit.datecalc.common.WorkingWeek;
+
+/**
+ * The Calendar handlers move a date on epoch days with a CalendarDateCalculator,
+ * they must give the same result as the day by day Calendar loop used with any
+ * other checker.
+ */
+public class CalendarEpochDayHandlerTest extends TestCase {
+
+    private static final HolidayHandler<?>[] HANDLERS = { new CalendarForwardHandler(), new CalendarBackwardHandler(),
+            new CalendarModifiedFollowingHandler(), new CalendarModifiedPrecedingHandler(), new CalendarForwardUnlessNegativeHandler() };
+
+    private CalendarDateCalculator newCalculator(final WorkingWeek week) {
+        final Set<Calendar> holidays = new HashSet<Calendar>();
+        for (final String date : new String[] { "2006-01-02", "2006-04-14", "2006-04-17", "2006-05-01", "2006-05-29", "2006-08-28",
+                "2006-12-25", "2006-12-26", "2006-12-29" }) {
+            holidays.add(Utils.createCalendar(date));
+        }
+        final CalendarDateCalculator calc = new CalendarDateCalculator();
+        calc.setHolidayCalendar(new DefaultHolidayCalendar<Calendar>(holidays));
+        calc.setWorkingWeek(week);
+        return calc;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testSameAsCalendarLoop() {
+        final WorkingWeek arabicFriday = WorkingWeek.ARABIC_WEEK.withWorkingDayFromCalendar(false, Calendar.THURSDAY);
+        for (final WorkingWeek week : new WorkingWeek[] { WorkingWeek.DEFAULT, WorkingWeek.ARABIC_WEEK, arabicFriday }) {
+            final CalendarDateCalculator calc = newCalculator(week);
+            final NonWorkingDayChecker<Calendar> loopChecker = new NonWorkingDayChecker<Calendar>() {
+                public boolean isNonWorkingDay(final Calendar date) {
+                    return calc.isNonWorkingDay(date);
+                }
+            };
+            for (final HolidayHandler<?> h : HANDLERS) {
+                final HolidayHandler<Calendar> handler = (HolidayHandler<Calendar>) h;
+                final Calendar date = Utils.createCalendar("2005-12-20");
+                date.set(Calendar.HOUR_OF_DAY, 13);
+                for (int i = 0; i < 400; i++) {
+                    for (final int increment : new int[] { 1, -1 }) {
+                        final Calendar expected = handler.adjustDate(date, increment, loopChecker);
+                        final Calendar actual = handler.adjustDate(date, increment, calc);
+                        assertEquals(handler.getType() + " " + date.getTime() + " " + increment, expected.getTime(), actual.getTime());
+                        assertNotSame(date, actual);
+                    }
+                    date.add(Calendar.DAY_OF_MONTH, 1);
+                }
+            }
+        }
+    }
+
+    public void testBoundaries() {
+        final CalendarDateCalculator calc = new CalendarDateCalculator();
+        calc.setHolidayCalendar(new DefaultHolidayCalendar<Calendar>(new HashSet<Calendar>(), Utils.createCalendar("2006-01-01"), Utils
+                .createCalendar("2006-12-31")));
+        calc.setHolidayHandler(new CalendarForwardHandler());
+        calc.setStartDate(Utils.createCalendar("2006-12-29"));
+        try {
+            calc.moveByDays(1);
+            fail("Should have gone past the late boundary");
+        } catch (final IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+}
+
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more about us</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ */
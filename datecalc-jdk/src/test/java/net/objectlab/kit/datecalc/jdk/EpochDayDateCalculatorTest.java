@@ -0,0 +1,144 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * $Id$
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.jdk;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TimeZone;
+
+import junit.framework.TestCase;
+import net.objectlab.kit.datecalc.common.DateCalculator;
+import net.objectlab.kit.datecalc.common.DefaultHolidayCalendar;
+import net.objectlab.kit.datecalc.common.EpochDays;
+import net.objectlab.kit.datecalc.common.HolidayHandlerType;
+import net.objectlab.kit.datecalc.common.StandardTenor;
+
+public class EpochDayDateCalculatorTest extends TestCase {
+
+    private static final String[] ZONES = { "UTC", "Europe/London", "America/New_York", "Asia/Tokyo", "Pacific/Auckland" };
+
+    private static Date midnight(final TimeZone zone, final int year, final int month, final int day) {
+        final Calendar cal = new GregorianCalendar(zone);
+        cal.clear();
+        cal.set(year, month - 1, day);
+        return cal.getTime();
+    }
+
+    public void testConversionsAcrossDaylightSaving() {
+        for (final String id : ZONES) {
+            final TimeZone zone = TimeZone.getTimeZone(id);
+            final EpochDayDateCalculator calc = new EpochDayDateCalculator(zone);
+            final Calendar cal = new GregorianCalendar(zone);
+            cal.clear();
+            cal.set(2005, Calendar.JANUARY, 1);
+            for (int epochDay = EpochDays.of(2005, 1, 1); epochDay < EpochDays.of(2008, 1, 1); epochDay++) {
+                assertEquals(id, cal.getTime(), calc.toDate(epochDay));
+                assertEquals(id, epochDay, calc.toEpochDay(cal.getTime()));
+                assertEquals(id, epochDay, calc.toEpochDay(new Date(cal.getTimeInMillis() + 12 * 60 * 60 * 1000L)));
+                cal.add(Calendar.DAY_OF_MONTH, 1);
+            }
+        }
+    }
+
+    public void testMovesInGivenZone() {
+        for (final String id : ZONES) {
+            final TimeZone zone = TimeZone.getTimeZone(id);
+            final EpochDayDateKitCalculatorsFactory factory = new EpochDayDateKitCalculatorsFactory(zone);
+            final Set<Date> holidays = new HashSet<Date>();
+            holidays.add(midnight(zone, 2006, 8, 28));
+            factory.registerHolidays("UK", new DefaultHolidayCalendar<Date>(holidays));
+
+            final DateCalculator<Date> calc = factory.getDateCalculator("UK", HolidayHandlerType.FORWARD);
+            calc.setStartDate(midnight(zone, 2006, 8, 25));
+            assertEquals(id, midnight(zone, 2006, 8, 29), calc.moveByDays(1).getCurrentBusinessDate());
+            assertEquals(id, midnight(zone, 2006, 9, 29), calc.moveByTenor(StandardTenor.T_1M).getCurrentBusinessDate());
+
+            calc.setStartDate(midnight(zone, 2006, 8, 26));
+            assertEquals(id, midnight(zone, 2006, 8, 29), calc.getCurrentBusinessDate());
+        }
+    }
+
+    public void testModifiedFollowingAtMonthEnd() {
+        final EpochDayDateKitCalculatorsFactory factory = new EpochDayDateKitCalculatorsFactory(TimeZone.getTimeZone("UTC"));
+        final DateCalculator<Date> calc = factory.getDateCalculator(null, HolidayHandlerType.MODIFIED_FOLLOWING);
+        final TimeZone utc = factory.getTimeZone();
+        calc.setStartDate(midnight(utc, 2007, 1, 31));
+        assertEquals(midnight(utc, 2007, 2, 28), calc.moveByTenor(StandardTenor.T_1M).getCurrentBusinessDate());
+        calc.setStartDate(midnight(utc, 2006, 9, 30));
+        assertEquals(midnight(utc, 2006, 9, 29), calc.getCurrentBusinessDate());
+    }
+
+    public void testFollowsReRegisteredCalendar() {
+        final TimeZone utc = TimeZone.getTimeZone("UTC");
+        final EpochDayDateKitCalculatorsFactory factory = new EpochDayDateKitCalculatorsFactory(utc);
+        factory.registerHolidays("LON", new DefaultHolidayCalendar<Date>(new HashSet<Date>()));
+        final DateCalculator<Date> calc = factory.getDateCalculator("LON", HolidayHandlerType.FORWARD).followHolidayCalendars(factory);
+        calc.setStartDate(midnight(utc, 2006, 8, 25));
+
+        final Set<Date> holidays = new HashSet<Date>();
+        holidays.add(midnight(utc, 2006, 8, 28));
+        factory.registerHolidays("LON", new DefaultHolidayCalendar<Date>(holidays));
+        assertEquals(midnight(utc, 2006, 8, 29), calc.moveByDays(1).getCurrentBusinessDate());
+        assertEquals(factory.getHolidayCalendarGeneration().getId(), calc.getHolidayCalendarGenerationId());
+        assertTrue(calc.isNonWorkingDay(midnight(utc, 2006, 8, 28)));
+    }
+
+    public void testUnsupportedHandler() {
+        try {
+            EpochDayDateKitCalculatorsFactory.getDefaultInstance().getDateCalculator("bla", "unknown");
+            fail("Should have rejected the type");
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
+
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more about us</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ */
@@ -0,0 +1,93 @@
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development
+ * of bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more</a>
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *                     www.ObjectLab.co.uk
+ *
+ * $Id$
+ *
+ * Copyright 2006 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.objectlab.kit.datecalc.jdk8;
+
+import java.time.LocalDate;
+
+import net.objectlab.kit.datecalc.common.EpochDays;
+import net.objectlab.kit.datecalc.common.ExcelDateUtil;
+
+/**
+ * Convert Excel Date to and from <code>LocalDate</code>, going through the
+ * epoch day so that no intermediate Calendar or Date is created.
+ *
+ * @author Benoit Xhenseval
+ * @since 1.4.1
+ */
+public final class Jdk8ExcelDateUtil {
+
+    private Jdk8ExcelDateUtil() {
+    }
+
+    /**
+     * @return the LocalDate or null if date is not a valid Excel date
+     */
+    public static LocalDate getLocalDate(final double date, final boolean use1904windowing) {
+        final int epochDay = ExcelDateUtil.toEpochDay(date, use1904windowing);
+        return epochDay == EpochDays.NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * @return one LocalDate per Excel date, null where not a valid Excel date
+     */
+    public static LocalDate[] getLocalDates(final double[] dates, final boolean use1904windowing) {
+        final LocalDate[] result = new LocalDate[dates.length];
+        for (int i = 0; i < dates.length; i++) {
+            result[i] = getLocalDate(dates[i], use1904windowing);
+        }
+        return result;
+    }
+
+    public static double getExcelDate(final LocalDate date, final boolean use1904windowing) {
+        return ExcelDateUtil.fromEpochDay((int) date.toEpochDay(), use1904windowing);
+    }
+}
+
+/*
+ * ObjectLab, http://www.objectlab.co.uk/open is sponsoring the ObjectLab Kit.
+ *
+ * Based in London, we are world leaders in the design and development of
+ * bespoke applications for the securities financing markets.
+ *
+ * <a href="http://www.objectlab.co.uk/open">Click here to learn more about us</a>
+ *
+ *           ___  _     _           _   _          _
+ *          / _ \| |__ (_) ___  ___| |_| |    __ _| |__
+ *         | | | | '_ \| |/ _ \/ __| __| |   / _` | '_ \
+ *         | |_| | |_) | |  __/ (__| |_| |__| (_| | |_) |
+ *          \___/|_.__// |\___|\___|\__|_____\__,_|_.__/
+ *                   |__/
+ *
+ *
+ *                      www.ObjectLab.co.uk
+ */
@@ -38,6 +38,8 @@ import java.util.Collections;
 import net.objectlab.kit.datecalc.common.AbstractDateCalculator;
 import net.objectlab.kit.datecalc.common.DateCalculator;
 import net.objectlab.kit.datecalc.common.DefaultHolidayCalendar;
+import net.objectlab.kit.datecalc.common.EpochDayHolidayIndex;
+import net.objectlab.kit.datecalc.common.EpochDayNonWorkingDayChecker;
 import net.objectlab.kit.datecalc.common.HolidayCalendar;
 import net.objectlab.kit.datecalc.common.HolidayHandler;
 import net.objectlab.kit.datecalc.common.WorkingWeek;
@@ -50,10 +52,15 @@ import net.objectlab.kit.datecalc.common.WorkingWeek;
  * @author Benoit Xhenseval
  *
  */
-public class LocalDateCalculator extends AbstractDateCalculator<LocalDate> {
+public class LocalDateCalculator extends AbstractDateCalculator<LocalDate> implements EpochDayNonWorkingDayChecker {
+
+    private static final LocalDateEpochDayConverter CONVERTER = new LocalDateEpochDayConverter();
 
     private Jdk8WorkingWeek workingWeek = Jdk8WorkingWeek.DEFAULT;
 
+    /** The holidays as epoch days, built on first use. */
+    private EpochDayHolidayIndex holidays;
+
     public LocalDateCalculator() {
         this(null, null, new DefaultHolidayCalendar<LocalDate>(Collections.emptySet()), null);
     }
@@ -89,6 +96,33 @@ public class LocalDateCalculator extends AbstractDateCalculator<LocalDate> {
         return !workingWeek.isWorkingDay(date);
     }
 
+    @Override
+    public DateCalculator<LocalDate> setHolidayCalendar(final HolidayCalendar<LocalDate> calendar) {
+        super.setHolidayCalendar(calendar);
+        holidays = null;
+        return this;
+    }
+
+    /**
+     * Is the day a non working day, i.e. either a "weekend" or a holiday? The
+     * handlers use this to move a date without creating a LocalDate for each
+     * day they check. This may throw an {@link IndexOutOfBoundsException} if
+     * the day is not within the boundaries of the holiday calendar.
+     *
+     * @since 1.4.1
+     */
+    @Override
+    public boolean isNonWorkingDay(final int epochDay) {
+        refreshHolidayCalendar();
+        if (holidays == null) {
+            holidays = EpochDayHolidayIndex.of(getHolidayCalendar(), CONVERTER);
+        }
+        if (!holidays.isWithinBoundaries(epochDay)) {
+            checkBoundary(CONVERTER.fromEpochDay(epochDay));
+        }
+        return !workingWeek.isWorkingEpochDay(epochDay) || holidays.isHoliday(epochDay);
+    }
+
     // -----------------------------------------------------------------------
     //
     // ObjectLab, world leaders in the design and development of bespoke
@@ -99,28 +133,38 @@ public class LocalDateCalculator extends AbstractDateCalculator<LocalDate> {
 
     @Override
     public DateCalculator<LocalDate> moveByDays(final int days) {
-        setCurrentIncrement(days);
+        beginOperation();
+        try {
+            setCurrentIncrement(days);
 
-        setCurrentBusinessDate(getCurrentBusinessDate().plusDays(days));
+            setCurrentBusinessDate(getCurrentBusinessDate().plusDays(days));
 
-        if (getHolidayHandler() != null) {
-            setCurrentBusinessDate(getHolidayHandler().moveCurrentDate(this));
-        }
+            if (getHolidayHandler() != null) {
+                setCurrentBusinessDate(getHolidayHandler().moveCurrentDate(this));
+            }
 
-        return this;
+            return this;
+        } finally {
+            endOperation();
+        }
     }
 
     @Override
     public DateCalculator<LocalDate> moveByMonths(final int months) {
-        setCurrentIncrement(months);
+        beginOperation();
+        try {
+            setCurrentIncrement(months);
 
-        setCurrentBusinessDate(getCurrentBusinessDate().plusMonths(months));
+            setCurrentBusinessDate(getCurrentBusinessDate().plusMonths(months));
 
-        if (getHolidayHandler() != null) {
-            setCurrentBusinessDate(getHolidayHandler().moveCurrentDate(this));
-        }
+            if (getHolidayHandler() != null) {
+                setCurrentBusinessDate(getHolidayHandler().moveCurrentDate(this));
+            }
 
-        return this;
+            return this;
+        } finally {
+            endOperation();
+        }
     }
 
     @Override
@@ -35,6 +35,7 @@ package net.objectlab.kit.datecalc.jdk8;
 import java.time.LocalDate;
 
 import net.objectlab.kit.datecalc.common.BaseCalculator;
+import net.objectlab.kit.datecalc.common.EpochDayEngine;
 import net.objectlab.kit.datecalc.common.HolidayHandler;
 import net.objectlab.kit.datecalc.common.HolidayHandlerType;
 import net.objectlab.kit.datecalc.common.NonWorkingDayChecker;
@@ -48,6 +49,8 @@ import net.objectlab.kit.datecalc.common.NonWorkingDayChecker;
  */
 public class LocalDateForwardUnlessNegativeHandler implements HolidayHandler<LocalDate> {
 
+    private static final LocalDateEpochDayConverter CONVERTER = new LocalDateEpochDayConverter();
+
     /**
      * If the current date of the give calculator is a non-working day, it will
      * be moved according to the algorithm implemented.
@@ -62,18 +65,8 @@ public class LocalDateForwardUnlessNegativeHandler implements HolidayHandler<Loc
     }
 
     @Override
-    public LocalDate adjustDate(LocalDate startDate, int increment, NonWorkingDayChecker<LocalDate> checker) {
-        LocalDate date = startDate;
-        while (checker.isNonWorkingDay(date)) {
-            if (increment < 0) {
-                // act as a Backward calendar
-                date = date.minusDays(1);
-            } else {
-                // move forward by a day!
-                date = date.plusDays(1);
-            }
-        }
-        return date;
+    public LocalDate adjustDate(final LocalDate startDate, final int increment, final NonWorkingDayChecker<LocalDate> checker) {
+        return EpochDayEngine.adjust(getType(), startDate, increment, checker, CONVERTER);
     }
 
     /**
@@ -32,16 +32,12 @@
  */
 package net.objectlab.kit.datecalc.jdk8;
 
-import static net.objectlab.kit.datecalc.common.IMMPeriod.QUARTERLY;
-
-import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.Month;
-import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
 import java.util.List;
 
 import net.objectlab.kit.datecalc.common.AbstractIMMDateCalculator;
+import net.objectlab.kit.datecalc.common.IMMDates;
 import net.objectlab.kit.datecalc.common.IMMPeriod;
 
 /**
@@ -74,15 +70,12 @@ public class LocalDateIMMDateCalculator extends AbstractIMMDateCalculator<LocalD
     @Override
     public List<LocalDate> getIMMDates(final LocalDate start, final LocalDate end, final IMMPeriod period) {
         final List<LocalDate> dates = new ArrayList<LocalDate>();
+        final long last = end.toEpochDay();
 
-        LocalDate date = start;
-        while (true) {
-            date = getNextIMMDate(true, date, period);
-            if (!date.isAfter(end)) {
-                dates.add(date);
-            } else {
-                break;
-            }
+        int imm = IMMDates.getNextIMMDate((int) start.toEpochDay(), period);
+        while (imm <= last) {
+            dates.add(LocalDate.ofEpochDay(imm));
+            imm = IMMDates.getNextIMMDate(imm, period);
         }
 
         return dates;
@@ -90,93 +83,8 @@ public class LocalDateIMMDateCalculator extends AbstractIMMDateCalculator<LocalD
 
     @Override
     protected LocalDate getNextIMMDate(final boolean requestNextIMM, final LocalDate start, final IMMPeriod period) {
-        LocalDate date = start;
-
-        date = calculateIMMMonth(requestNextIMM, date, date.getMonth());
-
-        LocalDate imm = calculate3rdWednesday(date);
-        final Month immMonth = imm.getMonth();
-        final boolean isMarchSept = immMonth == Month.MARCH || immMonth == Month.SEPTEMBER;
-
-        switch (period) {
-
-        case BI_ANNUALY_JUN_DEC:
-            if (isMarchSept) {
-                imm = getNextIMMDate(requestNextIMM, imm, period);
-            }
-            break;
-
-        case BI_ANNUALY_MAR_SEP:
-            if (!isMarchSept) {
-                imm = getNextIMMDate(requestNextIMM, imm, period);
-            }
-            break;
-
-        case ANNUALLY:
-            // second jump
-            imm = getNextIMMDate(requestNextIMM, imm, QUARTERLY);
-            // third jump
-            imm = getNextIMMDate(requestNextIMM, imm, QUARTERLY);
-            // fourth jump
-            imm = getNextIMMDate(requestNextIMM, imm, QUARTERLY);
-            // fifth jump
-            imm = getNextIMMDate(requestNextIMM, imm, QUARTERLY);
-            break;
-
-        case QUARTERLY:
-        default:
-            break;
-        }
-
-        return imm;
-    }
-
-    // -----------------------------------------------------------------------
-    //
-    // ObjectLab, world leaders in the design and development of bespoke
-    // applications for the securities financing markets.
-    // www.ObjectLab.co.uk
-    //
-    // -----------------------------------------------------------------------
-
-    private LocalDate calculateIMMMonth(final boolean requestNextIMM, final LocalDate startDate, final Month month) {
-        int monthOffset = 0;
-        LocalDate date = startDate;
-        switch (month) {
-        case MARCH:
-        case JUNE:
-        case SEPTEMBER:
-        case DECEMBER:
-            final LocalDate immDate = calculate3rdWednesday(date);
-            if (requestNextIMM && !date.isBefore(immDate)) {
-                date = date.plusMonths(MONTHS_IN_QUARTER);
-            } else if (!requestNextIMM && !date.isAfter(immDate)) {
-                date = date.minusMonths(MONTHS_IN_QUARTER);
-            }
-            break;
-
-        default:
-            if (requestNextIMM) {
-                monthOffset = (MONTH_IN_YEAR - month.getValue()) % MONTHS_IN_QUARTER;
-                date = date.plusMonths(monthOffset);
-            } else {
-                monthOffset = month.getValue() % MONTHS_IN_QUARTER;
-                date = date.minusMonths(monthOffset);
-            }
-            break;
-        }
-        return date;
-    }
-
-    /**
-     * Assumes that the month is correct, get the day for the 2rd wednesday.
-     *
-     * @param original
-     *            the start date
-     * @return the 3rd Wednesday of the month
-     */
-    private LocalDate calculate3rdWednesday(final LocalDate original) {
-        return original.with(TemporalAdjusters.firstInMonth(DayOfWeek.WEDNESDAY)).plusWeeks(2);
+        final int epochDay = (int) start.toEpochDay();
+        return LocalDate.ofEpochDay(requestNextIMM ? IMMDates.getNextIMMDate(epochDay, period) : IMMDates.getPreviousIMMDate(epochDay, period));
     }
 
     /**
@@ -188,15 +96,7 @@ public class LocalDateIMMDateCalculator extends AbstractIMMDateCalculator<LocalD
      */
     @Override
     public boolean isIMMDate(final LocalDate date) {
-        boolean same = false;
-
-        final List<LocalDate> dates = getIMMDates(date.minusDays(1), date, QUARTERLY);
-
-        if (!dates.isEmpty()) {
-            same = date.equals(dates.get(0));
-        }
-
-        return same;
+        return IMMDates.isIMMDate((int) date.toEpochDay());
     }
 }
 
@@ -41,6 +41,7 @@ import java.time.LocalDate;
 
 import net.objectlab.kit.datecalc.common.AbstractKitCalculatorsFactory;
 import net.objectlab.kit.datecalc.common.CurrencyDateCalculatorBuilder;
+import net.objectlab.kit.datecalc.common.EpochDayConverter;
 import net.objectlab.kit.datecalc.common.HolidayHandler;
 import net.objectlab.kit.datecalc.common.HolidayHandlerType;
 import net.objectlab.kit.datecalc.common.IMMDateCalculator;
@@ -176,6 +177,14 @@ public class LocalDateKitCalculatorsFactory extends AbstractKitCalculatorsFactor
     public IMMDateCalculator<LocalDate> getIMMDateCalculator() {
         return IMMDC;
     }
+
+    /**
+     * @return the conversion used to combine the registered calendars.
+     */
+    @Override
+    protected EpochDayConverter<LocalDate> getEpochDayConverter() {
+        return new LocalDateEpochDayConverter();
+    }
 }
 
 /*
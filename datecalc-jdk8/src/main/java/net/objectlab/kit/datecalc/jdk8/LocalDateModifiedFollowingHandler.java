@@ -35,6 +35,7 @@ package net.objectlab.kit.datecalc.jdk8;
 import java.time.LocalDate;
 
 import net.objectlab.kit.datecalc.common.BaseCalculator;
+import net.objectlab.kit.datecalc.common.EpochDayEngine;
 import net.objectlab.kit.datecalc.common.HolidayHandler;
 import net.objectlab.kit.datecalc.common.HolidayHandlerType;
 import net.objectlab.kit.datecalc.common.NonWorkingDayChecker;
@@ -49,6 +50,8 @@ import net.objectlab.kit.datecalc.common.NonWorkingDayChecker;
  */
 public class LocalDateModifiedFollowingHandler implements HolidayHandler<LocalDate> {
 
+    private static final LocalDateEpochDayConverter CONVERTER = new LocalDateEpochDayConverter();
+
     /**
      * If the current date of the give calculator is a non-working day, it will
      * be moved according to the algorithm implemented.
@@ -70,19 +73,8 @@ public class LocalDateModifiedFollowingHandler implements HolidayHandler<LocalDa
     //
     // -----------------------------------------------------------------------
     @Override
-    public LocalDate adjustDate(LocalDate startDate, int increment, NonWorkingDayChecker<LocalDate> checker) {
-        LocalDate date = startDate;
-        final int month = date.getMonthValue();
-        int stepToUse = increment;
-        while (checker.isNonWorkingDay(date)) {
-            date = date.plusDays(stepToUse);
-            if (date.getMonthValue() != month) {
-                // flick to backward
-                stepToUse *= -1;
-                date = date.plusDays(stepToUse);
-            }
-        }
-        return date;
+    public LocalDate adjustDate(final LocalDate startDate, final int increment, final NonWorkingDayChecker<LocalDate> checker) {
+        return EpochDayEngine.adjust(getType(), startDate, increment, checker, CONVERTER);
     }
 
     /**
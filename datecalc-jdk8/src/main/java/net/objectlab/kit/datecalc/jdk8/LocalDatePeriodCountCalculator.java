@@ -33,83 +33,27 @@
 package net.objectlab.kit.datecalc.jdk8;
 
 import java.time.LocalDate;
-import java.time.Month;
-import java.time.temporal.ChronoUnit;
-import java.time.temporal.TemporalAdjusters;
 
+import net.objectlab.kit.datecalc.common.EpochDayEngine;
 import net.objectlab.kit.datecalc.common.PeriodCountBasis;
 import net.objectlab.kit.datecalc.common.PeriodCountCalculator;
 
 /**
  * Joda <code>LocalDatePeriod</code> based implementation of the
- * {@link net.objectlab.kit.datecalc.common.PeriodCountCalculator}.
+ * {@link net.objectlab.kit.datecalc.common.PeriodCountCalculator}, the dates
+ * are converted to epoch days and the counts done by the
+ * {@link EpochDayEngine}.
  *
  * @author Benoit Xhenseval
  *
  */
 public class LocalDatePeriodCountCalculator implements PeriodCountCalculator<LocalDate> {
 
+    private static final LocalDateEpochDayConverter CONVERTER = new LocalDateEpochDayConverter();
+
     @Override
     public int dayDiff(final LocalDate start, final LocalDate end, final PeriodCountBasis basis) {
-        int diff = 0;
-
-        switch (basis) {
-        case CONV_30_360:
-            diff = diffConv30v360(start, end);
-            break;
-
-        case CONV_360E_ISDA:
-            diff = diff360EIsda(start, end);
-            break;
-
-        case CONV_360E_ISMA:
-            diff = diff360EIsma(start, end);
-            break;
-        default:
-            diff = (int) ChronoUnit.DAYS.between(start, end);
-        }
-
-        return diff;
-    }
-
-    private int diff360EIsma(final LocalDate start, final LocalDate end) {
-        int dayStart = start.getDayOfMonth();
-        int dayEnd = end.getDayOfMonth();
-        if (dayEnd == MONTH_31_DAYS) {
-            dayEnd = MONTH_30_DAYS;
-        }
-        if (dayStart == MONTH_31_DAYS) {
-            dayStart = MONTH_30_DAYS;
-        }
-        return (end.getYear() - start.getYear()) * YEAR_360 + (end.getMonthValue() - start.getMonthValue()) * MONTH_30_DAYS + dayEnd - dayStart;
-    }
-
-    // See https://en.wikipedia.org/wiki/Day_count_convention#30E.2F360_ISDA
-    private int diff360EIsda(final LocalDate start, final LocalDate end) {
-        if (start.equals(end)) {
-            return 0;
-        }
-        int dayStart = start.getDayOfMonth();
-        int dayEnd = end.getDayOfMonth();
-        if (start.getMonth().length(start.isLeapYear()) == dayStart) {
-            dayStart = MONTH_30_DAYS;
-        }
-        if (end.getMonth() != Month.FEBRUARY && end.getMonth().length(end.isLeapYear()) == dayEnd) {
-            dayEnd = MONTH_30_DAYS;
-        }
-        return (end.getYear() - start.getYear()) * YEAR_360 + (end.getMonthValue() - start.getMonthValue()) * MONTH_30_DAYS + dayEnd - dayStart;
-    }
-
-    private int diffConv30v360(final LocalDate start, final LocalDate end) {
-        int dayStart = start.getDayOfMonth();
-        int dayEnd = end.getDayOfMonth();
-        if (dayEnd == MONTH_31_DAYS && dayStart >= MONTH_30_DAYS) {
-            dayEnd = MONTH_30_DAYS;
-        }
-        if (dayStart == MONTH_31_DAYS) {
-            dayStart = MONTH_30_DAYS;
-        }
-        return (end.getYear() - start.getYear()) * YEAR_360 + (end.getMonthValue() - start.getMonthValue()) * MONTH_30_DAYS + dayEnd - dayStart;
+        return EpochDayEngine.dayDiff(CONVERTER.toEpochDay(start), CONVERTER.toEpochDay(end), basis);
     }
 
     // -----------------------------------------------------------------------
@@ -127,39 +71,7 @@ public class LocalDatePeriodCountCalculator implements PeriodCountCalculator<Loc
 
     @Override
     public double yearDiff(final LocalDate start, final LocalDate end, final PeriodCountBasis basis) {
-        double diff = 0.0;
-
-        switch (basis) {
-        case ACT_ACT:
-            final int startYear = start.getYear();
-            final int endYear = end.getYear();
-            if (startYear != endYear) {
-
-                final LocalDate endOfStartYear = start.with(TemporalAdjusters.lastDayOfYear());
-                final LocalDate startOfEndYear = end.withDayOfYear(1);
-
-                final long diff1 = ChronoUnit.DAYS.between(start, endOfStartYear);
-                final long diff2 = ChronoUnit.DAYS.between(startOfEndYear, end);
-                diff = (diff1 + 1.0) / start.lengthOfYear() + (endYear - startYear - 1.0) + (double) diff2 / (double) end.lengthOfYear();
-            }
-            break;
-
-        case CONV_30_360:
-        case CONV_360E_ISDA:
-        case CONV_360E_ISMA:
-        case ACT_360:
-            diff = dayDiff(start, end, basis) / YEAR_360_0;
-            break;
-
-        case ACT_365:
-            diff = dayDiff(start, end, basis) / YEAR_365_0;
-            break;
-
-        default:
-            throw new UnsupportedOperationException("Sorry ACT_UST is not supported");
-        }
-
-        return diff;
+        return EpochDayEngine.yearDiff(CONVERTER.toEpochDay(start), CONVERTER.toEpochDay(end), basis);
     }
 }
 
@@ -0,0 +1,68 @@
+package net.objectlab.kit.datecalc.jdk8;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import junit.framework.TestCase;
+import net.objectlab.kit.datecalc.common.CompactHolidayCalendar;
+import net.objectlab.kit.datecalc.common.DateCalculator;
+import net.objectlab.kit.datecalc.common.HolidayCalendarLoader;
+import net.objectlab.kit.datecalc.common.HolidayHandlerType;
+
+public class HolidayCalendarLoaderTest extends TestCase {
+
+    private static final String CSV = "centre,date\n" + "GBP,2013-12-25\n" + "# comment\n" + "\n" + " USD , 20130704 \n" + "GBP,2013-12-26\n"
+            + "GBP,2013-12-25\n";
+
+    public void testCsv() throws Exception {
+        final Map<String, CompactHolidayCalendar<LocalDate>> calendars = new HolidayCalendarLoader<LocalDate>(new LocalDateEpochDayConverter())
+                .addCsv(new StringReader(CSV)).build(null);
+
+        assertEquals(Arrays.asList("GBP", "USD"), Arrays.asList(calendars.keySet().toArray()));
+        assertEquals(2, calendars.get("GBP").size());
+        assertTrue(calendars.get("GBP").isHoliday(LocalDate.parse("2013-12-26")));
+        assertFalse(calendars.get("GBP").isHoliday(LocalDate.parse("2013-12-27")));
+        assertTrue(calendars.get("USD").isHoliday(LocalDate.parse("2013-07-04")));
+        assertEquals(2, calendars.get("GBP").getHolidays().size());
+    }
+
+    public void testBadCsvLine() throws Exception {
+        try {
+            new HolidayCalendarLoader<LocalDate>(new LocalDateEpochDayConverter()).addCsv(new StringReader("GBP,2013-12-25\nGBP,25/12/2013\n"));
+            fail("Should reject line 2");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Line 2"));
+        }
+    }
+
+    public void testRegisterColumnsInParallel() {
+        final int xmas = (int) LocalDate.parse("2013-12-25").toEpochDay();
+        final int july4 = (int) LocalDate.parse("2013-07-04").toEpochDay();
+        final String[] centres = new String[] { "LDN", "NYC", "TKY" };
+        final int[][] columns = new int[][] { { xmas, xmas + 1 }, { july4, HolidayCalendarLoader.NO_DATE }, { HolidayCalendarLoader.NO_DATE,
+                HolidayCalendarLoader.NO_DATE } };
+
+        final LocalDateKitCalculatorsFactory factory = new LocalDateKitCalculatorsFactory();
+        final long generation = factory.getHolidayCalendarGeneration().getId();
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final HolidayCalendarLoader<LocalDate> loader = new HolidayCalendarLoader<LocalDate>(new LocalDateEpochDayConverter());
+            assertEquals(Arrays.asList(centres), loader.addColumns(centres, columns).registerAll(factory, executor));
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals("published together", generation + 1, factory.getHolidayCalendarGeneration().getId());
+        assertTrue(factory.isHolidayCalendarRegistered("TKY"));
+        assertEquals(0, factory.getHolidayCalendar("TKY").getHolidays().size());
+        assertTrue(factory.getHolidayCalendar("NYC").isHoliday(LocalDate.parse("2013-07-04")));
+
+        final DateCalculator<LocalDate> cal = factory.getDateCalculator("LDN", HolidayHandlerType.FORWARD);
+        cal.setStartDate(LocalDate.parse("2013-12-25"));
+        assertEquals(LocalDate.parse("2013-12-27"), cal.getCurrentBusinessDate());
+    }
+}
@@ -0,0 +1,26 @@
+package net.objectlab.kit.datecalc.jdk8;
+
+import java.time.LocalDate;
+
+import net.objectlab.kit.datecalc.common.AbstractExcelDateUtilTest;
+
+public class LocalDateExcelDateUtilTest extends AbstractExcelDateUtilTest<LocalDate> {
+
+    @Override
+    protected LocalDate createDate(final String str) {
+        return LocalDate.parse(str);
+    }
+
+    @Override
+    protected LocalDate createDateFromExcel(final double excelDate, final boolean use1904Windowing) {
+        return Jdk8ExcelDateUtil.getLocalDate(excelDate, use1904Windowing);
+    }
+
+    public void testBulkAndReverse() {
+        final LocalDate[] dates = Jdk8ExcelDateUtil.getLocalDates(new double[] { 36526.5, -1 }, false);
+        assertEquals(LocalDate.parse("2000-01-01"), dates[0]);
+        assertNull(dates[1]);
+        assertEquals(36526.0, Jdk8ExcelDateUtil.getExcelDate(LocalDate.parse("2000-01-01"), false));
+        assertEquals(61.0, Jdk8ExcelDateUtil.getExcelDate(LocalDate.parse("1904-03-02"), true));
+    }
+}
@@ -32,8 +32,7 @@
  */
 package net.objectlab.kit.datecalc.joda;
 
-import java.util.Calendar;
-
+import net.objectlab.kit.datecalc.common.EpochDays;
 import net.objectlab.kit.datecalc.common.ExcelDateUtil;
 
 import org.joda.time.DateTime;
@@ -46,18 +45,22 @@ import org.joda.time.LocalDate;
  *
  */
 public final class JodaExcelDateUtil {
+    private static final int PACK_YEAR = 10000;
+
+    private static final int PACK_MONTH = 100;
 
     private JodaExcelDateUtil() {
     }
 
     public static LocalDate getLocalDate(final double date, final boolean use1904windowing) {
-        final Calendar c = ExcelDateUtil.getJavaCalendar(date, use1904windowing);
+        final int epochDay = ExcelDateUtil.toEpochDay(date, use1904windowing);
 
-        if (c == null) {
+        if (epochDay == EpochDays.NO_DATE) {
             return null;
         }
 
-        return new LocalDate().withYear(c.get(Calendar.YEAR)).withMonthOfYear(c.get(Calendar.MONTH) + 1).withDayOfMonth(c.get(Calendar.DAY_OF_MONTH));
+        final int packed = EpochDays.toPackedDate(epochDay);
+        return new LocalDate(packed / PACK_YEAR, packed / PACK_MONTH % PACK_MONTH, packed % PACK_MONTH);
     }
 
     // -----------------------------------------------------------------------
@@ -69,14 +72,22 @@ public final class JodaExcelDateUtil {
     // -----------------------------------------------------------------------
 
     public static DateTime getDateTime(final double date, final boolean use1904windowing) {
-        final Calendar c = ExcelDateUtil.getJavaCalendar(date, use1904windowing);
+        final int epochDay = ExcelDateUtil.toEpochDay(date, use1904windowing);
 
-        if (c == null) {
+        if (epochDay == EpochDays.NO_DATE) {
             return null;
         }
 
-        return new DateTime().withYear(c.get(Calendar.YEAR)).withMonthOfYear(c.get(Calendar.MONTH) + 1).withDayOfMonth(c.get(Calendar.DAY_OF_MONTH))
-                .withMillisOfDay(0);
+        final int packed = EpochDays.toPackedDate(epochDay);
+        return new DateTime(packed / PACK_YEAR, packed / PACK_MONTH % PACK_MONTH, packed % PACK_MONTH, 0, 0, 0, 0);
+    }
+
+    /**
+     * @return the Excel date (whole number) of the given LocalDate.
+     * @since 1.4.1
+     */
+    public static double getExcelDate(final LocalDate date, final boolean use1904windowing) {
+        return ExcelDateUtil.fromEpochDay(EpochDays.of(date.getYear(), date.getMonthOfYear(), date.getDayOfMonth()), use1904windowing);
     }
 }
 
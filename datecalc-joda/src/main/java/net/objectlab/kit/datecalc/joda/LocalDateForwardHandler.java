@@ -33,6 +33,7 @@
 package net.objectlab.kit.datecalc.joda;
 
 import net.objectlab.kit.datecalc.common.BaseCalculator;
+import net.objectlab.kit.datecalc.common.EpochDayEngine;
 import net.objectlab.kit.datecalc.common.HolidayHandler;
 import net.objectlab.kit.datecalc.common.HolidayHandlerType;
 import net.objectlab.kit.datecalc.common.NonWorkingDayChecker;
@@ -48,6 +49,8 @@ import org.joda.time.LocalDate;
  */
 public class LocalDateForwardHandler implements HolidayHandler<LocalDate> {
 
+    private static final LocalDateEpochDayConverter CONVERTER = new LocalDateEpochDayConverter();
+
     /**
      * If the current date of the give calculator is a non-working day, it will
      * be moved according to the algorithm implemented.
@@ -61,11 +64,7 @@ public class LocalDateForwardHandler implements HolidayHandler<LocalDate> {
     }
 
     public LocalDate adjustDate(final LocalDate startDate, final int increment, final NonWorkingDayChecker<LocalDate> checker) {
-        LocalDate date = startDate;
-        while (checker.isNonWorkingDay(date)) {
-            date = date.plusDays(increment);
-        }
-        return date;
+        return EpochDayEngine.adjust(getType(), startDate, increment, checker, CONVERTER);
     }
 
     /**
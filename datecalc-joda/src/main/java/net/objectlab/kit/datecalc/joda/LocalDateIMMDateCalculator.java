@@ -32,16 +32,11 @@
  */
 package net.objectlab.kit.datecalc.joda;
 
-import static net.objectlab.kit.datecalc.common.IMMPeriod.QUARTERLY;
-import static org.joda.time.DateTimeConstants.DECEMBER;
-import static org.joda.time.DateTimeConstants.JUNE;
-import static org.joda.time.DateTimeConstants.MARCH;
-import static org.joda.time.DateTimeConstants.SEPTEMBER;
-
 import java.util.ArrayList;
 import java.util.List;
 
 import net.objectlab.kit.datecalc.common.AbstractIMMDateCalculator;
+import net.objectlab.kit.datecalc.common.IMMDates;
 import net.objectlab.kit.datecalc.common.IMMPeriod;
 
 import org.joda.time.LocalDate;
@@ -60,6 +55,8 @@ public class LocalDateIMMDateCalculator extends AbstractIMMDateCalculator<LocalD
 
     protected static final int DAYS_IN_WEEK = 7;
 
+    private static final LocalDateEpochDayConverter CONVERTER = new LocalDateEpochDayConverter();
+
     /**
      * Returns a list of IMM dates between 2 dates, it will exclude the start
      * date if it is an IMM date but would include the end date if it is an IMM.
@@ -75,15 +72,12 @@ public class LocalDateIMMDateCalculator extends AbstractIMMDateCalculator<LocalD
      */
     public List<LocalDate> getIMMDates(final LocalDate start, final LocalDate end, final IMMPeriod period) {
         final List<LocalDate> dates = new ArrayList<LocalDate>();
+        final int last = CONVERTER.toEpochDay(end);
 
-        LocalDate date = start;
-        while (true) {
-            date = getNextIMMDate(true, date, period);
-            if (!date.isAfter(end)) {
-                dates.add(date);
-            } else {
-                break;
-            }
+        int imm = IMMDates.getNextIMMDate(CONVERTER.toEpochDay(start), period);
+        while (imm <= last) {
+            dates.add(CONVERTER.fromEpochDay(imm));
+            imm = IMMDates.getNextIMMDate(imm, period);
         }
 
         return dates;
@@ -91,99 +85,8 @@ public class LocalDateIMMDateCalculator extends AbstractIMMDateCalculator<LocalD
 
     @Override
     protected LocalDate getNextIMMDate(final boolean requestNextIMM, final LocalDate start, final IMMPeriod period) {
-        LocalDate date = start;
-
-        final int month = date.getMonthOfYear();
-        date = calculateIMMMonth(requestNextIMM, date, month);
-
-        LocalDate imm = calculate3rdWednesday(date);
-        final int immMonth = imm.getMonthOfYear();
-        final boolean isMarchSept = immMonth == MARCH || immMonth == SEPTEMBER;
-
-        switch (period) {
-
-        case BI_ANNUALY_JUN_DEC:
-            if (isMarchSept) {
-                imm = getNextIMMDate(requestNextIMM, imm, period);
-            }
-            break;
-
-        case BI_ANNUALY_MAR_SEP:
-            if (!isMarchSept) {
-                imm = getNextIMMDate(requestNextIMM, imm, period);
-            }
-            break;
-
-        case ANNUALLY:
-            // second jump
-            imm = getNextIMMDate(requestNextIMM, imm, QUARTERLY);
-            // third jump
-            imm = getNextIMMDate(requestNextIMM, imm, QUARTERLY);
-            // fourth jump
-            imm = getNextIMMDate(requestNextIMM, imm, QUARTERLY);
-            // fifth jump
-            imm = getNextIMMDate(requestNextIMM, imm, QUARTERLY);
-            break;
-
-        case QUARTERLY:
-        default:
-            break;
-        }
-
-        return imm;
-    }
-
-    // -----------------------------------------------------------------------
-    //
-    // ObjectLab, world leaders in the design and development of bespoke
-    // applications for the securities financing markets.
-    // www.ObjectLab.co.uk
-    //
-    // -----------------------------------------------------------------------
-
-    private LocalDate calculateIMMMonth(final boolean requestNextIMM, final LocalDate startDate, final int month) {
-        int monthOffset = 0;
-        LocalDate date = startDate;
-        switch (month) {
-        case MARCH:
-        case JUNE:
-        case SEPTEMBER:
-        case DECEMBER:
-            final LocalDate immDate = calculate3rdWednesday(date);
-            if (requestNextIMM && !date.isBefore(immDate)) {
-                date = date.plusMonths(MONTHS_IN_QUARTER);
-            } else if (!requestNextIMM && !date.isAfter(immDate)) {
-                date = date.minusMonths(MONTHS_IN_QUARTER);
-            }
-            break;
-
-        default:
-            if (requestNextIMM) {
-                monthOffset = (MONTH_IN_YEAR - month) % MONTHS_IN_QUARTER;
-                date = date.plusMonths(monthOffset);
-            } else {
-                monthOffset = month % MONTHS_IN_QUARTER;
-                date = date.minusMonths(monthOffset);
-            }
-            break;
-        }
-        return date;
-    }
-
-    /**
-     * Assumes that the month is correct, get the day for the 2rd wednesday.
-     *
-     * @param original
-     *            the start date
-     * @return the 3rd Wednesday of the month
-     */
-    private LocalDate calculate3rdWednesday(final LocalDate original) {
-        final LocalDate firstOfMonth = original.withDayOfMonth(1);
-        LocalDate firstWed = firstOfMonth.withDayOfWeek(MONTHS_IN_QUARTER);
-        if (firstWed.isBefore(firstOfMonth)) {
-            firstWed = firstWed.plusWeeks(1);
-        }
-        return firstWed.plusWeeks(2);
+        final int epochDay = CONVERTER.toEpochDay(start);
+        return CONVERTER.fromEpochDay(requestNextIMM ? IMMDates.getNextIMMDate(epochDay, period) : IMMDates.getPreviousIMMDate(epochDay, period));
     }
 
     /**
@@ -194,15 +97,7 @@ public class LocalDateIMMDateCalculator extends AbstractIMMDateCalculator<LocalD
      * @return true if that date is an IMM date.
      */
     public boolean isIMMDate(final LocalDate date) {
-        boolean same = false;
-
-        final List<LocalDate> dates = getIMMDates(date.minusDays(1), date, QUARTERLY);
-
-        if (!dates.isEmpty()) {
-            same = date.equals(dates.get(0));
-        }
-
-        return same;
+        return IMMDates.isIMMDate(CONVERTER.toEpochDay(date));
     }
 }
 
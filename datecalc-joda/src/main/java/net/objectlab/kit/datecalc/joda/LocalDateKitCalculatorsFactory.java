@@ -38,6 +38,7 @@ import static net.objectlab.kit.datecalc.common.HolidayHandlerType.MODIFIED_FOLL
 import static net.objectlab.kit.datecalc.common.HolidayHandlerType.MODIFIED_PRECEDING;
 import net.objectlab.kit.datecalc.common.AbstractKitCalculatorsFactory;
 import net.objectlab.kit.datecalc.common.CurrencyDateCalculatorBuilder;
+import net.objectlab.kit.datecalc.common.EpochDayConverter;
 import net.objectlab.kit.datecalc.common.HolidayHandler;
 import net.objectlab.kit.datecalc.common.HolidayHandlerType;
 import net.objectlab.kit.datecalc.common.IMMDateCalculator;
@@ -167,6 +168,14 @@ public class LocalDateKitCalculatorsFactory extends AbstractKitCalculatorsFactor
     public IMMDateCalculator<LocalDate> getIMMDateCalculator() {
         return IMMDC;
     }
+
+    /**
+     * @return the conversion used to combine the registered calendars.
+     */
+    @Override
+    protected EpochDayConverter<LocalDate> getEpochDayConverter() {
+        return new LocalDateEpochDayConverter();
+    }
 }
 
 /*
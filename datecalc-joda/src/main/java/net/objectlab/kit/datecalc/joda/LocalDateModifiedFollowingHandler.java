@@ -33,6 +33,7 @@
 package net.objectlab.kit.datecalc.joda;
 
 import net.objectlab.kit.datecalc.common.BaseCalculator;
+import net.objectlab.kit.datecalc.common.EpochDayEngine;
 import net.objectlab.kit.datecalc.common.HolidayHandler;
 import net.objectlab.kit.datecalc.common.HolidayHandlerType;
 import net.objectlab.kit.datecalc.common.NonWorkingDayChecker;
@@ -49,6 +50,8 @@ import org.joda.time.LocalDate;
  */
 public class LocalDateModifiedFollowingHandler implements HolidayHandler<LocalDate> {
 
+    private static final LocalDateEpochDayConverter CONVERTER = new LocalDateEpochDayConverter();
+
     /**
      * If the current date of the give calculator is a non-working day, it will
      * be moved according to the algorithm implemented.
@@ -69,19 +72,8 @@ public class LocalDateModifiedFollowingHandler implements HolidayHandler<LocalDa
     //
     // -----------------------------------------------------------------------
 
-    public LocalDate adjustDate(LocalDate startDate, int increment, NonWorkingDayChecker<LocalDate> checker) {
-        LocalDate date = startDate;
-        final int month = date.getMonthOfYear();
-        int stepToUse = increment;
-        while (checker.isNonWorkingDay(date)) {
-            date = date.plusDays(stepToUse);
-            if (date.getMonthOfYear() != month) {
-                // flick to backward
-                stepToUse *= -1;
-                date = date.plusDays(stepToUse);
-            }
-        }
-        return date;
+    public LocalDate adjustDate(final LocalDate startDate, final int increment, final NonWorkingDayChecker<LocalDate> checker) {
+        return EpochDayEngine.adjust(getType(), startDate, increment, checker, CONVERTER);
     }
 
     /**
@@ -0,0 +1,24 @@
+package net.objectlab.kit.pf;
+
+/**
+ * Receives timing and volume information about validation runs; see TimedValidationEngine
+ * for the engine decorator and the Builder of each validator for the phase hooks.
+ * Implementations must be thread safe if the engine is used concurrently.
+ */
+public interface ValidationListener {
+    /**
+     * Called once per validation for every phase that was executed.
+     * @param phase the phase
+     * @param elapsedNanos the total time spent in that phase for the portfolio
+     * @param invocations the number of times the phase was entered, e.g. the number of provider calls
+     */
+    void phaseCompleted(ValidationPhase phase, long elapsedNanos, int invocations);
+
+    /**
+     * Called once the whole validation of a portfolio is completed.
+     * @param portfolio the validated portfolio
+     * @param results the results of the validation
+     * @param elapsedNanos the total time taken by the validation
+     */
+    void validationCompleted(ExistingPortfolio portfolio, ValidationResults results, long elapsedNanos);
+}
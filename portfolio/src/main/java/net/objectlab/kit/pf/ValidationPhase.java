@@ -0,0 +1,15 @@
+package net.objectlab.kit.pf;
+
+/**
+ * The distinct stages of a portfolio validation, as reported to a {@link ValidationListener}.
+ */
+public enum ValidationPhase {
+    /** Calls to the AssetEligibilityProvider. */
+    ELIGIBILITY_LOOKUP,
+    /** Calls to the AssetDetailsProvider. */
+    ASSET_DETAILS_LOOKUP,
+    /** Calculation of the allocation weight of each line. */
+    WEIGHT_CALCULATION,
+    /** Checks of the concentration rules once weights are known. */
+    RULE_CHECKS
+}
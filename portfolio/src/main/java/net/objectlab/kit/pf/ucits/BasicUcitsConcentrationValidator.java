@@ -12,7 +12,10 @@ import net.objectlab.kit.pf.ExistingPortfolio;
 import net.objectlab.kit.pf.RuleNames;
 import net.objectlab.kit.pf.Severity;
 import net.objectlab.kit.pf.ValidationEngine;
+import net.objectlab.kit.pf.ValidationListener;
+import net.objectlab.kit.pf.ValidationPhase;
 import net.objectlab.kit.pf.ValidationResults;
+import net.objectlab.kit.pf.validator.PhaseTimer;
 import net.objectlab.kit.pf.validator.Results;
 import net.objectlab.kit.pf.validator.ValidatedPortfolioLineImpl;
 import net.objectlab.kit.util.BigDecimalUtil;
@@ -29,6 +32,7 @@ public class BasicUcitsConcentrationValidator implements ValidationEngine {
     private final AssetDetailsProvider assetDetailsProvider;
     private final AssetEligibilityProvider assetEligibilityProvider;
     private final UcitsLimitProvider ucitsLimitProvider;
+    private final ValidationListener validationListener;
 
     public static class Builder {
         private BigDecimal maxConcentrationPerIssuer = new BigDecimal("0.1");
@@ -37,6 +41,7 @@ public class BasicUcitsConcentrationValidator implements ValidationEngine {
         private AssetDetailsProvider assetDetailsProvider;
         private AssetEligibilityProvider assetEligibilityProvider;
         private UcitsLimitProvider ucitsLimitProvider;
+        private ValidationListener validationListener;
 
         public Builder maxConcentrationPerIssuer(final BigDecimal maxConcentrationPerIssuer) {
             this.maxConcentrationPerIssuer = maxConcentrationPerIssuer;
@@ -67,6 +72,14 @@ public class BasicUcitsConcentrationValidator implements ValidationEngine {
             this.ucitsLimitProvider = ucitsLimitProvider;
             return this;
         }
+
+        /**
+         * Optional listener receiving the time spent and provider calls per ValidationPhase; no timing is done if null.
+         */
+        public Builder validationListener(final ValidationListener validationListener) {
+            this.validationListener = validationListener;
+            return this;
+        }
     }
 
     public BasicUcitsConcentrationValidator(final Builder builder) {
@@ -76,6 +89,7 @@ public class BasicUcitsConcentrationValidator implements ValidationEngine {
         this.assetDetailsProvider = builder.assetDetailsProvider;
         this.assetEligibilityProvider = builder.assetEligibilityProvider;
         this.ucitsLimitProvider = builder.ucitsLimitProvider;
+        this.validationListener = builder.validationListener;
     }
 
     private static final class TotalPerIssuer {
@@ -115,18 +129,28 @@ public class BasicUcitsConcentrationValidator implements ValidationEngine {
 
         // calculate the value per Issuer (using AssetDetails)
         // check if asset is eligible, if not -> Breach
+        final PhaseTimer timer = new PhaseTimer(validationListener);
         final Map<String, TotalPerIssuer> totalPerIssuer = new HashMap<>();
         results.getLines().forEach(l -> {
-            if (!assetEligibilityProvider.isEligible(l.getAssetCode())) {
+            long start = timer.start();
+            final boolean eligible = assetEligibilityProvider.isEligible(l.getAssetCode());
+            timer.stop(ValidationPhase.ELIGIBILITY_LOOKUP, start);
+            if (!eligible) {
                 l.addIssue(Severity.MANDATORY, RuleNames.ELIGIBILITY, "Asset not eligible.");
             }
+
+            start = timer.start();
+            final String issuerCode = assetDetailsProvider.getDetails(l.getAssetCode()).getUltimateIssuerCode();
+            timer.stop(ValidationPhase.ASSET_DETAILS_LOOKUP, start);
+
+            start = timer.start();
             l.setAllocationWeight(BigDecimalUtil.divide(8, l.getValueInPortfolioCcy(), porfolioValue, BigDecimal.ROUND_HALF_UP));
             // calculate the weight for each issuer
-                totalPerIssuer.computeIfAbsent(assetDetailsProvider.getDetails(l.getAssetCode()).getUltimateIssuerCode(), k -> new TotalPerIssuer(k))
-                        .add(l);
-
-            });
+            totalPerIssuer.computeIfAbsent(issuerCode, k -> new TotalPerIssuer(k)).add(l);
+            timer.stop(ValidationPhase.WEIGHT_CALCULATION, start);
+        });
 
+        final long rulesStart = timer.start();
         final Total totalMediumConcentration = new Total();
         final List<ValidatedPortfolioLineImpl> mediumLines = new ArrayList<>();
         totalPerIssuer.values().forEach(issuer -> {
@@ -152,6 +176,8 @@ public class BasicUcitsConcentrationValidator implements ValidationEngine {
                             + BigDecimalUtil.movePoint(totalMediumConcentration.getTotal(), 2) + "]"));
 
         }
+        timer.stop(ValidationPhase.RULE_CHECKS, rulesStart);
+        timer.publish();
         return results;
     }
 }
@@ -0,0 +1,95 @@
+package net.objectlab.kit.pf.validator;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread safe in-memory histogram of non-negative long values (e.g. nanoseconds or sizes)
+ * using power of 2 buckets: bucket i holds values in [2^(i-1), 2^i[, bucket 0 holds 0.
+ * Percentiles are therefore approximate (upper bound of the bucket, capped by the max).
+ */
+public class Histogram {
+    private static final int BUCKETS = 64;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    public void record(final long value) {
+        final long v = Math.max(0L, value);
+        counts.incrementAndGet(bucketFor(v));
+        count.increment();
+        sum.add(v);
+        min.accumulateAndGet(v, Math::min);
+        max.accumulateAndGet(v, Math::max);
+    }
+
+    private static int bucketFor(final long v) {
+        return BUCKETS - Long.numberOfLeadingZeros(v);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * @return the minimum recorded value or 0 if nothing has been recorded.
+     */
+    public long getMin() {
+        return getCount() == 0 ? 0L : min.get();
+    }
+
+    /**
+     * @return the maximum recorded value or 0 if nothing has been recorded.
+     */
+    public long getMax() {
+        return getCount() == 0 ? 0L : max.get();
+    }
+
+    public double getMean() {
+        final long c = getCount();
+        return c == 0 ? 0.0 : (double) getSum() / c;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return an upper bound of the value at the given percentile, 0 if nothing recorded.
+     */
+    public long getValueAtPercentile(final double percentile) {
+        final long total = getCount();
+        if (total == 0) {
+            return 0L;
+        }
+        final long target = Math.max(1L, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return i == 0 ? 0L : Math.min(getMax(), (1L << i) - 1);
+            }
+        }
+        return getMax();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0L);
+        }
+        count.reset();
+        sum.reset();
+        min.set(Long.MAX_VALUE);
+        max.set(Long.MIN_VALUE);
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + getCount() + " min=" + getMin() + " mean=" + (long) getMean() + " p50=" + getValueAtPercentile(50) + " p99="
+                + getValueAtPercentile(99) + " max=" + getMax();
+    }
+}
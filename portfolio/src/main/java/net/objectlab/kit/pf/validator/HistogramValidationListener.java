@@ -0,0 +1,112 @@
+package net.objectlab.kit.pf.validator;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.objectlab.kit.pf.ExistingPortfolio;
+import net.objectlab.kit.pf.RuleIssue;
+import net.objectlab.kit.pf.ValidationListener;
+import net.objectlab.kit.pf.ValidationPhase;
+import net.objectlab.kit.pf.ValidationResults;
+
+/**
+ * In-memory, thread safe ValidationListener keeping histograms of the latency per phase and per
+ * validation, the number of provider calls per phase, the number of issues per rule (see RuleNames)
+ * and the distribution of portfolio sizes (number of lines).
+ */
+public class HistogramValidationListener implements ValidationListener {
+    private final Map<ValidationPhase, Histogram> phaseLatency = new EnumMap<>(ValidationPhase.class);
+    private final Map<ValidationPhase, LongAdder> phaseInvocations = new EnumMap<>(ValidationPhase.class);
+    private final Map<String, LongAdder> issuesPerRule = new ConcurrentHashMap<>();
+    private final Histogram validationLatency = new Histogram();
+    private final Histogram portfolioSize = new Histogram();
+
+    public HistogramValidationListener() {
+        // populated upfront so that the EnumMaps are only read afterwards
+        for (final ValidationPhase phase : ValidationPhase.values()) {
+            phaseLatency.put(phase, new Histogram());
+            phaseInvocations.put(phase, new LongAdder());
+        }
+    }
+
+    @Override
+    public void phaseCompleted(final ValidationPhase phase, final long elapsedNanos, final int invocations) {
+        phaseLatency.get(phase).record(elapsedNanos);
+        phaseInvocations.get(phase).add(invocations);
+    }
+
+    @Override
+    public void validationCompleted(final ExistingPortfolio portfolio, final ValidationResults results, final long elapsedNanos) {
+        validationLatency.record(elapsedNanos);
+        portfolioSize.record(portfolio.getLines() != null ? portfolio.getLines().size() : 0);
+        if (results != null) {
+            for (final RuleIssue issue : results.getIssues()) {
+                issuesPerRule.computeIfAbsent(issue.getRule(), k -> new LongAdder()).increment();
+            }
+        }
+    }
+
+    /**
+     * @return the histogram of the time (in nanos) spent per validation in the given phase.
+     */
+    public Histogram getPhaseLatency(final ValidationPhase phase) {
+        return phaseLatency.get(phase);
+    }
+
+    /**
+     * @return total number of invocations of the given phase, i.e. provider calls for lookups.
+     */
+    public long getInvocationCount(final ValidationPhase phase) {
+        return phaseInvocations.get(phase).sum();
+    }
+
+    /**
+     * @return the histogram of the total time (in nanos) per validation.
+     */
+    public Histogram getValidationLatency() {
+        return validationLatency;
+    }
+
+    /**
+     * @return the histogram of the number of lines per validated portfolio.
+     */
+    public Histogram getPortfolioSize() {
+        return portfolioSize;
+    }
+
+    public long getIssueCount(final String ruleName) {
+        final LongAdder adder = issuesPerRule.get(ruleName);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    /**
+     * @return a snapshot of the number of issues per rule name.
+     */
+    public Map<String, Long> getIssueCounts() {
+        final Map<String, Long> counts = new ConcurrentHashMap<>();
+        issuesPerRule.forEach((k, v) -> counts.put(k, v.sum()));
+        return Collections.unmodifiableMap(counts);
+    }
+
+    public void reset() {
+        phaseLatency.values().forEach(Histogram::reset);
+        phaseInvocations.values().forEach(LongAdder::reset);
+        issuesPerRule.clear();
+        validationLatency.reset();
+        portfolioSize.reset();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        b.append("Validation ").append(validationLatency).append(" Lines ").append(portfolioSize);
+        for (final ValidationPhase phase : ValidationPhase.values()) {
+            b.append(" ").append(phase).append("[calls=").append(getInvocationCount(phase)).append(" ").append(phaseLatency.get(phase)).append("]");
+        }
+        b.append(" Issues ").append(getIssueCounts());
+        return b.toString();
+    }
+}
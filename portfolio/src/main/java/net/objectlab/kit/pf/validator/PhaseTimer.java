@@ -0,0 +1,51 @@
+package net.objectlab.kit.pf.validator;
+
+import net.objectlab.kit.pf.ValidationListener;
+import net.objectlab.kit.pf.ValidationPhase;
+
+/**
+ * Accumulates the time spent in each phase of a single validation run, it is not thread safe
+ * and should be created per run. If no listener is given, the timer does nothing and does not
+ * even read the clock.
+ */
+public class PhaseTimer {
+    private static final ValidationPhase[] PHASES = ValidationPhase.values();
+    private final ValidationListener listener;
+    private final long[] nanos = new long[PHASES.length];
+    private final int[] invocations = new int[PHASES.length];
+
+    public PhaseTimer(final ValidationListener listener) {
+        this.listener = listener;
+    }
+
+    public boolean isEnabled() {
+        return listener != null;
+    }
+
+    /**
+     * @return the start time to give to stop, 0 if disabled.
+     */
+    public long start() {
+        return listener != null ? System.nanoTime() : 0L;
+    }
+
+    public void stop(final ValidationPhase phase, final long start) {
+        if (listener != null) {
+            nanos[phase.ordinal()] += System.nanoTime() - start;
+            invocations[phase.ordinal()]++;
+        }
+    }
+
+    /**
+     * Report every phase that was entered at least once to the listener.
+     */
+    public void publish() {
+        if (listener != null) {
+            for (final ValidationPhase phase : PHASES) {
+                if (invocations[phase.ordinal()] > 0) {
+                    listener.phaseCompleted(phase, nanos[phase.ordinal()], invocations[phase.ordinal()]);
+                }
+            }
+        }
+    }
+}
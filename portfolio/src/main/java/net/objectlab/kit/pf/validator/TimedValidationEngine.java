@@ -0,0 +1,28 @@
+package net.objectlab.kit.pf.validator;
+
+import net.objectlab.kit.pf.ExistingPortfolio;
+import net.objectlab.kit.pf.ValidationEngine;
+import net.objectlab.kit.pf.ValidationListener;
+import net.objectlab.kit.pf.ValidationResults;
+
+/**
+ * Decorator for any ValidationEngine, measuring the total time of each validation and
+ * reporting it along with the results to a ValidationListener.
+ */
+public class TimedValidationEngine implements ValidationEngine {
+    private final ValidationEngine delegate;
+    private final ValidationListener listener;
+
+    public TimedValidationEngine(final ValidationEngine delegate, final ValidationListener listener) {
+        this.delegate = delegate;
+        this.listener = listener;
+    }
+
+    @Override
+    public ValidationResults validate(final ExistingPortfolio portfolio) {
+        final long start = System.nanoTime();
+        final ValidationResults results = delegate.validate(portfolio);
+        listener.validationCompleted(portfolio, results, System.nanoTime() - start);
+        return results;
+    }
+}
@@ -0,0 +1,98 @@
+package net.objectlab.kit.pf.validator;
+
+import static net.objectlab.kit.util.BigDecimalUtil.bd;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.objectlab.kit.pf.AssetDetailsProvider;
+import net.objectlab.kit.pf.AssetEligibilityProvider;
+import net.objectlab.kit.pf.BasicAsset;
+import net.objectlab.kit.pf.BasicLine;
+import net.objectlab.kit.pf.BasicPortfolio;
+import net.objectlab.kit.pf.ExistingPortfolioLine;
+import net.objectlab.kit.pf.RuleNames;
+import net.objectlab.kit.pf.ValidationEngine;
+import net.objectlab.kit.pf.ValidationPhase;
+import net.objectlab.kit.pf.ValidationResults;
+import net.objectlab.kit.pf.ucits.BasicUcitsConcentrationValidator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class TimedValidationEngineTest {
+    private HistogramValidationListener listener;
+    private ValidationEngine engine;
+    @Mock
+    private AssetDetailsProvider assetDetailsProvider;
+    @Mock
+    private AssetEligibilityProvider assetEligibilityProvider;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        listener = new HistogramValidationListener();
+        final BasicUcitsConcentrationValidator validator = new BasicUcitsConcentrationValidator(new BasicUcitsConcentrationValidator.Builder()
+                .assetDetailsProvider(assetDetailsProvider).assetEligibilityProvider(assetEligibilityProvider).validationListener(listener));
+        engine = new TimedValidationEngine(validator, listener);
+        given(assetEligibilityProvider.isEligible(Matchers.anyString())).willReturn(true);
+        given(assetEligibilityProvider.isEligible(Matchers.eq("XYZ"))).willReturn(false);
+        given(assetDetailsProvider.getDetails(Matchers.eq("IBM"))).willReturn(new BasicAsset("IBM", "IBM", "VGRQXHF3J8VDLUA7XE92"));
+        given(assetDetailsProvider.getDetails(Matchers.eq("XYZ"))).willReturn(new BasicAsset("XYZ", "XYZ", "XYZ"));
+    }
+
+    @Test
+    public void testMetrics() {
+        final BasicPortfolio bp = new BasicPortfolio();
+        bp.setPortfolioCcy("USD");
+        bp.setPortfolioValue(bd("10000"));
+        final List<ExistingPortfolioLine> lines = new ArrayList<>();
+        lines.add(new BasicLine("IBM", "International Business Machine", bd("88"), bd("100"), bd("8800")));
+        lines.add(new BasicLine("XYZ", "Not Eligible", bd("12"), bd("100"), bd("1200")));
+        bp.setLines(lines);
+
+        final ValidationResults res = engine.validate(bp);
+        assertThat(res.getLines()).hasSize(2);
+
+        assertThat(listener.getValidationLatency().getCount()).isEqualTo(1);
+        assertThat(listener.getPortfolioSize().getCount()).isEqualTo(1);
+        assertThat(listener.getPortfolioSize().getMax()).isEqualTo(2);
+        assertThat(listener.getInvocationCount(ValidationPhase.ELIGIBILITY_LOOKUP)).isEqualTo(2);
+        assertThat(listener.getInvocationCount(ValidationPhase.ASSET_DETAILS_LOOKUP)).isEqualTo(2);
+        assertThat(listener.getInvocationCount(ValidationPhase.WEIGHT_CALCULATION)).isEqualTo(2);
+        assertThat(listener.getInvocationCount(ValidationPhase.RULE_CHECKS)).isEqualTo(1);
+        assertThat(listener.getPhaseLatency(ValidationPhase.ELIGIBILITY_LOOKUP).getCount()).isEqualTo(1);
+        assertThat(listener.getIssueCount(RuleNames.ELIGIBILITY)).isEqualTo(1);
+        assertThat(listener.getIssueCount(RuleNames.ISSUER_MAX_CONCENTRATION)).isEqualTo(2);
+        assertThat(listener.getIssueCount(RuleNames.ISSUER_MEDIUM_CONCENTRATION)).isEqualTo(0);
+
+        engine.validate(bp);
+        assertThat(listener.getValidationLatency().getCount()).isEqualTo(2);
+        assertThat(listener.getIssueCount(RuleNames.ELIGIBILITY)).isEqualTo(2);
+
+        listener.reset();
+        assertThat(listener.getValidationLatency().getCount()).isEqualTo(0);
+        assertThat(listener.getIssueCounts()).isEmpty();
+    }
+
+    @Test
+    public void testHistogram() {
+        final Histogram h = new Histogram();
+        assertThat(h.getValueAtPercentile(50)).isEqualTo(0);
+        for (long i = 1; i <= 100; i++) {
+            h.record(i);
+        }
+        assertThat(h.getCount()).isEqualTo(100);
+        assertThat(h.getMin()).isEqualTo(1);
+        assertThat(h.getMax()).isEqualTo(100);
+        assertThat(h.getSum()).isEqualTo(5050);
+        assertThat(h.getMean()).isEqualTo(50.5);
+        assertThat(h.getValueAtPercentile(50)).isEqualTo(63);
+        assertThat(h.getValueAtPercentile(100)).isEqualTo(100);
+    }
+}
@@ -0,0 +1,13 @@
+package net.objectlab.kit.util.excel;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * An iterator over rows streamed from a workbook. The underlying file is released
+ * once the iterator is exhausted; call {@link #close()} if you stop reading early.
+ */
+public interface CloseableIterator<E> extends Iterator<E>, Closeable {
+
+    void close();
+}
@@ -0,0 +1,17 @@
+package net.objectlab.kit.util.excel;
+
+/**
+ * The primitive representation a column is extracted into by {@link Excel#readColumns(String, ColumnType...)}.
+ */
+public enum ColumnType {
+    /** numeric cells into a double[], blank cells become NaN */
+    DOUBLE,
+    /** numeric cells truncated into a long[], blank cells become {@link ExcelColumns#MISSING_LONG} */
+    LONG,
+    /** numeric cells truncated into an int[], blank cells become {@link ExcelColumns#MISSING_INT} */
+    INT,
+    /** date cells as days since 1970-01-01 into an int[], blank cells and negative (invalid) dates become {@link ExcelColumns#MISSING_INT} (the NO_DATE of the date calculators) */
+    EPOCH_DAY,
+    /** text cells into a String[], blank cells become null */
+    STRING
+}
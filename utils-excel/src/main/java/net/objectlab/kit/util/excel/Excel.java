@@ -1,17 +1,34 @@
 package net.objectlab.kit.util.excel;
 
+import org.apache.poi.hssf.record.DateWindow1904Record;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.RecordFactoryInputStream;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.DirectoryNode;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.AreaReference;
 import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTWorkbookPr;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
 import java.math.BigDecimal;
 import java.util.*;
 
 public class Excel {
 
+    private static final int EXCEL_EPOCH_1900 = 25569;
+    private static final int EXCEL_EPOCH_1904 = 24107;
+    private static final int FIRST_SERIAL_AFTER_LEAP_BUG = 61;
+    private static final int INITIAL_CAPACITY = 64;
+
     private Workbook workbook;
+    private boolean date1904;
 
     public Excel(InputStream in) {
         init(in);
@@ -24,12 +41,53 @@ public class Excel {
         }
 
         try {
-            workbook = WorkbookFactory.create(inputStream);
+            InputStream in = inputStream.markSupported() ? inputStream : new PushbackInputStream(inputStream, 8);
+            if (POIFSFileSystem.hasPOIFSHeader(in)) {
+                POIFSFileSystem fs = new POIFSFileSystem(in);
+                date1904 = readDate1904(fs.getRoot());
+                workbook = new HSSFWorkbook(fs);
+            } else {
+                workbook = WorkbookFactory.create(in);
+                date1904 = readDate1904((XSSFWorkbook) workbook);
+            }
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * HSSFWorkbook does not expose its date system, so it is read from the
+     * DateWindow1904 record of the workbook globals.
+     */
+    private static boolean readDate1904(DirectoryNode root) throws IOException {
+        String name = root.hasEntry("Workbook") ? "Workbook" : "Book";
+        InputStream in = root.createDocumentInputStream(name);
+        try {
+            RecordFactoryInputStream records = new RecordFactoryInputStream(in, false);
+            Record r;
+            while ((r = records.nextRecord()) != null && r.getSid() != EOFRecord.sid) {
+                if (r instanceof DateWindow1904Record) {
+                    return ((DateWindow1904Record) r).getWindowing() == 1;
+                }
+            }
+            return false;
+        } finally {
+            in.close();
+        }
+    }
+
+    private static boolean readDate1904(XSSFWorkbook wb) {
+        CTWorkbookPr pr = wb.getCTWorkbook().getWorkbookPr();
+        return pr != null && pr.isSetDate1904() && pr.getDate1904();
+    }
+
+    /**
+     * @return true if the workbook uses the 1904 date system (e.g. created by Excel for Mac)
+     */
+    public boolean isDate1904() {
+        return date1904;
+    }
+
     public <E> E readValueAt(String cellAddress, Class<E> type) {
         return readCell(cellAt(cellAddress), type);
     }
@@ -116,6 +174,231 @@ public class Excel {
         return result.toArray(new Object[][] {});
     }
 
+    /**
+     * Reads a block column by column straight into primitive arrays. Each column's
+     * converter is resolved once, so numeric cells are never boxed.
+     *
+     * Unlike readBlock, blank cells do not end the block: an explicit range is read in full and
+     * a top row is read down to the last non blank cell of any column, so columns of different
+     * lengths (e.g. one column of holidays per centre) are all read to the end, the shorter ones
+     * padded with blanks.
+     *
+     * @param rangeOrName a range as for {@link #readBlock(String, Class[])} or the name of a named range
+     * @param columnTypes the representation of each column; as with readBlock, the last
+     *                 type is used for any remaining columns
+     */
+    public ExcelColumns readColumns(String rangeOrName, ColumnType... columnTypes) {
+
+        if (columnTypes == null || columnTypes.length == 0) {
+            throw new RuntimeException("columnTypes cannot be null / empty");
+        }
+
+        String range = rangeOrName;
+        if (workbook.getNameIndex(rangeOrName) >= 0) {
+            range = namedRangeToRangeAddress(rangeOrName);
+        }
+
+        CellRangeAddress cra = CellRangeAddress.valueOf(range);
+        AreaReference ar = new AreaReference(range);
+        Sheet sheet = workbook.getSheet(ar.getFirstCell().getSheetName());
+
+        int firstColumn = cra.getFirstColumn();
+        int firstRow = cra.getFirstRow();
+        int lastRow = cra.getLastRow();
+        int height = lastRow - firstRow + 1;
+        int width = cra.getLastColumn() - firstColumn + 1;
+        int capacity = height == 1 ? INITIAL_CAPACITY : height;
+
+        ColumnType[] types = new ColumnType[width];
+        ColumnReader[] readers = new ColumnReader[width];
+        for (int colNum = 0; colNum < width; colNum++) {
+            if (colNum < columnTypes.length - 1) {
+                types[colNum] = columnTypes[colNum];
+            } else {
+                types[colNum] = columnTypes[columnTypes.length - 1];
+            }
+            readers[colNum] = columnReader(types[colNum], capacity);
+        }
+
+        int last = height == 1 ? sheet.getLastRowNum() : lastRow;
+        int rowCount = 0;
+        for (int rowNum = 0; firstRow + rowNum <= last; rowNum++) {
+            Row row = sheet.getRow(firstRow + rowNum);
+            boolean blankRow = true;
+            for (int colNum = 0; colNum < width; colNum++) {
+                Cell cell = row != null ? row.getCell(firstColumn + colNum) : null;
+                readers[colNum].read(cell, rowNum);
+                blankRow &= isBlank(cell);
+            }
+            if (!blankRow || height > 1) {
+                rowCount = rowNum + 1;
+            }
+        }
+
+        Object[] columns = new Object[width];
+        for (int colNum = 0; colNum < width; colNum++) {
+            columns[colNum] = readers[colNum].toArray(rowCount);
+        }
+
+        return new ExcelColumns(types, columns, rowCount);
+    }
+
+    private ColumnReader columnReader(ColumnType type, int capacity) {
+        switch (type) {
+        case DOUBLE:
+            return new DoubleColumn(capacity);
+        case LONG:
+            return new LongColumn(capacity);
+        case INT:
+            return new IntColumn(capacity);
+        case EPOCH_DAY:
+            return new EpochDayColumn(capacity);
+        case STRING:
+            return new StringColumn(capacity);
+        default:
+            throw new RuntimeException("Column type not supported: " + type);
+        }
+    }
+
+    private static boolean isBlank(Cell cell) {
+        return cell == null || cell.getCellType() == Cell.CELL_TYPE_BLANK;
+    }
+
+    private int toEpochDay(Cell cell) {
+        double value = cell.getNumericCellValue();
+        if (value < 0) {
+            // not a valid Excel date, same NO_DATE as ExcelDateUtil.toEpochDay
+            return ExcelColumns.MISSING_INT;
+        }
+        int serial = (int) Math.floor(value);
+        if (date1904) {
+            return serial - EXCEL_EPOCH_1904;
+        }
+        // Excel treats 1900 as a leap year, serials before 1900-03-01 are one day early
+        return serial < FIRST_SERIAL_AFTER_LEAP_BUG ? serial - EXCEL_EPOCH_1900 + 1 : serial - EXCEL_EPOCH_1900;
+    }
+
+    // grows with System.arraycopy, this module still targets Java 5
+    private static double[] copyOf(double[] values, int length) {
+        double[] copy = new double[length];
+        System.arraycopy(values, 0, copy, 0, Math.min(values.length, length));
+        return copy;
+    }
+
+    private static long[] copyOf(long[] values, int length) {
+        long[] copy = new long[length];
+        System.arraycopy(values, 0, copy, 0, Math.min(values.length, length));
+        return copy;
+    }
+
+    private static int[] copyOf(int[] values, int length) {
+        int[] copy = new int[length];
+        System.arraycopy(values, 0, copy, 0, Math.min(values.length, length));
+        return copy;
+    }
+
+    private static String[] copyOf(String[] values, int length) {
+        String[] copy = new String[length];
+        System.arraycopy(values, 0, copy, 0, Math.min(values.length, length));
+        return copy;
+    }
+
+    private abstract static class ColumnReader {
+        abstract void read(Cell cell, int rowNum);
+
+        abstract Object toArray(int rowCount);
+    }
+
+    private static final class DoubleColumn extends ColumnReader {
+        private double[] values;
+
+        private DoubleColumn(int capacity) {
+            values = new double[capacity];
+        }
+
+        void read(Cell cell, int rowNum) {
+            if (rowNum == values.length) {
+                values = copyOf(values, rowNum * 2);
+            }
+            values[rowNum] = isBlank(cell) ? Double.NaN : cell.getNumericCellValue();
+        }
+
+        Object toArray(int rowCount) {
+            return rowCount == values.length ? values : copyOf(values, rowCount);
+        }
+    }
+
+    private static final class LongColumn extends ColumnReader {
+        private long[] values;
+
+        private LongColumn(int capacity) {
+            values = new long[capacity];
+        }
+
+        void read(Cell cell, int rowNum) {
+            if (rowNum == values.length) {
+                values = copyOf(values, rowNum * 2);
+            }
+            values[rowNum] = isBlank(cell) ? ExcelColumns.MISSING_LONG : (long) cell.getNumericCellValue();
+        }
+
+        Object toArray(int rowCount) {
+            return rowCount == values.length ? values : copyOf(values, rowCount);
+        }
+    }
+
+    private static class IntColumn extends ColumnReader {
+        private int[] values;
+
+        private IntColumn(int capacity) {
+            values = new int[capacity];
+        }
+
+        void read(Cell cell, int rowNum) {
+            if (rowNum == values.length) {
+                values = copyOf(values, rowNum * 2);
+            }
+            values[rowNum] = isBlank(cell) ? ExcelColumns.MISSING_INT : convert(cell);
+        }
+
+        int convert(Cell cell) {
+            return (int) cell.getNumericCellValue();
+        }
+
+        Object toArray(int rowCount) {
+            return rowCount == values.length ? values : copyOf(values, rowCount);
+        }
+    }
+
+    private final class EpochDayColumn extends IntColumn {
+        private EpochDayColumn(int capacity) {
+            super(capacity);
+        }
+
+        int convert(Cell cell) {
+            return toEpochDay(cell);
+        }
+    }
+
+    private static final class StringColumn extends ColumnReader {
+        private String[] values;
+
+        private StringColumn(int capacity) {
+            values = new String[capacity];
+        }
+
+        void read(Cell cell, int rowNum) {
+            if (rowNum == values.length) {
+                values = copyOf(values, rowNum * 2);
+            }
+            values[rowNum] = isBlank(cell) ? null : cell.getRichStringCellValue().getString();
+        }
+
+        Object toArray(int rowCount) {
+            return rowCount == values.length ? values : copyOf(values, rowCount);
+        }
+    }
+
     private <E> E readCell(Cell cell, Class<E> colType) {
 
         if (colType == Date.class) {
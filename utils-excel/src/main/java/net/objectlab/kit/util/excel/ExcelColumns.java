@@ -0,0 +1,61 @@
+package net.objectlab.kit.util.excel;
+
+/**
+ * A block read column by column into primitive arrays, see {@link Excel#readColumns(String, ColumnType...)}.
+ * The arrays are exactly {@link #getRowCount()} long and are handed out without copying.
+ */
+public class ExcelColumns {
+
+    public static final int MISSING_INT = Integer.MIN_VALUE;
+
+    public static final long MISSING_LONG = Long.MIN_VALUE;
+
+    private final ColumnType[] types;
+    private final Object[] columns;
+    private final int rowCount;
+
+    ExcelColumns(ColumnType[] types, Object[] columns, int rowCount) {
+        this.types = types;
+        this.columns = columns;
+        this.rowCount = rowCount;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    public ColumnType getType(int column) {
+        return types[column];
+    }
+
+    public double[] getDoubles(int column) {
+        return (double[]) column(column, ColumnType.DOUBLE);
+    }
+
+    public long[] getLongs(int column) {
+        return (long[]) column(column, ColumnType.LONG);
+    }
+
+    public int[] getInts(int column) {
+        return (int[]) column(column, ColumnType.INT);
+    }
+
+    public int[] getEpochDays(int column) {
+        return (int[]) column(column, ColumnType.EPOCH_DAY);
+    }
+
+    public String[] getStrings(int column) {
+        return (String[]) column(column, ColumnType.STRING);
+    }
+
+    private Object column(int column, ColumnType expected) {
+        if (types[column] != expected) {
+            throw new IllegalArgumentException("Column " + column + " was read as " + types[column] + ", not " + expected);
+        }
+        return columns[column];
+    }
+}
@@ -0,0 +1,59 @@
+package net.objectlab.kit.util.excel;
+
+import java.io.Closeable;
+
+/**
+ * Forward-only reader over the physical rows of a single sheet. Only the cells falling
+ * within the requested column window are kept, so memory is bounded by the width of
+ * the block rather than the size of the sheet.
+ *
+ * Cell values are held raw: a Double for numeric (and date) cells, a String for text,
+ * a Boolean for boolean cells and null for blank or error cells.
+ */
+abstract class SheetReader implements Closeable {
+
+    private final int firstColumn;
+    private final Object[] cells;
+    private int rowIndex = -1;
+
+    SheetReader(int firstColumn, int width) {
+        this.firstColumn = firstColumn;
+        this.cells = new Object[width];
+    }
+
+    /**
+     * Moves to the next physical row of the sheet.
+     *
+     * @return false once the end of the sheet has been reached
+     */
+    abstract boolean nextRow();
+
+    /**
+     * @return true if the workbook uses the 1904 date system
+     */
+    abstract boolean isDate1904();
+
+    public abstract void close();
+
+    int getRowIndex() {
+        return rowIndex;
+    }
+
+    Object getCell(int colNum) {
+        return cells[colNum];
+    }
+
+    protected void startRow(int row) {
+        rowIndex = row;
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = null;
+        }
+    }
+
+    protected void setCell(int column, Object value) {
+        int colNum = column - firstColumn;
+        if (colNum >= 0 && colNum < cells.length) {
+            cells[colNum] = value;
+        }
+    }
+}
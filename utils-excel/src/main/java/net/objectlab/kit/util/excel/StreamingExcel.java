@@ -0,0 +1,218 @@
+package net.objectlab.kit.util.excel;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.AreaReference;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.NoSuchElementException;
+
+/**
+ * A constant-memory counterpart of {@link Excel} for very large workbooks. Rather than building
+ * the whole workbook in memory, each read streams the sheet through the POI event API (.xls)
+ * or a pull parser over the sheet XML (.xlsx) and hands back rows lazily, one at a time.
+ *
+ * Ranges and column types follow the same rules as {@link Excel#readBlock(String, Class[])}.
+ * Beyond the current row, the only state held is the shared strings table of the workbook.
+ */
+public class StreamingExcel {
+
+    private final File file;
+    private final boolean xlsx;
+
+    public StreamingExcel(File file) {
+
+        if (file == null) {
+            throw new NullPointerException("file cannot be null");
+        }
+
+        this.file = file;
+        this.xlsx = isZip(file);
+    }
+
+    private static boolean isZip(File file) {
+        try {
+            InputStream in = new FileInputStream(file);
+            try {
+                return in.read() == 'P' && in.read() == 'K';
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public <E> CloseableIterator<E> readColumn(String rangeOrStartAddress, Class<E> type) {
+
+        final CloseableIterator<Object[]> rows = readBlock(rangeOrStartAddress, type);
+
+        return new CloseableIterator<E>() {
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            public E next() {
+                return (E) rows.next()[0];
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+
+            public void close() {
+                rows.close();
+            }
+        };
+    }
+
+    /**
+     * @param range either the range of the entire block to be read, or just the
+     *              top row of the cells, in which case the iterator will stop when
+     *              the first empty cell is reached in the first column
+     * @param columnTypes An array of data types expected at each column, see
+     *                 {@link Excel#readBlock(String, Class[])}
+     * @return a lazy iterator over the rows; close it if it is not read to the end
+     */
+    public CloseableIterator<Object[]> readBlock(String range, Class... columnTypes) {
+
+        if (columnTypes == null || columnTypes.length == 0) {
+            throw new RuntimeException("columnTypes cannot be null / empty");
+        }
+
+        CellRangeAddress cra = CellRangeAddress.valueOf(range);
+        AreaReference ar = new AreaReference(range);
+        String sheetName = ar.getFirstCell().getSheetName();
+
+        int firstColumn = cra.getFirstColumn();
+        int width = cra.getLastColumn() - firstColumn + 1;
+
+        SheetReader reader;
+        if (xlsx) {
+            reader = new XlsxSheetReader(file, sheetName, firstColumn, width);
+        } else {
+            reader = new XlsSheetReader(file, sheetName, firstColumn, width);
+        }
+
+        return new RowIterator(reader, cra.getFirstRow(), cra.getLastRow(), width, columnTypes);
+    }
+
+    private static final class RowIterator implements CloseableIterator<Object[]> {
+
+        private final SheetReader reader;
+        private final int lastRow;
+        private final boolean toFirstEmptyCell;
+        private final int width;
+        private final Class[] columnTypes;
+        private int expectedRow;
+        private Object[] next;
+
+        private RowIterator(SheetReader reader, int firstRow, int lastRow, int width, Class[] columnTypes) {
+            this.reader = reader;
+            this.lastRow = lastRow;
+            this.toFirstEmptyCell = firstRow == lastRow;
+            this.width = width;
+            this.columnTypes = columnTypes;
+            this.expectedRow = firstRow;
+            this.next = advance();
+        }
+
+        private Object[] advance() {
+
+            if (!toFirstEmptyCell && expectedRow > lastRow) {
+                reader.close();
+                return null;
+            }
+
+            boolean found = false;
+            while (reader.nextRow()) {
+                if (reader.getRowIndex() >= expectedRow) {
+                    found = reader.getRowIndex() == expectedRow;
+                    break;
+                }
+            }
+
+            // a missing row or an empty first cell ends the block
+            if (!found || isEmpty(reader.getCell(0))) {
+                reader.close();
+                return null;
+            }
+
+            Object[] resultRow = new Object[width];
+            for (int colNum = 0; colNum < width; colNum++) {
+
+                Class colType;
+                if (colNum < columnTypes.length - 1) {
+                    colType = columnTypes[colNum];
+                } else {
+                    colType = columnTypes[columnTypes.length - 1];
+                }
+
+                resultRow[colNum] = convert(reader.getCell(colNum), colType, reader.isDate1904());
+            }
+            expectedRow++;
+
+            return resultRow;
+        }
+
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        public Object[] next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Object[] row = next;
+            next = advance();
+            return row;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        public void close() {
+            next = null;
+            reader.close();
+        }
+    }
+
+    private static boolean isEmpty(Object value) {
+        return value == null || "".equals(value);
+    }
+
+    private static Object convert(Object value, Class colType, boolean date1904) {
+
+        if (value == null) {
+            return null;
+        } else if (colType == String.class) {
+            return value instanceof String ? value : String.valueOf(value);
+        } else if (!(value instanceof Double)) {
+            throw new IllegalStateException("Cannot read a non-numeric cell as " + colType + ": " + value);
+        }
+
+        double d = (Double) value;
+        if (colType == Date.class) {
+            return DateUtil.getJavaDate(d, date1904);
+        } else if (colType == Calendar.class) {
+            Calendar cal = Calendar.getInstance();
+            cal.setTime(DateUtil.getJavaDate(d, date1904));
+            return cal;
+        } else if (colType == Integer.class) {
+            return ((Double) d).intValue();
+        } else if (colType == Double.class) {
+            return d;
+        } else if (colType == BigDecimal.class) {
+            return new BigDecimal(String.valueOf(d));
+        } else {
+            throw new RuntimeException("Column type not supported: " + colType);
+        }
+    }
+}
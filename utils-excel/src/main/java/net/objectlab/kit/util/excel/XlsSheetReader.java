@@ -0,0 +1,199 @@
+package net.objectlab.kit.util.excel;
+
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.DateWindow1904Record;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.RecordFactoryInputStream;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.poifs.filesystem.NPOIFSFileSystem;
+import org.apache.poi.ss.usermodel.Cell;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pulls cell records of a single sheet out of an .xls workbook stream. Cell records are stored
+ * in row order so a row is complete as soon as a record for a later row shows up; that record
+ * is kept back and starts the next row.
+ */
+class XlsSheetReader extends SheetReader {
+
+    private final NPOIFSFileSystem fs;
+    private InputStream in;
+    private RecordFactoryInputStream records;
+    private SSTRecord sst;
+    private boolean date1904;
+    private CellValueRecordInterface pending;
+    private FormulaRecord stringFormula;
+
+    XlsSheetReader(File file, String sheetName, int firstColumn, int width) {
+        super(firstColumn, width);
+        try {
+            fs = new NPOIFSFileSystem(file);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        try {
+            in = fs.createDocumentInputStream("Workbook");
+            records = new RecordFactoryInputStream(in, false);
+            skipToSheet(sheetName);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        } catch (Exception e) {
+            close();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Reads the workbook globals (sheet names, shared strings and date system) and positions
+     * the stream on the BOF of the requested sheet.
+     */
+    private void skipToSheet(String sheetName) {
+        List<BoundSheetRecord> sheets = new ArrayList<BoundSheetRecord>();
+        Record r;
+        while ((r = records.nextRecord()) != null && r.getSid() != EOFRecord.sid) {
+            if (r instanceof BoundSheetRecord) {
+                sheets.add((BoundSheetRecord) r);
+            } else if (r instanceof SSTRecord) {
+                sst = (SSTRecord) r;
+            } else if (r instanceof DateWindow1904Record) {
+                date1904 = ((DateWindow1904Record) r).getWindowing() == 1;
+            }
+        }
+
+        BoundSheetRecord[] ordered = BoundSheetRecord.orderByBofPosition(sheets);
+        int index = -1;
+        for (int i = 0; i < ordered.length; i++) {
+            if (ordered[i].getSheetname().equalsIgnoreCase(sheetName)) {
+                index = i;
+                break;
+            }
+        }
+        if (index < 0) {
+            throw new IllegalArgumentException("No sheet named '" + sheetName + "'");
+        }
+
+        int sheet = -1;
+        int depth = 0;
+        while ((r = records.nextRecord()) != null) {
+            if (r instanceof BOFRecord) {
+                if (depth == 0) {
+                    sheet++;
+                }
+                depth++;
+                if (sheet == index && depth == 1) {
+                    return;
+                }
+            } else if (r.getSid() == EOFRecord.sid) {
+                depth--;
+            }
+        }
+        throw new IllegalArgumentException("No data found for sheet '" + sheetName + "'");
+    }
+
+    @Override
+    boolean nextRow() {
+        if (records == null) {
+            return false;
+        }
+        if (pending != null) {
+            startRow(pending.getRow());
+            setCell(pending);
+            pending = null;
+        } else {
+            startRow(-1);
+        }
+
+        int depth = 1;
+        Record r;
+        while ((r = records.nextRecord()) != null) {
+            if (r instanceof BOFRecord) {
+                depth++;
+            } else if (r.getSid() == EOFRecord.sid) {
+                if (--depth == 0) {
+                    break;
+                }
+            } else if (depth == 1 && r instanceof StringRecord) {
+                if (stringFormula != null) {
+                    setCell(stringFormula.getColumn(), ((StringRecord) r).getString());
+                    stringFormula = null;
+                }
+            } else if (depth == 1 && r instanceof CellValueRecordInterface) {
+                CellValueRecordInterface cell = (CellValueRecordInterface) r;
+                if (getRowIndex() < 0) {
+                    startRow(cell.getRow());
+                } else if (cell.getRow() != getRowIndex()) {
+                    pending = cell;
+                    return true;
+                }
+                setCell(cell);
+            }
+        }
+
+        close();
+        return getRowIndex() >= 0;
+    }
+
+    private void setCell(CellValueRecordInterface cell) {
+        int column = cell.getColumn();
+        if (cell instanceof NumberRecord) {
+            setCell(column, ((NumberRecord) cell).getValue());
+        } else if (cell instanceof LabelSSTRecord) {
+            setCell(column, sst.getString(((LabelSSTRecord) cell).getSSTIndex()).getString());
+        } else if (cell instanceof LabelRecord) {
+            setCell(column, ((LabelRecord) cell).getValue());
+        } else if (cell instanceof BoolErrRecord) {
+            BoolErrRecord be = (BoolErrRecord) cell;
+            setCell(column, be.isBoolean() ? Boolean.valueOf(be.getBooleanValue()) : null);
+        } else if (cell instanceof FormulaRecord) {
+            FormulaRecord f = (FormulaRecord) cell;
+            switch (f.getCachedResultType()) {
+            case Cell.CELL_TYPE_NUMERIC:
+                setCell(column, f.getValue());
+                break;
+            case Cell.CELL_TYPE_STRING:
+                // the value follows in a STRING record
+                stringFormula = f;
+                break;
+            case Cell.CELL_TYPE_BOOLEAN:
+                setCell(column, Boolean.valueOf(f.getCachedBooleanValue()));
+                break;
+            default:
+                break;
+            }
+        }
+    }
+
+    @Override
+    boolean isDate1904() {
+        return date1904;
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (in != null) {
+                in.close();
+            }
+            fs.close();
+        } catch (Exception e) {
+            // ignore, nothing more to read
+        } finally {
+            in = null;
+            records = null;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package net.objectlab.kit.util.excel;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Pulls rows out of the sheet XML of an .xlsx package with a StAX parser, so that only the
+ * shared strings table and the current row are ever held in memory.
+ */
+class XlsxSheetReader extends SheetReader {
+
+    private final OPCPackage pkg;
+    private final ReadOnlySharedStringsTable strings;
+    private final boolean date1904;
+    private InputStream sheetStream;
+    private XMLStreamReader xml;
+    private int nextRow;
+
+    XlsxSheetReader(File file, String sheetName, int firstColumn, int width) {
+        super(firstColumn, width);
+        try {
+            pkg = OPCPackage.open(file.getPath(), PackageAccess.READ);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            strings = new ReadOnlySharedStringsTable(pkg);
+            date1904 = readDate1904(reader);
+            sheetStream = findSheet(reader, sheetName);
+            xml = newXmlInputFactory().createXMLStreamReader(sheetStream);
+        } catch (Exception e) {
+            close();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * The workbook comes from outside: no DTD and no external entity, so that it cannot make the
+     * parser read local files or URLs (XXE).
+     */
+    private static XMLInputFactory newXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        return factory;
+    }
+
+    private static boolean readDate1904(XSSFReader reader) throws Exception {
+        InputStream in = reader.getWorkbookData();
+        try {
+            XMLStreamReader wb = newXmlInputFactory().createXMLStreamReader(in);
+            while (wb.hasNext()) {
+                if (wb.next() == XMLStreamConstants.START_ELEMENT) {
+                    String name = wb.getLocalName();
+                    if ("workbookPr".equals(name)) {
+                        String flag = wb.getAttributeValue(null, "date1904");
+                        return "1".equals(flag) || "true".equals(flag);
+                    } else if ("sheets".equals(name)) {
+                        return false;
+                    }
+                }
+            }
+            return false;
+        } finally {
+            in.close();
+        }
+    }
+
+    private static InputStream findSheet(XSSFReader reader, String sheetName) throws Exception {
+        XSSFReader.SheetIterator it = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (it.hasNext()) {
+            InputStream in = it.next();
+            if (it.getSheetName().equalsIgnoreCase(sheetName)) {
+                return in;
+            }
+            in.close();
+        }
+        throw new IllegalArgumentException("No sheet named '" + sheetName + "'");
+    }
+
+    @Override
+    boolean nextRow() {
+        if (xml == null) {
+            return false;
+        }
+        try {
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                    String r = xml.getAttributeValue(null, "r");
+                    startRow(r != null ? Integer.parseInt(r) - 1 : nextRow);
+                    nextRow = getRowIndex() + 1;
+                    readCells();
+                    return true;
+                } else if (event == XMLStreamConstants.END_ELEMENT && "sheetData".equals(xml.getLocalName())) {
+                    break;
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new RuntimeException(e);
+        }
+        close();
+        return false;
+    }
+
+    private void readCells() throws XMLStreamException {
+        int column = -1;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                String ref = xml.getAttributeValue(null, "r");
+                column = ref != null ? columnOf(ref) : column + 1;
+                String type = xml.getAttributeValue(null, "t");
+                setCell(column, readValue(type));
+            } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads the content of the current &lt;c&gt; element, leaving the parser on its end tag.
+     */
+    private Object readValue(String type) throws XMLStreamException {
+        String text = null;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = xml.getLocalName();
+                if ("v".equals(name) || "t".equals(name)) {
+                    text = text == null ? xml.getElementText() : text + xml.getElementText();
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                break;
+            }
+        }
+
+        if (text == null) {
+            return null;
+        } else if ("s".equals(type)) {
+            return strings.getEntryAt(Integer.parseInt(text));
+        } else if ("str".equals(type) || "inlineStr".equals(type)) {
+            return text;
+        } else if ("b".equals(type)) {
+            return Boolean.valueOf("1".equals(text));
+        } else if ("e".equals(type)) {
+            return null;
+        }
+        return Double.valueOf(text);
+    }
+
+    private static int columnOf(String ref) {
+        int col = 0;
+        for (int i = 0; i < ref.length(); i++) {
+            char c = ref.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            col = col * 26 + (c - 'A' + 1);
+        }
+        return col - 1;
+    }
+
+    @Override
+    boolean isDate1904() {
+        return date1904;
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (xml != null) {
+                xml.close();
+            }
+            if (sheetStream != null) {
+                sheetStream.close();
+            }
+        } catch (Exception e) {
+            // ignore, we are releasing the package anyway
+        } finally {
+            xml = null;
+            sheetStream = null;
+            pkg.revert();
+        }
+    }
+}
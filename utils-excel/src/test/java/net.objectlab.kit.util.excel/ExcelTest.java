@@ -4,10 +4,23 @@ package net.objectlab.kit.util.excel;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
 import java.util.List;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
 
 /**
  * @author Marcin Jekot
@@ -97,4 +110,132 @@ public class ExcelTest {
             assertEquals(4, data.length);
         }
     }
+
+    @Test
+    public void shouldReadColumnsIntoPrimitiveArrays() {
+        // When
+        ExcelColumns result = xls.readColumns("'Test Sheet'!C3:F3", ColumnType.STRING, ColumnType.INT, ColumnType.DOUBLE, ColumnType.LONG);
+
+        // Then
+        assertEquals(9, result.getRowCount());
+        assertEquals(4, result.getColumnCount());
+        for (int i = 1; i <= 9; i++) {
+            assertEquals("Test" + Character.toString((char) ('A' + i - 1)), result.getStrings(0)[i - 1]);
+            assertEquals(i, result.getInts(1)[i - 1]);
+            assertEquals(i + (i % 10) / (double) 10, result.getDoubles(2)[i - 1]);
+            assertEquals(i, result.getLongs(3)[i - 1]);
+        }
+    }
+
+    @Test
+    public void shouldReadFixedHeightColumns() {
+        // When
+        ExcelColumns result = xlsx.readColumns("'Test Sheet'!D3:E4", ColumnType.DOUBLE);
+
+        // Then
+        assertEquals(2, result.getRowCount());
+        assertEquals(2, result.getDoubles(0).length);
+        assertEquals(2.0, result.getDoubles(0)[1]);
+        assertEquals(2.2, result.getDoubles(1)[1]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectWrongColumnAccessor() {
+        xlsx.readColumns("'Test Sheet'!D3", ColumnType.DOUBLE).getInts(0);
+    }
+
+    @Test
+    public void shouldReadEpochDays() throws Exception {
+        // Given
+        Workbook wb = new HSSFWorkbook();
+        Sheet sheet = wb.createSheet("Dates");
+        Calendar[] dates = {new GregorianCalendar(1900, Calendar.JANUARY, 1), new GregorianCalendar(1900, Calendar.MARCH, 1),
+                new GregorianCalendar(1970, Calendar.JANUARY, 2), new GregorianCalendar(2012, Calendar.AUGUST, 17)};
+        for (int i = 0; i < dates.length; i++) {
+            Cell cell = sheet.createRow(i).createCell(0);
+            cell.setCellValue(dates[i]);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        wb.write(out);
+        Excel excel = new Excel(new ByteArrayInputStream(out.toByteArray()));
+
+        // When
+        int[] epochDays = excel.readColumns("'Dates'!A1:A4", ColumnType.EPOCH_DAY).getEpochDays(0);
+
+        // Then
+        assertEquals(-25567, epochDays[0]);
+        assertEquals(-25508, epochDays[1]);
+        assertEquals(1, epochDays[2]);
+        assertEquals(15569, epochDays[3]);
+    }
+
+    @Test
+    public void shouldReadRaggedColumnsToTheirLastRow() throws Exception {
+        // Given one column of holidays per centre, of different lengths
+        Workbook wb = new HSSFWorkbook();
+        Sheet sheet = wb.createSheet("Holidays");
+        int[] lengths = {2, 1, 4};
+        for (int colNum = 0; colNum < lengths.length; colNum++) {
+            for (int rowNum = 0; rowNum < lengths[colNum]; rowNum++) {
+                Row row = sheet.getRow(rowNum) != null ? sheet.getRow(rowNum) : sheet.createRow(rowNum);
+                row.createCell(colNum).setCellValue(new GregorianCalendar(2012, Calendar.DECEMBER, 24 + rowNum));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        wb.write(out);
+        Excel excel = new Excel(new ByteArrayInputStream(out.toByteArray()));
+
+        // When
+        ExcelColumns topRow = excel.readColumns("'Holidays'!A1:C1", ColumnType.EPOCH_DAY);
+        ExcelColumns range = excel.readColumns("'Holidays'!A1:C6", ColumnType.EPOCH_DAY);
+
+        // Then
+        assertEquals(4, topRow.getRowCount());
+        assertEquals(15699, topRow.getEpochDays(0)[1]);
+        assertEquals(ExcelColumns.MISSING_INT, topRow.getEpochDays(0)[2]);
+        assertEquals(ExcelColumns.MISSING_INT, topRow.getEpochDays(1)[1]);
+        assertEquals(15701, topRow.getEpochDays(2)[3]);
+        assertEquals(6, range.getRowCount());
+        assertEquals(15701, range.getEpochDays(2)[3]);
+        assertEquals(ExcelColumns.MISSING_INT, range.getEpochDays(2)[5]);
+    }
+
+    @Test
+    public void shouldReadEpochDaysFrom1904Workbook() throws Exception {
+        // Given
+        XSSFWorkbook wb = new XSSFWorkbook();
+        wb.getCTWorkbook().getWorkbookPr().setDate1904(true);
+        Sheet sheet = wb.createSheet("Dates");
+        sheet.createRow(0).createCell(0).setCellValue(new GregorianCalendar(2012, Calendar.AUGUST, 17));
+        sheet.createRow(1).createCell(0).setCellValue(new GregorianCalendar(1970, Calendar.JANUARY, 2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        wb.write(out);
+        Excel excel = new Excel(new ByteArrayInputStream(out.toByteArray()));
+
+        // When
+        int[] epochDays = excel.readColumns("'Dates'!A1:A2", ColumnType.EPOCH_DAY).getEpochDays(0);
+
+        // Then
+        assertTrue(excel.isDate1904());
+        assertEquals(15569, epochDays[0]);
+        assertEquals(1, epochDays[1]);
+        assertFalse(xls.isDate1904());
+        assertFalse(xlsx.isDate1904());
+    }
+
+    @Test
+    public void shouldReadNegativeSerialAsMissing() throws Exception {
+        // Given
+        Workbook wb = new HSSFWorkbook();
+        wb.createSheet("Dates").createRow(0).createCell(0).setCellValue(-1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        wb.write(out);
+        Excel excel = new Excel(new ByteArrayInputStream(out.toByteArray()));
+
+        // When
+        int[] epochDays = excel.readColumns("'Dates'!A1:A1", ColumnType.EPOCH_DAY).getEpochDays(0);
+
+        // Then
+        assertEquals(ExcelColumns.MISSING_INT, epochDays[0]);
+    }
 }
@@ -0,0 +1,119 @@
+package net.objectlab.kit.util.excel;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class StreamingExcelTest {
+
+    private StreamingExcel xls;
+    private StreamingExcel xlsx;
+
+    @Before
+    public void setUp() throws Exception {
+        xls = new StreamingExcel(new File(getClass().getResource("Test Workbook.xls").toURI()));
+        xlsx = new StreamingExcel(new File(getClass().getResource("Test Workbook.xlsx").toURI()));
+    }
+
+    @Test
+    public void shouldReadColumnInXls() {
+        shouldReadColumn(xls);
+    }
+
+    @Test
+    public void shouldReadColumnInXlsx() {
+        shouldReadColumn(xlsx);
+    }
+
+    private void shouldReadColumn(StreamingExcel xl) {
+        // When
+        List<String> result = new ArrayList<String>();
+        CloseableIterator<String> it = xl.readColumn("'Test Sheet'!C3", String.class);
+        while (it.hasNext()) {
+            result.add(it.next());
+        }
+
+        // Then
+        assertEquals(9, result.size());
+        assertEquals("TestA", result.get(0));
+        assertEquals("TestI", result.get(8));
+    }
+
+    @Test
+    public void shouldReadTwoLinesAndStop() {
+        // When
+        CloseableIterator<Object[]> it = xlsx.readBlock("'Test Sheet'!C3:F4", String.class, Integer.class);
+
+        // Then
+        assertEquals(4, it.next().length);
+        assertEquals(4, it.next().length);
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void shouldStopEarlyWhenClosed() {
+        // When
+        CloseableIterator<Object[]> it = xls.readBlock("'Test Sheet'!C3:F3", String.class, Integer.class);
+        assertTrue(it.hasNext());
+        assertEquals("TestA", it.next()[0]);
+        it.close();
+
+        // Then
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void shouldReadARangeOfCellsInXls() {
+        shouldReadARangeOfCells(xls);
+    }
+
+    @Test
+    public void shouldReadARangeOfCellsInXlx() {
+        shouldReadARangeOfCells(xlsx);
+    }
+
+    private void shouldReadARangeOfCells(StreamingExcel xl) {
+        // When
+        CloseableIterator<Object[]> it = xl.readBlock("'Test Sheet'!C3:F12", String.class, Integer.class, Double.class, BigDecimal.class);
+
+        // Then
+        final int numberOfRows = 9;
+        int i = 0;
+        while (it.hasNext()) {
+            i++;
+            Object[] data = it.next();
+            assertEquals("Test" + Character.toString((char) ('A' + i - 1)), data[0]);
+            assertEquals(i, data[1]);
+
+            final int decimal = i % 10;
+            assertEquals(i + decimal / (double) 10, data[2]);
+            assertEquals(new BigDecimal("" + i + "." + decimal + decimal), data[3]);
+
+            assertEquals(4, data.length);
+        }
+        assertEquals(numberOfRows, i);
+    }
+
+    @Test
+    public void shouldMatchInMemoryReader() throws Exception {
+        Excel excel = new Excel(getClass().getResourceAsStream("Test Workbook.xlsx"));
+        Object[][] expected = excel.readBlock("'Test Sheet'!C3:F3", String.class, Integer.class, Double.class, BigDecimal.class);
+
+        CloseableIterator<Object[]> it = xlsx.readBlock("'Test Sheet'!C3:F3", String.class, Integer.class, Double.class, BigDecimal.class);
+        for (Object[] row : expected) {
+            Object[] streamed = it.next();
+            for (int c = 0; c < row.length; c++) {
+                assertEquals(row[c], streamed[c]);
+            }
+        }
+        assertFalse(it.hasNext());
+    }
+}
@@ -5,19 +5,63 @@ package net.objectlab.kit.collections;
 
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
+ * Base class handling the expiry and (re)loading of the collection.
+ *
+ * In refresh-ahead mode (refreshAheadMilliseconds &gt; 0), once the data is older than
+ * expiryTimeout - refreshAhead, the reload is started in the background and the readers
+ * continue to use the current snapshot until the new one is published; readers only ever
+ * wait for the very first load. Without a refresh executor, the background reloads of all the collections share a
+ * small pool of daemon threads, created on first use.
+ *
+ * The periodic reload (reloadOnExpiry) uses its own java.util.Timer (a non-daemon thread, keeping the JVM alive until
+ * the collection is closed) unless a (shared) ScheduledExecutorService
+ * is given, in which case the first run is delayed by a random jitter to spread the reloads of many collections.
+ * If a refresh executor is also given, the scheduler only triggers the reload and the loader itself runs on
+ * that executor (e.g. a virtual thread per task executor), so a slow loader does not hold the shared scheduler.
+ * If the loader fails while a previous snapshot exists, the failure is recorded in the statistics and reported to
+ * the listener, and the previous snapshot is still served; only a failure of the very first load reaches the reader.
+ * After such a failure, no reload is attempted for retryBackoffMilliseconds, so that the readers of an expired
+ * collection do not all retry the loader one after the other. An explicit reload is not covered by this fallback:
+ * its failure is thrown to the caller.
+ * A failure of a periodic reload is logged and does not stop the later ones.
+ * Call close (or stop) once the collection is no longer needed; a shared scheduler is never shut down by the collection.
+ *
  * @author Benoit Xhenseval
  */
-public abstract class AbstractReadOnlyExpiringCollection {
+public abstract class AbstractReadOnlyExpiringCollection implements AutoCloseable {
+    private static final Logger LOG = Logger.getLogger(AbstractReadOnlyExpiringCollection.class.getName());
     private TimeProvider timeProvider;
     private long expiryTimeoutMilliseconds;
+    private long refreshAheadMilliseconds;
     private boolean reloadOnExpiry = true;
     private boolean reloadWhenExpired = true;
     private boolean loadOnFirstAccess = true;
-    private long lastLoadingTime;
+    private volatile long lastLoadingTime;
+    private volatile long nextLoadAttemptTime;
+    private long retryBackoffMilliseconds;
     private String id;
     private Timer timer;
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> scheduledReload;
+    private long reloadJitterMilliseconds;
+    private Executor refreshExecutor;
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private final ExpiringCollectionStatistics statistics = new ExpiringCollectionStatistics();
+    private ExpiringCollectionListener listener;
 
     protected void setId(final String id) {
         this.id = id;
@@ -47,20 +91,94 @@ public abstract class AbstractReadOnlyExpiringCollection {
         this.reloadWhenExpired = reloadWhenExpired;
     }
 
+    /**
+     * @param refreshAheadMilliseconds how long before the expiry a background reload should start, 0 to disable.
+     */
+    public void setRefreshAheadMilliseconds(final long refreshAheadMilliseconds) {
+        this.refreshAheadMilliseconds = refreshAheadMilliseconds;
+    }
+
+    /**
+     * @param refreshExecutor the executor running the background reloads in refresh-ahead mode,
+     * if null, a pool of daemon threads shared by all the collections is used.
+     */
+    public void setRefreshExecutor(final Executor refreshExecutor) {
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * @param scheduler a shared scheduler for the periodic reload instead of a Timer per collection.
+     */
+    public void setScheduler(final ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * @param reloadJitterMilliseconds maximum random delay added to the first periodic reload.
+     */
+    public void setReloadJitterMilliseconds(final long reloadJitterMilliseconds) {
+        this.reloadJitterMilliseconds = reloadJitterMilliseconds;
+    }
+
+    /**
+     * @param retryBackoffMilliseconds how long to keep serving the previous snapshot after a failed reload
+     * before trying the loader again.
+     */
+    public void setRetryBackoffMilliseconds(final long retryBackoffMilliseconds) {
+        this.retryBackoffMilliseconds = retryBackoffMilliseconds;
+    }
+
+    /**
+     * @param listener notified of loads, failures and clears, can be null.
+     */
+    public void setListener(final ExpiringCollectionListener listener) {
+        this.listener = listener;
+    }
+
+    public ExpiringCollectionStatistics getStatistics() {
+        return statistics;
+    }
+
     protected boolean hasExpired() {
         return lastLoadingTime == 0 || timeProvider.getCurrentTimeMillis() - lastLoadingTime > expiryTimeoutMilliseconds;
     }
 
+    protected boolean isRefreshAhead() {
+        return refreshAheadMilliseconds > 0 && expiryTimeoutMilliseconds > 0;
+    }
+
+    protected boolean isDueForRefresh() {
+        return lastLoadingTime == 0
+                || timeProvider.getCurrentTimeMillis() - lastLoadingTime > expiryTimeoutMilliseconds - refreshAheadMilliseconds;
+    }
+
+    /**
+     * @return true if a reload failed less than retryBackoffMilliseconds ago.
+     */
+    protected boolean isBackingOff() {
+        return nextLoadAttemptTime != 0 && timeProvider.getCurrentTimeMillis() < nextLoadAttemptTime;
+    }
+
     public void start() {
         if (reloadOnExpiry && expiryTimeoutMilliseconds > 0) {
-            // start timer
-            timer = new Timer();
-            timer.scheduleAtFixedRate(new TimerTask() {
-                @Override
-                public void run() {
-                    load();
-                }
-            }, 0, expiryTimeoutMilliseconds);
+            final long initialDelay = reloadJitterMilliseconds > 0 ? ThreadLocalRandom.current().nextLong(reloadJitterMilliseconds + 1) : 0L;
+            if (scheduler != null) {
+                scheduledReload = scheduler.scheduleAtFixedRate(new Runnable() {
+                    @Override
+                    public void run() {
+                        safePeriodicReload();
+                    }
+                }, initialDelay, expiryTimeoutMilliseconds, TimeUnit.MILLISECONDS);
+            } else {
+                // start timer, not a daemon: as before, it keeps the JVM alive until the collection is closed
+                timer = new Timer("Reload-" + id);
+                timer.scheduleAtFixedRate(new TimerTask() {
+                    @Override
+                    public void run() {
+                        safePeriodicReload();
+                    }
+                }, initialDelay, expiryTimeoutMilliseconds);
+            }
         }
         if (!loadOnFirstAccess) {
             load();
@@ -73,28 +191,175 @@ public abstract class AbstractReadOnlyExpiringCollection {
             timer.purge();
             timer = null;
         }
+        if (scheduledReload != null) {
+            scheduledReload.cancel(false);
+            scheduledReload = null;
+        }
     }
 
+    /**
+     * Stops the periodic reload, equivalent to stop().
+     */
     @Override
-    protected void finalize() throws Throwable {
+    public void close() {
         stop();
-        super.finalize();
+    }
+
+    /**
+     * An exception escaping the task would cancel all the later runs of a ScheduledExecutorService
+     * (or kill the Timer thread), so it is only logged; it is already in the statistics.
+     */
+    private void safePeriodicReload() {
+        try {
+            periodicReload();
+        } catch (final RuntimeException e) {
+            LOG.log(Level.WARNING, "Periodic reload failed for " + id, e);
+        }
+    }
+
+    private void periodicReload() {
+        if (refreshExecutor != null && lastLoadingTime != 0) {
+            if (isRefreshAhead() ? isDueForRefresh() : hasExpired()) {
+                triggerRefresh();
+            }
+        } else if (isRefreshAhead()) {
+            refresh();
+        } else {
+            load();
+        }
     }
 
     protected void validateOnAccess() {
+        statistics.recordAccess();
+        if (isRefreshAhead() && lastLoadingTime != 0) {
+            // never block a reader once a snapshot is available
+            if (isDueForRefresh() && !isBackingOff()) {
+                triggerRefresh();
+            }
+            return;
+        }
         if (hasExpired()) {
             if (reloadWhenExpired || loadOnFirstAccess && lastLoadingTime == 0) {
+                if (isBackingOff()) {
+                    // keep serving the previous snapshot
+                    return;
+                }
+                statistics.recordLoadOnAccess();
                 load();
-            } else {
+            } else if (snapshotSize() != 0) {
                 doClear();
+                statistics.recordClear();
+                if (listener != null) {
+                    listener.cleared(id);
+                }
             }
         }
     }
 
     private synchronized void load() {
-        if (hasExpired()) {
+        if (hasExpired() && !isBackingOff()) {
+            loadSnapshot(true);
+        }
+    }
+
+    private synchronized void refresh() {
+        if ((isRefreshAhead() ? isDueForRefresh() : hasExpired()) && !isBackingOff()) {
+            loadSnapshot(true);
+        }
+    }
+
+    /**
+     * Record a snapshot obtained without the loader (e.g. from a previous run) as loaded at the given time.
+     */
+    protected void markLoaded(final long loadingTime) {
+        lastLoadingTime = loadingTime;
+        nextLoadAttemptTime = 0;
+        statistics.recordLoad(0L, snapshotSize());
+    }
+
+    /**
+     * Load regardless of the expiry; a failure is thrown even if a previous snapshot exists.
+     */
+    protected synchronized void forceLoad() {
+        loadSnapshot(false);
+    }
+
+    /**
+     * @param keepPreviousOnFailure true to keep serving the previous snapshot, if any, when the loader fails.
+     */
+    private void loadSnapshot(final boolean keepPreviousOnFailure) {
+        final long start = System.nanoTime();
+        try {
             doLoad();
-            lastLoadingTime = timeProvider.getCurrentTimeMillis();
+        } catch (final RuntimeException e) {
+            final long duration = System.nanoTime() - start;
+            statistics.recordLoadFailure(duration, e);
+            if (listener != null) {
+                listener.loadFailed(id, duration, e);
+            }
+            if (!keepPreviousOnFailure || lastLoadingTime == 0) {
+                // asked for explicitly or nothing to fall back on
+                throw e;
+            }
+            nextLoadAttemptTime = timeProvider.getCurrentTimeMillis() + retryBackoffMilliseconds;
+            return;
+        }
+        final long duration = System.nanoTime() - start;
+        lastLoadingTime = timeProvider.getCurrentTimeMillis();
+        nextLoadAttemptTime = 0;
+        final int size = snapshotSize();
+        statistics.recordLoad(duration, size);
+        if (listener != null) {
+            listener.loaded(id, duration, size);
+        }
+    }
+
+    /**
+     * Start a background reload unless one is already running.
+     */
+    private void triggerRefresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        final Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    refresh();
+                } finally {
+                    refreshing.set(false);
+                }
+            }
+        };
+        try {
+            (refreshExecutor != null ? refreshExecutor : SharedRefreshExecutor.INSTANCE).execute(task);
+        } catch (final RuntimeException e) {
+            refreshing.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * The default executor of the background reloads, created on first use; a reload per collection at most is queued.
+     */
+    private static final class SharedRefreshExecutor {
+        private static final int THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+        private static final Executor INSTANCE = create();
+
+        private static Executor create() {
+            final AtomicInteger count = new AtomicInteger();
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                    new ThreadFactory() {
+                        @Override
+                        public Thread newThread(final Runnable r) {
+                            final Thread thread = new Thread(r, "Refresh-" + count.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+            // no thread is kept once the reloads stop
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
         }
     }
 
@@ -102,6 +367,11 @@ public abstract class AbstractReadOnlyExpiringCollection {
 
     protected abstract void doClear();
 
+    /**
+     * @return the size of the current snapshot, for the statistics.
+     */
+    protected abstract int snapshotSize();
+
     protected long getExpiryTimeoutMilliseconds() {
         return expiryTimeoutMilliseconds;
     }
@@ -114,6 +384,10 @@ public abstract class AbstractReadOnlyExpiringCollection {
         return loadOnFirstAccess;
     }
 
+    protected long getRefreshAheadMilliseconds() {
+        return refreshAheadMilliseconds;
+    }
+
     protected long getLastLoadingTime() {
         return lastLoadingTime;
     }
@@ -0,0 +1,75 @@
+/**
+ *
+ */
+package net.objectlab.kit.collections;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * Default delta builder, the last change for a given key wins.
+ *
+ * @author Benoit Xhenseval
+ *
+ */
+public class DefaultMapDeltaBuilder<K, V> implements MapDeltaBuilder<K, V> {
+    private final Map<K, V> upserts = new HashMap<K, V>();
+    private final Set<K> removals = new HashSet<K>();
+    private final String id;
+    private boolean fullLoadRequired;
+
+    public DefaultMapDeltaBuilder(final String id) {
+        this.id = id;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public DefaultMapDeltaBuilder<K, V> put(final K key, final V value) {
+        upserts.put(key, value);
+        removals.remove(key);
+        return this;
+    }
+
+    @Override
+    public DefaultMapDeltaBuilder<K, V> putAll(final Map<? extends K, ? extends V> map) {
+        for (final Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+        return this;
+    }
+
+    @Override
+    public DefaultMapDeltaBuilder<K, V> remove(final K key) {
+        removals.add(key);
+        upserts.remove(key);
+        return this;
+    }
+
+    @Override
+    public void requireFullLoad() {
+        fullLoadRequired = true;
+    }
+
+    public boolean isFullLoadRequired() {
+        return fullLoadRequired;
+    }
+
+    public boolean isEmpty() {
+        return upserts.isEmpty() && removals.isEmpty();
+    }
+
+    Map<K, V> getUpserts() {
+        return upserts;
+    }
+
+    Set<K> getRemovals() {
+        return removals;
+    }
+}
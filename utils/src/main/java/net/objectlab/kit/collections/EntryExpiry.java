@@ -0,0 +1,17 @@
+/**
+ *
+ */
+package net.objectlab.kit.collections;
+
+/**
+ * Gives an individual time to live to each entry of an ExpiringLoadingCache.
+ *
+ * @author Benoit Xhenseval
+ *
+ */
+public interface EntryExpiry<K, V> {
+    /**
+     * @return the number of milliseconds after which the freshly loaded entry expires, &lt;= 0 for never.
+     */
+    long getExpiryTimeoutMilliseconds(K key, V value);
+}
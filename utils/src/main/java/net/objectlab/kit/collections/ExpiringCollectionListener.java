@@ -0,0 +1,34 @@
+/**
+ *
+ */
+package net.objectlab.kit.collections;
+
+/**
+ * Notified of the (re)loads and clears of a ReadOnlyExpiringCollection, e.g. to feed a monitoring system.
+ * Called on the thread doing the load, implementations should be quick and must not throw.
+ *
+ * @author Benoit Xhenseval
+ *
+ */
+public interface ExpiringCollectionListener {
+    /**
+     * @param id the id of the collection
+     * @param durationNanos time taken by the loader
+     * @param size the size of the new snapshot
+     */
+    void loaded(String id, long durationNanos, int size);
+
+    /**
+     * The loader failed, the previous snapshot (if any) is still in use.
+     * @param id the id of the collection
+     * @param durationNanos time taken until the failure
+     * @param cause the exception thrown by the loader
+     */
+    void loadFailed(String id, long durationNanos, Throwable cause);
+
+    /**
+     * The collection has expired and has been cleared (no reload when expired).
+     * @param id the id of the collection
+     */
+    void cleared(String id);
+}
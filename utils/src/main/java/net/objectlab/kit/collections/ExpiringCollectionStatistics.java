@@ -0,0 +1,122 @@
+/**
+ *
+ */
+package net.objectlab.kit.collections;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread safe counters describing the behaviour of a ReadOnlyExpiringCollection.
+ *
+ * @author Benoit Xhenseval
+ *
+ */
+public class ExpiringCollectionStatistics {
+    private final LongAdder accessCount = new LongAdder();
+    private final LongAdder loadOnAccessCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadNanos = new LongAdder();
+    private final LongAdder clearCount = new LongAdder();
+    private volatile long lastLoadNanos;
+    private volatile long maxLoadNanos;
+    private volatile int size;
+    private volatile Throwable lastFailure;
+
+    void recordAccess() {
+        accessCount.increment();
+    }
+
+    void recordLoadOnAccess() {
+        loadOnAccessCount.increment();
+    }
+
+    synchronized void recordLoad(final long nanos, final int newSize) {
+        loadCount.increment();
+        totalLoadNanos.add(nanos);
+        lastLoadNanos = nanos;
+        maxLoadNanos = Math.max(maxLoadNanos, nanos);
+        size = newSize;
+    }
+
+    void recordLoadFailure(final long nanos, final Throwable cause) {
+        loadFailureCount.increment();
+        totalLoadNanos.add(nanos);
+        lastFailure = cause;
+    }
+
+    void recordClear() {
+        clearCount.increment();
+        size = 0;
+    }
+
+    /**
+     * @return number of reads of the collection.
+     */
+    public long getAccessCount() {
+        return accessCount.sum();
+    }
+
+    /**
+     * @return number of loads that were done synchronously by a reader.
+     */
+    public long getLoadOnAccessCount() {
+        return loadOnAccessCount.sum();
+    }
+
+    /**
+     * @return number of successful loads.
+     */
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    public long getLoadFailureCount() {
+        return loadFailureCount.sum();
+    }
+
+    /**
+     * @return the total time spent in the loader, including failures.
+     */
+    public long getTotalLoadNanos() {
+        return totalLoadNanos.sum();
+    }
+
+    public long getLastLoadNanos() {
+        return lastLoadNanos;
+    }
+
+    public long getMaxLoadNanos() {
+        return maxLoadNanos;
+    }
+
+    public long getAverageLoadNanos() {
+        final long attempts = getLoadCount() + getLoadFailureCount();
+        return attempts == 0 ? 0L : getTotalLoadNanos() / attempts;
+    }
+
+    public long getClearCount() {
+        return clearCount.sum();
+    }
+
+    /**
+     * @return the size of the collection after the last load or clear.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return the last exception thrown by the loader, null if none.
+     */
+    public Throwable getLastFailure() {
+        return lastFailure;
+    }
+
+    @Override
+    public String toString() {
+        return "accesses=" + getAccessCount() + " loads=" + getLoadCount() + " loadsOnAccess=" + getLoadOnAccessCount() + " failures="
+                + getLoadFailureCount() + " avgLoadNanos=" + getAverageLoadNanos() + " maxLoadNanos=" + getMaxLoadNanos() + " clears="
+                + getClearCount() + " size=" + getSize();
+    }
+}
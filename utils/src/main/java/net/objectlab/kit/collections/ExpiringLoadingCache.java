@@ -0,0 +1,324 @@
+/**
+ *
+ */
+package net.objectlab.kit.collections;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A cache loading one key at a time, as opposed to the ReadOnlyExpiringHashMap which reloads the whole
+ * dataset; use this one for large reference data where only a subset is used.
+ *
+ * Each entry has its own time to live (fixed or given by an EntryExpiry), the cache can be bounded in
+ * size in which case the least recently used entries are evicted. Concurrent misses for the same key
+ * result in a single call to the KeyLoader, the other threads wait for its result; this includes the
+ * keys being loaded by getAll.
+ *
+ * Reads do not lock. In a bounded cache, an access is recorded in the LRU order only if no other thread
+ * holds that order at the time, so under heavy contention the eviction is an approximation of LRU.
+ *
+ * @author Benoit Xhenseval
+ *
+ */
+public class ExpiringLoadingCache<K, V> {
+    private final KeyLoader<K, V> loader;
+    private final String id;
+    private final TimeProvider timeProvider;
+    private final long expiryTimeoutMilliseconds;
+    private final EntryExpiry<K, V> entryExpiry;
+    private final int maximumSize;
+    private final ConcurrentMap<K, CacheEntry<V>> entries = new ConcurrentHashMap<K, CacheEntry<V>>();
+    /** access-ordered keys of a bounded cache, guarded by lruLock which also guards the changes of entries. */
+    private final LinkedHashMap<K, Boolean> lruOrder = new LinkedHashMap<K, Boolean>(16, 0.75f, true);
+    private final ReentrantLock lruLock = new ReentrantLock();
+    private final ConcurrentMap<K, FutureTask<V>> loadsInProgress = new ConcurrentHashMap<K, FutureTask<V>>();
+
+    private static final class CacheEntry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private CacheEntry(final V value, final long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * A load done by getAll for several keys, registered for each of them so that other threads wait for it.
+     */
+    private static final class BulkLoad<V> extends FutureTask<V> {
+        private BulkLoad() {
+            super(new Callable<V>() {
+                @Override
+                public V call() {
+                    throw new IllegalStateException("Completed by getAll");
+                }
+            });
+        }
+
+        private void complete(final V value) {
+            set(value);
+        }
+
+        private void fail(final Throwable t) {
+            setException(t);
+        }
+    }
+
+    public ExpiringLoadingCache(final ExpiringLoadingCacheBuilder<K, V> builder) {
+        this.loader = builder.getLoader();
+        this.id = builder.getId();
+        this.timeProvider = builder.getTimeProvider() != null ? builder.getTimeProvider() : new SystemTimeProvider();
+        this.expiryTimeoutMilliseconds = builder.getExpiryTimeoutMilliseconds();
+        this.entryExpiry = builder.getEntryExpiry();
+        this.maximumSize = builder.getMaximumSize();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the value for the key, loading it if missing or expired; null if the loader has no value.
+     */
+    public V get(final K key) {
+        final V value = getIfPresent(key);
+        return value != null ? value : load(key);
+    }
+
+    /**
+     * @return the value if cached and not expired, does not trigger a load.
+     */
+    public V getIfPresent(final K key) {
+        final CacheEntry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < timeProvider.getCurrentTimeMillis()) {
+            remove(key, entry);
+            return null;
+        }
+        if (maximumSize > 0 && lruLock.tryLock()) {
+            try {
+                lruOrder.get(key);
+            } finally {
+                lruLock.unlock();
+            }
+        }
+        return entry.value;
+    }
+
+    /**
+     * Returns the values for all keys, the missing ones are loaded in one call to KeyLoader.loadAll
+     * (keys already being loaded by another thread are waited for instead).
+     * @return a map of the keys with a value.
+     */
+    public Map<K, V> getAll(final Collection<? extends K> keys) {
+        final Map<K, V> result = new HashMap<K, V>();
+        final Map<K, BulkLoad<V>> toLoad = new LinkedHashMap<K, BulkLoad<V>>();
+        final Map<K, FutureTask<V>> toWaitFor = new HashMap<K, FutureTask<V>>();
+        for (final K key : keys) {
+            final V value = getIfPresent(key);
+            if (value != null) {
+                result.put(key, value);
+            } else if (!toLoad.containsKey(key) && !toWaitFor.containsKey(key)) {
+                final BulkLoad<V> task = new BulkLoad<V>();
+                final FutureTask<V> inProgress = loadsInProgress.putIfAbsent(key, task);
+                if (inProgress != null) {
+                    toWaitFor.put(key, inProgress);
+                } else {
+                    toLoad.put(key, task);
+                }
+            }
+        }
+        if (!toLoad.isEmpty()) {
+            try {
+                loadAll(toLoad, result);
+            } finally {
+                for (final Map.Entry<K, BulkLoad<V>> entry : toLoad.entrySet()) {
+                    loadsInProgress.remove(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        for (final Map.Entry<K, FutureTask<V>> entry : toWaitFor.entrySet()) {
+            final V value = waitFor(entry.getKey(), entry.getValue());
+            if (value != null) {
+                result.put(entry.getKey(), value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Forces a value in the cache, with the usual expiry.
+     */
+    public void put(final K key, final V value) {
+        final long ttl = entryExpiry != null ? entryExpiry.getExpiryTimeoutMilliseconds(key, value) : expiryTimeoutMilliseconds;
+        final long expiresAt = ttl > 0 ? timeProvider.getCurrentTimeMillis() + ttl : Long.MAX_VALUE;
+        final CacheEntry<V> entry = new CacheEntry<V>(value, expiresAt);
+        if (maximumSize <= 0) {
+            entries.put(key, entry);
+            return;
+        }
+        lruLock.lock();
+        try {
+            entries.put(key, entry);
+            lruOrder.put(key, Boolean.TRUE);
+            for (final Iterator<K> it = lruOrder.keySet().iterator(); lruOrder.size() > maximumSize && it.hasNext();) {
+                entries.remove(it.next());
+                it.remove();
+            }
+        } finally {
+            lruLock.unlock();
+        }
+    }
+
+    public void invalidate(final K key) {
+        if (maximumSize <= 0) {
+            entries.remove(key);
+            return;
+        }
+        lruLock.lock();
+        try {
+            entries.remove(key);
+            lruOrder.remove(key);
+        } finally {
+            lruLock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lruLock.lock();
+        try {
+            entries.clear();
+            lruOrder.clear();
+        } finally {
+            lruLock.unlock();
+        }
+    }
+
+    /**
+     * Remove all expired entries, they are otherwise removed on access or evicted by size.
+     */
+    public void cleanUp() {
+        final long now = timeProvider.getCurrentTimeMillis();
+        for (final Map.Entry<K, CacheEntry<V>> entry : entries.entrySet()) {
+            if (entry.getValue().expiresAt < now) {
+                remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * @return number of entries, including the expired ones not removed yet.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void remove(final K key, final CacheEntry<V> entry) {
+        if (maximumSize <= 0) {
+            entries.remove(key, entry);
+            return;
+        }
+        lruLock.lock();
+        try {
+            if (entries.remove(key, entry)) {
+                lruOrder.remove(key);
+            }
+        } finally {
+            lruLock.unlock();
+        }
+    }
+
+    private void loadAll(final Map<K, BulkLoad<V>> toLoad, final Map<K, V> result) {
+        try {
+            final List<K> missing = new ArrayList<K>();
+            for (final Map.Entry<K, BulkLoad<V>> entry : toLoad.entrySet()) {
+                // another thread may have completed the load just before this one got registered
+                final V value = getIfPresent(entry.getKey());
+                if (value != null) {
+                    result.put(entry.getKey(), value);
+                    entry.getValue().complete(value);
+                } else {
+                    missing.add(entry.getKey());
+                }
+            }
+            final Map<K, V> loaded = missing.isEmpty() ? null : loader.loadAll(missing);
+            for (final K key : missing) {
+                final V value = loaded != null ? loaded.get(key) : null;
+                if (value != null) {
+                    put(key, value);
+                    result.put(key, value);
+                }
+                toLoad.get(key).complete(value);
+            }
+        } catch (final RuntimeException e) {
+            failAll(toLoad, e);
+            throw e;
+        } catch (final Error e) {
+            failAll(toLoad, e);
+            throw e;
+        }
+    }
+
+    private void failAll(final Map<K, BulkLoad<V>> toLoad, final Throwable t) {
+        for (final BulkLoad<V> task : toLoad.values()) {
+            task.fail(t);
+        }
+    }
+
+    private V load(final K key) {
+        final FutureTask<V> task = new FutureTask<V>(new Callable<V>() {
+            @Override
+            public V call() {
+                // another thread may have completed the load just before this task got registered
+                final V value = getIfPresent(key);
+                return value != null ? value : loader.load(key);
+            }
+        });
+        final FutureTask<V> inProgress = loadsInProgress.putIfAbsent(key, task);
+        if (inProgress != null) {
+            return waitFor(key, inProgress);
+        }
+        try {
+            task.run();
+            final V value = waitFor(key, task);
+            if (value != null) {
+                put(key, value);
+            }
+            return value;
+        } finally {
+            loadsInProgress.remove(key, task);
+        }
+    }
+
+    private V waitFor(final K key, final FutureTask<V> task) {
+        try {
+            return task.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading " + key + " in " + id, e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Cannot load " + key + " in " + id, cause);
+        }
+    }
+}
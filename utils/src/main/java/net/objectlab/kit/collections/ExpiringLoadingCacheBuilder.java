@@ -0,0 +1,95 @@
+/**
+ *
+ */
+package net.objectlab.kit.collections;
+
+import net.objectlab.kit.util.PeriodBuilder;
+
+/**
+ * Builder for the ExpiringLoadingCache.
+ * Default:
+ * - no time out
+ * - no maximum size
+ *
+ * @author Benoit Xhenseval
+ *
+ */
+public class ExpiringLoadingCacheBuilder<K, V> {
+    private final KeyLoader<K, V> loader;
+    private long expiryTimeoutMilliseconds = -1;
+    private EntryExpiry<K, V> entryExpiry;
+    private int maximumSize = -1;
+    private String id;
+    private TimeProvider timeProvider;
+
+    public ExpiringLoadingCacheBuilder(final KeyLoader<K, V> loader) {
+        super();
+        this.loader = loader;
+    }
+
+    public ExpiringLoadingCacheBuilder<K, V> timeProvider(final TimeProvider timeProvider) {
+        this.timeProvider = timeProvider;
+        return this;
+    }
+
+    public ExpiringLoadingCacheBuilder<K, V> id(final String id) {
+        this.id = id;
+        return this;
+    }
+
+    public ExpiringLoadingCacheBuilder<K, V> expiryTimeout(final PeriodBuilder expiryTimeout) {
+        assert expiryTimeout != null;
+        if (expiryTimeout != null) {
+            this.expiryTimeoutMilliseconds = expiryTimeout.calculateMilliseconds();
+        }
+        return this;
+    }
+
+    /**
+     * Time to live of each entry after its load, &lt;= 0 for no expiry.
+     */
+    public ExpiringLoadingCacheBuilder<K, V> expiryTimeoutMilliseconds(final long expiryTimeoutMilliseconds) {
+        this.expiryTimeoutMilliseconds = expiryTimeoutMilliseconds;
+        return this;
+    }
+
+    /**
+     * Individual time to live per entry, takes precedence over expiryTimeoutMilliseconds.
+     */
+    public ExpiringLoadingCacheBuilder<K, V> entryExpiry(final EntryExpiry<K, V> entryExpiry) {
+        this.entryExpiry = entryExpiry;
+        return this;
+    }
+
+    /**
+     * Maximum number of entries, the least recently used entries are evicted beyond that; &lt;= 0 for no limit.
+     */
+    public ExpiringLoadingCacheBuilder<K, V> maximumSize(final int maximumSize) {
+        this.maximumSize = maximumSize;
+        return this;
+    }
+
+    final KeyLoader<K, V> getLoader() {
+        return loader;
+    }
+
+    final long getExpiryTimeoutMilliseconds() {
+        return expiryTimeoutMilliseconds;
+    }
+
+    final EntryExpiry<K, V> getEntryExpiry() {
+        return entryExpiry;
+    }
+
+    final int getMaximumSize() {
+        return maximumSize;
+    }
+
+    final String getId() {
+        return id;
+    }
+
+    final TimeProvider getTimeProvider() {
+        return timeProvider;
+    }
+}
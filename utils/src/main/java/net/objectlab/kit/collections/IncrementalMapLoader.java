@@ -0,0 +1,29 @@
+/**
+ *
+ */
+package net.objectlab.kit.collections;
+
+/**
+ * A loader able to provide only the changes since its previous load, the map applies them
+ * copy-on-write to the current snapshot instead of rebuilding it.
+ *
+ * The version is opaque to the map, it can be a timestamp, a sequence number etc.
+ *
+ * @author Benoit Xhenseval
+ */
+public interface IncrementalMapLoader<K, V> {
+    /**
+     * Full load, called the first time and whenever the changes cannot be applied.
+     * @param builder the builder to populate
+     * @return the version of the data loaded
+     */
+    long loadAll(MapBuilder<K, V> builder);
+
+    /**
+     * Incremental load.
+     * @param sinceVersion the version returned by the previous load
+     * @param delta the upserts and deletes since that version
+     * @return the version of the data after the changes
+     */
+    long loadChanges(long sinceVersion, MapDeltaBuilder<K, V> delta);
+}
@@ -0,0 +1,38 @@
+/**
+ *
+ */
+package net.objectlab.kit.collections;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Whenever a key is missing or has expired in an ExpiringLoadingCache, it will call the loader for that key only.
+ *
+ * @author Benoit Xhenseval
+ *
+ */
+public interface KeyLoader<K, V> {
+    /**
+     * @param key the missing key
+     * @return the value or null if there is no value for that key (null is not cached).
+     */
+    V load(K key);
+
+    /**
+     * Load many keys in one go, override if the underlying source supports bulk queries.
+     * @param keys the missing keys
+     * @return the map of the keys found, keys not in the map are not cached.
+     */
+    default Map<K, V> loadAll(final Collection<? extends K> keys) {
+        final Map<K, V> result = new HashMap<K, V>();
+        for (final K key : keys) {
+            final V value = load(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+}
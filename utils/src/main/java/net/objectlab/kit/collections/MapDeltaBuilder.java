@@ -0,0 +1,38 @@
+/**
+ *
+ */
+package net.objectlab.kit.collections;
+
+import java.util.Map;
+
+/**
+ * Collects the changes since the previous load for an IncrementalMapLoader; put/putAll are upserts.
+ *
+ * @author Benoit Xhenseval
+ *
+ */
+public interface MapDeltaBuilder<K, V> extends MapBuilder<K, V> {
+    /**
+     * The key has been added or updated upstream.
+     * @param key key
+     * @param value value
+     * @return the delta builder
+     */
+    @Override
+    MapDeltaBuilder<K, V> put(K key, V value);
+
+    @Override
+    MapDeltaBuilder<K, V> putAll(Map<? extends K, ? extends V> map);
+
+    /**
+     * The key has been deleted upstream.
+     * @param key key to remove
+     * @return the delta builder
+     */
+    MapDeltaBuilder<K, V> remove(K key);
+
+    /**
+     * The changes cannot be provided (e.g. the version is too old), a full load will be done instead.
+     */
+    void requireFullLoad();
+}
@@ -0,0 +1,88 @@
+/**
+ *
+ */
+package net.objectlab.kit.collections;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * Read-only memory mapping of a whole file, split in chunks of 1Gb so that files larger than 2Gb can be read.
+ * The mapping is released by the garbage collector once the region is no longer referenced.
+ *
+ * @author Benoit Xhenseval
+ *
+ */
+final class MappedRegion {
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+    private final MappedByteBuffer[] chunks;
+    private final long size;
+
+    private MappedRegion(final MappedByteBuffer[] chunks, final long size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    static MappedRegion map(final Path file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r"); FileChannel channel = raf.getChannel()) {
+            final long size = channel.size();
+            final int count = (int) ((size + CHUNK_MASK) >>> CHUNK_SHIFT);
+            final MappedByteBuffer[] chunks = new MappedByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                final long position = (long) i << CHUNK_SHIFT;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(CHUNK_MASK + 1, size - position));
+            }
+            return new MappedRegion(chunks, size);
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    byte getByte(final long position) {
+        return chunks[(int) (position >>> CHUNK_SHIFT)].get((int) (position & CHUNK_MASK));
+    }
+
+    int getInt(final long position) {
+        final int offset = (int) (position & CHUNK_MASK);
+        if (offset <= CHUNK_MASK - 3) {
+            return chunks[(int) (position >>> CHUNK_SHIFT)].getInt(offset);
+        }
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value = value << 8 | getByte(position + i) & 0xFF;
+        }
+        return value;
+    }
+
+    long getLong(final long position) {
+        final int offset = (int) (position & CHUNK_MASK);
+        if (offset <= CHUNK_MASK - 7) {
+            return chunks[(int) (position >>> CHUNK_SHIFT)].getLong(offset);
+        }
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = value << 8 | getByte(position + i) & 0xFF;
+        }
+        return value;
+    }
+
+    void get(final long position, final byte[] target) {
+        long pos = position;
+        int done = 0;
+        while (done < target.length) {
+            final ByteBuffer chunk = chunks[(int) (pos >>> CHUNK_SHIFT)].duplicate();
+            chunk.position((int) (pos & CHUNK_MASK));
+            final int count = Math.min(target.length - done, chunk.remaining());
+            chunk.get(target, done, count);
+            done += count;
+            pos += count;
+        }
+    }
+}
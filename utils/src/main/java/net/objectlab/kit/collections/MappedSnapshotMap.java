@@ -0,0 +1,223 @@
+/**
+ *
+ */
+package net.objectlab.kit.collections;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable map reading a snapshot file written by MappedSnapshotWriter through a read-only memory mapping:
+ * the data stays off-heap, only the looked-up values are decoded on the heap. Opening a file is almost
+ * instantaneous whatever its size, the OS pages the data in on demand.
+ *
+ * @author Benoit Xhenseval
+ *
+ */
+public final class MappedSnapshotMap<K, V> extends AbstractMap<K, V> {
+    static final int MAGIC = 0x4F4C4B4D;
+    static final int FORMAT = 2;
+    static final int HEADER_SIZE = 40;
+    static final int EMPTY_SLOT = -1;
+    static final int NULL_VALUE = -2;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private final MappedRegion region;
+    private final SnapshotCodec<K, V> codec;
+    private final int keyWidth;
+    private final int size;
+    private final long slotCount;
+    private final long slotSize;
+    private final long valuesStart;
+    private transient Set<Map.Entry<K, V>> entrySet;
+
+    private MappedSnapshotMap(final MappedRegion region, final SnapshotCodec<K, V> codec) {
+        this.region = region;
+        this.codec = codec;
+        if (region.size() < HEADER_SIZE || region.getInt(0) != MAGIC || region.getInt(4) != FORMAT) {
+            throw new IllegalStateException("Not a snapshot file");
+        }
+        this.keyWidth = region.getInt(8);
+        if (keyWidth != codec.getKeyWidth()) {
+            throw new IllegalStateException("Snapshot key width " + keyWidth + " does not match the codec " + codec.getKeyWidth());
+        }
+        this.size = region.getInt(12);
+        this.slotCount = region.getLong(16);
+        this.valuesStart = region.getLong(24);
+        this.slotSize = slotSize(keyWidth);
+        // the probing needs a power of 2 and at least one empty slot
+        if (slotCount <= 0 || Long.bitCount(slotCount) != 1 || size < 0 || size >= slotCount) {
+            throw new IllegalStateException("Corrupted snapshot file, " + size + " entries in " + slotCount + " slots");
+        }
+        if (valuesStart != HEADER_SIZE + slotCount * slotSize || valuesStart > region.size()) {
+            throw new IllegalStateException("Corrupted snapshot file");
+        }
+        final long valuesLength = region.getLong(32);
+        if (valuesStart + valuesLength != region.size()) {
+            throw new IllegalStateException("Truncated snapshot file, values region of " + (region.size() - valuesStart) + " bytes instead of "
+                    + valuesLength);
+        }
+    }
+
+    /**
+     * Map the given snapshot file.
+     * @throws IllegalStateException if the file is not a valid snapshot for this codec.
+     */
+    public static <K, V> MappedSnapshotMap<K, V> open(final Path file, final SnapshotCodec<K, V> codec) {
+        try {
+            return new MappedSnapshotMap<K, V>(MappedRegion.map(file), codec);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Cannot map " + file, e);
+        }
+    }
+
+    static long slotSize(final int keyWidth) {
+        return keyWidth + 8L + 4L;
+    }
+
+    /**
+     * FNV-1a over the key bytes padded with 0 up to keyWidth.
+     */
+    static long hash(final byte[] key, final int offset, final int length, final int keyWidth) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < keyWidth; i++) {
+            final int b = i < length ? key[offset + i] & 0xFF : 0;
+            h = (h ^ b) * FNV_PRIME;
+        }
+        return h;
+    }
+
+    @SuppressWarnings("unchecked")
+    private long findSlot(final Object key) {
+        if (key == null || size == 0) {
+            return -1;
+        }
+        final byte[] encoded;
+        try {
+            encoded = codec.encodeKey((K) key);
+        } catch (final ClassCastException e) {
+            return -1;
+        } catch (final IllegalArgumentException e) {
+            // cannot be in the map
+            return -1;
+        }
+        if (encoded.length > keyWidth) {
+            return -1;
+        }
+        final long mask = slotCount - 1;
+        long slot = hash(encoded, 0, encoded.length, keyWidth) & mask;
+        while (true) {
+            final long position = HEADER_SIZE + slot * slotSize;
+            if (region.getInt(position + keyWidth + 8) == EMPTY_SLOT) {
+                return -1;
+            }
+            if (matches(position, encoded)) {
+                return position;
+            }
+            slot = slot + 1 & mask;
+        }
+    }
+
+    private boolean matches(final long position, final byte[] encoded) {
+        for (int i = 0; i < keyWidth; i++) {
+            if (region.getByte(position + i) != (i < encoded.length ? encoded[i] : 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private V valueAt(final long slotPosition) {
+        final int length = region.getInt(slotPosition + keyWidth + 8);
+        if (length == NULL_VALUE) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        region.get(valuesStart + region.getLong(slotPosition + keyWidth), bytes);
+        return codec.decodeValue(bytes);
+    }
+
+    private K keyAt(final long slotPosition) {
+        final byte[] bytes = new byte[keyWidth];
+        region.get(slotPosition, bytes);
+        return codec.decodeKey(bytes);
+    }
+
+    @Override
+    public V get(final Object key) {
+        final long position = findSlot(key);
+        return position < 0 ? null : valueAt(position);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return findSlot(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Map.Entry<K, V>>() {
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private long slot = -1;
+        private long next = advance();
+
+        private long advance() {
+            do {
+                slot++;
+            } while (slot < slotCount && region.getInt(HEADER_SIZE + slot * slotSize + keyWidth + 8) == EMPTY_SLOT);
+            return slot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < slotCount;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final long position = HEADER_SIZE + next * slotSize;
+            next = advance();
+            return new AbstractMap.SimpleImmutableEntry<K, V>(keyAt(position), valueAt(position));
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Collection is immutable");
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/**
+ *
+ */
+package net.objectlab.kit.collections;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * MapBuilder writing a snapshot file readable by MappedSnapshotMap. The values are streamed to a temporary
+ * file as they are added, only the encoded keys are kept in memory until commit, which writes the hash
+ * table and the values to a temporary file, forces it to disk and then moves it atomically to the target file.
+ *
+ * Layout (big endian): a header (magic, format, key width, entry count, slot count, values start, values length), the slots
+ * (key bytes, value offset as long, value length as int: -1 for an empty slot, -2 for a null value)
+ * with linear probing, then the values.
+ *
+ * Not thread safe, a duplicate key replaces the previous value.
+ *
+ * On Windows, a file cannot be replaced while it is memory-mapped and Java offers no way to unmap it: the commit
+ * fails with an UncheckedIOException, leaving the target untouched, as long as a MappedSnapshotMap of the target
+ * is still reachable. A ReadOnlyExpiringHashMap then keeps serving its current snapshot and retries later.
+ *
+ * @author Benoit Xhenseval
+ *
+ */
+public class MappedSnapshotWriter<K, V> implements MapBuilder<K, V> {
+    private final String id;
+    private final Path target;
+    private final Path valuesFile;
+    private final SnapshotCodec<K, V> codec;
+    private final int keyWidth;
+    private final OutputStream values;
+    private byte[] keys = new byte[1024];
+    private long[] valueOffsets = new long[64];
+    private int[] valueLengths = new int[64];
+    private int count;
+    private long valuesSize;
+
+    public MappedSnapshotWriter(final String id, final Path target, final SnapshotCodec<K, V> codec) {
+        this.id = id;
+        this.target = target;
+        this.codec = codec;
+        this.keyWidth = codec.getKeyWidth();
+        this.valuesFile = target.resolveSibling(target.getFileName() + ".values.tmp");
+        try {
+            values = new BufferedOutputStream(Files.newOutputStream(valuesFile), 64 * 1024);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Cannot create " + valuesFile, e);
+        }
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public MappedSnapshotWriter<K, V> put(final K key, final V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("Null keys are not supported");
+        }
+        final byte[] encodedKey = codec.encodeKey(key);
+        if (encodedKey.length > keyWidth) {
+            throw new IllegalArgumentException("Key [" + key + "] is longer than " + keyWidth + " bytes");
+        }
+        ensureCapacity();
+        System.arraycopy(encodedKey, 0, keys, count * keyWidth, encodedKey.length);
+        if (value == null) {
+            valueLengths[count] = MappedSnapshotMap.NULL_VALUE;
+        } else {
+            final byte[] encodedValue = codec.encodeValue(value);
+            try {
+                values.write(encodedValue);
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Cannot write to " + valuesFile, e);
+            }
+            valueOffsets[count] = valuesSize;
+            valueLengths[count] = encodedValue.length;
+            valuesSize += encodedValue.length;
+        }
+        count++;
+        return this;
+    }
+
+    @Override
+    public MappedSnapshotWriter<K, V> putAll(final Map<? extends K, ? extends V> map) {
+        for (final Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+        return this;
+    }
+
+    private void ensureCapacity() {
+        if (count == valueLengths.length) {
+            valueOffsets = Arrays.copyOf(valueOffsets, count * 2);
+            valueLengths = Arrays.copyOf(valueLengths, count * 2);
+        }
+        if ((count + 1) * keyWidth > keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(keys.length * 2, (count + 1) * keyWidth));
+        }
+    }
+
+    /**
+     * Write the snapshot, force it to disk and replace the target file atomically.
+     * @throws UncheckedIOException if the file cannot be written or moved, e.g. on Windows while the target is mapped.
+     */
+    public void commit() {
+        final Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            values.close();
+            final int slotCount = slotCount(count);
+            final int[] slots = buildSlots(slotCount);
+            int distinct = 0;
+            for (final int slot : slots) {
+                if (slot >= 0) {
+                    distinct++;
+                }
+            }
+            final long slotSize = MappedSnapshotMap.slotSize(keyWidth);
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE)) {
+                final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+                out.writeInt(MappedSnapshotMap.MAGIC);
+                out.writeInt(MappedSnapshotMap.FORMAT);
+                out.writeInt(keyWidth);
+                out.writeInt(distinct);
+                out.writeLong(slotCount);
+                out.writeLong(MappedSnapshotMap.HEADER_SIZE + slotCount * slotSize);
+                out.writeLong(valuesSize);
+                final byte[] emptyKey = new byte[keyWidth];
+                for (final int entry : slots) {
+                    if (entry < 0) {
+                        out.write(emptyKey);
+                        out.writeLong(0L);
+                        out.writeInt(MappedSnapshotMap.EMPTY_SLOT);
+                    } else {
+                        out.write(keys, entry * keyWidth, keyWidth);
+                        out.writeLong(valueOffsets[entry]);
+                        out.writeInt(valueLengths[entry]);
+                    }
+                }
+                Files.copy(valuesFile, out);
+                out.flush();
+                // the rename must not be visible before the content
+                channel.force(true);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Cannot write snapshot " + target, e);
+        } finally {
+            deleteQuietly(valuesFile);
+            deleteQuietly(tmp);
+        }
+    }
+
+    /**
+     * Discard the snapshot being written, the target file is untouched.
+     */
+    public void abort() {
+        try {
+            values.close();
+        } catch (final IOException e) {
+            // ignore, the file is deleted anyway
+        }
+        deleteQuietly(valuesFile);
+    }
+
+    private static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException e) {
+            // best effort, temporary file
+        }
+    }
+
+    private static int slotCount(final int entries) {
+        // load factor of 0.5 at most
+        int slots = 16;
+        while (slots < entries * 2L) {
+            slots <<= 1;
+        }
+        return slots;
+    }
+
+    private int[] buildSlots(final int slotCount) {
+        final int[] slots = new int[slotCount];
+        Arrays.fill(slots, -1);
+        final int mask = slotCount - 1;
+        for (int entry = 0; entry < count; entry++) {
+            int slot = (int) (MappedSnapshotMap.hash(keys, entry * keyWidth, keyWidth, keyWidth) & mask);
+            while (slots[slot] >= 0 && !sameKey(slots[slot], entry)) {
+                slot = slot + 1 & mask;
+            }
+            slots[slot] = entry;
+        }
+        return slots;
+    }
+
+    private boolean sameKey(final int entry1, final int entry2) {
+        final int offset1 = entry1 * keyWidth;
+        final int offset2 = entry2 * keyWidth;
+        for (int i = 0; i < keyWidth; i++) {
+            if (keys[offset1 + i] != keys[offset2 + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -7,8 +7,19 @@ package net.objectlab.kit.collections;
  * @author Benoit Xhenseval
  *
  */
-public interface ReadOnlyExpiringCollection {
+public interface ReadOnlyExpiringCollection extends AutoCloseable {
     void stop();
 
+    /**
+     * Stop any periodic reload, same as stop().
+     */
+    @Override
+    void close();
+
     void reload();
+
+    /**
+     * @return the access, load and clear counters of this collection.
+     */
+    ExpiringCollectionStatistics getStatistics();
 }
@@ -1,5 +1,8 @@
 package net.objectlab.kit.collections;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+
 import net.objectlab.kit.util.PeriodBuilder;
 
 /**
@@ -8,12 +11,20 @@ import net.objectlab.kit.util.PeriodBuilder;
  * - no time out
  * - reload on expiry: true
  * - load on first access only (ie not at construction time)
+ * - no refresh-ahead
+ * - 1 second before retrying a failed reload
  *
  * @author Benoit Xhenseval
  *
  */
 public class ReadOnlyExpiringCollectionBuilder {
     private long expiryTimeoutMilliseconds = -1;
+    private long refreshAheadMilliseconds = 0;
+    private Executor refreshExecutor;
+    private ScheduledExecutorService scheduler;
+    private long reloadJitterMilliseconds = 0;
+    private ExpiringCollectionListener listener;
+    private long retryBackoffMilliseconds = 1000;
     private boolean reloadOnExpiry = true;
     private boolean reloadWhenExpired = false;
     private boolean loadOnFirstAccess = true;
@@ -43,6 +54,60 @@ public class ReadOnlyExpiringCollectionBuilder {
         return this;
     }
 
+    /**
+     * Enable the refresh-ahead mode: the reload starts in the background this many milliseconds
+     * before the expiry and readers keep using the previous snapshot, they never wait for the loader
+     * (apart from the very first load).
+     */
+    public ReadOnlyExpiringCollectionBuilder refreshAheadMilliseconds(final long refreshAheadMilliseconds) {
+        this.refreshAheadMilliseconds = refreshAheadMilliseconds;
+        return this;
+    }
+
+    /**
+     * Executor used for the background reloads, by default a pool of daemon threads shared by all the collections in refresh-ahead mode.
+     * With a scheduler, the loader runs on this executor rather than on the scheduler thread; any Executor
+     * will do, including a virtual thread per task executor.
+     */
+    public ReadOnlyExpiringCollectionBuilder refreshExecutor(final Executor refreshExecutor) {
+        this.refreshExecutor = refreshExecutor;
+        return this;
+    }
+
+    /**
+     * Use the given, typically shared, scheduler for the periodic reload (reloadOnExpiry) instead of
+     * creating a Timer (and its thread) per collection. The scheduler is not shut down by the collection.
+     */
+    public ReadOnlyExpiringCollectionBuilder scheduler(final ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+        return this;
+    }
+
+    /**
+     * Maximum random delay for the first periodic reload, so that collections created together
+     * do not all reload at the same time.
+     */
+    public ReadOnlyExpiringCollectionBuilder reloadJitterMilliseconds(final long reloadJitterMilliseconds) {
+        this.reloadJitterMilliseconds = reloadJitterMilliseconds;
+        return this;
+    }
+
+    /**
+     * Listener notified of the loads, load failures and clears.
+     */
+    public ReadOnlyExpiringCollectionBuilder listener(final ExpiringCollectionListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    /**
+     * After a failed reload, the previous snapshot is served for this long before the loader is tried again.
+     */
+    public ReadOnlyExpiringCollectionBuilder retryBackoffMilliseconds(final long retryBackoffMilliseconds) {
+        this.retryBackoffMilliseconds = retryBackoffMilliseconds;
+        return this;
+    }
+
     public ReadOnlyExpiringCollectionBuilder reloadWhenExpired(final boolean reloadWhenExpired) {
         this.reloadWhenExpired = reloadWhenExpired;
         return this;
@@ -62,6 +127,30 @@ public class ReadOnlyExpiringCollectionBuilder {
         return expiryTimeoutMilliseconds;
     }
 
+    final long getRefreshAheadMilliseconds() {
+        return refreshAheadMilliseconds;
+    }
+
+    final Executor getRefreshExecutor() {
+        return refreshExecutor;
+    }
+
+    final ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    final long getReloadJitterMilliseconds() {
+        return reloadJitterMilliseconds;
+    }
+
+    final ExpiringCollectionListener getListener() {
+        return listener;
+    }
+
+    final long getRetryBackoffMilliseconds() {
+        return retryBackoffMilliseconds;
+    }
+
     final boolean isReloadOnExpiry() {
         return reloadOnExpiry;
     }
@@ -3,7 +3,11 @@
  */
 package net.objectlab.kit.collections;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -14,25 +18,98 @@ import java.util.Set;
  */
 public class ReadOnlyExpiringHashMap<K, V> extends AbstractReadOnlyExpiringCollection implements ReadOnlyExpiringMap<K, V> {
     private static final String COLLECTION_IS_IMMUTABLE = "Collection is immutable";
-    private Map<K, V> delegate = new HashMap<K, V>();
+    private volatile Map<K, V> delegate = new HashMap<K, V>();
     private final MapLoader<K, V> loader;
+    private final IncrementalMapLoader<K, V> incrementalLoader;
+    private SegmentedSnapshotMap<K, V> snapshot;
+    private long version;
+    private final Path snapshotFile;
+    private final SnapshotCodec<K, V> snapshotCodec;
 
     public ReadOnlyExpiringHashMap(final ReadOnlyExpiringHashMapBuilder<K, V> builder) {
         loader = builder.getLoader();
+        incrementalLoader = builder.getIncrementalLoader();
+        snapshotFile = builder.getSnapshotFile();
+        snapshotCodec = builder.getSnapshotCodec();
+        if (snapshotFile != null && incrementalLoader != null) {
+            throw new IllegalArgumentException("A mapped snapshot cannot be used with an IncrementalMapLoader");
+        }
         setId(builder.getId());
         setExpiryTimeoutMilliseconds(builder.getExpiryTimeoutMilliseconds());
         setReloadOnExpiry(builder.isReloadOnExpiry());
         setLoadOnFirstAccess(builder.isLoadOnFirstAccess());
         setReloadWhenExpired(builder.isReloadWhenExpired());
         setTimeProvider(builder.getTimeProvider());
+        setRefreshAheadMilliseconds(builder.getRefreshAheadMilliseconds());
+        setRefreshExecutor(builder.getRefreshExecutor());
+        setScheduler(builder.getScheduler());
+        setReloadJitterMilliseconds(builder.getReloadJitterMilliseconds());
+        setListener(builder.getListener());
+        setRetryBackoffMilliseconds(builder.getRetryBackoffMilliseconds());
+        reuseMappedSnapshot();
         start();
     }
 
+    private void reuseMappedSnapshot() {
+        if (snapshotFile != null && Files.exists(snapshotFile)) {
+            try {
+                final long lastModified = Files.getLastModifiedTime(snapshotFile).toMillis();
+                delegate = MappedSnapshotMap.open(snapshotFile, snapshotCodec);
+                markLoaded(lastModified);
+            } catch (final IOException | RuntimeException e) {
+                // unreadable or incompatible snapshot, it will be replaced by the first load
+                delegate = new HashMap<K, V>();
+            }
+        }
+    }
+
     @Override
     protected void doLoad() {
+        if (incrementalLoader != null) {
+            doIncrementalLoad();
+            return;
+        }
+        if (snapshotFile != null) {
+            doMappedLoad();
+            return;
+        }
         final DefaultMapBuilder<K, V> builder = new DefaultMapBuilder<K, V>(getId());
         loader.load(builder);
-        delegate = builder.build();
+        // publish the new snapshot in one volatile write
+        delegate = Collections.unmodifiableMap(builder.build());
+    }
+
+    private synchronized void doMappedLoad() {
+        final MappedSnapshotWriter<K, V> writer = new MappedSnapshotWriter<K, V>(getId(), snapshotFile, snapshotCodec);
+        boolean committed = false;
+        try {
+            loader.load(writer);
+            writer.commit();
+            committed = true;
+        } finally {
+            if (!committed) {
+                writer.abort();
+            }
+        }
+        // the previous mapping stays valid for the readers still using it
+        delegate = MappedSnapshotMap.open(snapshotFile, snapshotCodec);
+    }
+
+    private synchronized void doIncrementalLoad() {
+        if (snapshot != null) {
+            final DefaultMapDeltaBuilder<K, V> delta = new DefaultMapDeltaBuilder<K, V>(getId());
+            final long newVersion = incrementalLoader.loadChanges(version, delta);
+            if (!delta.isFullLoadRequired()) {
+                snapshot = snapshot.withChanges(delta.getUpserts(), delta.getRemovals());
+                version = newVersion;
+                delegate = snapshot;
+                return;
+            }
+        }
+        final DefaultMapBuilder<K, V> builder = new DefaultMapBuilder<K, V>(getId());
+        version = incrementalLoader.loadAll(builder);
+        snapshot = SegmentedSnapshotMap.copyOf(builder.build());
+        delegate = snapshot;
     }
 
     @Override
@@ -105,11 +182,20 @@ public class ReadOnlyExpiringHashMap<K, V> extends AbstractReadOnlyExpiringColle
 
     @Override
     protected void doClear() {
-        delegate.clear();
+        // swap rather than clear, the current snapshot may still be read by other threads
+        synchronized (this) {
+            snapshot = null;
+            delegate = new HashMap<K, V>();
+        }
+    }
+
+    @Override
+    protected int snapshotSize() {
+        return delegate.size();
     }
 
     @Override
     public void reload() {
-        doLoad();
+        forceLoad();
     }
 }
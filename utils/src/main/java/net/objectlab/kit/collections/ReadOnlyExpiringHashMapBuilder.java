@@ -1,14 +1,53 @@
 package net.objectlab.kit.collections;
 
+import java.nio.file.Path;
+
 public class ReadOnlyExpiringHashMapBuilder<K, V> extends ReadOnlyExpiringCollectionBuilder {
     private final MapLoader<K, V> loader;
+    private final IncrementalMapLoader<K, V> incrementalLoader;
+    private Path snapshotFile;
+    private SnapshotCodec<K, V> snapshotCodec;
 
     public ReadOnlyExpiringHashMapBuilder(final MapLoader<K, V> loader) {
         super();
         this.loader = loader;
+        this.incrementalLoader = null;
+    }
+
+    /**
+     * The map will only ask the loader for the changes since the previous load and apply them
+     * copy-on-write to the current snapshot.
+     */
+    public ReadOnlyExpiringHashMapBuilder(final IncrementalMapLoader<K, V> incrementalLoader) {
+        super();
+        this.loader = null;
+        this.incrementalLoader = incrementalLoader;
+    }
+
+    /**
+     * Store the data off-heap in a memory-mapped file instead of a HashMap: each reload writes a new file
+     * and swaps the mapping atomically. If the file exists at construction time, it is used straight away
+     * (its age counts towards the expiry) instead of calling the loader. Only for a MapLoader.
+     */
+    public ReadOnlyExpiringHashMapBuilder<K, V> mappedSnapshot(final Path file, final SnapshotCodec<K, V> codec) {
+        this.snapshotFile = file;
+        this.snapshotCodec = codec;
+        return this;
+    }
+
+    final Path getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    final SnapshotCodec<K, V> getSnapshotCodec() {
+        return snapshotCodec;
     }
 
     final MapLoader<K, V> getLoader() {
         return loader;
     }
+
+    final IncrementalMapLoader<K, V> getIncrementalLoader() {
+        return incrementalLoader;
+    }
 }
@@ -14,7 +14,7 @@ import java.util.Set;
  */
 public class ReadOnlyExpiringHashSet<T> extends AbstractReadOnlyExpiringCollection implements ReadOnlyExpiringSet<T> {
     private final SetLoader<T> loader;
-    private Set<T> delegate = new HashSet<T>();
+    private volatile Set<T> delegate = new HashSet<T>();
 
     public ReadOnlyExpiringHashSet(final ReadOnlyExpiringHashSetBuilder<T> builder) {
         this.loader = builder.getLoader();
@@ -24,6 +24,12 @@ public class ReadOnlyExpiringHashSet<T> extends AbstractReadOnlyExpiringCollecti
         setLoadOnFirstAccess(builder.isLoadOnFirstAccess());
         setReloadWhenExpired(builder.isReloadWhenExpired());
         setTimeProvider(builder.getTimeProvider());
+        setRefreshAheadMilliseconds(builder.getRefreshAheadMilliseconds());
+        setRefreshExecutor(builder.getRefreshExecutor());
+        setScheduler(builder.getScheduler());
+        setReloadJitterMilliseconds(builder.getReloadJitterMilliseconds());
+        setListener(builder.getListener());
+        setRetryBackoffMilliseconds(builder.getRetryBackoffMilliseconds());
         start();
     }
 
@@ -109,11 +115,17 @@ public class ReadOnlyExpiringHashSet<T> extends AbstractReadOnlyExpiringCollecti
 
     @Override
     protected void doClear() {
-        delegate.clear();
+        // swap rather than clear, the current snapshot may still be read by other threads
+        delegate = new HashSet<T>();
+    }
+
+    @Override
+    protected int snapshotSize() {
+        return delegate.size();
     }
 
     @Override
     public void reload() {
-        doLoad();
+        forceLoad();
     }
 }
@@ -0,0 +1,194 @@
+/**
+ *
+ */
+package net.objectlab.kit.collections;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable map split in segments (HashMaps). Applying changes creates a new map
+ * which shares all the segments untouched by the changes with the previous one, so a handful of
+ * changes on a large map only copies a few small segments.
+ *
+ * The number of segments is chosen by copyOf for about TARGET_SEGMENT_SIZE entries per segment, between
+ * MIN_SEGMENTS and MAX_SEGMENTS, and is kept by all the maps derived from it with withChanges.
+ *
+ * @author Benoit Xhenseval
+ *
+ */
+public final class SegmentedSnapshotMap<K, V> extends AbstractMap<K, V> {
+    /** Power of 2, used for small maps. */
+    public static final int MIN_SEGMENTS = 16;
+    /** Power of 2, beyond 1M entries the segments simply grow. */
+    public static final int MAX_SEGMENTS = 4096;
+    public static final int TARGET_SEGMENT_SIZE = 256;
+    private final Map<K, V>[] segments;
+    private final int size;
+    private transient Set<Map.Entry<K, V>> entrySet;
+
+    private SegmentedSnapshotMap(final Map<K, V>[] segments) {
+        this.segments = segments;
+        int total = 0;
+        for (final Map<K, V> segment : segments) {
+            total += segment.size();
+        }
+        this.size = total;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Map<K, V>[] newSegments(final int count) {
+        return new Map[count];
+    }
+
+    /**
+     * @return a new snapshot containing all entries of the given map.
+     */
+    public static <K, V> SegmentedSnapshotMap<K, V> copyOf(final Map<? extends K, ? extends V> source) {
+        final Map<K, V>[] segments = newSegments(segmentCountFor(source.size()));
+        final int expected = Math.max(16, source.size() * 4 / 3 / segments.length + 1);
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new HashMap<K, V>(expected);
+        }
+        for (final Map.Entry<? extends K, ? extends V> entry : source.entrySet()) {
+            segments[indexFor(entry.getKey(), segments.length)].put(entry.getKey(), entry.getValue());
+        }
+        return new SegmentedSnapshotMap<K, V>(segments);
+    }
+
+    /**
+     * @return the smallest power of 2 giving at most TARGET_SEGMENT_SIZE entries per segment, within the bounds.
+     */
+    static int segmentCountFor(final int size) {
+        int count = MIN_SEGMENTS;
+        while (count < MAX_SEGMENTS && (long) count * TARGET_SEGMENT_SIZE < size) {
+            count <<= 1;
+        }
+        return count;
+    }
+
+    int segmentCount() {
+        return segments.length;
+    }
+
+    private static int indexFor(final Object key, final int segmentCount) {
+        final int h = key == null ? 0 : key.hashCode();
+        return (h ^ h >>> 16) & segmentCount - 1;
+    }
+
+    /**
+     * Copy-on-write: only the segments affected by the changes are copied.
+     * @param upserts entries to add or replace
+     * @param removals keys to remove
+     * @return a new snapshot, this one is unchanged.
+     */
+    public SegmentedSnapshotMap<K, V> withChanges(final Map<? extends K, ? extends V> upserts, final Collection<?> removals) {
+        if (upserts.isEmpty() && removals.isEmpty()) {
+            return this;
+        }
+        final Map<K, V>[] newSegments = segments.clone();
+        final boolean[] copied = new boolean[segments.length];
+        for (final Map.Entry<? extends K, ? extends V> entry : upserts.entrySet()) {
+            writableSegment(newSegments, copied, indexFor(entry.getKey(), segments.length)).put(entry.getKey(), entry.getValue());
+        }
+        for (final Object key : removals) {
+            final int index = indexFor(key, segments.length);
+            if (newSegments[index].containsKey(key)) {
+                writableSegment(newSegments, copied, index).remove(key);
+            }
+        }
+        return new SegmentedSnapshotMap<K, V>(newSegments);
+    }
+
+    private Map<K, V> writableSegment(final Map<K, V>[] newSegments, final boolean[] copied, final int index) {
+        if (!copied[index]) {
+            newSegments[index] = new HashMap<K, V>(segments[index]);
+            copied[index] = true;
+        }
+        return newSegments[index];
+    }
+
+    /**
+     * @return the number of segments shared with the other snapshot.
+     */
+    int sharedSegments(final SegmentedSnapshotMap<K, V> other) {
+        int shared = 0;
+        for (int i = 0; i < segments.length && i < other.segments.length; i++) {
+            if (segments[i] == other.segments[i]) {
+                shared++;
+            }
+        }
+        return shared;
+    }
+
+    @Override
+    public V get(final Object key) {
+        return segments[indexFor(key, segments.length)].get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return segments[indexFor(key, segments.length)].containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Map.Entry<K, V>>() {
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private int segment = 0;
+        private Iterator<Map.Entry<K, V>> current = Collections.<Map.Entry<K, V>> emptyList().iterator();
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext() && segment < segments.length) {
+                current = Collections.unmodifiableMap(segments[segment++]).entrySet().iterator();
+            }
+            return current.hasNext();
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Collection is immutable");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ *
+ */
+package net.objectlab.kit.collections;
+
+/**
+ * Converts keys and values to and from bytes for a memory-mapped snapshot (see MappedSnapshotMap).
+ * Keys are stored with a fixed width, values with a variable length.
+ *
+ * @author Benoit Xhenseval
+ *
+ */
+public interface SnapshotCodec<K, V> {
+    /**
+     * @return the fixed number of bytes used for every key.
+     */
+    int getKeyWidth();
+
+    /**
+     * @return at most getKeyWidth() bytes, shorter keys are padded with 0; keys are compared on those bytes.
+     */
+    byte[] encodeKey(K key);
+
+    /**
+     * @param bytes exactly getKeyWidth() bytes, including any padding.
+     */
+    K decodeKey(byte[] bytes);
+
+    byte[] encodeValue(V value);
+
+    V decodeValue(byte[] bytes);
+}
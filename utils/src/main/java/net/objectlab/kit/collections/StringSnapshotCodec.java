@@ -0,0 +1,55 @@
+/**
+ *
+ */
+package net.objectlab.kit.collections;
+
+import java.nio.charset.Charset;
+
+/**
+ * Codec for String keys and values stored as UTF-8, keys are limited to keyWidth bytes
+ * and cannot end with the character \u0000.
+ *
+ * @author Benoit Xhenseval
+ *
+ */
+public class StringSnapshotCodec implements SnapshotCodec<String, String> {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private final int keyWidth;
+
+    public StringSnapshotCodec(final int keyWidth) {
+        this.keyWidth = keyWidth;
+    }
+
+    @Override
+    public int getKeyWidth() {
+        return keyWidth;
+    }
+
+    @Override
+    public byte[] encodeKey(final String key) {
+        final byte[] bytes = key.getBytes(UTF8);
+        if (bytes.length > keyWidth) {
+            throw new IllegalArgumentException("Key [" + key + "] is longer than " + keyWidth + " bytes");
+        }
+        return bytes;
+    }
+
+    @Override
+    public String decodeKey(final byte[] bytes) {
+        int length = bytes.length;
+        while (length > 0 && bytes[length - 1] == 0) {
+            length--;
+        }
+        return new String(bytes, 0, length, UTF8);
+    }
+
+    @Override
+    public byte[] encodeValue(final String value) {
+        return value.getBytes(UTF8);
+    }
+
+    @Override
+    public String decodeValue(final byte[] bytes) {
+        return new String(bytes, UTF8);
+    }
+}
@@ -35,6 +35,7 @@ package net.objectlab.kit.util;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.Optional;
+import java.util.stream.Collector;
 
 /**
  * @author Benoit
@@ -79,6 +80,39 @@ public final class Average implements Serializable {
         }
     }
 
+    /**
+     * Add a single value without going through varargs.
+     * @since 1.4.1
+     */
+    public void add(final BigDecimal value) {
+        sum.add(value);
+        determineMinMax(value);
+        count++;
+    }
+
+    /**
+     * Merge another (partial) average into this one.
+     * @return this
+     * @since 1.4.1
+     */
+    public Average combine(final Average other) {
+        if (other != null && other.count > 0) {
+            sum.combine(other.sum);
+            determineMinMax(other.minimum);
+            determineMinMax(other.maximum);
+            count += other.count;
+        }
+        return this;
+    }
+
+    /**
+     * Collects a stream of BigDecimals into an Average, partial averages of a parallel stream are combined.
+     * @since 1.4.1
+     */
+    public static Collector<BigDecimal, Average, Average> collector() {
+        return Collector.of(Average::new, Average::add, Average::combine);
+    }
+
     public BigDecimal getTotal() {
         return sum.getTotal();
     }
@@ -0,0 +1,164 @@
+package net.objectlab.kit.util;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Optional;
+
+/**
+ * One-pass statistics over BigDecimals in constant memory: count, total, mean, sum of
+ * squared differences from the mean (Welford's online algorithm), minimum and maximum.
+ * Partial results can be combined with {@link #merge(BigDecimalRunningStatistics)}.
+ * Intermediate divisions use {@link MathContext#DECIMAL128}; null values are ignored.
+ *
+ * Not thread-safe, use one instance per thread and merge them.
+ */
+public class BigDecimalRunningStatistics implements Serializable {
+    private static final long serialVersionUID = 2906213744386101520L;
+    private static final int SCALE = 8;
+    private final MathContext mathContext;
+    private long count;
+    private BigDecimal total = BigDecimal.ZERO;
+    private BigDecimal mean = BigDecimal.ZERO;
+    private BigDecimal m2 = BigDecimal.ZERO;
+    private BigDecimal minimum;
+    private BigDecimal maximum;
+
+    public BigDecimalRunningStatistics() {
+        this(MathContext.DECIMAL128);
+    }
+
+    public BigDecimalRunningStatistics(final MathContext mathContext) {
+        this.mathContext = mathContext;
+    }
+
+    public BigDecimalRunningStatistics add(final BigDecimal... values) {
+        if (values != null) {
+            for (final BigDecimal value : values) {
+                add(value);
+            }
+        }
+        return this;
+    }
+
+    public BigDecimalRunningStatistics add(final BigDecimal value) {
+        if (value == null) {
+            return this;
+        }
+        count++;
+        total = total.add(value);
+        final BigDecimal delta = value.subtract(mean);
+        mean = mean.add(delta.divide(BigDecimal.valueOf(count), mathContext));
+        m2 = m2.add(delta.multiply(value.subtract(mean)), mathContext);
+        determineMinMax(value, value);
+        return this;
+    }
+
+    private void determineMinMax(final BigDecimal min, final BigDecimal max) {
+        if (maximum == null || max.compareTo(maximum) > 0) {
+            maximum = max;
+        }
+        if (minimum == null || min.compareTo(minimum) < 0) {
+            minimum = min;
+        }
+    }
+
+    /**
+     * Combine the statistics of another chunk of data into this one (Chan et al. parallel variance).
+     */
+    public BigDecimalRunningStatistics merge(final BigDecimalRunningStatistics other) {
+        if (other == null || other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            count = other.count;
+            total = other.total;
+            mean = other.mean;
+            m2 = other.m2;
+            minimum = other.minimum;
+            maximum = other.maximum;
+            return this;
+        }
+        final BigDecimal n = BigDecimal.valueOf(count);
+        final BigDecimal otherN = BigDecimal.valueOf(other.count);
+        final BigDecimal newN = BigDecimal.valueOf(count + other.count);
+        final BigDecimal delta = other.mean.subtract(mean);
+        mean = mean.add(delta.multiply(otherN).divide(newN, mathContext));
+        m2 = m2.add(other.m2).add(delta.multiply(delta).multiply(n).multiply(otherN).divide(newN, mathContext), mathContext);
+        count += other.count;
+        total = total.add(other.total);
+        determineMinMax(other.minimum, other.maximum);
+        return this;
+    }
+
+    public long getDataPoints() {
+        return count;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    /**
+     * @return the mean or null if there is no data point.
+     */
+    public BigDecimal getAverage() {
+        return count == 0 ? null : mean;
+    }
+
+    public Optional<BigDecimal> getMinimum() {
+        return Optional.ofNullable(minimum);
+    }
+
+    public Optional<BigDecimal> getMaximum() {
+        return Optional.ofNullable(maximum);
+    }
+
+    /**
+     * @return the sum of squared differences from the mean.
+     */
+    public BigDecimal getSumOfSquaredDifferences() {
+        return m2;
+    }
+
+    /**
+     * @return the population variance (divided by n) to 8 decimals, or null if there is no data point.
+     */
+    public BigDecimal getPopulationVariance() {
+        return variance(count);
+    }
+
+    /**
+     * @return the sample variance (divided by n - 1) to 8 decimals, or null if there are fewer than 2 data points.
+     */
+    public BigDecimal getSampleVariance() {
+        return variance(count - 1);
+    }
+
+    /**
+     * @return sum of squared differences / divisor to 8 decimals, or null if the divisor is not positive.
+     */
+    BigDecimal variance(final long divisor) {
+        if (divisor <= 0) {
+            return null;
+        }
+        return BigDecimalUtil.divide(SCALE, m2, BigDecimal.valueOf(divisor), BigDecimal.ROUND_HALF_UP);
+    }
+
+    public BigDecimal getPopulationStandardDeviation() {
+        return sqrt(getPopulationVariance());
+    }
+
+    public BigDecimal getSampleStandardDeviation() {
+        return sqrt(getSampleVariance());
+    }
+
+    static BigDecimal sqrt(final BigDecimal variance) {
+        return variance == null ? null : BigDecimalUtil.setScale(BigDecimal.valueOf(Math.sqrt(variance.doubleValue())), SCALE);
+    }
+
+    @Override
+    public String toString() {
+        return StringUtil.concatWithSpaces("Total:", total, "Points", count, "Avg:", getAverage(), "StdDev:", getPopulationStandardDeviation());
+    }
+}
@@ -0,0 +1,211 @@
+package net.objectlab.kit.util;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Distribution count per bucket for large data sets, e.g. latency or P&amp;L histograms, with the same
+ * semantics as {@link FrequencyBucketDistribution}: a value goes into the first bucket with an upper limit &gt;= value,
+ * anything above the last limit goes into the upper limit bucket.
+ * <p>
+ * The bucket limits are held as a sorted double[] and found by binary search, the counts are kept
+ * in an {@link AtomicLongArray} so that several threads can add points concurrently. Distributions built
+ * over the same limits (e.g. one per thread or per file) can be merged.
+ * </p>
+ * <p>
+ * When built from BigDecimal limits, a BigDecimal point is compared exactly to the limits, as
+ * {@link FrequencyBucketDistribution} does, so both classify it in the same bucket. A double point is compared
+ * to the nearest doubles of the limits, and so is a BigDecimal point if the limits were given as doubles: a
+ * value within a rounding error of a limit may then fall on the other side of it.
+ * </p>
+ * @since 1.4.1
+ */
+public class ConcurrentFrequencyBucketDistribution {
+    private final double[] limits;
+    /** The exact limits if given as BigDecimal, null otherwise. */
+    private final BigDecimal[] decimalLimits;
+    private final AtomicLongArray counts;
+
+    /**
+     * @param limits the bucket upper limits, in any order; duplicates are ignored.
+     */
+    public ConcurrentFrequencyBucketDistribution(final double... limits) {
+        this.limits = limits != null ? Arrays.stream(limits).sorted().distinct().toArray() : new double[0];
+        for (final double limit : this.limits) {
+            if (Double.isNaN(limit)) {
+                throw new IllegalArgumentException("Bucket limit cannot be NaN");
+            }
+        }
+        this.decimalLimits = null;
+        this.counts = new AtomicLongArray(this.limits.length + 1);
+    }
+
+    /**
+     * @param limits the bucket upper limits, in any order; nulls and duplicates (same value, whatever the scale)
+     * are ignored.
+     */
+    public ConcurrentFrequencyBucketDistribution(final Collection<BigDecimal> limits) {
+        final List<BigDecimal> sorted = new ArrayList<>();
+        if (limits != null) {
+            limits.stream().filter(t -> t != null).sorted().forEach(t -> {
+                if (sorted.isEmpty() || sorted.get(sorted.size() - 1).compareTo(t) != 0) {
+                    sorted.add(t);
+                }
+            });
+        }
+        this.decimalLimits = sorted.toArray(new BigDecimal[sorted.size()]);
+        // two limits may have the same nearest double, keep one bucket per exact limit
+        this.limits = sorted.stream().mapToDouble(BigDecimal::doubleValue).toArray();
+        this.counts = new AtomicLongArray(this.limits.length + 1);
+    }
+
+    /**
+     * @return the index of the bucket for the value, {@link #getBucketCount()} - 1 for the upper limit bucket.
+     */
+    public int bucketIndex(final double value) {
+        int idx = Arrays.binarySearch(limits, value);
+        if (idx < 0) {
+            return -idx - 1;
+        }
+        while (idx > 0 && limits[idx - 1] == value) {
+            idx--;
+        }
+        return idx;
+    }
+
+    /**
+     * @return the index of the bucket for the value, exact if the limits were given as BigDecimal.
+     */
+    public int bucketIndex(final BigDecimal value) {
+        if (decimalLimits == null) {
+            return bucketIndex(value.doubleValue());
+        }
+        int low = 0;
+        int high = decimalLimits.length - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int cmp = decimalLimits[mid].compareTo(value);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return low;
+    }
+
+    public void addPoint(final double point) {
+        counts.incrementAndGet(bucketIndex(point));
+    }
+
+    /**
+     * @param point ignored if null.
+     */
+    public void addPoint(final BigDecimal point) {
+        if (point != null) {
+            counts.incrementAndGet(bucketIndex(point));
+        }
+    }
+
+    /**
+     * Classify all points locally first and then update each bucket once, this keeps
+     * the contention between concurrent bulk loads to a minimum.
+     */
+    public void addPoints(final double[] points) {
+        if (points != null) {
+            addPoints(points, 0, points.length);
+        }
+    }
+
+    public void addPoints(final double[] points, final int from, final int to) {
+        final long[] local = new long[counts.length()];
+        for (int i = from; i < to; i++) {
+            local[bucketIndex(points[i])]++;
+        }
+        addCounts(local);
+    }
+
+    private void addCounts(final long[] local) {
+        for (int i = 0; i < local.length; i++) {
+            if (local[i] != 0) {
+                counts.addAndGet(i, local[i]);
+            }
+        }
+    }
+
+    /**
+     * Add the counts of another distribution, it must have the same bucket limits.
+     * @return this
+     * @throws IllegalArgumentException if the limits are different
+     */
+    public ConcurrentFrequencyBucketDistribution merge(final ConcurrentFrequencyBucketDistribution other) {
+        if (other != null) {
+            if (!Arrays.equals(limits, other.limits)) {
+                throw new IllegalArgumentException("Cannot merge distributions with different bucket limits");
+            }
+            addCounts(other.getCounts());
+        }
+        return this;
+    }
+
+    /**
+     * @return the number of buckets, including the upper limit bucket.
+     */
+    public int getBucketCount() {
+        return counts.length();
+    }
+
+    /**
+     * @return a copy of the sorted bucket upper limits (without the upper limit bucket).
+     */
+    public double[] getLimits() {
+        return limits.clone();
+    }
+
+    public long getCount(final int bucketIndex) {
+        return counts.get(bucketIndex);
+    }
+
+    /**
+     * @return a snapshot of the counts per bucket, the last one being the upper limit bucket.
+     */
+    public long[] getCounts() {
+        final long[] snapshot = new long[counts.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0L);
+        }
+    }
+
+    /**
+     * @return a snapshot as a list of {@link FrequencyBucketDistribution.Bucket}, the last one being the upper limit.
+     */
+    public List<FrequencyBucketDistribution.Bucket> getDistribution() {
+        final List<FrequencyBucketDistribution.Bucket> result = new ArrayList<>(counts.length());
+        for (int i = 0; i < limits.length; i++) {
+            result.add(new FrequencyBucketDistribution.Bucket(decimalLimits != null ? decimalLimits[i] : BigDecimal.valueOf(limits[i]), counts.get(i)));
+        }
+        result.add(new FrequencyBucketDistribution.Bucket(null, counts.get(limits.length)));
+        return result;
+    }
+}
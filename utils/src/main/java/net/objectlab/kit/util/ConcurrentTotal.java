@@ -0,0 +1,131 @@
+package net.objectlab.kit.util;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe sum of BigDecimals for many writers, e.g. several threads adding to the same
+ * exposure. In the spirit of {@link LongAdder}, the sum is striped over a number of cells
+ * so that concurrent writers rarely contend on the same compare-and-set; the cells are only
+ * reduced when the total is read.
+ * <p>
+ * Reading while writers are active gives a value that may not include the most recent additions,
+ * use {@link Total} or {@link Total#collector()} style reductions if an exact snapshot is required.
+ * </p>
+ * @since 1.4.1
+ */
+public class ConcurrentTotal implements Serializable {
+    private static final long serialVersionUID = 2935167839108127513L;
+    private static final int MAX_CELLS = 64;
+    private static final int AVERAGE_SCALE = 8;
+    private final AtomicReferenceArray<BigDecimal> cells;
+    private final int mask;
+    private final LongAdder count = new LongAdder();
+
+    public ConcurrentTotal() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * @param stripes the expected number of concurrent writers, rounded up to a power of 2 (max 64).
+     */
+    public ConcurrentTotal(final int stripes) {
+        int size = 1;
+        while (size < stripes && size < MAX_CELLS) {
+            size <<= 1;
+        }
+        cells = new AtomicReferenceArray<>(size);
+        for (int i = 0; i < size; i++) {
+            cells.set(i, BigDecimal.ZERO);
+        }
+        mask = size - 1;
+    }
+
+    private static int hash(final Thread thread) {
+        long h = thread.getId() * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ h >>> 32);
+    }
+
+    /**
+     * Add a value, a null value is counted but not added (as per {@link Total}).
+     */
+    public void add(final BigDecimal value) {
+        if (value != null && value.signum() != 0) {
+            int idx = hash(Thread.currentThread());
+            for (;;) {
+                final int i = idx & mask;
+                final BigDecimal current = cells.get(i);
+                if (cells.compareAndSet(i, current, current.add(value))) {
+                    break;
+                }
+                // contention, move to another cell
+                idx++;
+            }
+        }
+        count.increment();
+    }
+
+    public void add(final BigDecimal... values) {
+        if (values != null) {
+            for (final BigDecimal value : values) {
+                add(value);
+            }
+        }
+    }
+
+    public void add(final Total total) {
+        if (total != null) {
+            add(total.getTotal());
+        }
+    }
+
+    /**
+     * @return the sum of all cells.
+     */
+    public BigDecimal getTotal() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int i = 0; i < cells.length(); i++) {
+            sum = sum.add(cells.get(i));
+        }
+        return sum;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return the average of the values added so far (scale 8, as {@link Average}), null if nothing was added.
+     */
+    public BigDecimal getAverage() {
+        final long n = getCount();
+        return n == 0 ? null : BigDecimalUtil.divide(AVERAGE_SCALE, getTotal(), BigDecimal.valueOf(n), BigDecimal.ROUND_HALF_UP);
+    }
+
+    /**
+     * Reset the cells and the count, only accurate if there are no concurrent writers.
+     * @return the total before the reset.
+     */
+    public BigDecimal sumThenReset() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int i = 0; i < cells.length(); i++) {
+            sum = sum.add(cells.getAndSet(i, BigDecimal.ZERO));
+        }
+        count.reset();
+        return sum;
+    }
+
+    /**
+     * @return a non thread-safe copy of the current sum.
+     */
+    public Total toTotal() {
+        return new Total(getTotal());
+    }
+
+    @Override
+    public String toString() {
+        return StringUtil.concatWithSpaces("Total:", getTotal(), "Points", getCount());
+    }
+}
@@ -12,6 +12,8 @@ import java.util.stream.Collectors;
  * Given a list of bucket upper limits, the distribution will count the number of occurrences.
  * If a value is &lt;= bucket (ordered) then the count is incremented.
  * If the value is &gt; than the upper limit then the count is incremented for an upper limit bucket.
+ *
+ * For large data sets or concurrent ingestion, see {@link ConcurrentFrequencyBucketDistribution}.
  */
 public class FrequencyBucketDistribution {
     private final List<Bucket> orderedBuckets;
@@ -24,6 +26,11 @@ public class FrequencyBucketDistribution {
             this.bucket = bucket;
         }
 
+        Bucket(final BigDecimal bucket, final long count) {
+            this.bucket = bucket;
+            this.count = count;
+        }
+
         public void incrementCount() {
             count++;
         }
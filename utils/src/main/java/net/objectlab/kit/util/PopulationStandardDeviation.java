@@ -1,13 +1,16 @@
 package net.objectlab.kit.util;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 
+/**
+ * Standard deviation of a population, computed in one pass and constant memory
+ * (see {@link BigDecimalRunningStatistics}); data points are not kept.
+ * As for the average, a null value counts as a data point of zero.
+ */
 public class PopulationStandardDeviation {
     private final Average average = new Average();
-    private List<BigDecimal> dataPoints;
+    private BigDecimalRunningStatistics statistics;
 
     public Optional<BigDecimal> getMaximum() {
         return average.getMaximum();
@@ -24,11 +27,11 @@ public class PopulationStandardDeviation {
     public void add(final BigDecimal... values) {
         if (values != null) {
             average.add(values);
-            if (dataPoints == null) {
-                dataPoints = new ArrayList<>(values.length);
+            if (statistics == null) {
+                statistics = new BigDecimalRunningStatistics();
             }
-            for (final BigDecimal val : values) {
-                dataPoints.add(val);
+            for (final BigDecimal value : values) {
+                statistics.add(value != null ? value : BigDecimal.ZERO);
             }
         }
     }
@@ -42,15 +45,10 @@ public class PopulationStandardDeviation {
     }
 
     public BigDecimal getStandardDeviation() {
-        if (dataPoints == null) {
+        if (statistics == null) {
             return null;
         }
-        final BigDecimal average = getAverage();
-        final BigDecimal sumSquaredDifferences = dataPoints.stream().map(dp -> BigDecimalUtil.subtract(dp, average).pow(2))
-                .reduce(BigDecimal.ZERO, (a, b) -> b != null ? a.add(b) : a);
-        final BigDecimal variance = BigDecimalUtil.divide(8, sumSquaredDifferences, BigDecimal.valueOf(getDataPointsForCalc()),
-                BigDecimal.ROUND_HALF_UP);
-        return variance == null ? null : BigDecimalUtil.setScale(BigDecimal.valueOf(Math.sqrt(variance.doubleValue())), 8);
+        return BigDecimalRunningStatistics.sqrt(statistics.variance(getDataPointsForCalc()));
     }
 
     protected long getDataPointsForCalc() {
@@ -0,0 +1,133 @@
+package net.objectlab.kit.util;
+
+import java.io.Serializable;
+import java.util.function.DoubleConsumer;
+
+/**
+ * One-pass statistics over a stream of doubles in constant memory: count, sum, mean,
+ * variance (Welford's online algorithm), minimum and maximum. Partial results computed
+ * on separate chunks can be combined with {@link #merge(RunningStatistics)}, e.g.
+ * <pre>
+ * RunningStatistics stats = Arrays.stream(pnl).parallel()
+ *         .collect(RunningStatistics::new, RunningStatistics::add, RunningStatistics::merge);
+ * </pre>
+ * Not thread-safe, use one instance per thread and merge them.
+ */
+public class RunningStatistics implements DoubleConsumer, Serializable {
+    private static final long serialVersionUID = -4312879512408391107L;
+    private long count;
+    private double sum;
+    private double mean;
+    private double m2;
+    private double minimum = Double.POSITIVE_INFINITY;
+    private double maximum = Double.NEGATIVE_INFINITY;
+
+    @Override
+    public void accept(final double value) {
+        add(value);
+    }
+
+    public RunningStatistics add(final double value) {
+        count++;
+        sum += value;
+        final double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        minimum = Math.min(minimum, value);
+        maximum = Math.max(maximum, value);
+        return this;
+    }
+
+    public RunningStatistics add(final double... values) {
+        if (values != null) {
+            for (final double value : values) {
+                add(value);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Combine the statistics of another chunk of data into this one (Chan et al. parallel variance).
+     */
+    public RunningStatistics merge(final RunningStatistics other) {
+        if (other == null || other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            count = other.count;
+            sum = other.sum;
+            mean = other.mean;
+            m2 = other.m2;
+            minimum = other.minimum;
+            maximum = other.maximum;
+            return this;
+        }
+        final long total = count + other.count;
+        final double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+        sum += other.sum;
+        minimum = Math.min(minimum, other.minimum);
+        maximum = Math.max(maximum, other.maximum);
+        return this;
+    }
+
+    public long getDataPoints() {
+        return count;
+    }
+
+    public double getTotal() {
+        return sum;
+    }
+
+    /**
+     * @return the mean or NaN if there is no data point.
+     */
+    public double getAverage() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    /**
+     * @return the minimum or NaN if there is no data point.
+     */
+    public double getMinimum() {
+        return count == 0 ? Double.NaN : minimum;
+    }
+
+    /**
+     * @return the maximum or NaN if there is no data point.
+     */
+    public double getMaximum() {
+        return count == 0 ? Double.NaN : maximum;
+    }
+
+    /**
+     * @return the population variance (divided by n) or NaN if there is no data point.
+     */
+    public double getPopulationVariance() {
+        return count == 0 ? Double.NaN : m2 / count;
+    }
+
+    /**
+     * @return the sample variance (divided by n - 1) or NaN if there are fewer than 2 data points.
+     */
+    public double getSampleVariance() {
+        return count < 2 ? Double.NaN : m2 / (count - 1);
+    }
+
+    public double getPopulationStandardDeviation() {
+        return Math.sqrt(getPopulationVariance());
+    }
+
+    public double getSampleStandardDeviation() {
+        return Math.sqrt(getSampleVariance());
+    }
+
+    @Override
+    public String toString() {
+        return StringUtil.concatWithSpaces("Points", count, "Avg:", getAverage(), "StdDev:", getPopulationStandardDeviation(), "Min:", getMinimum(),
+                "Max:", getMaximum());
+    }
+}
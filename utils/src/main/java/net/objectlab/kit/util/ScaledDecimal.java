@@ -0,0 +1,343 @@
+package net.objectlab.kit.util;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable fixed-scale decimal backed by a long, i.e. value = unscaledValue x 10^-scale (scale 0 to 18).
+ * It is a faster alternative to BigDecimal for amounts, prices and weights that fit in a long once scaled,
+ * e.g. 92,233,720,368.54775807 at scale 8.
+ * <p>
+ * Every operation that may lose precision takes an explicit {@link RoundingMode}; add and subtract are exact
+ * and use the largest scale of the 2 operands, as BigDecimal does. Any result that does not fit in a long throws
+ * an {@link ArithmeticException}, intermediate overflows (e.g. in a multiplication) are resolved via BigDecimal
+ * so that the result is the same as {@link BigDecimal#setScale(int, RoundingMode)} would give.
+ * </p>
+ * See {@link ScaledDecimalUtil} for null-safe helpers equivalent to {@link BigDecimalUtil} and
+ * {@link ScaledDecimalAccumulator} for an allocation-free running sum.
+ * @since 1.4.1
+ */
+public final class ScaledDecimal implements Comparable<ScaledDecimal>, Serializable {
+    public static final int MAX_SCALE = 18;
+    private static final long serialVersionUID = -2379126874590316618L;
+    private static final long[] POW10 = new long[MAX_SCALE + 1];
+    private static final ScaledDecimal[] ZEROS = new ScaledDecimal[MAX_SCALE + 1];
+    static {
+        long p = 1L;
+        for (int i = 0; i <= MAX_SCALE; i++) {
+            POW10[i] = p;
+            ZEROS[i] = new ScaledDecimal(0L, i);
+            p *= 10L;
+        }
+    }
+
+    private final long unscaledValue;
+    private final int scale;
+
+    private ScaledDecimal(final long unscaledValue, final int scale) {
+        this.unscaledValue = unscaledValue;
+        this.scale = scale;
+    }
+
+    private static int checkScale(final int scale) {
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Scale must be between 0 and " + MAX_SCALE + ", not " + scale);
+        }
+        return scale;
+    }
+
+    /**
+     * @return unscaledValue x 10^-scale, e.g. ofUnscaled(12345, 2) is 123.45
+     */
+    public static ScaledDecimal ofUnscaled(final long unscaledValue, final int scale) {
+        return unscaledValue == 0L ? ZEROS[checkScale(scale)] : new ScaledDecimal(unscaledValue, checkScale(scale));
+    }
+
+    /**
+     * @return the whole number value at the given scale, e.g. valueOf(12, 2) is 12.00
+     * @throws ArithmeticException if it does not fit at that scale
+     */
+    public static ScaledDecimal valueOf(final long value, final int scale) {
+        return ofUnscaled(Math.multiplyExact(value, POW10[checkScale(scale)]), scale);
+    }
+
+    /**
+     * @return the value rounded to the given scale
+     * @throws ArithmeticException if it does not fit at that scale
+     */
+    public static ScaledDecimal valueOf(final BigDecimal value, final int scale, final RoundingMode rounding) {
+        return ofUnscaled(value.setScale(checkScale(scale), rounding).unscaledValue().longValueExact(), scale);
+    }
+
+    /**
+     * @return the value, at its own scale
+     * @throws ArithmeticException if the scale is negative or above 18 or if it does not fit in a long
+     */
+    public static ScaledDecimal valueOf(final BigDecimal value) {
+        final int scale = Math.max(value.scale(), 0);
+        if (scale > MAX_SCALE) {
+            throw new ArithmeticException("Scale " + value.scale() + " is too large, specify the scale and rounding");
+        }
+        return valueOf(value, scale, RoundingMode.UNNECESSARY);
+    }
+
+    /**
+     * @return the value, converted via its canonical String representation (like {@link BigDecimal#valueOf(double)}), rounded
+     */
+    public static ScaledDecimal valueOf(final double value, final int scale, final RoundingMode rounding) {
+        return valueOf(BigDecimal.valueOf(value), scale, rounding);
+    }
+
+    public static ScaledDecimal zero(final int scale) {
+        return ZEROS[checkScale(scale)];
+    }
+
+    public long getUnscaledValue() {
+        return unscaledValue;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public int signum() {
+        return Long.signum(unscaledValue);
+    }
+
+    public boolean isZero() {
+        return unscaledValue == 0L;
+    }
+
+    public ScaledDecimal add(final ScaledDecimal other) {
+        if (scale == other.scale) {
+            return ofUnscaled(Math.addExact(unscaledValue, other.unscaledValue), scale);
+        } else if (scale > other.scale) {
+            return ofUnscaled(Math.addExact(unscaledValue, upscale(other.unscaledValue, scale - other.scale)), scale);
+        }
+        return ofUnscaled(Math.addExact(upscale(unscaledValue, other.scale - scale), other.unscaledValue), other.scale);
+    }
+
+    public ScaledDecimal subtract(final ScaledDecimal other) {
+        if (scale == other.scale) {
+            return ofUnscaled(Math.subtractExact(unscaledValue, other.unscaledValue), scale);
+        } else if (scale > other.scale) {
+            return ofUnscaled(Math.subtractExact(unscaledValue, upscale(other.unscaledValue, scale - other.scale)), scale);
+        }
+        return ofUnscaled(Math.subtractExact(upscale(unscaledValue, other.scale - scale), other.unscaledValue), other.scale);
+    }
+
+    /**
+     * @return this x multiplicand, rounded to the scale of this.
+     */
+    public ScaledDecimal multiply(final ScaledDecimal multiplicand, final RoundingMode rounding) {
+        return multiply(multiplicand, scale, rounding);
+    }
+
+    /**
+     * @return this x multiplicand, rounded to the given scale.
+     */
+    public ScaledDecimal multiply(final ScaledDecimal multiplicand, final int resultScale, final RoundingMode rounding) {
+        return ofUnscaled(multiply(unscaledValue, scale, multiplicand.unscaledValue, multiplicand.scale, checkScale(resultScale), rounding), resultScale);
+    }
+
+    /**
+     * @return this / divisor, rounded to the scale of this.
+     */
+    public ScaledDecimal divide(final ScaledDecimal divisor, final RoundingMode rounding) {
+        return divide(divisor, scale, rounding);
+    }
+
+    /**
+     * @return this / divisor, rounded to the given scale.
+     * @throws ArithmeticException if the divisor is zero
+     */
+    public ScaledDecimal divide(final ScaledDecimal divisor, final int resultScale, final RoundingMode rounding) {
+        return ofUnscaled(divide(unscaledValue, scale, divisor.unscaledValue, divisor.scale, checkScale(resultScale), rounding), resultScale);
+    }
+
+    public ScaledDecimal setScale(final int newScale, final RoundingMode rounding) {
+        if (newScale == scale) {
+            return this;
+        }
+        return ofUnscaled(rescale(unscaledValue, scale, checkScale(newScale), rounding), newScale);
+    }
+
+    public ScaledDecimal negate() {
+        return ofUnscaled(Math.negateExact(unscaledValue), scale);
+    }
+
+    public ScaledDecimal abs() {
+        return unscaledValue < 0 ? negate() : this;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(unscaledValue, scale);
+    }
+
+    public double doubleValue() {
+        return (double) unscaledValue / POW10[scale];
+    }
+
+    /**
+     * Compares the values, ignoring the scale (like {@link BigDecimal#compareTo(BigDecimal)}).
+     */
+    @Override
+    public int compareTo(final ScaledDecimal other) {
+        if (scale == other.scale) {
+            return Long.compare(unscaledValue, other.unscaledValue);
+        }
+        final int signum = signum();
+        if (signum != other.signum()) {
+            return Integer.compare(signum, other.signum());
+        }
+        try {
+            if (scale > other.scale) {
+                return Long.compare(unscaledValue, upscale(other.unscaledValue, scale - other.scale));
+            }
+            return Long.compare(upscale(unscaledValue, other.scale - scale), other.unscaledValue);
+        } catch (final ArithmeticException e) {
+            return toBigDecimal().compareTo(other.toBigDecimal());
+        }
+    }
+
+    /**
+     * Like BigDecimal, 2 values are equal only if they have the same scale, use compareTo to ignore it.
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ScaledDecimal)) {
+            return false;
+        }
+        final ScaledDecimal other = (ScaledDecimal) obj;
+        return unscaledValue == other.unscaledValue && scale == other.scale;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(unscaledValue) + scale;
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    // ------------------------------------------------------------------------
+    // Arithmetic on unscaled longs, used by the accumulator without allocation
+    // ------------------------------------------------------------------------
+
+    /**
+     * @return true if a x b does not overflow (same test as {@link Math#multiplyExact(long, long)}).
+     */
+    private static boolean fitsInLong(final long a, final long b) {
+        final long r = a * b;
+        if ((Math.abs(a) | Math.abs(b)) >>> 31 != 0) {
+            return (b == 0 || r / b == a) && (a != Long.MIN_VALUE || b != -1);
+        }
+        return true;
+    }
+
+    private static long upscale(final long unscaled, final int by) {
+        if (unscaled == 0L) {
+            return 0L;
+        }
+        if (by > MAX_SCALE) {
+            throw new ArithmeticException("long overflow");
+        }
+        return Math.multiplyExact(unscaled, POW10[by]);
+    }
+
+    /**
+     * @return the unscaled value converted from one scale to another.
+     */
+    static long rescale(final long unscaled, final int fromScale, final int toScale, final RoundingMode rounding) {
+        if (toScale >= fromScale) {
+            return upscale(unscaled, toScale - fromScale);
+        }
+        final int by = fromScale - toScale;
+        if (by > MAX_SCALE) {
+            return BigDecimal.valueOf(unscaled, fromScale).setScale(toScale, rounding).unscaledValue().longValueExact();
+        }
+        return divideAndRound(unscaled, POW10[by], rounding);
+    }
+
+    /**
+     * @return the unscaled value of (a x 10^-aScale) x (b x 10^-bScale) at the result scale.
+     */
+    static long multiply(final long a, final int aScale, final long b, final int bScale, final int resultScale, final RoundingMode rounding) {
+        final int productScale = aScale + bScale;
+        if (fitsInLong(a, b)) {
+            return rescale(a * b, productScale, resultScale, rounding);
+        }
+        return BigDecimal.valueOf(a, aScale).multiply(BigDecimal.valueOf(b, bScale)).setScale(resultScale, rounding).unscaledValue().longValueExact();
+    }
+
+    /**
+     * @return the unscaled value of (a x 10^-aScale) / (b x 10^-bScale) at the result scale.
+     */
+    static long divide(final long a, final int aScale, final long b, final int bScale, final int resultScale, final RoundingMode rounding) {
+        if (b == 0L) {
+            throw new ArithmeticException("Division by zero");
+        }
+        final int shift = resultScale - aScale + bScale;
+        if (shift >= 0 && shift <= MAX_SCALE && b != Long.MIN_VALUE) {
+            if (fitsInLong(a, POW10[shift])) {
+                return divideAndRound(a * POW10[shift], b, rounding);
+            }
+        } else if (shift < 0 && shift >= -MAX_SCALE && fitsInLong(b, POW10[-shift])) {
+            final long divisor = b * POW10[-shift];
+            if (divisor != Long.MIN_VALUE) {
+                return divideAndRound(a, divisor, rounding);
+            }
+        }
+        return BigDecimal.valueOf(a, aScale).divide(BigDecimal.valueOf(b, bScale), resultScale, rounding).unscaledValue().longValueExact();
+    }
+
+    /**
+     * @return n / d rounded as per the rounding mode, d must not be 0 or Long.MIN_VALUE.
+     */
+    static long divideAndRound(final long n, final long d, final RoundingMode rounding) {
+        if (n == Long.MIN_VALUE && d == -1L) {
+            throw new ArithmeticException("long overflow");
+        }
+        final long q = n / d;
+        final long r = n % d;
+        if (r == 0L) {
+            return q;
+        }
+        final boolean negative = (n ^ d) < 0;
+        final boolean increment;
+        switch (rounding) {
+        case UP:
+            increment = true;
+            break;
+        case DOWN:
+            increment = false;
+            break;
+        case CEILING:
+            increment = !negative;
+            break;
+        case FLOOR:
+            increment = negative;
+            break;
+        case HALF_UP:
+        case HALF_DOWN:
+        case HALF_EVEN:
+            final long absR = Math.abs(r);
+            final int half = Long.compare(absR, Math.abs(d) - absR);
+            if (half == 0) {
+                increment = rounding == RoundingMode.HALF_UP || rounding == RoundingMode.HALF_EVEN && (q & 1L) != 0L;
+            } else {
+                increment = half > 0;
+            }
+            break;
+        default:
+            throw new ArithmeticException("Rounding necessary");
+        }
+        return increment ? negative ? q - 1 : q + 1 : q;
+    }
+}
@@ -0,0 +1,125 @@
+package net.objectlab.kit.util;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Mutable running sum at a fixed scale, the equivalent of {@link Total} for {@link ScaledDecimal}.
+ * Adding values does not allocate any object (unless an intermediate result overflows a long); values
+ * with a larger scale are rounded with the rounding mode given at construction.
+ * Not thread-safe, use one per thread and {@link #combine(ScaledDecimalAccumulator)} them.
+ * @since 1.4.1
+ */
+public class ScaledDecimalAccumulator implements Serializable {
+    private static final long serialVersionUID = 6218794730521608341L;
+    private final int scale;
+    private final RoundingMode rounding;
+    private long unscaledValue;
+    private int count;
+
+    public ScaledDecimalAccumulator(final int scale) {
+        this(scale, RoundingMode.HALF_UP);
+    }
+
+    public ScaledDecimalAccumulator(final int scale, final RoundingMode rounding) {
+        this.scale = ScaledDecimal.zero(scale).getScale();
+        this.rounding = rounding;
+    }
+
+    /**
+     * Add a value already at the scale of this accumulator, e.g. 12345 for 123.45 at scale 2.
+     */
+    public ScaledDecimalAccumulator addUnscaled(final long value) {
+        unscaledValue = Math.addExact(unscaledValue, value);
+        count++;
+        return this;
+    }
+
+    /**
+     * A null value is counted but not added (as per {@link Total}).
+     */
+    public ScaledDecimalAccumulator add(final ScaledDecimal value) {
+        if (value != null) {
+            unscaledValue = Math.addExact(unscaledValue, ScaledDecimal.rescale(value.getUnscaledValue(), value.getScale(), scale, rounding));
+        }
+        count++;
+        return this;
+    }
+
+    public ScaledDecimalAccumulator add(final BigDecimal value) {
+        if (value != null) {
+            unscaledValue = Math.addExact(unscaledValue, value.setScale(scale, rounding).unscaledValue().longValueExact());
+        }
+        count++;
+        return this;
+    }
+
+    public ScaledDecimalAccumulator subtract(final ScaledDecimal value) {
+        if (value != null) {
+            unscaledValue = Math.subtractExact(unscaledValue, ScaledDecimal.rescale(value.getUnscaledValue(), value.getScale(), scale, rounding));
+        }
+        count++;
+        return this;
+    }
+
+    /**
+     * Add value x multiplicand rounded to the scale of this accumulator, e.g. for weighted sums.
+     */
+    public ScaledDecimalAccumulator addProduct(final ScaledDecimal value, final ScaledDecimal multiplicand) {
+        if (value != null && multiplicand != null) {
+            unscaledValue = Math.addExact(unscaledValue, ScaledDecimal.multiply(value.getUnscaledValue(), value.getScale(),
+                    multiplicand.getUnscaledValue(), multiplicand.getScale(), scale, rounding));
+        }
+        count++;
+        return this;
+    }
+
+    /**
+     * Merge another accumulator (e.g. from another thread) into this one.
+     */
+    public ScaledDecimalAccumulator combine(final ScaledDecimalAccumulator other) {
+        if (other != null) {
+            unscaledValue = Math.addExact(unscaledValue, ScaledDecimal.rescale(other.unscaledValue, other.scale, scale, rounding));
+            count += other.count;
+        }
+        return this;
+    }
+
+    public long getUnscaledValue() {
+        return unscaledValue;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public ScaledDecimal getTotal() {
+        return ScaledDecimal.ofUnscaled(unscaledValue, scale);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(unscaledValue, scale);
+    }
+
+    /**
+     * @return the average of the values added so far at the scale of this accumulator, null if nothing was added.
+     */
+    public ScaledDecimal getAverage() {
+        return count == 0 ? null : ScaledDecimal.ofUnscaled(ScaledDecimal.divideAndRound(unscaledValue, count, rounding), scale);
+    }
+
+    public void reset() {
+        unscaledValue = 0L;
+        count = 0;
+    }
+
+    @Override
+    public String toString() {
+        return StringUtil.concatWithSpaces("Total:", getTotal(), "Points", count);
+    }
+}
@@ -0,0 +1,197 @@
+package net.objectlab.kit.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Null-safe helpers for {@link ScaledDecimal} with the same names, null handling and rounding semantics as
+ * {@link BigDecimalUtil} so that a hot path can switch from one to the other, e.g.
+ * BigDecimalUtil.divide(n, d, BigDecimal.ROUND_HALF_UP) becomes ScaledDecimalUtil.divide(n, d, BigDecimal.ROUND_HALF_UP),
+ * both returning a result at the scale of the numerator.
+ * @since 1.4.1
+ */
+public final class ScaledDecimalUtil {
+    private ScaledDecimalUtil() {
+    }
+
+    /**
+     * @return the value at the given scale (ROUND_HALF_UP) or null.
+     */
+    public static ScaledDecimal sd(final BigDecimal value, final int scale) {
+        return value != null ? ScaledDecimal.valueOf(value, scale, RoundingMode.HALF_UP) : null;
+    }
+
+    /**
+     * @return the value as a BigDecimal or null.
+     */
+    public static BigDecimal toBigDecimal(final ScaledDecimal value) {
+        return value != null ? value.toBigDecimal() : null;
+    }
+
+    public static boolean isNotZero(final ScaledDecimal value) {
+        return value != null && !value.isZero();
+    }
+
+    public static boolean isZero(final ScaledDecimal value) {
+        return value != null && value.isZero();
+    }
+
+    public static boolean isNegative(final ScaledDecimal value) {
+        return value != null && value.signum() == -1;
+    }
+
+    public static boolean isStrictlyPositive(final ScaledDecimal value) {
+        return value != null && value.signum() == 1;
+    }
+
+    public static boolean isNullOrZero(final ScaledDecimal value) {
+        return value == null || value.isZero();
+    }
+
+    /**
+     * @return true if val1 == val2 (ignoring scale), or both null
+     */
+    public static boolean isSameValue(final ScaledDecimal val1, final ScaledDecimal val2) {
+        return val1 == null && val2 == null || val1 != null && val2 != null && val1.compareTo(val2) == 0;
+    }
+
+    /**
+     * If value is null return 0 otherwise the signum().
+     */
+    public static int signum(final ScaledDecimal value) {
+        return value == null ? 0 : value.signum();
+    }
+
+    /**
+     * Add n ScaledDecimal safely (i.e. handles nulls as zeros); unlike BigDecimalUtil there is no scale for
+     * a null start so the result is null if all values are null.
+     * @return the sum of the n non null values
+     */
+    public static ScaledDecimal add(final ScaledDecimal start, final ScaledDecimal... values) {
+        ScaledDecimal total = start;
+        if (values != null) {
+            for (final ScaledDecimal v : values) {
+                if (v != null) {
+                    total = total != null ? total.add(v) : v;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Subtract n ScaledDecimal safely from the start value (i.e. handles nulls as zeros).
+     * @return start - the series of values, null if all values are null
+     */
+    public static ScaledDecimal subtract(final ScaledDecimal start, final ScaledDecimal... values) {
+        ScaledDecimal total = start;
+        if (values != null) {
+            for (final ScaledDecimal v : values) {
+                if (v != null) {
+                    total = total != null ? total.subtract(v) : v.negate();
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @param rounding as per BigDecimal.ROUND_xxx
+     * @return numerator / denominator at the scale of the numerator if they are not null and the denominator is not zero, null otherwise.
+     */
+    public static ScaledDecimal divide(final ScaledDecimal numerator, final ScaledDecimal denominator, final int rounding) {
+        if (numerator != null && isNotZero(denominator)) {
+            return numerator.divide(denominator, RoundingMode.valueOf(rounding));
+        }
+        return null;
+    }
+
+    /**
+     * @param rounding as per BigDecimal.ROUND_xxx
+     * @return numerator / denominator at the given scale if they are not null and the denominator is not zero, null otherwise.
+     */
+    public static ScaledDecimal divide(final ScaledDecimal numerator, final ScaledDecimal denominator, final int scale, final int rounding) {
+        if (numerator != null && isNotZero(denominator)) {
+            return numerator.divide(denominator, scale, RoundingMode.valueOf(rounding));
+        }
+        return null;
+    }
+
+    /**
+     * @return value / total at scale 9 (as per {@link BigDecimalUtil#calculateWeight(BigDecimal, BigDecimal)}), null if total is null or zero.
+     */
+    public static ScaledDecimal calculateWeight(final ScaledDecimal value, final ScaledDecimal total) {
+        return divide(value, total, 9, BigDecimal.ROUND_HALF_UP);
+    }
+
+    /**
+     * @param rounding as per BigDecimal.ROUND_xxx
+     * @return value x multiplicand at the scale of value or null if either is null.
+     */
+    public static ScaledDecimal multiply(final ScaledDecimal value, final ScaledDecimal multiplicand, final int rounding) {
+        if (value != null && multiplicand != null) {
+            return value.multiply(multiplicand, RoundingMode.valueOf(rounding));
+        }
+        return null;
+    }
+
+    public static ScaledDecimal abs(final ScaledDecimal value) {
+        return value != null ? value.abs() : null;
+    }
+
+    public static ScaledDecimal negate(final ScaledDecimal value) {
+        return value != null ? value.negate() : null;
+    }
+
+    /**
+     * @return the value at the new scale (ROUND_HALF_UP) or null.
+     */
+    public static ScaledDecimal setScale(final ScaledDecimal value, final int scale) {
+        return setScale(value, scale, BigDecimal.ROUND_HALF_UP);
+    }
+
+    public static ScaledDecimal setScale(final ScaledDecimal value, final int scale, final int rounding) {
+        return value != null ? value.setScale(scale, RoundingMode.valueOf(rounding)) : null;
+    }
+
+    /**
+     * @return 1 if v1 &gt; v2 or v1!=null and v2==null, 0 if v1 == v2 or both null, -1 if v1 &lt; v2 or v1==null and v2!=null
+     */
+    public static int compareTo(final ScaledDecimal v1, final ScaledDecimal v2) {
+        int ret = 1;
+        if (v1 != null && v2 != null) {
+            ret = v1.compareTo(v2);
+        } else if (v1 == null && v2 == null) {
+            ret = 0;
+        } else if (v1 == null) {
+            ret = -1;
+        }
+        return ret;
+    }
+
+    /**
+     * @return the smallest non null value, or null
+     */
+    public static ScaledDecimal min(final ScaledDecimal v1, final ScaledDecimal v2) {
+        if (v1 == null) {
+            return v2;
+        } else if (v2 == null) {
+            return v1;
+        }
+        return v1.compareTo(v2) <= 0 ? v1 : v2;
+    }
+
+    /**
+     * @return the largest non null value, or null
+     */
+    public static ScaledDecimal max(final ScaledDecimal... values) {
+        if (values == null) {
+            return null;
+        }
+        ScaledDecimal max = null;
+        for (final ScaledDecimal v : values) {
+            max = compareTo(max, v) >= 0 ? max : v;
+        }
+        return max;
+    }
+}
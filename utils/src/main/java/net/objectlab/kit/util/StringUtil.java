@@ -32,7 +32,12 @@
  */
 package net.objectlab.kit.util;
 
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
 import java.util.Date;
 import java.util.NoSuchElementException;
 import java.util.StringTokenizer;
@@ -48,8 +53,9 @@ import org.apache.commons.lang.builder.StandardToStringStyle;
  *
  */
 public final class StringUtil {
-    private static final SimpleDateFormat DATETIME_FORMAT = new SimpleDateFormat("dd-MMM-yyyy hh:mm:ss");
-    private static final SimpleDateFormat FILE_TIMESTAMP_FORMAT = new SimpleDateFormat("yyyyMMdd-HHmmss");
+    /** DateTimeFormatter is immutable and thread-safe, unlike SimpleDateFormat, so no lock is needed. */
+    private static final DateTimeFormatter DATETIME_FORMAT = DateTimeFormatter.ofPattern("dd-MMM-yyyy hh:mm:ss");
+    private static final DateTimeFormatter FILE_TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
     private static final String NEWLINE_TOKEN = "%CR%";
     private static final CharSequence TOKEN = "%";
 
@@ -83,16 +89,60 @@ public final class StringUtil {
         return builder.toString();
     }
 
-    public static synchronized String defaultFormatDatetime(final Date date) {
-        if (date != null) {
-            return DATETIME_FORMAT.format(date);
-        }
-        return null;
+    /**
+     * @return the date as dd-MMM-yyyy hh:mm:ss in the default time zone, or null.
+     */
+    public static String defaultFormatDatetime(final Date date) {
+        return format(DATETIME_FORMAT, inDefaultZone(date));
+    }
+
+    /**
+     * @return the instant as dd-MMM-yyyy hh:mm:ss in the default time zone, or null.
+     */
+    public static String defaultFormatDatetime(final Instant instant) {
+        return format(DATETIME_FORMAT, inDefaultZone(instant));
+    }
+
+    /**
+     * @return the date time as dd-MMM-yyyy hh:mm:ss, or null.
+     */
+    public static String defaultFormatDatetime(final LocalDateTime dateTime) {
+        return format(DATETIME_FORMAT, dateTime);
+    }
+
+    /**
+     * @return the date as yyyyMMdd-HHmmss in the default time zone, or null.
+     */
+    public static String defaultFileFormatTimestamp(final Date date) {
+        return format(FILE_TIMESTAMP_FORMAT, inDefaultZone(date));
+    }
+
+    /**
+     * @return the instant as yyyyMMdd-HHmmss in the default time zone, or null.
+     */
+    public static String defaultFileFormatTimestamp(final Instant instant) {
+        return format(FILE_TIMESTAMP_FORMAT, inDefaultZone(instant));
+    }
+
+    /**
+     * @return the date time as yyyyMMdd-HHmmss, or null.
+     */
+    public static String defaultFileFormatTimestamp(final LocalDateTime dateTime) {
+        return format(FILE_TIMESTAMP_FORMAT, dateTime);
+    }
+
+    private static ZonedDateTime inDefaultZone(final Date date) {
+        // not Date.toInstant(), java.sql.Date does not support it
+        return date != null ? inDefaultZone(Instant.ofEpochMilli(date.getTime())) : null;
+    }
+
+    private static ZonedDateTime inDefaultZone(final Instant instant) {
+        return instant != null ? instant.atZone(ZoneId.systemDefault()) : null;
     }
 
-    public static synchronized String defaultFileFormatTimestamp(final Date date) {
-        if (date != null) {
-            return FILE_TIMESTAMP_FORMAT.format(date);
+    private static String format(final DateTimeFormatter formatter, final TemporalAccessor temporal) {
+        if (temporal != null) {
+            return formatter.format(temporal);
         }
         return null;
     }
@@ -34,6 +34,7 @@ package net.objectlab.kit.util;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.util.stream.Collector;
 
 /**
  * Mutable class representing a sum of BigDecimals.
@@ -90,6 +91,41 @@ public class Total implements Serializable {
         return this;
     }
 
+    /**
+     * Collects a stream of BigDecimals into a Total, partial totals of a parallel stream are combined.
+     * @since 1.4.1
+     */
+    public static Collector<BigDecimal, Total, Total> collector() {
+        return Collector.of(Total::new, Total::add, Total::combine);
+    }
+
+    /**
+     * Add a single value without going through varargs; a null value is counted but not added.
+     * @return the current Sum with new total.
+     * @since 1.4.1
+     */
+    public Total add(final BigDecimal value) {
+        if (value != null) {
+            this.value = this.value.add(value);
+        }
+        count++;
+        return this;
+    }
+
+    /**
+     * Merge another (partial) total into this one, values and counts are added.
+     * Unlike {@link #add(Total)}, the count of the other total is kept.
+     * @return the current Sum with new total.
+     * @since 1.4.1
+     */
+    public Total combine(final Total other) {
+        if (other != null) {
+            this.value = this.value.add(other.value);
+            count += other.count;
+        }
+        return this;
+    }
+
     /**
      * @return the current Sum with new total.
      */
@@ -34,6 +34,8 @@ package net.objectlab.kit.util;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.util.function.Function;
+import java.util.stream.Collector;
 
 /**
  * @author Benoit
@@ -78,6 +80,42 @@ public class WeightedAverage implements Serializable {
         }
     }
 
+    /**
+     * Merge another (partial) weighted average into this one; the includeZeros setting of this one is kept.
+     * @return this
+     * @since 1.4.1
+     */
+    public WeightedAverage combine(final WeightedAverage other) {
+        if (other != null && other.count > 0) {
+            count += other.count;
+            total.combine(other.total);
+            totalExpanded.combine(other.totalExpanded);
+            determineMinMax(other.minimum);
+            determineMinMax(other.maximum);
+        }
+        return this;
+    }
+
+    /**
+     * Collects a stream of items into a WeightedAverage, partial results of a parallel stream are combined.
+     * @param value extracts the value to average from an item
+     * @param weight extracts the weight of that value
+     * @since 1.4.1
+     */
+    public static <T> Collector<T, WeightedAverage, WeightedAverage> collector(final Function<T, BigDecimal> value,
+            final Function<T, BigDecimal> weight) {
+        return collector(value, weight, true);
+    }
+
+    /**
+     * @param includeZeros if false, zero values are ignored
+     * @since 1.4.1
+     */
+    public static <T> Collector<T, WeightedAverage, WeightedAverage> collector(final Function<T, BigDecimal> value,
+            final Function<T, BigDecimal> weight, final boolean includeZeros) {
+        return Collector.of(() -> new WeightedAverage(includeZeros), (wa, t) -> wa.add(value.apply(t), weight.apply(t)), WeightedAverage::combine);
+    }
+
     public BigDecimal getMaximum() {
         return maximum;
     }
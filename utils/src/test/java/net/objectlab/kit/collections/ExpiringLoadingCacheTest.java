@@ -0,0 +1,221 @@
+/**
+ *
+ */
+package net.objectlab.kit.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Benoit Xhenseval
+ *
+ */
+public class ExpiringLoadingCacheTest implements KeyLoader<String, Integer>, TimeProvider {
+    private final AtomicInteger loadCount = new AtomicInteger();
+    private int bulkLoadCount;
+    private long time;
+
+    @Before
+    public void reset() {
+        loadCount.set(0);
+        bulkLoadCount = 0;
+        time = System.currentTimeMillis();
+    }
+
+    private ExpiringLoadingCacheBuilder<String, Integer> builder() {
+        return new ExpiringLoadingCacheBuilder<String, Integer>(this).id("Lengths").timeProvider(this);
+    }
+
+    @Test
+    public void loadOnMissAndExpire() {
+        final ExpiringLoadingCache<String, Integer> cache = new ExpiringLoadingCache<String, Integer>(builder().expiryTimeoutMilliseconds(1000));
+
+        assertNull(cache.getIfPresent("Hello"));
+        assertEquals(0, loadCount.get());
+        assertEquals(Integer.valueOf(5), cache.get("Hello"));
+        assertEquals(1, loadCount.get());
+        assertEquals(Integer.valueOf(5), cache.get("Hello"));
+        assertEquals(1, loadCount.get());
+        assertNull("No value, not cached", cache.get("None"));
+        assertEquals(1, cache.size());
+
+        time += 1001;
+        assertNull(cache.getIfPresent("Hello"));
+        assertEquals(Integer.valueOf(5), cache.get("Hello"));
+        assertEquals(3, loadCount.get());
+    }
+
+    @Test
+    public void individualExpiry() {
+        final ExpiringLoadingCache<String, Integer> cache = new ExpiringLoadingCache<String, Integer>(builder().entryExpiry(
+                new EntryExpiry<String, Integer>() {
+                    @Override
+                    public long getExpiryTimeoutMilliseconds(final String key, final Integer value) {
+                        return value.intValue() * 100L;
+                    }
+                }));
+        cache.get("Hi");
+        cache.get("Hello");
+        time += 201;
+        assertNull(cache.getIfPresent("Hi"));
+        assertEquals(Integer.valueOf(5), cache.getIfPresent("Hello"));
+        cache.cleanUp();
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void leastRecentlyUsedEviction() {
+        final ExpiringLoadingCache<String, Integer> cache = new ExpiringLoadingCache<String, Integer>(builder().maximumSize(2));
+        cache.get("A");
+        cache.get("BB");
+        cache.get("A");
+        cache.get("CCC");
+        assertEquals(2, cache.size());
+        assertEquals(Integer.valueOf(1), cache.getIfPresent("A"));
+        assertNull("Least recently used", cache.getIfPresent("BB"));
+        assertEquals(Integer.valueOf(3), cache.getIfPresent("CCC"));
+    }
+
+    @Test
+    public void bulkLoad() {
+        final ExpiringLoadingCache<String, Integer> cache = new ExpiringLoadingCache<String, Integer>(builder());
+        cache.get("A");
+        final Map<String, Integer> all = cache.getAll(Arrays.asList("A", "BB", "CCC", "None"));
+        assertEquals(3, all.size());
+        assertEquals(Integer.valueOf(2), all.get("BB"));
+        assertEquals(1, bulkLoadCount);
+        assertEquals("A was cached", 4, loadCount.get());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void concurrentMissesLoadOnce() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger slowLoads = new AtomicInteger();
+        final ExpiringLoadingCache<String, Integer> cache = new ExpiringLoadingCache<String, Integer>(new ExpiringLoadingCacheBuilder<String, Integer>(
+                new KeyLoader<String, Integer>() {
+                    @Override
+                    public Integer load(final String key) {
+                        slowLoads.incrementAndGet();
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (final InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return key.length();
+                    }
+                }));
+        final ExecutorService exec = Executors.newFixedThreadPool(4);
+        try {
+            final Future<?>[] futures = new Future<?>[4];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = exec.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        assertEquals(Integer.valueOf(5), cache.get("Hello"));
+                    }
+                });
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (final Future<?> f : futures) {
+                f.get(5, TimeUnit.SECONDS);
+            }
+            assertEquals(1, slowLoads.get());
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test
+    public void missDuringBulkLoadWaitsForIt() throws Exception {
+        final CountDownLatch bulkStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger singleLoads = new AtomicInteger();
+        final ExpiringLoadingCache<String, Integer> cache = new ExpiringLoadingCache<String, Integer>(new ExpiringLoadingCacheBuilder<String, Integer>(
+                new KeyLoader<String, Integer>() {
+                    @Override
+                    public Integer load(final String key) {
+                        singleLoads.incrementAndGet();
+                        return key.length();
+                    }
+
+                    @Override
+                    public Map<String, Integer> loadAll(final Collection<? extends String> keys) {
+                        bulkStarted.countDown();
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (final InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        final Map<String, Integer> result = new HashMap<String, Integer>();
+                        for (final String key : keys) {
+                            result.put(key, key.length());
+                        }
+                        return result;
+                    }
+                }));
+        final ExecutorService exec = Executors.newFixedThreadPool(2);
+        try {
+            final Future<Map<String, Integer>> bulk = exec.submit(new Callable<Map<String, Integer>>() {
+                @Override
+                public Map<String, Integer> call() {
+                    return cache.getAll(Arrays.asList("A", "BB"));
+                }
+            });
+            assertTrue(bulkStarted.await(5, TimeUnit.SECONDS));
+            final Future<Integer> single = exec.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() {
+                    return cache.get("BB");
+                }
+            });
+            release.countDown();
+            assertEquals(Integer.valueOf(2), single.get(5, TimeUnit.SECONDS));
+            assertEquals(2, bulk.get(5, TimeUnit.SECONDS).size());
+            assertEquals("BB came from the bulk load", 0, singleLoads.get());
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Override
+    public Integer load(final String key) {
+        loadCount.incrementAndGet();
+        return "None".equals(key) ? null : Integer.valueOf(key.length());
+    }
+
+    @Override
+    public Map<String, Integer> loadAll(final Collection<? extends String> keys) {
+        bulkLoadCount++;
+        final Map<String, Integer> result = new HashMap<String, Integer>();
+        for (final String key : keys) {
+            final Integer value = load(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public long getCurrentTimeMillis() {
+        return time;
+    }
+}
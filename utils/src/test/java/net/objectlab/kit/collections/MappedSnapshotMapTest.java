@@ -0,0 +1,137 @@
+/**
+ *
+ */
+package net.objectlab.kit.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Benoit Xhenseval
+ *
+ */
+public class MappedSnapshotMapTest implements MapLoader<String, String>, TimeProvider {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private int reloadCount;
+    private long time = System.currentTimeMillis();
+
+    @Test
+    public void writeAndRead() throws IOException {
+        final Path file = folder.getRoot().toPath().resolve("assets.snap");
+        final StringSnapshotCodec codec = new StringSnapshotCodec(12);
+        final MappedSnapshotWriter<String, String> writer = new MappedSnapshotWriter<String, String>("Assets", file, codec);
+        final Map<String, String> expected = new HashMap<String, String>();
+        for (int i = 0; i < 5000; i++) {
+            writer.put("ISIN" + i, "Asset number " + i);
+            expected.put("ISIN" + i, "Asset number " + i);
+        }
+        writer.put("ISIN1", "Replaced");
+        expected.put("ISIN1", "Replaced");
+        writer.put("NULL", null);
+        expected.put("NULL", null);
+        writer.commit();
+        assertFalse("temporary files are gone", Files.exists(file.resolveSibling("assets.snap.values.tmp")));
+
+        final MappedSnapshotMap<String, String> map = MappedSnapshotMap.open(file, codec);
+        assertEquals(5001, map.size());
+        assertEquals("Asset number 42", map.get("ISIN42"));
+        assertEquals("Replaced", map.get("ISIN1"));
+        assertTrue(map.containsKey("NULL"));
+        assertNull(map.get("NULL"));
+        assertFalse(map.containsKey("ISIN5000"));
+        assertNull(map.get("A key longer than the width"));
+        assertNull(map.get(Integer.valueOf(1)));
+        assertEquals(expected, map);
+        assertEquals(expected, new HashMap<String, String>(map));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void wrongCodec() {
+        final Path file = folder.getRoot().toPath().resolve("codes.snap");
+        new MappedSnapshotWriter<String, String>("Codes", file, new StringSnapshotCodec(8)).put("A", "B").commit();
+        MappedSnapshotMap.open(file, new StringSnapshotCodec(10));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void truncatedFile() throws IOException {
+        final Path file = folder.getRoot().toPath().resolve("codes.snap");
+        new MappedSnapshotWriter<String, String>("Codes", file, new StringSnapshotCodec(8)).put("A", "Some value").commit();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+        MappedSnapshotMap.open(file, new StringSnapshotCodec(8));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void slotCountNotAPowerOfTwo() throws IOException {
+        final Path file = folder.getRoot().toPath().resolve("codes.snap");
+        final int keyWidth = 8;
+        final long slots = 3;
+        final long valuesStart = MappedSnapshotMap.HEADER_SIZE + slots * MappedSnapshotMap.slotSize(keyWidth);
+        final ByteBuffer buffer = ByteBuffer.allocate((int) valuesStart);
+        buffer.putInt(MappedSnapshotMap.MAGIC).putInt(MappedSnapshotMap.FORMAT).putInt(keyWidth).putInt(0);
+        buffer.putLong(slots).putLong(valuesStart).putLong(0L);
+        for (int i = 0; i < slots; i++) {
+            buffer.put(new byte[keyWidth]).putLong(0L).putInt(MappedSnapshotMap.EMPTY_SLOT);
+        }
+        Files.write(file, buffer.array());
+        MappedSnapshotMap.open(file, new StringSnapshotCodec(keyWidth));
+    }
+
+    @Test
+    public void expiringMapReusesSnapshotAfterRestart() {
+        final Path file = folder.getRoot().toPath().resolve("greetings.snap");
+        final ReadOnlyExpiringHashMapBuilder<String, String> builder = new ReadOnlyExpiringHashMapBuilder<String, String>(this);
+        builder.expiryTimeoutMilliseconds(60000);
+        builder.reloadOnExpiry(false);
+        builder.reloadWhenExpired(true);
+        builder.timeProvider(this);
+        builder.id("Greetings");
+        builder.mappedSnapshot(file, new StringSnapshotCodec(8));
+
+        final ReadOnlyExpiringMap<String, String> first = new ReadOnlyExpiringHashMap<String, String>(builder);
+        assertEquals("World", first.get("Hello"));
+        assertEquals(1, reloadCount);
+        assertTrue(Files.exists(file));
+        first.close();
+
+        // "restart"
+        final ReadOnlyExpiringMap<String, String> second = new ReadOnlyExpiringHashMap<String, String>(builder);
+        assertEquals("World", second.get("Hello"));
+        assertEquals(2, second.size());
+        assertEquals("No need to call the loader", 1, reloadCount);
+
+        time += 120000; // the file age is based on the real clock
+        assertEquals("World", second.get("Hello"));
+        assertEquals(2, reloadCount);
+        second.close();
+    }
+
+    @Override
+    public void load(final MapBuilder<String, String> builder) {
+        builder.put("Hello", "World");
+        builder.put("Yo", "Dude");
+        reloadCount++;
+    }
+
+    @Override
+    public long getCurrentTimeMillis() {
+        return time;
+    }
+}
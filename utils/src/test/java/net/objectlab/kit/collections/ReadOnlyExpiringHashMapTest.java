@@ -8,6 +8,20 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -17,7 +31,7 @@ import org.junit.Test;
  */
 public class ReadOnlyExpiringHashMapTest implements MapLoader<String, Integer>, TimeProvider {
 
-    private int reloadCount;
+    private volatile int reloadCount;
     private long time;
 
     @Before
@@ -217,6 +231,319 @@ public class ReadOnlyExpiringHashMapTest implements MapLoader<String, Integer>,
         assertEquals(Integer.valueOf(2), ims.get("Yo"));
     }
 
+    @Test
+    public void refreshAheadNeverBlocksReaders() {
+        final List<Runnable> pendingRefresh = new ArrayList<Runnable>();
+        final ReadOnlyExpiringHashMapBuilder<String, Integer> builder = new ReadOnlyExpiringHashMapBuilder<String, Integer>(this);
+        builder.expiryTimeoutMilliseconds(1000);
+        builder.refreshAheadMilliseconds(200);
+        builder.refreshExecutor(new Executor() {
+            @Override
+            public void execute(final Runnable command) {
+                pendingRefresh.add(command);
+            }
+        });
+        builder.loadOnFirstAccess(true);
+        builder.reloadOnExpiry(false);
+        builder.reloadWhenExpired(true);
+        builder.timeProvider(this);
+        builder.id("Greetings");
+
+        final ReadOnlyExpiringMap<String, Integer> ims = new ReadOnlyExpiringHashMap<String, Integer>(builder);
+
+        // first load is synchronous
+        assertEquals(Integer.valueOf(2), ims.get("Yo"));
+        assertEquals(1, reloadCount);
+        assertTrue(pendingRefresh.isEmpty());
+
+        time += 801; // within the refresh-ahead window
+
+        assertEquals(Integer.valueOf(2), ims.get("Yo"));
+        assertEquals("Reload is in the background", 1, reloadCount);
+        assertEquals(1, pendingRefresh.size());
+
+        time += 500; // expired but the refresh has not run yet, still the old snapshot
+        assertEquals(Integer.valueOf(2), ims.get("Yo"));
+        assertEquals(1, reloadCount);
+        assertEquals("Only one refresh at a time", 1, pendingRefresh.size());
+
+        pendingRefresh.remove(0).run();
+        assertEquals(2, reloadCount);
+        assertEquals(2, ims.size());
+        assertTrue(pendingRefresh.isEmpty());
+    }
+
+    @Test
+    public void refreshAheadWithoutExecutorSharesDaemonThreads() throws Exception {
+        final int maps = 20;
+        final CountDownLatch refreshed = new CountDownLatch(maps);
+        final Set<Thread> threads = Collections.synchronizedSet(new HashSet<Thread>());
+        final List<ReadOnlyExpiringMap<String, Integer>> all = new ArrayList<ReadOnlyExpiringMap<String, Integer>>();
+        for (int i = 0; i < maps; i++) {
+            final ReadOnlyExpiringHashMapBuilder<String, Integer> builder = new ReadOnlyExpiringHashMapBuilder<String, Integer>(
+                    new MapLoader<String, Integer>() {
+                        @Override
+                        public void load(final MapBuilder<String, Integer> b) {
+                            b.put("Hello", 1);
+                            if (Thread.currentThread().getName().startsWith("Refresh-")) {
+                                threads.add(Thread.currentThread());
+                                refreshed.countDown();
+                            }
+                        }
+                    });
+            builder.expiryTimeoutMilliseconds(1000);
+            builder.refreshAheadMilliseconds(200);
+            builder.reloadOnExpiry(false);
+            builder.timeProvider(this);
+            builder.id("Map" + i);
+            final ReadOnlyExpiringMap<String, Integer> map = new ReadOnlyExpiringHashMap<String, Integer>(builder);
+            assertEquals(Integer.valueOf(1), map.get("Hello"));
+            all.add(map);
+        }
+
+        time += 801; // within the refresh-ahead window of every map
+        for (final ReadOnlyExpiringMap<String, Integer> map : all) {
+            assertEquals(Integer.valueOf(1), map.get("Hello"));
+        }
+        assertTrue("Refreshed in the background", refreshed.await(5, TimeUnit.SECONDS));
+        assertTrue("Shared threads " + threads.size(), threads.size() <= Math.max(2, Runtime.getRuntime().availableProcessors()));
+        for (final Thread thread : threads) {
+            assertTrue(thread.isDaemon());
+        }
+    }
+
+    @Test
+    public void sharedSchedulerWithClose() throws Exception {
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        final CountDownLatch reloaded = new CountDownLatch(2);
+        try {
+            final ReadOnlyExpiringHashMapBuilder<String, Integer> builder = new ReadOnlyExpiringHashMapBuilder<String, Integer>(
+                    new MapLoader<String, Integer>() {
+                        @Override
+                        public void load(final MapBuilder<String, Integer> b) {
+                            ReadOnlyExpiringHashMapTest.this.load(b);
+                            reloaded.countDown();
+                        }
+                    });
+            builder.expiryTimeoutMilliseconds(20);
+            builder.scheduler(scheduler);
+            builder.reloadJitterMilliseconds(10);
+            builder.loadOnFirstAccess(true);
+            builder.reloadOnExpiry(true);
+            builder.reloadWhenExpired(true);
+            builder.timeProvider(new SystemTimeProvider());
+            builder.id("Greetings");
+
+            try (final ReadOnlyExpiringMap<String, Integer> ims = new ReadOnlyExpiringHashMap<String, Integer>(builder)) {
+                // nothing reads the map, so the loads come from the scheduler
+                assertTrue("Reloaded by the scheduler " + reloadCount, reloaded.await(5, TimeUnit.SECONDS));
+                assertEquals(Integer.valueOf(2), ims.get("Yo"));
+            }
+            // the scheduler has a single thread: once these tasks have run, any reload still due has run too
+            runOnScheduler(scheduler, 0);
+            final int countAtClose = reloadCount;
+            runOnScheduler(scheduler, 100);
+            assertEquals("No reload after close", countAtClose, reloadCount);
+            assertFalse("The shared scheduler is not shut down", scheduler.isShutdown());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private static void runOnScheduler(final ScheduledExecutorService scheduler, final long delayMilliseconds) throws Exception {
+        scheduler.schedule(new Callable<Void>() {
+            @Override
+            public Void call() {
+                return null;
+            }
+        }, delayMilliseconds, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void failedPeriodicReloadDoesNotCancelLaterReloads() throws InterruptedException {
+        checkFailedPeriodicReload(Executors.newSingleThreadScheduledExecutor());
+    }
+
+    @Test
+    public void failedTimerReloadDoesNotCancelLaterReloads() throws InterruptedException {
+        checkFailedPeriodicReload(null);
+    }
+
+    private void checkFailedPeriodicReload(final ScheduledExecutorService scheduler) throws InterruptedException {
+        final AtomicInteger attempts = new AtomicInteger();
+        final CountDownLatch loaded = new CountDownLatch(1);
+        final ReadOnlyExpiringHashMapBuilder<String, Integer> builder = new ReadOnlyExpiringHashMapBuilder<String, Integer>(
+                new MapLoader<String, Integer>() {
+                    @Override
+                    public void load(final MapBuilder<String, Integer> b) {
+                        if (attempts.incrementAndGet() <= 2) {
+                            throw new IllegalStateException("DB down");
+                        }
+                        ReadOnlyExpiringHashMapTest.this.load(b);
+                        loaded.countDown();
+                    }
+                });
+        builder.expiryTimeoutMilliseconds(20);
+        builder.scheduler(scheduler);
+        builder.loadOnFirstAccess(true);
+        builder.reloadOnExpiry(true);
+        builder.reloadWhenExpired(true);
+        builder.timeProvider(new SystemTimeProvider());
+        builder.id("Greetings");
+
+        try (final ReadOnlyExpiringMap<String, Integer> ims = new ReadOnlyExpiringHashMap<String, Integer>(builder)) {
+            assertTrue("Loaded after 2 failures " + attempts, loaded.await(5, TimeUnit.SECONDS));
+            assertEquals(2, ims.getStatistics().getLoadFailureCount());
+        } finally {
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    public void incrementalReload() {
+        final List<Long> versions = new ArrayList<Long>();
+        final ReadOnlyExpiringHashMapBuilder<String, Integer> builder = new ReadOnlyExpiringHashMapBuilder<String, Integer>(
+                new IncrementalMapLoader<String, Integer>() {
+                    @Override
+                    public long loadAll(final MapBuilder<String, Integer> b) {
+                        load(b);
+                        return 10;
+                    }
+
+                    @Override
+                    public long loadChanges(final long sinceVersion, final MapDeltaBuilder<String, Integer> delta) {
+                        versions.add(sinceVersion);
+                        if (sinceVersion == 10) {
+                            delta.put("Hi", 3).remove("Yo");
+                        } else {
+                            delta.requireFullLoad();
+                        }
+                        return sinceVersion + 1;
+                    }
+                });
+        builder.expiryTimeoutMilliseconds(1000);
+        builder.loadOnFirstAccess(true);
+        builder.reloadOnExpiry(false);
+        builder.reloadWhenExpired(true);
+        builder.timeProvider(this);
+        builder.id("Greetings");
+
+        final ReadOnlyExpiringMap<String, Integer> ims = new ReadOnlyExpiringHashMap<String, Integer>(builder);
+        assertEquals(Integer.valueOf(2), ims.get("Yo"));
+        assertEquals(1, reloadCount);
+
+        time += 1001;
+        assertEquals(Integer.valueOf(3), ims.get("Hi"));
+        assertNull(ims.get("Yo"));
+        assertEquals(2, ims.size());
+        assertEquals("Only the changes", 1, reloadCount);
+
+        time += 1001;
+        assertEquals("Full reload requested by the loader", Integer.valueOf(2), ims.get("Yo"));
+        assertNull(ims.get("Hi"));
+        assertEquals(2, reloadCount);
+        assertEquals(2, versions.size());
+        assertEquals(Long.valueOf(11), versions.get(1));
+    }
+
+    @Test
+    public void failedReloadKeepsPreviousSnapshot() {
+        final List<String> events = new ArrayList<String>();
+        final boolean[] fail = new boolean[1];
+        final ReadOnlyExpiringHashMapBuilder<String, Integer> builder = new ReadOnlyExpiringHashMapBuilder<String, Integer>(
+                new MapLoader<String, Integer>() {
+                    @Override
+                    public void load(final MapBuilder<String, Integer> b) {
+                        if (fail[0]) {
+                            throw new IllegalStateException("DB down");
+                        }
+                        ReadOnlyExpiringHashMapTest.this.load(b);
+                    }
+                });
+        builder.expiryTimeoutMilliseconds(1000);
+        builder.retryBackoffMilliseconds(500);
+        builder.loadOnFirstAccess(true);
+        builder.reloadOnExpiry(false);
+        builder.reloadWhenExpired(true);
+        builder.timeProvider(this);
+        builder.id("Greetings");
+        builder.listener(new ExpiringCollectionListener() {
+            @Override
+            public void loaded(final String id, final long durationNanos, final int size) {
+                events.add("loaded " + id + " " + size);
+            }
+
+            @Override
+            public void loadFailed(final String id, final long durationNanos, final Throwable cause) {
+                events.add("failed " + id + " " + cause.getMessage());
+            }
+
+            @Override
+            public void cleared(final String id) {
+                events.add("cleared " + id);
+            }
+        });
+
+        final ReadOnlyExpiringMap<String, Integer> ims = new ReadOnlyExpiringHashMap<String, Integer>(builder);
+        assertEquals(Integer.valueOf(2), ims.get("Yo"));
+
+        fail[0] = true;
+        time += 1001;
+        assertEquals("Previous snapshot", Integer.valueOf(2), ims.get("Yo"));
+        final ExpiringCollectionStatistics stats = ims.getStatistics();
+        assertEquals(1, stats.getLoadFailureCount());
+
+        // no new attempt within the backoff, even once the loader works again
+        assertEquals(2, ims.size());
+        fail[0] = false;
+        time += 499;
+        assertEquals(Integer.valueOf(1), ims.get("Hello"));
+        assertEquals("No retry within the backoff", 1, stats.getLoadFailureCount());
+        assertEquals(1, stats.getLoadCount());
+
+        time += 2;
+        assertEquals(Integer.valueOf(1), ims.get("Hello"));
+
+        assertEquals(5, stats.getAccessCount());
+        assertEquals(3, stats.getLoadOnAccessCount());
+        assertEquals(2, stats.getLoadCount());
+        assertEquals(1, stats.getLoadFailureCount());
+        assertEquals(2, stats.getSize());
+        assertEquals("DB down", stats.getLastFailure().getMessage());
+        assertEquals("[loaded Greetings 2, failed Greetings DB down, loaded Greetings 2]", events.toString());
+
+        // an explicit reload reports its failure and does not start a backoff
+        fail[0] = true;
+        try {
+            ims.reload();
+            Assert.fail("reload should fail");
+        } catch (final IllegalStateException e) {
+            assertEquals("DB down", e.getMessage());
+        }
+        assertEquals(2, stats.getLoadFailureCount());
+        assertEquals("Previous snapshot", Integer.valueOf(1), ims.get("Hello"));
+        fail[0] = false;
+        ims.reload();
+        assertEquals(3, stats.getLoadCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void failedFirstLoadPropagates() {
+        final ReadOnlyExpiringHashMapBuilder<String, Integer> builder = new ReadOnlyExpiringHashMapBuilder<String, Integer>(
+                new MapLoader<String, Integer>() {
+                    @Override
+                    public void load(final MapBuilder<String, Integer> b) {
+                        throw new IllegalStateException("DB down");
+                    }
+                });
+        builder.expiryTimeoutMilliseconds(1000);
+        builder.reloadOnExpiry(false);
+        builder.timeProvider(this);
+        new ReadOnlyExpiringHashMap<String, Integer>(builder).get("Yo");
+    }
+
     @Override
     public void load(final MapBuilder<String, Integer> builder) {
         assertEquals("Greetings", builder.getId());
@@ -0,0 +1,73 @@
+/**
+ *
+ */
+package net.objectlab.kit.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * @author Benoit Xhenseval
+ *
+ */
+public class SegmentedSnapshotMapTest {
+
+    @Test
+    public void copyOnWriteSharesUntouchedSegments() {
+        final Map<Integer, String> source = new HashMap<Integer, String>();
+        for (int i = 0; i < 10000; i++) {
+            source.put(i, "V" + i);
+        }
+        final SegmentedSnapshotMap<Integer, String> v1 = SegmentedSnapshotMap.copyOf(source);
+        assertEquals(source, v1);
+        assertEquals(10000, v1.size());
+
+        final Map<Integer, String> upserts = new HashMap<Integer, String>();
+        upserts.put(5, "New5");
+        upserts.put(20000, "V20000");
+        final SegmentedSnapshotMap<Integer, String> v2 = v1.withChanges(upserts, Collections.singleton(7));
+
+        assertEquals("previous snapshot unchanged", "V5", v1.get(5));
+        assertTrue(v1.containsKey(7));
+        assertEquals(10000, v1.size());
+
+        assertEquals("New5", v2.get(5));
+        assertEquals("V20000", v2.get(20000));
+        assertFalse(v2.containsKey(7));
+        assertNull(v2.get(7));
+        assertEquals(10000, v2.size());
+        int count = 0;
+        for (final Map.Entry<Integer, String> e : v2.entrySet()) {
+            assertEquals(v2.get(e.getKey()), e.getValue());
+            count++;
+        }
+        assertEquals(10000, count);
+
+        assertEquals(64, v1.segmentCount());
+        assertEquals(64, v2.segmentCount());
+        assertTrue("Most segments are shared", v2.sharedSegments(v1) >= v1.segmentCount() - 3);
+        assertSame(v2, v2.withChanges(Collections.<Integer, String> emptyMap(), Collections.emptySet()));
+    }
+
+    @Test
+    public void segmentCountFollowsSize() {
+        assertEquals(SegmentedSnapshotMap.MIN_SEGMENTS, SegmentedSnapshotMap.copyOf(Collections.singletonMap("A", "B")).segmentCount());
+        assertEquals(SegmentedSnapshotMap.MIN_SEGMENTS, SegmentedSnapshotMap.segmentCountFor(0));
+        assertEquals(32, SegmentedSnapshotMap.segmentCountFor(16 * SegmentedSnapshotMap.TARGET_SEGMENT_SIZE + 1));
+        assertEquals(SegmentedSnapshotMap.MAX_SEGMENTS, SegmentedSnapshotMap.segmentCountFor(Integer.MAX_VALUE));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void immutable() {
+        SegmentedSnapshotMap.copyOf(Collections.singletonMap("A", "B")).put("C", "D");
+    }
+}
@@ -0,0 +1,112 @@
+package net.objectlab.kit.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class ConcurrentFrequencyBucketDistributionTest {
+    @Test
+    public void testEmptyBucket() {
+        final ConcurrentFrequencyBucketDistribution dist = new ConcurrentFrequencyBucketDistribution();
+        dist.addPoint(10.0);
+        assertThat(dist.getBucketCount()).isEqualTo(1);
+        assertThat(dist.getCount(0)).isEqualTo(1);
+        assertThat(dist.getDistribution().get(0).isUpperLimit()).isTrue();
+    }
+
+    @Test
+    public void testSameAsLinearDistribution() {
+        final List<BigDecimal> limits = Arrays.asList(new BigDecimal("10"), new BigDecimal("-5"), new BigDecimal("2.5"), new BigDecimal("2.5"));
+        final FrequencyBucketDistribution linear = new FrequencyBucketDistribution(Arrays.asList(new BigDecimal("-5"), new BigDecimal("2.5"),
+                new BigDecimal("10")));
+        final ConcurrentFrequencyBucketDistribution dist = new ConcurrentFrequencyBucketDistribution(limits);
+        assertThat(dist.getLimits()).containsExactly(-5.0, 2.5, 10.0);
+
+        for (final String p : new String[] { "-10", "-5", "-4.99", "0", "2.5", "2.51", "10", "10.01", "1000" }) {
+            linear.addPoint(new BigDecimal(p));
+            dist.addPoint(new BigDecimal(p));
+        }
+        final List<FrequencyBucketDistribution.Bucket> expected = linear.getDistribution();
+        final List<FrequencyBucketDistribution.Bucket> actual = dist.getDistribution();
+        assertThat(actual).hasSize(expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i).getCount()).isEqualTo(expected.get(i).getCount());
+            assertThat(actual.get(i).isUpperLimit()).isEqualTo(expected.get(i).isUpperLimit());
+        }
+        assertThat(dist.getCounts()).containsExactly(2, 3, 2, 2);
+        assertThat(dist.getTotalCount()).isEqualTo(9);
+    }
+
+    @Test
+    public void testSameAsLinearDistributionAtTheLimits() {
+        final List<BigDecimal> limits = Arrays.asList(new BigDecimal("0.1"), new BigDecimal("0.3"), new BigDecimal("0.30000000000000001"),
+                new BigDecimal("1E-20"), new BigDecimal("0.10"));
+        final FrequencyBucketDistribution linear = new FrequencyBucketDistribution(Arrays.asList(new BigDecimal("1E-20"), new BigDecimal("0.1"),
+                new BigDecimal("0.3"), new BigDecimal("0.30000000000000001")));
+        final ConcurrentFrequencyBucketDistribution dist = new ConcurrentFrequencyBucketDistribution(limits);
+        assertThat(dist.getBucketCount()).isEqualTo(5);
+
+        // each point is on, or within a rounding error of, a limit; the last ones have the same double as 0.3
+        for (final String p : new String[] { "0", "1E-20", "1.0000000000000000001E-20", "0.1", "0.0999999999999999999999", "0.1000000000000000000001",
+                "0.29999999999999999", "0.3", "0.300000000000000005", "0.30000000000000001", "0.300000000000000011" }) {
+            linear.addPoint(new BigDecimal(p));
+            dist.addPoint(new BigDecimal(p));
+        }
+        final List<FrequencyBucketDistribution.Bucket> expected = linear.getDistribution();
+        final List<FrequencyBucketDistribution.Bucket> actual = dist.getDistribution();
+        assertThat(actual).hasSize(expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i).getCount()).as("bucket " + expected.get(i).getBucket()).isEqualTo(expected.get(i).getCount());
+            assertThat(actual.get(i).getBucket()).isEqualTo(expected.get(i).getBucket());
+        }
+        assertThat(dist.getCounts()).containsExactly(2, 3, 3, 2, 1);
+    }
+
+    @Test
+    public void testBulkAndMerge() {
+        final ConcurrentFrequencyBucketDistribution a = new ConcurrentFrequencyBucketDistribution(1, 2, 3);
+        final ConcurrentFrequencyBucketDistribution b = new ConcurrentFrequencyBucketDistribution(3, 2, 1);
+        a.addPoints(new double[] { 0.5, 1.5, 2.5, 3.5 });
+        b.addPoints(new double[] { 1, 2, 3, 4, Double.NaN }, 1, 5);
+        a.merge(b);
+        assertThat(a.getCounts()).containsExactly(1, 2, 2, 3);
+        a.reset();
+        assertThat(a.getTotalCount()).isZero();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeDifferentLimits() {
+        new ConcurrentFrequencyBucketDistribution(1, 2).merge(new ConcurrentFrequencyBucketDistribution(1, 3));
+    }
+
+    @Test
+    public void testConcurrentIngestion() throws Exception {
+        final ConcurrentFrequencyBucketDistribution dist = new ConcurrentFrequencyBucketDistribution(10, 100, 1000);
+        final double[] latencies = new double[10_000];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = i % 2000;
+        }
+        final ExecutorService exec = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            final boolean bulk = t % 2 == 0;
+            exec.execute(() -> {
+                if (bulk) {
+                    dist.addPoints(latencies);
+                } else {
+                    Arrays.stream(latencies).forEach(dist::addPoint);
+                }
+            });
+        }
+        exec.shutdown();
+        assertThat(exec.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(dist.getCounts()).containsExactly(4 * 55, 4 * 450, 4 * 4500, 4 * 5000 - 4 * 5);
+        assertThat(dist.getTotalCount()).isEqualTo(40_000);
+    }
+}
@@ -0,0 +1,83 @@
+package net.objectlab.kit.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class ConcurrentTotalTest {
+    private static final List<BigDecimal> VALUES = IntStream.rangeClosed(1, 10_000).mapToObj(i -> BigDecimal.valueOf(i, 2))
+            .collect(Collectors.toList());
+
+    @Test
+    public void totalCollectorParallel() {
+        final Total total = VALUES.parallelStream().collect(Total.collector());
+        assertThat(total.getTotal()).isEqualByComparingTo("500050");
+        assertThat(total.getCount()).isEqualTo(10_000);
+    }
+
+    @Test
+    public void averageCollectorParallel() {
+        final Average avg = VALUES.parallelStream().collect(Average.collector());
+        assertThat(avg.getDataPoints()).isEqualTo(10_000);
+        assertThat(avg.getTotal()).isEqualByComparingTo("500050");
+        assertThat(avg.getAverage()).isEqualByComparingTo("50.005");
+        assertThat(avg.getMinimum().get()).isEqualByComparingTo("0.01");
+        assertThat(avg.getMaximum().get()).isEqualByComparingTo("100");
+    }
+
+    @Test
+    public void averageCombineEmpty() {
+        final Average avg = new Average();
+        avg.add(BigDecimal.TEN);
+        avg.combine(new Average());
+        assertThat(avg.getDataPoints()).isEqualTo(1);
+        assertThat(avg.getMinimum().get()).isEqualByComparingTo("10");
+    }
+
+    @Test
+    public void weightedAverageCollectorParallel() {
+        final WeightedAverage seq = new WeightedAverage();
+        VALUES.forEach(v -> seq.add(v, v.add(BigDecimal.ONE)));
+        final WeightedAverage par = VALUES.parallelStream().collect(WeightedAverage.collector(v -> v, v -> v.add(BigDecimal.ONE)));
+        assertThat(par.getCount()).isEqualTo(seq.getCount());
+        assertThat(par.getTotal()).isEqualByComparingTo(seq.getTotal());
+        assertThat(par.getWeightedAverage()).isEqualByComparingTo(seq.getWeightedAverage());
+        assertThat(par.getMinimum()).isEqualByComparingTo("0.01");
+        assertThat(par.getMaximum()).isEqualByComparingTo("100");
+    }
+
+    @Test
+    public void concurrentWriters() throws Exception {
+        final ConcurrentTotal total = new ConcurrentTotal(8);
+        final ExecutorService exec = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            exec.execute(() -> VALUES.forEach(total::add));
+        }
+        exec.shutdown();
+        assertThat(exec.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(total.getTotal()).isEqualByComparingTo("4000400");
+        assertThat(total.getCount()).isEqualTo(80_000L);
+        assertThat(total.getAverage()).isEqualByComparingTo("50.005");
+        assertThat(total.toTotal().getTotal()).isEqualByComparingTo("4000400");
+    }
+
+    @Test
+    public void nullCountedNotAdded() {
+        final ConcurrentTotal total = new ConcurrentTotal();
+        assertThat(total.getAverage()).isNull();
+        total.add(BigDecimal.ONE, null, BigDecimal.TEN);
+        assertThat(total.getTotal()).isEqualByComparingTo("11");
+        assertThat(total.getCount()).isEqualTo(3L);
+        assertThat(total.sumThenReset()).isEqualByComparingTo("11");
+        assertThat(total.getTotal()).isEqualByComparingTo("0");
+        assertThat(total.getCount()).isZero();
+    }
+}
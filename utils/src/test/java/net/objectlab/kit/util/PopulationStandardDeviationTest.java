@@ -103,4 +103,12 @@ public class PopulationStandardDeviationTest {
         assertThat(stdDev.getStandardDeviation()).isEqualByComparingTo("4.60298816");
     }
 
+    @Test
+    public void testNullCountsAsZero() {
+        stdDev.add(BigDecimal.TEN, null, BigDecimalUtil.bd("20"));
+        assertThat(stdDev.getDataPoints()).isEqualTo(3);
+        assertThat(stdDev.getAverage()).isEqualByComparingTo("10");
+        assertThat(stdDev.getStandardDeviation()).isEqualByComparingTo("8.16496581");
+    }
+
 }
@@ -0,0 +1,94 @@
+package net.objectlab.kit.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class RunningStatisticsTest {
+
+    @Test
+    public void testEmpty() {
+        final RunningStatistics stats = new RunningStatistics();
+        assertThat(stats.getDataPoints()).isEqualTo(0);
+        assertThat(stats.getAverage()).isNaN();
+        assertThat(stats.getMinimum()).isNaN();
+        assertThat(stats.getSampleVariance()).isNaN();
+
+        final BigDecimalRunningStatistics bd = new BigDecimalRunningStatistics();
+        assertThat(bd.getAverage()).isNull();
+        assertThat(bd.getPopulationStandardDeviation()).isNull();
+        assertThat(bd.getMinimum().isPresent()).isFalse();
+    }
+
+    @Test
+    public void testKnownValues() {
+        final RunningStatistics stats = new RunningStatistics().add(2, 4, 4, 4, 5, 5, 7, 9);
+        assertThat(stats.getDataPoints()).isEqualTo(8);
+        assertThat(stats.getTotal()).isEqualTo(40.0);
+        assertThat(stats.getAverage()).isEqualTo(5.0);
+        assertThat(stats.getPopulationStandardDeviation()).isEqualTo(2.0);
+        assertThat(stats.getSampleVariance()).isCloseTo(32.0 / 7, within(1e-12));
+        assertThat(stats.getMinimum()).isEqualTo(2.0);
+        assertThat(stats.getMaximum()).isEqualTo(9.0);
+
+        final BigDecimalRunningStatistics bd = new BigDecimalRunningStatistics();
+        for (final int i : new int[] { 2, 4, 4, 4, 5, 5, 7, 9 }) {
+            bd.add(BigDecimal.valueOf(i));
+        }
+        bd.add((BigDecimal) null);
+        assertThat(bd.getDataPoints()).isEqualTo(8);
+        assertThat(bd.getTotal()).isEqualByComparingTo("40");
+        assertThat(bd.getAverage()).isEqualByComparingTo("5");
+        assertThat(bd.getPopulationStandardDeviation()).isEqualByComparingTo("2");
+        assertThat(bd.getSampleVariance()).isEqualByComparingTo("4.57142857");
+        assertThat(bd.getMinimum().get()).isEqualByComparingTo("2");
+        assertThat(bd.getMaximum().get()).isEqualByComparingTo("9");
+    }
+
+    @Test
+    public void testMergeOfChunksMatchesSinglePass() {
+        final Random random = new Random(42);
+        final double[] values = IntStream.range(0, 100000).mapToDouble(i -> 1e6 + random.nextGaussian() * 250).toArray();
+
+        final RunningStatistics single = new RunningStatistics().add(values);
+        final RunningStatistics parallel = Arrays.stream(values).parallel().collect(RunningStatistics::new, RunningStatistics::add,
+                RunningStatistics::merge);
+
+        final double mean = Arrays.stream(values).average().getAsDouble();
+        final double variance = Arrays.stream(values).map(v -> (v - mean) * (v - mean)).sum() / values.length;
+
+        assertThat(parallel.getDataPoints()).isEqualTo(values.length);
+        assertThat(parallel.getAverage()).isCloseTo(mean, within(1e-6));
+        assertThat(single.getPopulationVariance()).isCloseTo(variance, within(1e-6));
+        assertThat(parallel.getPopulationVariance()).isCloseTo(variance, within(1e-6));
+        assertThat(parallel.getMinimum()).isEqualTo(single.getMinimum());
+        assertThat(parallel.getMaximum()).isEqualTo(single.getMaximum());
+    }
+
+    @Test
+    public void testBigDecimalMerge() {
+        final BigDecimalRunningStatistics all = new BigDecimalRunningStatistics();
+        final BigDecimalRunningStatistics first = new BigDecimalRunningStatistics();
+        final BigDecimalRunningStatistics second = new BigDecimalRunningStatistics();
+        for (int i = 1; i <= 101; i++) {
+            final BigDecimal value = new BigDecimal(i * 37 % 101).movePointLeft(2);
+            all.add(value);
+            (i <= 30 ? first : second).add(value);
+        }
+        first.merge(second).merge(new BigDecimalRunningStatistics());
+
+        assertThat(first.getDataPoints()).isEqualTo(101);
+        assertThat(first.getTotal()).isEqualByComparingTo(all.getTotal());
+        assertThat(first.getAverage()).isCloseTo(new BigDecimal("0.5"), within(new BigDecimal("1E-25")));
+        assertThat(first.getPopulationVariance()).isEqualByComparingTo(all.getPopulationVariance());
+        assertThat(first.getSampleStandardDeviation()).isEqualByComparingTo(all.getSampleStandardDeviation());
+        assertThat(first.getMinimum().get()).isEqualByComparingTo("0");
+        assertThat(first.getMaximum().get()).isEqualByComparingTo("1");
+    }
+}
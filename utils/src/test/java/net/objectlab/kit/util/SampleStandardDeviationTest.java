@@ -104,4 +104,12 @@ public class SampleStandardDeviationTest {
         assertThat(stdDev.getStandardDeviation()).isEqualByComparingTo("5.31507291");
     }
 
+    @Test
+    public void testNullCountsAsZero() {
+        stdDev.add(BigDecimal.TEN, null, BigDecimalUtil.bd("20"));
+        assertThat(stdDev.getDataPoints()).isEqualTo(3);
+        assertThat(stdDev.getAverage()).isEqualByComparingTo("10");
+        assertThat(stdDev.getStandardDeviation()).isEqualByComparingTo("10");
+    }
+
 }
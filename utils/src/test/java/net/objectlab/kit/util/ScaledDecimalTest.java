@@ -0,0 +1,158 @@
+package net.objectlab.kit.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+public class ScaledDecimalTest {
+    private static final RoundingMode[] MODES = { RoundingMode.UP, RoundingMode.DOWN, RoundingMode.CEILING, RoundingMode.FLOOR, RoundingMode.HALF_UP,
+            RoundingMode.HALF_DOWN, RoundingMode.HALF_EVEN };
+
+    @Test
+    public void testConversions() {
+        final ScaledDecimal v = ScaledDecimal.valueOf(new BigDecimal("123.456"), 2, RoundingMode.HALF_UP);
+        assertThat(v.getUnscaledValue()).isEqualTo(12346L);
+        assertThat(v.getScale()).isEqualTo(2);
+        assertThat(v.toString()).isEqualTo("123.46");
+        assertThat(v.toBigDecimal()).isEqualTo(new BigDecimal("123.46"));
+        assertThat(v.doubleValue()).isEqualTo(123.46);
+        assertThat(ScaledDecimal.valueOf(new BigDecimal("1.50"))).isEqualTo(ScaledDecimal.ofUnscaled(150, 2));
+        assertThat(ScaledDecimal.valueOf(12, 3).toString()).isEqualTo("12.000");
+        assertThat(ScaledDecimal.valueOf(0.1, 8, RoundingMode.HALF_UP).getUnscaledValue()).isEqualTo(10_000_000L);
+        assertThat(ScaledDecimal.ofUnscaled(1, 8).toString()).isEqualTo("0.00000001");
+    }
+
+    @Test
+    public void testAddSubtractUseLargestScale() {
+        final ScaledDecimal a = ScaledDecimal.ofUnscaled(150, 2);
+        final ScaledDecimal b = ScaledDecimal.ofUnscaled(1, 4);
+        assertThat(a.add(b)).isEqualTo(ScaledDecimal.ofUnscaled(15001, 4));
+        assertThat(b.subtract(a)).isEqualTo(ScaledDecimal.ofUnscaled(-14999, 4));
+        assertThat(a.compareTo(b)).isPositive();
+        assertThat(a.compareTo(ScaledDecimal.ofUnscaled(1500, 3))).isZero();
+        assertThat(a).isNotEqualTo(ScaledDecimal.ofUnscaled(1500, 3));
+    }
+
+    @Test
+    public void testSameAsBigDecimal() {
+        final Random rnd = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            final int sa = rnd.nextInt(9);
+            final int sb = rnd.nextInt(9);
+            final int rs = rnd.nextInt(11);
+            final long ua = rnd.nextInt() * (long) rnd.nextInt(1000);
+            long ub = rnd.nextInt(2_000_000) - 1_000_000L;
+            if (ub == 0) {
+                ub = 7;
+            }
+            final RoundingMode mode = MODES[rnd.nextInt(MODES.length)];
+            final ScaledDecimal a = ScaledDecimal.ofUnscaled(ua, sa);
+            final ScaledDecimal b = ScaledDecimal.ofUnscaled(ub, sb);
+            final BigDecimal ba = a.toBigDecimal();
+            final BigDecimal bb = b.toBigDecimal();
+
+            assertSame(() -> a.add(b), ba.add(bb));
+            assertSame(() -> a.subtract(b), ba.subtract(bb));
+            assertThat(a.compareTo(b)).isEqualTo(ba.compareTo(bb));
+            assertSame(() -> a.multiply(b, rs, mode), ba.multiply(bb).setScale(rs, mode));
+            assertSame(() -> a.divide(b, rs, mode), ba.divide(bb, rs, mode));
+            assertSame(() -> a.setScale(rs, mode), ba.setScale(rs, mode));
+        }
+    }
+
+    private static void assertSame(final Supplier<ScaledDecimal> actual, final BigDecimal expected) {
+        if (expected.unscaledValue().bitLength() < 64) {
+            assertThat(actual.get().toBigDecimal()).isEqualTo(expected);
+        } else {
+            assertOverflow(actual::get);
+        }
+    }
+
+    @Test
+    public void testIntermediateOverflowResolved() {
+        final ScaledDecimal big = ScaledDecimal.ofUnscaled(Long.MAX_VALUE / 10, 8);
+        final ScaledDecimal half = ScaledDecimal.ofUnscaled(50_000_000L, 8);
+        assertThat(big.multiply(half, RoundingMode.HALF_EVEN).toBigDecimal())
+                .isEqualTo(big.toBigDecimal().multiply(half.toBigDecimal()).setScale(8, RoundingMode.HALF_EVEN));
+        assertThat(big.divide(ScaledDecimal.valueOf(4, 0), RoundingMode.HALF_UP).toBigDecimal())
+                .isEqualTo(big.toBigDecimal().divide(new BigDecimal(4), 8, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    public void testOverflowThrows() {
+        final ScaledDecimal max = ScaledDecimal.ofUnscaled(Long.MAX_VALUE, 2);
+        assertOverflow(() -> max.add(ScaledDecimal.ofUnscaled(1, 2)));
+        assertOverflow(() -> max.subtract(ScaledDecimal.ofUnscaled(Long.MAX_VALUE, 2)).subtract(max).subtract(ScaledDecimal.ofUnscaled(2, 2)));
+        assertOverflow(() -> max.multiply(ScaledDecimal.valueOf(2, 0), RoundingMode.HALF_UP));
+        assertOverflow(() -> max.divide(ScaledDecimal.ofUnscaled(5, 1), RoundingMode.HALF_UP));
+        assertOverflow(() -> max.setScale(3, RoundingMode.HALF_UP));
+        assertOverflow(() -> max.divide(ScaledDecimal.zero(2), RoundingMode.HALF_UP));
+        assertOverflow(() -> ScaledDecimal.ofUnscaled(Long.MIN_VALUE, 0).negate());
+        assertOverflow(() -> ScaledDecimal.valueOf(new BigDecimal("1E+20"), 0, RoundingMode.HALF_UP));
+        assertOverflow(() -> ScaledDecimal.ofUnscaled(15, 1).setScale(0, RoundingMode.UNNECESSARY));
+    }
+
+    private static void assertOverflow(final Runnable r) {
+        try {
+            r.run();
+            fail("Expected ArithmeticException");
+        } catch (final ArithmeticException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidScale() {
+        ScaledDecimal.ofUnscaled(1, 19);
+    }
+
+    @Test
+    public void testAccumulator() {
+        final ScaledDecimalAccumulator acc = new ScaledDecimalAccumulator(2);
+        acc.add(ScaledDecimal.ofUnscaled(1005, 3)).add(new BigDecimal("2.5")).add((ScaledDecimal) null).addUnscaled(100);
+        assertThat(acc.getTotal()).isEqualTo(ScaledDecimal.ofUnscaled(451, 2));
+        assertThat(acc.getCount()).isEqualTo(4);
+        assertThat(acc.getAverage()).isEqualTo(ScaledDecimal.ofUnscaled(113, 2));
+
+        final ScaledDecimalAccumulator weighted = new ScaledDecimalAccumulator(4, RoundingMode.HALF_EVEN);
+        weighted.addProduct(ScaledDecimal.ofUnscaled(125, 2), ScaledDecimal.ofUnscaled(5, 1)).subtract(ScaledDecimal.ofUnscaled(1, 4));
+        assertThat(weighted.toBigDecimal()).isEqualTo(new BigDecimal("0.6249"));
+
+        acc.combine(weighted);
+        assertThat(acc.toBigDecimal()).isEqualTo(new BigDecimal("5.13"));
+        assertThat(acc.getCount()).isEqualTo(6);
+        acc.reset();
+        assertThat(acc.getAverage()).isNull();
+        assertThat(acc.getTotal().isZero()).isTrue();
+    }
+
+    @Test
+    public void testUtilSameAsBigDecimalUtil() {
+        final BigDecimal n = new BigDecimal("10.00");
+        final BigDecimal d = new BigDecimal("3");
+        final ScaledDecimal sn = ScaledDecimalUtil.sd(n, 2);
+        final ScaledDecimal sd = ScaledDecimalUtil.sd(d, 0);
+        assertThat(ScaledDecimalUtil.divide(sn, sd, BigDecimal.ROUND_HALF_UP).toBigDecimal()).isEqualTo(BigDecimalUtil.divide(n, d, BigDecimal.ROUND_HALF_UP));
+        assertThat(ScaledDecimalUtil.calculateWeight(sd, sn).toBigDecimal()).isEqualTo(BigDecimalUtil.calculateWeight(d, n));
+        assertThat(ScaledDecimalUtil.divide(sn, null, BigDecimal.ROUND_HALF_UP)).isNull();
+        assertThat(ScaledDecimalUtil.divide(sn, ScaledDecimal.zero(2), BigDecimal.ROUND_HALF_UP)).isNull();
+        assertThat(ScaledDecimalUtil.add(null, sn, null, sd).toBigDecimal()).isEqualTo(BigDecimalUtil.add(null, n, null, d));
+        assertThat(ScaledDecimalUtil.subtract(null, sn, null, sd).toBigDecimal()).isEqualTo(BigDecimalUtil.subtract(null, n, null, d));
+        assertThat(ScaledDecimalUtil.add(null, (ScaledDecimal) null)).isNull();
+        assertThat(ScaledDecimalUtil.multiply(sn, sd, BigDecimal.ROUND_HALF_UP).toBigDecimal()).isEqualTo(new BigDecimal("30.00"));
+        assertThat(ScaledDecimalUtil.compareTo(null, sn)).isEqualTo(BigDecimalUtil.compareTo(null, n));
+        assertThat(ScaledDecimalUtil.compareTo(sn, null)).isEqualTo(BigDecimalUtil.compareTo(n, null));
+        assertThat(ScaledDecimalUtil.min(sn, sd)).isSameAs(sd);
+        assertThat(ScaledDecimalUtil.max(null, sn, sd)).isSameAs(sn);
+        assertThat(ScaledDecimalUtil.isNullOrZero(null)).isTrue();
+        assertThat(ScaledDecimalUtil.isNotZero(sn)).isTrue();
+        assertThat(ScaledDecimalUtil.isNegative(ScaledDecimalUtil.negate(sn))).isTrue();
+        assertThat(ScaledDecimalUtil.setScale(sn, 1)).isEqualTo(ScaledDecimal.ofUnscaled(100, 1));
+    }
+}
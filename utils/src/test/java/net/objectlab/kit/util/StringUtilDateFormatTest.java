@@ -0,0 +1,84 @@
+package net.objectlab.kit.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+public class StringUtilDateFormatTest {
+    private static final int THREADS = 8;
+    private static final int REPEAT = 10000;
+
+    @Test
+    public void testMatchesSimpleDateFormat() {
+        final Date date = new Date(1371312366000L);
+        assertEquals(new SimpleDateFormat("dd-MMM-yyyy hh:mm:ss").format(date), StringUtil.defaultFormatDatetime(date));
+        assertEquals(new SimpleDateFormat("yyyyMMdd-HHmmss").format(date), StringUtil.defaultFileFormatTimestamp(date));
+        assertEquals(StringUtil.defaultFormatDatetime(date), StringUtil.defaultFormatDatetime(date.toInstant()));
+        assertEquals(StringUtil.defaultFileFormatTimestamp(date), StringUtil.defaultFileFormatTimestamp(date.toInstant()));
+        assertEquals(new SimpleDateFormat("yyyyMMdd-HHmmss").format(new java.sql.Date(date.getTime())),
+                StringUtil.defaultFileFormatTimestamp(new java.sql.Date(date.getTime())));
+    }
+
+    @Test
+    public void testLocalDateTime() {
+        final LocalDateTime dateTime = LocalDateTime.of(2013, 6, 15, 17, 6, 6);
+        assertEquals("20130615-170606", StringUtil.defaultFileFormatTimestamp(dateTime));
+        final Date date = Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+        assertEquals(new SimpleDateFormat("dd-MMM-yyyy hh:mm:ss").format(date), StringUtil.defaultFormatDatetime(dateTime));
+    }
+
+    @Test
+    public void testNull() {
+        assertNull(StringUtil.defaultFormatDatetime((Date) null));
+        assertNull(StringUtil.defaultFormatDatetime((Instant) null));
+        assertNull(StringUtil.defaultFormatDatetime((LocalDateTime) null));
+        assertNull(StringUtil.defaultFileFormatTimestamp((Date) null));
+        assertNull(StringUtil.defaultFileFormatTimestamp((Instant) null));
+        assertNull(StringUtil.defaultFileFormatTimestamp((LocalDateTime) null));
+    }
+
+    /**
+     * Formats from several threads at once, every result must match the
+     * single-threaded one.
+     */
+    @Test
+    public void testConcurrentFormatting() throws Exception {
+        final String[] expected = new String[THREADS * REPEAT];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = StringUtil.defaultFileFormatTimestamp(new Date(i * 1000L));
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                final int offset = t * REPEAT;
+                futures.add(executor.submit((Callable<Void>) () -> {
+                    // each thread goes through all the dates, from a different starting point
+                    for (int n = 0; n < expected.length; n++) {
+                        final int i = (offset + n) % expected.length;
+                        assertEquals(expected[i], StringUtil.defaultFileFormatTimestamp(new Date(i * 1000L)));
+                    }
+                    return null;
+                }));
+            }
+            for (final Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
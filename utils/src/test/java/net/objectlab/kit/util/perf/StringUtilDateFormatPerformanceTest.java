@@ -0,0 +1,85 @@
+package net.objectlab.kit.util.perf;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import net.objectlab.kit.util.StringUtil;
+
+import org.junit.Test;
+
+/**
+ * Compares StringUtil formatting from several threads with the previous
+ * implementation, a shared SimpleDateFormat behind a lock; the results are
+ * printed, not asserted (see StringUtilDateFormatTest for the correctness).
+ */
+public class StringUtilDateFormatPerformanceTest {
+    private static final int THREADS = 8;
+    private static final int REPEAT = 100000;
+    private static final int ROUNDS = 3;
+
+    private interface Formatter {
+        String format(long i);
+    }
+
+    @Test
+    public void testContention() throws Exception {
+        final SimpleDateFormat shared = new SimpleDateFormat("yyyyMMdd-HHmmss");
+        final Formatter locked = i -> {
+            synchronized (shared) {
+                return shared.format(new Date(i * 1000L));
+            }
+        };
+        final Formatter lockFree = i -> StringUtil.defaultFileFormatTimestamp(new Date(i * 1000L));
+
+        // the first round warms up the JIT
+        long lockedMs = 0;
+        long lockFreeMs = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            lockedMs = run(locked);
+            lockFreeMs = run(lockFree);
+        }
+        System.out.println("\nPERFORMANCE\n");
+        System.out.println("+++++++ " + THREADS + " threads x " + REPEAT + " formats: synchronized SimpleDateFormat " + lockedMs + " ms");
+        System.out.println("+++++++ " + THREADS + " threads x " + REPEAT + " formats: StringUtil " + lockFreeMs + " ms");
+        System.out.println("+++++++ single thread x " + REPEAT + " formats: synchronized SimpleDateFormat " + runSingle(locked) + " ms, StringUtil "
+                + runSingle(lockFree) + " ms");
+    }
+
+    private static long runSingle(final Formatter formatter) {
+        final long start = System.currentTimeMillis();
+        for (int i = 0; i < REPEAT; i++) {
+            formatter.format(i);
+        }
+        return System.currentTimeMillis() - start;
+    }
+
+    private static long run(final Formatter formatter) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<Integer>> futures = new ArrayList<>();
+            final long start = System.currentTimeMillis();
+            for (int t = 0; t < THREADS; t++) {
+                final int offset = t * REPEAT;
+                futures.add(executor.submit((Callable<Integer>) () -> {
+                    int length = 0;
+                    for (int i = offset; i < offset + REPEAT; i++) {
+                        length += formatter.format(i).length();
+                    }
+                    return length;
+                }));
+            }
+            for (final Future<Integer> future : futures) {
+                future.get();
+            }
+            return System.currentTimeMillis() - start;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}